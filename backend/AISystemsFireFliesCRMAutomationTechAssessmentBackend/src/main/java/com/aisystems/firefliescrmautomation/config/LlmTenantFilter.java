@@ -0,0 +1,52 @@
+package com.aisystems.firefliescrmautomation.config;
+
+import com.aisystems.firefliescrmautomation.service.LlmCallScheduler;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Schedules the LLM calls of a request in the interactive lane of {@link LlmCallScheduler},
+ * accounted to the tenant of the {@code X-Tenant-Id} header.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 5:30 PM GMT -5 Bogotá DC Colombia
+ */
+@Component
+public class LlmTenantFilter extends OncePerRequestFilter {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            LlmCallScheduler.inLane(LlmCallScheduler.Lane.INTERACTIVE, request.getHeader(TENANT_HEADER), () -> {
+                try {
+                    filterChain.doFilter(request, response);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (ServletException e) {
+                    throw new FilterException(e);
+                }
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (FilterException e) {
+            throw (ServletException) e.getCause();
+        }
+    }
+
+    /** Carries a {@link ServletException} out of the lane scope. */
+    private static final class FilterException extends RuntimeException {
+        FilterException(ServletException cause) {
+            super(cause);
+        }
+    }
+}
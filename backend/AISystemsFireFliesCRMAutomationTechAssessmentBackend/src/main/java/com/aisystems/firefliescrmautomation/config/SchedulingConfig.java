@@ -0,0 +1,14 @@
+package com.aisystems.firefliescrmautomation.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} jobs such as the Fireflies sync poller.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 11:20 AM GMT -5 Bogotá DC Colombia
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
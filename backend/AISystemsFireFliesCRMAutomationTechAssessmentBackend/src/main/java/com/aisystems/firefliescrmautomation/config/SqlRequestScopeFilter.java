@@ -0,0 +1,35 @@
+package com.aisystems.firefliescrmautomation.config;
+
+import com.aisystems.firefliescrmautomation.service.SqlMetricsService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a per-request SQL scope so {@link SqlMetricsService} can detect N+1 query patterns.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 8:25 AM GMT -5 Bogotá DC Colombia
+ */
+@Component
+public class SqlRequestScopeFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private SqlMetricsService sqlMetricsService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        sqlMetricsService.beginRequest(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            sqlMetricsService.endRequest();
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.aisystems.firefliescrmautomation.configuration;
 
 import javax.sql.DataSource;
 
+import com.aisystems.firefliescrmautomation.service.SqlMetricsService;
 import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -10,10 +13,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,7 +33,7 @@ import java.util.regex.Pattern;
 
 @Configuration
 @ConfigurationProperties(prefix = "spring.aisystems-datasource")
-public class AISystemsDataSourceConfig {
+public class AISystemsDataSourceConfig implements DisposableBean {
 
     private String url;
     private String username;
@@ -37,6 +43,17 @@ public class AISystemsDataSourceConfig {
     @Autowired
     private Environment env;
 
+    @Autowired
+    private SqlMetricsService sqlMetricsService;
+
+    /** Pools created by this configuration; closed on shutdown because the exposed bean is a proxy. */
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    /** Optional read replica settings ({@code spring.aisystems-datasource.replica.*}). */
+    private Replica replica = new Replica();
+
+    private ReplicaLagMonitor replicaLagMonitor;
+
     private static final Logger log = LoggerFactory.getLogger(AISystemsDataSourceConfig.class);
 
     /**
@@ -88,6 +105,17 @@ public class AISystemsDataSourceConfig {
      */
     public void setDriverClassName(String driverClassName) { this.driverClassName = driverClassName; }
 
+    /**
+     * Gets the read replica settings.
+     * @return the replica settings
+     */
+    public Replica getReplica() { return replica; }
+    /**
+     * Sets the read replica settings.
+     * @param replica the replica settings
+     */
+    public void setReplica(Replica replica) { this.replica = replica; }
+
     private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([^}]+)}");
 
     /**
@@ -177,7 +205,85 @@ public class AISystemsDataSourceConfig {
         dataSource.setMaxLifetime(20000000);
         dataSource.setAutoCommit(true);
 
-        return dataSource;
+        String poolName = env.getProperty("spring.aisystems-datasource.hikari.pool-name", "AISystems-primary");
+        dataSource.setPoolName(poolName);
+
+        DataSource primary = instrument(dataSource, poolName);
+
+        String replicaUrl = resolveIfPlaceholder(replica.getUrl());
+        if (!replica.isEnabled() || replicaUrl == null || replicaUrl.trim().isEmpty() || replicaUrl.contains("${")) {
+            return primary;
+        }
+        return withReadReplica(primary, replicaUrl, resolvedUsername, resolvedPassword, resolvedDriver);
+    }
+
+    /**
+     * Builds the replica pool (with its own sizing) and returns a DataSource that routes read-only
+     * transactions to it and everything else to the primary, falling back to the primary when the
+     * replica lags behind or is unreachable.
+     * @return the routing DataSource wrapped in a LazyConnectionDataSourceProxy
+     * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+     * @since 19 October 2026 9:15 AM GMT -5 Bogotá DC Colombia
+     */
+    private DataSource withReadReplica(DataSource primary, String replicaUrl, String primaryUsername,
+                                       String primaryPassword, String driver) {
+        String replicaUsername = resolveIfPlaceholder(replica.getUsername());
+        if (replicaUsername == null || replicaUsername.trim().isEmpty()) replicaUsername = primaryUsername;
+        String replicaPassword = resolveIfPlaceholder(replica.getPassword());
+        if (replicaPassword == null || replicaPassword.trim().isEmpty()) replicaPassword = primaryPassword;
+
+        HikariDataSource replicaPool = new HikariDataSource();
+        replicaPool.setJdbcUrl(replicaUrl);
+        replicaPool.setUsername(replicaUsername);
+        replicaPool.setPassword(replicaPassword);
+        replicaPool.setDriverClassName(driver);
+        replicaPool.setPoolName(replica.getPoolName());
+        replicaPool.setMaximumPoolSize(replica.getMaximumPoolSize());
+        replicaPool.setMinimumIdle(replica.getMinimumIdle());
+        replicaPool.setConnectionTimeout(replica.getConnectionTimeoutMs());
+        replicaPool.setReadOnly(true);
+        replicaPool.setAutoCommit(true);
+
+        log.info("Read replica enabled: pool {} (max {} connections, max lag {} s)",
+                replica.getPoolName(), replica.getMaximumPoolSize(), replica.getMaxLagSeconds());
+
+        DataSource instrumentedReplica = instrument(replicaPool, replica.getPoolName());
+        replicaLagMonitor = new ReplicaLagMonitor(replicaPool, replica.getLagQuery(), replica.getMaxLagSeconds(), sqlMetricsService);
+        replicaLagMonitor.start(replica.getLagCheckIntervalMs());
+
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, instrumentedReplica, replicaLagMonitor, sqlMetricsService));
+    }
+
+    /**
+     * Wraps a Hikari pool with connection-acquire timing and a datasource-proxy that reports every
+     * statement to {@link SqlMetricsService} (latency histograms, batch sizes, slow queries, N+1).
+     * @param pool     the Hikari pool
+     * @param poolName logical name used in the exported metrics
+     * @return the instrumented DataSource
+     * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+     * @since 19 October 2026 8:35 AM GMT -5 Bogotá DC Colombia
+     */
+    private DataSource instrument(HikariDataSource pool, String poolName) {
+        pools.add(pool);
+        sqlMetricsService.registerPool(poolName, pool);
+        return ProxyDataSourceBuilder.create(new AcquireTimingDataSource(pool, sqlMetricsService, poolName))
+                .name(poolName)
+                .listener(new SqlMetricsQueryListener(sqlMetricsService))
+                .build();
+    }
+
+    /**
+     * Closes the Hikari pools hidden behind the instrumented DataSource.
+     */
+    @Override
+    public void destroy() {
+        if (replicaLagMonitor != null) {
+            replicaLagMonitor.close();
+        }
+        for (HikariDataSource pool : pools) {
+            pool.close();
+        }
     }
 
     /**
@@ -189,4 +295,48 @@ public class AISystemsDataSourceConfig {
     public JdbcTemplate AISystemsJdbcTemplate(@Qualifier("AISystemsDataSource") DataSource ds) {
         return new JdbcTemplate(ds);
     }
+
+    /**
+     * Read replica settings bound from {@code spring.aisystems-datasource.replica.*}.
+     * Username and password fall back to the primary credentials when left empty.
+     *
+     * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+     * @since 19 October 2026 9:15 AM GMT -5 Bogotá DC Colombia
+     */
+    public static class Replica {
+        private boolean enabled = false;
+        private String url;
+        private String username;
+        private String password;
+        private String poolName = "AISystems-replica";
+        private int maximumPoolSize = 10;
+        private int minimumIdle = 2;
+        private long connectionTimeoutMs = 3000;
+        private long maxLagSeconds = 5;
+        private long lagCheckIntervalMs = 5000;
+        private String lagQuery = "SHOW REPLICA STATUS";
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+        public String getPoolName() { return poolName; }
+        public void setPoolName(String poolName) { this.poolName = poolName; }
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+        public int getMinimumIdle() { return minimumIdle; }
+        public void setMinimumIdle(int minimumIdle) { this.minimumIdle = minimumIdle; }
+        public long getConnectionTimeoutMs() { return connectionTimeoutMs; }
+        public void setConnectionTimeoutMs(long connectionTimeoutMs) { this.connectionTimeoutMs = connectionTimeoutMs; }
+        public long getMaxLagSeconds() { return maxLagSeconds; }
+        public void setMaxLagSeconds(long maxLagSeconds) { this.maxLagSeconds = maxLagSeconds; }
+        public long getLagCheckIntervalMs() { return lagCheckIntervalMs; }
+        public void setLagCheckIntervalMs(long lagCheckIntervalMs) { this.lagCheckIntervalMs = lagCheckIntervalMs; }
+        public String getLagQuery() { return lagQuery; }
+        public void setLagQuery(String lagQuery) { this.lagQuery = lagQuery; }
+    }
 }
@@ -0,0 +1,52 @@
+package com.aisystems.firefliescrmautomation.configuration;
+
+import com.aisystems.firefliescrmautomation.service.SqlMetricsService;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Wraps a pool and measures how long callers wait for {@code getConnection()}.
+ * Hikari's MXBean exposes gauges only, so the acquire time is measured here.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 8:20 AM GMT -5 Bogotá DC Colombia
+ */
+public class AcquireTimingDataSource extends DelegatingDataSource {
+
+    private final SqlMetricsService sqlMetricsService;
+    private final String poolName;
+
+    public AcquireTimingDataSource(DataSource target, SqlMetricsService sqlMetricsService, String poolName) {
+        super(target);
+        this.sqlMetricsService = sqlMetricsService;
+        this.poolName = poolName;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Connection connection = super.getConnection();
+            success = true;
+            return connection;
+        } finally {
+            sqlMetricsService.recordConnectionAcquire(poolName, System.nanoTime() - start, success);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Connection connection = super.getConnection(username, password);
+            success = true;
+            return connection;
+        } finally {
+            sqlMetricsService.recordConnectionAcquire(poolName, System.nanoTime() - start, success);
+        }
+    }
+}
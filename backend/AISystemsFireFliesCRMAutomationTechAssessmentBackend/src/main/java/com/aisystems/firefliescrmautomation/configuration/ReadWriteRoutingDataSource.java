@@ -0,0 +1,114 @@
+package com.aisystems.firefliescrmautomation.configuration;
+
+import com.aisystems.firefliescrmautomation.service.SqlMetricsService;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Routes read-only work to the replica pool and everything else to the primary.
+ * <p>
+ * Work is considered read-only when it runs inside a {@code @Transactional(readOnly = true)}
+ * transaction or inside {@link #readOnly(Supplier)} (for plain {@code JdbcTemplate} calls outside
+ * a transaction). Reads fall back to the primary whenever the {@link ReplicaLagMonitor} reports
+ * the replica as lagging/unreachable or a replica connection cannot be obtained.
+ * The bean is exposed behind a {@code LazyConnectionDataSourceProxy} so the read-only flag of a
+ * transaction is known before the physical connection is chosen.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 9:10 AM GMT -5 Bogotá DC Colombia
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> READ_ONLY_HINT = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final SqlMetricsService sqlMetricsService;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                      SqlMetricsService sqlMetricsService) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.sqlMetricsService = sqlMetricsService;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        targets.put(REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs the given work with read-only routing enabled on the current thread.
+     * @param work the read-only work
+     * @param <T>  result type
+     * @return the work result
+     */
+    public static <T> T readOnly(Supplier<T> work) {
+        Boolean previous = READ_ONLY_HINT.get();
+        READ_ONLY_HINT.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                READ_ONLY_HINT.remove();
+            } else {
+                READ_ONLY_HINT.set(previous);
+            }
+        }
+    }
+
+    private static boolean isReadOnlyWork() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || Boolean.TRUE.equals(READ_ONLY_HINT.get());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!isReadOnlyWork()) {
+            return PRIMARY;
+        }
+        return lagMonitor.isReplicaUsable() ? REPLICA : PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!isReadOnlyWork()) {
+            sqlMetricsService.recordRouting("write-primary");
+            return primary.getConnection();
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            sqlMetricsService.recordRouting("read-fallback-primary");
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = replica.getConnection();
+            sqlMetricsService.recordRouting("read-replica");
+            return connection;
+        } catch (SQLException ex) {
+            lagMonitor.markUnavailable(ex);
+            sqlMetricsService.recordRouting("read-fallback-primary");
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Explicit credentials bypass the pools' own credentials; keep those on the primary.
+        sqlMetricsService.recordRouting("write-primary");
+        return primary.getConnection(username, password);
+    }
+}
@@ -0,0 +1,134 @@
+package com.aisystems.firefliescrmautomation.configuration;
+
+import com.aisystems.firefliescrmautomation.service.SqlMetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically measures replication lag on the replica pool and decides whether read-only
+ * traffic may be routed to it.
+ * <p>
+ * The lag query defaults to {@code SHOW REPLICA STATUS}; the {@code Seconds_Behind_Source}
+ * (or legacy {@code Seconds_Behind_Master}) column is used when present, otherwise the first
+ * column of the first row. An empty result means the instance is not replicating at all, so its
+ * data may be arbitrarily old; like a {@code NULL} lag (replication stopped), a lag above the
+ * threshold or any error it marks the replica unusable until the next successful check. A
+ * development setup with a standalone second instance can set {@code lag-query} to
+ * {@code SELECT 0}.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 9:05 AM GMT -5 Bogotá DC Colombia
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final SqlMetricsService sqlMetricsService;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean usable = true;
+    private volatile long lastLagSeconds = 0L;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagSeconds, SqlMetricsService sqlMetricsService) {
+        this.replica = replica;
+        this.lagQuery = (lagQuery == null || lagQuery.isBlank()) ? "SHOW REPLICA STATUS" : lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.sqlMetricsService = sqlMetricsService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the periodic lag check.
+     * @param intervalMs delay between checks in milliseconds
+     */
+    public void start(long intervalMs) {
+        scheduler.scheduleWithFixedDelay(this::check, 0L, Math.max(250L, intervalMs), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return true when read-only traffic may be sent to the replica
+     */
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Marks the replica unusable after a failed connection attempt; the next successful lag
+     * check re-enables it.
+     * @param cause the failure that triggered the fallback
+     */
+    public void markUnavailable(Exception cause) {
+        if (usable) {
+            log.warn("Replica marked unavailable, routing reads to primary: {}", cause.getMessage());
+        }
+        usable = false;
+        sqlMetricsService.recordReplicaLag(-1L, false);
+    }
+
+    /**
+     * Runs one lag check. Public so it can be triggered on demand.
+     */
+    public void check() {
+        boolean wasUsable = usable;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            Long lag = readLag(rs);
+            if (lag == null) {
+                usable = false;
+                lastLagSeconds = -1L;
+            } else {
+                lastLagSeconds = lag;
+                usable = lag <= maxLagSeconds;
+            }
+        } catch (SQLException | RuntimeException ex) {
+            usable = false;
+            lastLagSeconds = -1L;
+            log.debug("Replica lag check failed: {}", ex.getMessage());
+        }
+        sqlMetricsService.recordReplicaLag(lastLagSeconds, usable);
+        if (wasUsable != usable) {
+            log.info("Replica {} for reads (lag: {} s, max: {} s)", usable ? "enabled" : "disabled", lastLagSeconds, maxLagSeconds);
+        }
+    }
+
+    private static Long readLag(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            return null;
+        }
+        ResultSetMetaData meta = rs.getMetaData();
+        int column = 1;
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            String label = meta.getColumnLabel(i);
+            if ("Seconds_Behind_Source".equalsIgnoreCase(label) || "Seconds_Behind_Master".equalsIgnoreCase(label)) {
+                column = i;
+                break;
+            }
+        }
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,41 @@
+package com.aisystems.firefliescrmautomation.configuration;
+
+import com.aisystems.firefliescrmautomation.service.SqlMetricsService;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * datasource-proxy listener that forwards every executed statement to {@link SqlMetricsService}.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 8:20 AM GMT -5 Bogotá DC Colombia
+ */
+public class SqlMetricsQueryListener implements QueryExecutionListener {
+
+    private final SqlMetricsService sqlMetricsService;
+
+    public SqlMetricsQueryListener(SqlMetricsService sqlMetricsService) {
+        this.sqlMetricsService = sqlMetricsService;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Nothing to do: datasource-proxy measures the elapsed time for us.
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        // A Statement batch reports one QueryInfo per SQL string; split the elapsed time between them.
+        long elapsed = execInfo.getElapsedTime() / queryInfoList.size();
+        int batchSize = execInfo.isBatch() ? Math.max(execInfo.getBatchSize(), queryInfoList.size()) : 0;
+        for (QueryInfo queryInfo : queryInfoList) {
+            sqlMetricsService.recordStatement(execInfo.getDataSourceName(), queryInfo.getQuery(), elapsed,
+                    execInfo.isBatch(), batchSize, execInfo.isSuccess());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.aisystems.firefliescrmautomation.controller;
+
+import com.aisystems.firefliescrmautomation.dto.ActionItemAnalyticsReport;
+import com.aisystems.firefliescrmautomation.dto.ActionItemDedupReport;
+import com.aisystems.firefliescrmautomation.dto.ActionItemEmbeddingReport;
+import com.aisystems.firefliescrmautomation.dto.SimilarActionItem;
+import com.aisystems.firefliescrmautomation.service.ActionItemAnalyticsStore;
+import com.aisystems.firefliescrmautomation.service.ActionItemAnalyticsStore.Dimension;
+import com.aisystems.firefliescrmautomation.service.ActionItemDeduplicator;
+import com.aisystems.firefliescrmautomation.service.ActionItemSimilarityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dashboard aggregates over the action items processed by the extraction pipeline.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 9:55 AM GMT -5 Bogotá DC Colombia
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@Tag(name = "Action Item Analytics Controller", description = "Live aggregates of extracted action items")
+public class ActionItemAnalyticsController {
+
+    @Autowired
+    private ActionItemAnalyticsStore analyticsStore;
+
+    @Autowired
+    private ActionItemDeduplicator deduplicator;
+
+    @Autowired
+    private ActionItemSimilarityService similarityService;
+
+    /**
+     * Counts action items grouped by one dimension with optional equality filters.
+     * @return the aggregate, or 400 when the groupBy dimension is unknown
+     */
+    @Operation(
+            summary = "(aggregateActionItems) Count action items by dimension",
+            description = "(aggregateActionItems) Groups processed action items by priority, category, assignee, deadlineWeek or meeting, optionally filtered by the other dimensions. Returns the limit largest buckets; distinctBuckets tells how many exist."
+    )
+    @GetMapping("/action-items")
+    public ResponseEntity<ActionItemAnalyticsReport> aggregateActionItems(
+            @Parameter(description = "priority, category, assignee, deadlineWeek or meeting", example = "priority")
+            @RequestParam(value = "groupBy", defaultValue = "priority") String groupBy,
+            @RequestParam(value = "priority", required = false) String priority,
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "assignee", required = false) String assignee,
+            @Parameter(description = "Monday of the deadline week (yyyy-MM-dd) or 'unscheduled'")
+            @RequestParam(value = "deadlineWeek", required = false) String deadlineWeek,
+            @RequestParam(value = "meeting", required = false) String meeting,
+            @Parameter(description = "Largest buckets returned; 0 for all", example = "50")
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        Dimension dimension = Dimension.parse(groupBy);
+        if (dimension == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<Dimension, String> filters = new EnumMap<>(Dimension.class);
+        filters.put(Dimension.PRIORITY, priority);
+        filters.put(Dimension.CATEGORY, category);
+        filters.put(Dimension.ASSIGNEE, assignee);
+        filters.put(Dimension.DEADLINE_WEEK, deadlineWeek);
+        filters.put(Dimension.MEETING, meeting);
+        return ResponseEntity.ok(analyticsStore.aggregate(dimension, filters, limit));
+    }
+
+    /**
+     * Returns the unfiltered breakdown for every dimension except meeting in one call.
+     * @return dimension name to aggregate
+     */
+    @Operation(
+            summary = "(actionItemOverview) Action item breakdown for every dimension",
+            description = "(actionItemOverview) Returns unfiltered counts by priority, category, assignee and deadline week, at most limit buckets each. Meetings grow with the whole history; query them with groupBy=meeting."
+    )
+    @GetMapping("/action-items/overview")
+    public Map<String, ActionItemAnalyticsReport> actionItemOverview(
+            @Parameter(description = "Largest buckets returned per dimension", example = "20")
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        Map<String, ActionItemAnalyticsReport> overview = new LinkedHashMap<>();
+        for (Dimension dimension : Dimension.values()) {
+            if (dimension != Dimension.MEETING) {
+                overview.put(dimension.name().toLowerCase(Locale.ROOT), analyticsStore.aggregate(dimension, null, Math.max(1, limit)));
+            }
+        }
+        return overview;
+    }
+
+    /**
+     * Returns the near-duplicate detector counters.
+     * @return index size, merges, cross-meeting links and lookup latency
+     */
+    @Operation(
+            summary = "(duplicateStats) Near-duplicate action item statistics",
+            description = "(duplicateStats) Returns how many action items were merged within a transcript or linked to an earlier meeting, the HubSpot writes avoided and the MinHash/LSH lookup latency."
+    )
+    @GetMapping("/action-items/duplicates")
+    public ActionItemDedupReport duplicateStats() {
+        return deduplicator.getReport();
+    }
+
+    /**
+     * Finds past action items whose description is similar to the given text.
+     * @return up to {@code k} items, most similar first, or 400 when no text is given
+     */
+    @Operation(
+            summary = "(similarActionItems) Past action items similar to a description",
+            description = "(similarActionItems) Embeds the text with the active LLM provider (cached in MySQL) and returns the k nearest processed action items from the in-memory HNSW index, with cosine similarity."
+    )
+    @GetMapping("/action-items/similar")
+    public ResponseEntity<List<SimilarActionItem>> similarActionItems(
+            @Parameter(description = "Action item description to compare", example = "Send the lead source list by Friday")
+            @RequestParam("text") String text,
+            @RequestParam(value = "k", defaultValue = "5") int k) {
+        if (text == null || text.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(similarityService.findSimilar(text, Math.max(1, Math.min(k, 50))));
+    }
+
+    /**
+     * Returns the embedding index state.
+     * @return indexed items per model, cache hits and latencies
+     */
+    @Operation(
+            summary = "(similarityIndexStats) Embedding index statistics",
+            description = "(similarityIndexStats) Returns the number of indexed action items per embedding model, how many vectors came from memory, the MySQL cache or the provider, and embedding/query latency."
+    )
+    @GetMapping("/action-items/similar/stats")
+    public ActionItemEmbeddingReport similarityIndexStats() {
+        return similarityService.getReport();
+    }
+}
@@ -0,0 +1,87 @@
+package com.aisystems.firefliescrmautomation.controller;
+
+import com.aisystems.firefliescrmautomation.dto.ExtractionBenchmarkReport;
+import com.aisystems.firefliescrmautomation.service.ExtractionBenchmarkService;
+import com.aisystems.firefliescrmautomation.service.ExtractionBenchmarkService.Variant;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs extraction benchmarks over labelled transcripts to compare prompt variants and models.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 4:45 PM GMT -5 Bogotá DC Colombia
+ */
+@RestController
+@RequestMapping("/api/benchmarks")
+@Tag(name = "Extraction Benchmark Controller", description = "Extraction quality and latency over a labelled corpus")
+public class ExtractionBenchmarkController {
+
+    @Autowired
+    private ExtractionBenchmarkService benchmarkService;
+
+    /**
+     * Runs an extraction benchmark and waits for it to finish.
+     * @return the report, 400 for an unknown corpus, variant or provider, 409 when a run is in progress
+     */
+    @Operation(
+            summary = "(runExtractionBenchmark) Benchmark action item extraction",
+            description = "(runExtractionBenchmark) Extracts every transcript of the corpus with each prompt variant (rules, text, structured, batch) and model, concurrently on the chosen provider, and returns precision, recall, priority/deadline/assignee accuracy, latency percentiles and tokens per transcript for each."
+    )
+    @PostMapping("/extraction")
+    public ResponseEntity<ExtractionBenchmarkReport> runExtractionBenchmark(
+            @Parameter(description = "golden, synthetic, mixed (golden topped up with synthetic) or an NDJSON file name in aisystems.benchmark.corpus-dir", example = "golden")
+            @RequestParam(value = "corpus", defaultValue = "golden") String corpus,
+            @Parameter(description = "Maximum number of transcripts; for synthetic and mixed, how many in total", example = "100")
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            @Parameter(description = "Seed of the synthetic corpus", example = "42")
+            @RequestParam(value = "seed", defaultValue = "42") long seed,
+            @Parameter(description = "Comma-separated prompt variants: rules, text, structured, batch (the batch extraction engine)", example = "rules,text,structured")
+            @RequestParam(value = "variants", defaultValue = "rules,text,structured") String variants,
+            @Parameter(description = "Comma-separated models for the LLM variants; defaults to the cheap model", example = "gpt-4o-mini,gpt-4o")
+            @RequestParam(value = "models", required = false) String models,
+            @Parameter(description = "LLM provider; defaults to the active one", example = "openai")
+            @RequestParam(value = "provider", required = false) String provider,
+            @RequestParam(value = "concurrency", defaultValue = "4") int concurrency,
+            @Parameter(description = "Compress transcripts first, as the extraction pipeline does")
+            @RequestParam(value = "compress", defaultValue = "true") boolean compress) {
+        List<Variant> variantList = new ArrayList<>();
+        try {
+            for (String variant : variants.split(",")) {
+                if (!variant.isBlank()) {
+                    variantList.add(Variant.parse(variant));
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<String> modelList = new ArrayList<>();
+        if (models != null) {
+            for (String model : models.split(",")) {
+                if (!model.isBlank()) {
+                    modelList.add(model.strip());
+                }
+            }
+        }
+        if (variantList.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            ExtractionBenchmarkReport report = benchmarkService.run(corpus, limit, seed, variantList, modelList, provider,
+                    concurrency, compress);
+            return report == null ? ResponseEntity.status(HttpStatus.CONFLICT).build() : ResponseEntity.ok(report);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.aisystems.firefliescrmautomation.controller;
+
+import com.aisystems.firefliescrmautomation.dto.FirefliesIngestionStatus;
+import com.aisystems.firefliescrmautomation.dto.FirefliesSyncReport;
+import com.aisystems.firefliescrmautomation.dto.FirefliesWebhookAck;
+import com.aisystems.firefliescrmautomation.dto.FirefliesWebhookEvent;
+import com.aisystems.firefliescrmautomation.service.FirefliesSyncPoller;
+import com.aisystems.firefliescrmautomation.service.FirefliesWebhookQueueService;
+import com.aisystems.firefliescrmautomation.service.FirefliesWebhookQueueService.EnqueueResult;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Receives Fireflies webhooks and hands "Transcription completed" events to the ingestion queue.
+ * <p>
+ * The handler only parses the payload and offers the meeting id to a bounded queue, so it
+ * answers within a few milliseconds. When the queue is full it returns 429 with a Retry-After
+ * header. If {@code aisystems.fireflies.webhook.secret} is set, the {@code x-hub-signature}
+ * header (HMAC-SHA256 of the raw body) is verified.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 10:50 AM GMT -5 Bogotá DC Colombia
+ */
+@RestController
+@RequestMapping("/api/fireflies")
+@Tag(name = "Fireflies Webhook Controller", description = "Push ingestion of Fireflies transcripts")
+public class FirefliesWebhookController {
+
+    private static final String TRANSCRIPTION_COMPLETED = "Transcription completed";
+    /** Fireflies may add fields to the payload; only the ones the event declares are read. */
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Autowired
+    private FirefliesWebhookQueueService queueService;
+
+    @Autowired
+    private FirefliesSyncPoller syncPoller;
+
+    @Value("${aisystems.fireflies.webhook.secret:}")
+    private String webhookSecret;
+
+    @Operation(
+            summary = "(receiveWebhook) Fireflies webhook receiver",
+            description = "(receiveWebhook) Accepts Fireflies 'Transcription completed' events and queues the transcript for extraction and HubSpot deal creation. Returns 429 with Retry-After when the queue is full."
+    )
+    @PostMapping("/webhook")
+    public ResponseEntity<FirefliesWebhookAck> receiveWebhook(
+            @RequestBody String payload,
+            @RequestHeader(value = "x-hub-signature", required = false) String signature) {
+        if (webhookSecret != null && !webhookSecret.isBlank() && !isValidSignature(payload, signature)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new FirefliesWebhookAck(false, null, queueService.getQueueDepth(), "Invalid signature"));
+        }
+
+        FirefliesWebhookEvent event;
+        try {
+            event = MAPPER.readValue(payload, FirefliesWebhookEvent.class);
+        } catch (Exception ex) {
+            return ResponseEntity.badRequest()
+                    .body(new FirefliesWebhookAck(false, null, queueService.getQueueDepth(), "Unreadable payload: " + ex.getMessage()));
+        }
+        if (event.getMeetingId() == null || event.getMeetingId().isBlank()) {
+            return ResponseEntity.badRequest()
+                    .body(new FirefliesWebhookAck(false, null, queueService.getQueueDepth(), "meetingId is required"));
+        }
+        if (event.getEventType() != null && !TRANSCRIPTION_COMPLETED.equalsIgnoreCase(event.getEventType().trim())) {
+            return ResponseEntity.ok(new FirefliesWebhookAck(false, event.getMeetingId(), queueService.getQueueDepth(),
+                    "Ignored event type: " + event.getEventType()));
+        }
+
+        EnqueueResult result = queueService.enqueue(event.getMeetingId());
+        if (result == EnqueueResult.QUEUE_FULL) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(queueService.retryAfterSeconds()))
+                    .body(new FirefliesWebhookAck(false, event.getMeetingId(), queueService.getQueueDepth(), "Ingestion queue is full"));
+        }
+        String message = result == EnqueueResult.DUPLICATE ? "Already queued" : "Queued";
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new FirefliesWebhookAck(true, event.getMeetingId(), queueService.getQueueDepth(), message));
+    }
+
+    @Operation(
+            summary = "(webhookStatus) Fireflies ingestion queue status",
+            description = "(webhookStatus) Returns queue depth, accepted/rejected/processed counters and processing time."
+    )
+    @GetMapping("/webhook/status")
+    public FirefliesIngestionStatus webhookStatus() {
+        return queueService.getStatus();
+    }
+
+    @Operation(
+            summary = "(runSync) Run a Fireflies sync cycle now",
+            description = "(runSync) Lists transcripts newer than the stored watermark, processes the ones not seen yet and advances the watermark. Returns 409 when a cycle is already running."
+    )
+    @PostMapping("/sync")
+    public ResponseEntity<FirefliesSyncReport> runSync() {
+        FirefliesSyncReport report = syncPoller.syncNow();
+        if (report == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    @Operation(
+            summary = "(syncStatus) Last Fireflies sync cycle",
+            description = "(syncStatus) Returns the report of the most recent sync cycle, or 204 when none has run yet."
+    )
+    @GetMapping("/sync/status")
+    public ResponseEntity<FirefliesSyncReport> syncStatus() {
+        FirefliesSyncReport report = syncPoller.getLastReport();
+        return report == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(report);
+    }
+
+    private boolean isValidSignature(String payload, String signature) {
+        if (signature == null || signature.isBlank()) {
+            return false;
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] expected = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            String provided = signature.trim();
+            if (provided.startsWith("sha256=")) {
+                provided = provided.substring("sha256=".length());
+            }
+            return MessageDigest.isEqual(HexFormat.of().formatHex(expected).getBytes(StandardCharsets.US_ASCII),
+                    provided.toLowerCase().getBytes(StandardCharsets.US_ASCII));
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+}
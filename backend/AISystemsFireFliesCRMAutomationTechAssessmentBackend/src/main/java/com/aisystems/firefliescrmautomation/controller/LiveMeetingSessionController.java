@@ -0,0 +1,113 @@
+package com.aisystems.firefliescrmautomation.controller;
+
+import com.aisystems.firefliescrmautomation.dto.LiveMeetingSessionSnapshot;
+import com.aisystems.firefliescrmautomation.service.LiveMeetingSessionService;
+import com.aisystems.firefliescrmautomation.service.LiveMeetingSessionService.SessionTooLongException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Live meeting sessions: transcript segments are appended while the meeting runs and the
+ * action items are extracted incrementally; HubSpot is written once when the session closes.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 3:55 PM GMT -5 Bogotá DC Colombia
+ */
+@RestController
+@RequestMapping("/api/live-sessions")
+@Tag(name = "Live Meeting Session Controller", description = "Incremental action item extraction during a meeting")
+public class LiveMeetingSessionController {
+
+    @Autowired
+    private LiveMeetingSessionService liveMeetingSessionService;
+
+    /**
+     * Opens a session.
+     * @return the new session, or 429 when the maximum number of sessions is open
+     */
+    @Operation(
+            summary = "(openSession) Open a live meeting session",
+            description = "(openSession) Opens a session and returns its id. The optional body is the first transcript segment, usually the Meeting Date and Participants lines."
+    )
+    @PostMapping
+    public ResponseEntity<LiveMeetingSessionSnapshot> openSession(@RequestBody(required = false) String transcript) {
+        LiveMeetingSessionSnapshot snapshot = liveMeetingSessionService.openSession(transcript);
+        if (snapshot == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(snapshot);
+    }
+
+    /**
+     * Appends a transcript segment.
+     * @return the session state, or 404 when the session is unknown or closing
+     */
+    @Operation(
+            summary = "(appendSegment) Append transcript lines to a live session",
+            description = "(appendSegment) Appends the lines produced since the last segment. Extraction is debounced and only covers the new lines plus a few lines of context; updated action items are pushed to the session's event stream."
+    )
+    @PostMapping("/{sessionId}/segments")
+    public ResponseEntity<LiveMeetingSessionSnapshot> appendSegment(
+            @Parameter(description = "Session id returned by openSession")
+            @PathVariable("sessionId") String sessionId,
+            @RequestBody String segment) {
+        LiveMeetingSessionSnapshot snapshot = liveMeetingSessionService.appendSegment(sessionId, segment);
+        return snapshot == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(snapshot);
+    }
+
+    @Operation(
+            summary = "(getSession) Current state of a live session",
+            description = "(getSession) Returns the running action-item set and how many of the appended lines it covers."
+    )
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<LiveMeetingSessionSnapshot> getSession(@PathVariable("sessionId") String sessionId) {
+        LiveMeetingSessionSnapshot snapshot = liveMeetingSessionService.getSnapshot(sessionId);
+        return snapshot == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(snapshot);
+    }
+
+    @Operation(
+            summary = "(sessionEvents) Subscribe to a live session",
+            description = "(sessionEvents) Server-sent events: 'action-items' with the session state right away and after every extraction, 'closed' with the final state and HubSpot report when the session closes."
+    )
+    @GetMapping(value = "/{sessionId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> sessionEvents(@PathVariable("sessionId") String sessionId) {
+        SseEmitter emitter = liveMeetingSessionService.subscribe(sessionId);
+        return emitter == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Closes a session and writes its action items to HubSpot.
+     * @return the final state, or 404 when the session is unknown or already closing
+     */
+    @Operation(
+            summary = "(closeSession) Close a live session",
+            description = "(closeSession) Extracts the remaining lines, resolves deadlines and links earlier meetings over the whole transcript and creates the HubSpot tasks once. With applyToHubSpot=false only the final items are returned."
+    )
+    @PostMapping("/{sessionId}/close")
+    public ResponseEntity<LiveMeetingSessionSnapshot> closeSession(
+            @PathVariable("sessionId") String sessionId,
+            @RequestParam(value = "applyToHubSpot", defaultValue = "true") boolean applyToHubSpot) {
+        LiveMeetingSessionSnapshot snapshot = liveMeetingSessionService.close(sessionId, applyToHubSpot);
+        return snapshot == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(snapshot);
+    }
+
+    @ExceptionHandler(SessionTooLongException.class)
+    @ResponseStatus(HttpStatus.CONTENT_TOO_LARGE)
+    public String handleSessionTooLong(SessionTooLongException ex) {
+        return ex.getMessage();
+    }
+}
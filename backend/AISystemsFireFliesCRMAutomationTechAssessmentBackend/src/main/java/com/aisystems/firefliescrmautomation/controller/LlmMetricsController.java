@@ -0,0 +1,62 @@
+package com.aisystems.firefliescrmautomation.controller;
+
+import com.aisystems.firefliescrmautomation.dto.LlmSchedulerReport;
+import com.aisystems.firefliescrmautomation.dto.ModelRoutingReport;
+import com.aisystems.firefliescrmautomation.dto.TriageMetricsReport;
+import com.aisystems.firefliescrmautomation.service.LlmCallScheduler;
+import com.aisystems.firefliescrmautomation.service.ModelRouter;
+import com.aisystems.firefliescrmautomation.service.TranscriptTriageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Exposes per-route metrics of the OpenAI calls made through {@link ModelRouter} and the
+ * triage counts of {@link TranscriptTriageService}.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 1:55 PM GMT -5 Bogotá DC Colombia
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@Tag(name = "Metrics Controller", description = "Runtime metrics for the AISystems backend")
+public class LlmMetricsController {
+
+    @Autowired
+    private ModelRouter modelRouter;
+
+    @Autowired
+    private TranscriptTriageService triageService;
+
+    @Autowired
+    private LlmCallScheduler llmCallScheduler;
+
+    @Operation(
+            summary = "(getLlmMetrics) LLM routing metrics",
+            description = "(getLlmMetrics) Returns latency histograms, token usage and estimated cost per task, tier and model, plus escalation and failover counts."
+    )
+    @GetMapping("/llm")
+    public ModelRoutingReport getLlmMetrics() {
+        return modelRouter.getReport();
+    }
+
+    @Operation(
+            summary = "(getTriageMetrics) Heuristic triage metrics",
+            description = "(getTriageMetrics) Returns how many transcripts were classified none, simple or complex, and the agreement (mean F1, item-count match) of the rule-based items with the LLM path."
+    )
+    @GetMapping("/triage")
+    public TriageMetricsReport getTriageMetrics() {
+        return triageService.getReport();
+    }
+
+    @Operation(
+            summary = "(getSchedulerMetrics) LLM call scheduler metrics",
+            description = "(getSchedulerMetrics) Returns the upstream slots in use and, per lane (interactive, webhook, bulk), the slot cap, queue depth, queued tenants, queue-wait histogram and how many calls expired, were preempted or rejected."
+    )
+    @GetMapping("/llm/scheduler")
+    public LlmSchedulerReport getSchedulerMetrics() {
+        return llmCallScheduler.getReport();
+    }
+}
@@ -1,10 +1,28 @@
 package com.aisystems.firefliescrmautomation.controller;
 
+import com.aisystems.firefliescrmautomation.service.ActionItemExtractorService;
+import com.aisystems.firefliescrmautomation.service.LlmCallScheduler;
+import com.aisystems.firefliescrmautomation.service.LlmCallScheduler.CallRejectedException;
 import com.aisystems.firefliescrmautomation.service.OpenAIService;
+import com.aisystems.firefliescrmautomation.service.PromptBudgetPlanner.PromptTooLargeException;
+import com.aisystems.firefliescrmautomation.service.SampleTranscriptPool;
 import com.aisystems.firefliescrmautomation.service.HubSpotTaskService;
+import com.aisystems.firefliescrmautomation.service.TranscriptCompressor;
+import com.aisystems.firefliescrmautomation.service.TranscriptIngestionService;
+import com.aisystems.firefliescrmautomation.service.TranscriptRevisionService;
+import com.aisystems.firefliescrmautomation.service.TranscriptTriageService;
+import com.aisystems.firefliescrmautomation.service.TranscriptSpoolService.TranscriptTooLargeException;
+import com.aisystems.firefliescrmautomation.dto.ActionItemBatchReport;
 import com.aisystems.firefliescrmautomation.dto.HubSpotTaskCreationReport;
+import com.aisystems.firefliescrmautomation.dto.SampleTranscriptPoolReport;
+import com.aisystems.firefliescrmautomation.dto.TranscriptCompressionReport;
+import com.aisystems.firefliescrmautomation.dto.TranscriptRevisionReport;
+import com.aisystems.firefliescrmautomation.dto.TranscriptTriageResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,6 +30,10 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -32,6 +54,24 @@ public class OpenAITestController {
     @Autowired
     private HubSpotTaskService hubSpotTaskService;
 
+    @Autowired
+    private TranscriptIngestionService transcriptIngestionService;
+
+    @Autowired
+    private TranscriptCompressor transcriptCompressor;
+
+    @Autowired
+    private TranscriptTriageService triageService;
+
+    @Autowired
+    private TranscriptRevisionService transcriptRevisionService;
+
+    @Autowired
+    private SampleTranscriptPool sampleTranscriptPool;
+
+    @Autowired
+    private ActionItemExtractorService actionItemExtractorService;
+
     /**
      * Test OpenAI completion
      * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
@@ -85,8 +125,8 @@ public class OpenAITestController {
             )
     )
     @PostMapping("/extract-action-items")
-    public List<Map<String, Object>> extractActionItems(@RequestBody String transcript) {
-        return openAIService.extractActionItemsFromTranscript(transcript);
+    public List<Map<String, Object>> extractActionItems(InputStream transcript) throws IOException {
+        return transcriptIngestionService.extractActionItems(transcript);
     }
 
     /**
@@ -98,11 +138,11 @@ public class OpenAITestController {
 
     @Operation(
             summary = "generateSampleTranscript - Generate random sample transcript",
-            description = "Method generateSampleTranscript: Uses ChatGPT to generate a random sample meeting transcript with similar structure and action items as the provided Fireflies transcript."
+            description = "Method generateSampleTranscript: Returns a random sample meeting transcript with similar structure and action items as the provided Fireflies transcript, pre-generated with ChatGPT in the background (generated on the spot only when the pool is empty)."
     )
     @GetMapping("/generate-sample-transcript")
     public String generateSampleTranscript() {
-        return openAIService.generateRandomSampleTranscript();
+        return sampleTranscriptPool.takeTranscript();
     }
 
     /**
@@ -114,11 +154,20 @@ public class OpenAITestController {
 
     @Operation(
             summary = "(generateSampleTranscriptFull) generateSampleTranscriptFull - Generate random sample transcript (full response)",
-            description = "(generateSampleTranscriptFull) Method generateSampleTranscriptFull: Returns the full OpenAI API response for a random sample meeting transcript."
+            description = "(generateSampleTranscriptFull) Method generateSampleTranscriptFull: Returns the full OpenAI API response for a random sample meeting transcript from the pre-generated pool; samplePool tells whether it came from the pool and when and how fast it was generated."
     )
     @GetMapping("/generate-sample-transcript-full")
     public Map<String, Object> generateSampleTranscriptFull() {
-        return openAIService.generateRandomSampleTranscriptFull();
+        return sampleTranscriptPool.takeFull();
+    }
+
+    @Operation(
+            summary = "(sampleTranscriptPoolStats) Sample transcript pool statistics",
+            description = "(sampleTranscriptPoolStats) Returns the pool size, capacity and low-water mark, hits and misses, and background generation failures and latency."
+    )
+    @GetMapping("/generate-sample-transcript/pool")
+    public SampleTranscriptPoolReport sampleTranscriptPoolStats() {
+        return sampleTranscriptPool.getReport();
     }
 
     /**
@@ -164,8 +213,108 @@ public class OpenAITestController {
             )
     )
     @PostMapping("/create-deal-from-transcript-to-hubspot")
-    public HubSpotTaskCreationReport createTasksFromTranscriptInHubspot(@RequestBody String baseTranscript) {
-        return openAIService.createTasksFromTranscript(baseTranscript);
+    public HubSpotTaskCreationReport createTasksFromTranscriptInHubspot(InputStream baseTranscript) throws IOException {
+        return transcriptIngestionService.createTasks(baseTranscript);
+    }
+
+    @Operation(
+            summary = "(extractActionItemsBatch) Extract action items from a batch of transcripts",
+            description = "(extractActionItemsBatch) Extracts the action items of every transcript of the JSON array concurrently (bounded by aisystems.extractor.parallelism) and, with createTasks=true, creates their HubSpot deals through the batch endpoint. Returns one result per transcript, in input order, with the time spent compressing, extracting, parsing, enriching and writing to HubSpot."
+    )
+    @PostMapping("/extract-action-items/batch")
+    public ActionItemBatchReport extractActionItemsBatch(
+            @RequestBody List<String> transcripts,
+            @Parameter(description = "Create a HubSpot deal per extracted item")
+            @RequestParam(value = "createTasks", defaultValue = "false") boolean createTasks) {
+        return actionItemExtractorService.extractBatch(transcripts, createTasks);
+    }
+
+    @Operation(
+            summary = "(previewCompression) Preview transcript compression",
+            description = "(previewCompression) Returns the transcript as it would be sent to OpenAI after compression, with tokens saved. Levels: OFF, LIGHT, STANDARD, AGGRESSIVE (default: configured level)."
+    )
+    @PostMapping("/compression/preview")
+    public TranscriptCompressionReport previewCompression(
+            @RequestBody String transcript,
+            @Parameter(description = "Compression level", example = "STANDARD")
+            @RequestParam(value = "level", required = false) String level) {
+        return transcriptCompressor.compress(transcript, TranscriptCompressor.Level.parse(level, transcriptCompressor.getDefaultLevel()));
+    }
+
+    @Operation(
+            summary = "(compressionStats) Cumulative compression savings",
+            description = "(compressionStats) Returns the number of compressed requests and the tokens saved since startup."
+    )
+    @GetMapping("/compression/stats")
+    public Map<String, Object> compressionStats() {
+        return transcriptCompressor.getStats();
+    }
+
+    @Operation(
+            summary = "(previewTriage) Classify a transcript without calling the LLM",
+            description = "(previewTriage) Returns the triage class (NONE, SIMPLE, COMPLEX), the reason and, for none/simple transcripts, the items the rules extract."
+    )
+    @PostMapping("/triage/preview")
+    public TranscriptTriageResult previewTriage(@RequestBody String transcript) {
+        return triageService.classify(transcript);
+    }
+
+    @Operation(
+            summary = "(syncTranscriptRevision) Re-process an edited transcript",
+            description = "(syncTranscriptRevision) Extracts only the transcript segments that changed since the previous revision of the same id, merges the items and applies the HubSpot diff: deals are created for new items, updated for changed ones and archived for removed ones. With applyToHubSpot=false only the diff is returned."
+    )
+    @PostMapping("/transcripts/{transcriptId}/revisions")
+    public TranscriptRevisionReport syncTranscriptRevision(
+            @Parameter(description = "Stable transcript id, e.g. the Fireflies transcript id", example = "01JD2X8Q7E")
+            @PathVariable("transcriptId") String transcriptId,
+            @RequestBody String transcript,
+            @RequestParam(value = "applyToHubSpot", defaultValue = "true") boolean applyToHubSpot) {
+        return transcriptRevisionService.syncRevision(transcriptId, transcript, applyToHubSpot);
+    }
+
+    @Operation(
+            summary = "(streamCompletion) Stream a completion",
+            description = "(streamCompletion) Streams the completion text for the given prompt as it is generated by the active LLM provider."
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_PLAIN_VALUE)
+    public StreamingResponseBody streamCompletion(
+            @Parameter(description = "Prompt to send", example = "Hello from AI Systems")
+            @RequestParam(value = "prompt", defaultValue = "Hello from AI Systems") String prompt) {
+        // The body is written on the MVC async executor, where the request's tenant is not set.
+        String tenant = LlmCallScheduler.currentTenant();
+        return out -> LlmCallScheduler.runInLane(LlmCallScheduler.Lane.INTERACTIVE, tenant,
+                () -> openAIService.streamCompletion(prompt, delta -> {
+                    try {
+                        out.write(delta.getBytes(StandardCharsets.UTF_8));
+                        out.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleInvalidRequest(IllegalArgumentException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler(TranscriptTooLargeException.class)
+    @ResponseStatus(HttpStatus.CONTENT_TOO_LARGE)
+    public String handleTranscriptTooLarge(TranscriptTooLargeException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler(PromptTooLargeException.class)
+    @ResponseStatus(HttpStatus.CONTENT_TOO_LARGE)
+    public String handlePromptTooLarge(PromptTooLargeException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler(CallRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String handleCallRejected(CallRejectedException ex) {
+        return ex.getMessage();
     }
 
 }
@@ -0,0 +1,33 @@
+package com.aisystems.firefliescrmautomation.controller;
+
+import com.aisystems.firefliescrmautomation.dto.SqlMetricsReport;
+import com.aisystems.firefliescrmautomation.service.SqlMetricsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Exposes the SQL instrumentation collected through datasource-proxy and the Hikari pools.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 8:30 AM GMT -5 Bogotá DC Colombia
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@Tag(name = "Metrics Controller", description = "Runtime metrics for the AISystems backend")
+public class SqlMetricsController {
+
+    @Autowired
+    private SqlMetricsService sqlMetricsService;
+
+    @Operation(
+            summary = "(getSqlMetrics) SQL and connection pool metrics",
+            description = "(getSqlMetrics) Returns per-statement latency histograms, batch sizes, the slow-query log, N+1 incidents and Hikari pool metrics."
+    )
+    @GetMapping("/sql")
+    public SqlMetricsReport getSqlMetrics() {
+        return sqlMetricsService.getReport();
+    }
+}
@@ -0,0 +1,109 @@
+package com.aisystems.firefliescrmautomation.controller;
+
+import com.aisystems.firefliescrmautomation.dto.TranscriptIngestionReport;
+import com.aisystems.firefliescrmautomation.service.BulkTranscriptService;
+import com.aisystems.firefliescrmautomation.service.BulkTranscriptService.BulkCapacityException;
+import com.aisystems.firefliescrmautomation.service.LlmCallScheduler.CallRejectedException;
+import com.aisystems.firefliescrmautomation.service.TranscriptIngestionService;
+import com.aisystems.firefliescrmautomation.service.TranscriptSpoolService.TranscriptTooLargeException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Ingestion of transcript documents (Fireflies PDF exports).
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 12:00 PM GMT -5 Bogotá DC Colombia
+ */
+@RestController
+@RequestMapping("/api/transcripts")
+@Tag(name = "Transcript Ingestion Controller", description = "Upload transcript documents for action item extraction")
+public class TranscriptIngestionController {
+
+    @Autowired
+    private TranscriptIngestionService transcriptIngestionService;
+
+    @Autowired
+    private BulkTranscriptService bulkTranscriptService;
+
+    @Operation(
+            summary = "(extractActionItemsFromPdf) Extract action items from a PDF transcript",
+            description = "(extractActionItemsFromPdf) Spools the uploaded PDF to disk, extracts text page by page in parallel, normalizes it into speaker turns and extracts action items with OpenAI."
+    )
+    @PostMapping(value = "/pdf/extract-action-items", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public TranscriptIngestionReport extractActionItemsFromPdf(
+            @Parameter(description = "Fireflies transcript exported as PDF")
+            @RequestParam("file") MultipartFile file) throws IOException {
+        return transcriptIngestionService.ingestPdf(file);
+    }
+
+    @Operation(
+            summary = "(normalizePdf) Normalized transcript text of a PDF",
+            description = "(normalizePdf) Returns the speaker-turn text extracted from the uploaded PDF without calling OpenAI."
+    )
+    @PostMapping(value = "/pdf/text", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.TEXT_PLAIN_VALUE)
+    public String normalizePdf(
+            @Parameter(description = "Fireflies transcript exported as PDF")
+            @RequestParam("file") MultipartFile file) throws IOException {
+        return transcriptIngestionService.normalizePdf(file).getText();
+    }
+
+    @Operation(
+            summary = "(processBulk) Extract action items from many transcripts",
+            description = "(processBulk) Accepts NDJSON (one {\"id\", \"transcript\"} object or JSON string per line) or a zip of plain-text transcripts, processes them in parallel (at most concurrency at a time, capped by aisystems.bulk.max-concurrency) and streams one NDJSON line {\"id\", \"result\"} per transcript as each finishes, in completion order, followed by a summary line. With createTasks=true the HubSpot deals of each transcript are created in one batch request."
+    )
+    @PostMapping(value = "/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> processBulk(
+            InputStream body,
+            @Parameter(description = "Transcripts processed at once", example = "8")
+            @RequestParam(value = "concurrency", defaultValue = "8") int concurrency,
+            @Parameter(description = "Create a HubSpot deal per extracted item")
+            @RequestParam(value = "createTasks", defaultValue = "false") boolean createTasks) throws IOException {
+        BulkTranscriptService.BulkJob job = bulkTranscriptService.open(body, concurrency, createTasks);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(job::writeTo);
+    }
+
+    @Operation(
+            summary = "(bulkStats) Bulk processing statistics",
+            description = "(bulkStats) Returns the running bulk uploads, the limits and the transcripts processed since startup."
+    )
+    @GetMapping("/bulk/stats")
+    public Map<String, Object> bulkStats() {
+        return bulkTranscriptService.getStats();
+    }
+
+    @ExceptionHandler(BulkCapacityException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public String handleBulkCapacity(BulkCapacityException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler(TranscriptTooLargeException.class)
+    @ResponseStatus(HttpStatus.CONTENT_TOO_LARGE)
+    public String handleTooLarge(TranscriptTooLargeException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleInvalidUpload(IllegalArgumentException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler(CallRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String handleCallRejected(CallRejectedException ex) {
+        return ex.getMessage();
+    }
+}
@@ -0,0 +1,45 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Typed action item as returned by the structured-output extraction mode.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 1:30 PM GMT -5 Bogotá DC Colombia
+ */
+public class ActionItem {
+
+    private String description;
+    private String priority;
+    private String deadline;
+    private String assignee;
+    private String category;
+
+    public String getDescription() { return description; }
+    public String getPriority() { return priority; }
+    public String getDeadline() { return deadline; }
+    public String getAssignee() { return assignee; }
+    public String getCategory() { return category; }
+
+    public void setDescription(String description) { this.description = description; }
+    public void setPriority(String priority) { this.priority = priority; }
+    public void setDeadline(String deadline) { this.deadline = deadline; }
+    public void setAssignee(String assignee) { this.assignee = assignee; }
+    public void setCategory(String category) { this.category = category; }
+
+    /**
+     * @return the item in the map shape used by the HubSpot and analytics code paths
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("description", description);
+        map.put("priority", priority);
+        map.put("deadline", deadline);
+        map.put("assignee", assignee);
+        if (category != null) {
+            map.put("category", category);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,43 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.Map;
+
+/**
+ * Result of an aggregate query over the in-memory action-item analytics store.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 9:40 AM GMT -5 Bogotá DC Colombia
+ */
+public class ActionItemAnalyticsReport {
+
+    private final String groupBy;
+    private final Map<String, String> filters;
+    private final long totalRows;
+    private final long matchedRows;
+    private final int distinctBuckets;
+    private final Map<String, Long> buckets;
+    private final long elapsedMicros;
+
+    public ActionItemAnalyticsReport(String groupBy,
+                                     Map<String, String> filters,
+                                     long totalRows,
+                                     long matchedRows,
+                                     int distinctBuckets,
+                                     Map<String, Long> buckets,
+                                     long elapsedMicros) {
+        this.groupBy = groupBy;
+        this.filters = filters;
+        this.totalRows = totalRows;
+        this.matchedRows = matchedRows;
+        this.distinctBuckets = distinctBuckets;
+        this.buckets = buckets;
+        this.elapsedMicros = elapsedMicros;
+    }
+
+    public String getGroupBy() { return groupBy; }
+    public Map<String, String> getFilters() { return filters; }
+    public long getTotalRows() { return totalRows; }
+    public long getMatchedRows() { return matchedRows; }
+    public int getDistinctBuckets() { return distinctBuckets; }
+    public Map<String, Long> getBuckets() { return buckets; }
+    public long getElapsedMicros() { return elapsedMicros; }
+}
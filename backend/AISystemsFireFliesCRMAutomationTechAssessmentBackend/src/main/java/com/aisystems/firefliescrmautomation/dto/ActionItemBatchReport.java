@@ -0,0 +1,72 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.List;
+
+/**
+ * Consolidated report of a batch extraction: totals, wall-clock time of the extraction and
+ * HubSpot stages, and one result per transcript in input order.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 5:00 PM GMT -5 Bogotá DC Colombia
+ */
+public class ActionItemBatchReport {
+
+    private final int transcripts;
+    private final int succeeded;
+    private final int failed;
+    private final int actionItems;
+    private final int tasksCreated;
+    private final int tasksSkipped;
+    private final int taskFailures;
+    private final int parallelism;
+    private final int hubspotBatches;
+    private final long extractionMs;
+    private final long hubspotMs;
+    private final long totalMs;
+    private final List<String> errors;
+    private final List<TranscriptExtractionResult> results;
+
+    public ActionItemBatchReport(int transcripts,
+                                 int succeeded,
+                                 int failed,
+                                 int actionItems,
+                                 int tasksCreated,
+                                 int tasksSkipped,
+                                 int taskFailures,
+                                 int parallelism,
+                                 int hubspotBatches,
+                                 long extractionMs,
+                                 long hubspotMs,
+                                 long totalMs,
+                                 List<String> errors,
+                                 List<TranscriptExtractionResult> results) {
+        this.transcripts = transcripts;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.actionItems = actionItems;
+        this.tasksCreated = tasksCreated;
+        this.tasksSkipped = tasksSkipped;
+        this.taskFailures = taskFailures;
+        this.parallelism = parallelism;
+        this.hubspotBatches = hubspotBatches;
+        this.extractionMs = extractionMs;
+        this.hubspotMs = hubspotMs;
+        this.totalMs = totalMs;
+        this.errors = errors;
+        this.results = results;
+    }
+
+    public int getTranscripts() { return transcripts; }
+    public int getSucceeded() { return succeeded; }
+    public int getFailed() { return failed; }
+    public int getActionItems() { return actionItems; }
+    public int getTasksCreated() { return tasksCreated; }
+    public int getTasksSkipped() { return tasksSkipped; }
+    public int getTaskFailures() { return taskFailures; }
+    public int getParallelism() { return parallelism; }
+    public int getHubspotBatches() { return hubspotBatches; }
+    public long getExtractionMs() { return extractionMs; }
+    public long getHubspotMs() { return hubspotMs; }
+    public long getTotalMs() { return totalMs; }
+    public List<String> getErrors() { return errors; }
+    public List<TranscriptExtractionResult> getResults() { return results; }
+}
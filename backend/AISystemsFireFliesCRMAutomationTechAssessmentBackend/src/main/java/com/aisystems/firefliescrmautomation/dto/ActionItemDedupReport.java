@@ -0,0 +1,62 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+/**
+ * Counters of the near-duplicate action item detector.
+ * <p>
+ * {@code mergedInBatch} counts items folded into an earlier item of the same transcript (e.g. a
+ * recap repeating a request); {@code linkedAcrossMeetings} counts items that matched an item of
+ * a previous meeting or run, and {@code crmWritesAvoided} those of them that reused its deal.
+ * </p>
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 3:05 PM GMT -5 Bogotá DC Colombia
+ */
+public class ActionItemDedupReport {
+
+    private final boolean enabled;
+    private final double threshold;
+    private final int bands;
+    private final int rows;
+    private final long indexedItems;
+    private final long evictedItems;
+    private final long checkedItems;
+    private final long mergedInBatch;
+    private final long linkedAcrossMeetings;
+    private final long crmWritesAvoided;
+    private final LatencyHistogramSnapshot lookupLatency;
+
+    public ActionItemDedupReport(boolean enabled,
+                                 double threshold,
+                                 int bands,
+                                 int rows,
+                                 long indexedItems,
+                                 long evictedItems,
+                                 long checkedItems,
+                                 long mergedInBatch,
+                                 long linkedAcrossMeetings,
+                                 long crmWritesAvoided,
+                                 LatencyHistogramSnapshot lookupLatency) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.bands = bands;
+        this.rows = rows;
+        this.indexedItems = indexedItems;
+        this.evictedItems = evictedItems;
+        this.checkedItems = checkedItems;
+        this.mergedInBatch = mergedInBatch;
+        this.linkedAcrossMeetings = linkedAcrossMeetings;
+        this.crmWritesAvoided = crmWritesAvoided;
+        this.lookupLatency = lookupLatency;
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public double getThreshold() { return threshold; }
+    public int getBands() { return bands; }
+    public int getRows() { return rows; }
+    public long getIndexedItems() { return indexedItems; }
+    public long getEvictedItems() { return evictedItems; }
+    public long getCheckedItems() { return checkedItems; }
+    public long getMergedInBatch() { return mergedInBatch; }
+    public long getLinkedAcrossMeetings() { return linkedAcrossMeetings; }
+    public long getCrmWritesAvoided() { return crmWritesAvoided; }
+    public LatencyHistogramSnapshot getLookupLatency() { return lookupLatency; }
+}
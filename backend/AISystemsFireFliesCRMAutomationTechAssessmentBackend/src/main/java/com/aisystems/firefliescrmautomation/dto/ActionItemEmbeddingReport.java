@@ -0,0 +1,56 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.Map;
+
+/**
+ * State of the action item embedding index: items per embedding model, where vectors came from
+ * (in-memory index, MySQL cache or the provider) and embedding/query latency.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 3:20 PM GMT -5 Bogotá DC Colombia
+ */
+public class ActionItemEmbeddingReport {
+
+    private final boolean enabled;
+    private final int dimensions;
+    private final Map<String, Integer> indexedItems;
+    private final long memoryHits;
+    private final long databaseHits;
+    private final long providerEmbeddings;
+    private final long databaseErrors;
+    private final long droppedBatches;
+    private final LatencyHistogramSnapshot embeddingLatency;
+    private final LatencyHistogramSnapshot queryLatency;
+
+    public ActionItemEmbeddingReport(boolean enabled,
+                                     int dimensions,
+                                     Map<String, Integer> indexedItems,
+                                     long memoryHits,
+                                     long databaseHits,
+                                     long providerEmbeddings,
+                                     long databaseErrors,
+                                     long droppedBatches,
+                                     LatencyHistogramSnapshot embeddingLatency,
+                                     LatencyHistogramSnapshot queryLatency) {
+        this.enabled = enabled;
+        this.dimensions = dimensions;
+        this.indexedItems = indexedItems;
+        this.memoryHits = memoryHits;
+        this.databaseHits = databaseHits;
+        this.providerEmbeddings = providerEmbeddings;
+        this.databaseErrors = databaseErrors;
+        this.droppedBatches = droppedBatches;
+        this.embeddingLatency = embeddingLatency;
+        this.queryLatency = queryLatency;
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public int getDimensions() { return dimensions; }
+    public Map<String, Integer> getIndexedItems() { return indexedItems; }
+    public long getMemoryHits() { return memoryHits; }
+    public long getDatabaseHits() { return databaseHits; }
+    public long getProviderEmbeddings() { return providerEmbeddings; }
+    public long getDatabaseErrors() { return databaseErrors; }
+    public long getDroppedBatches() { return droppedBatches; }
+    public LatencyHistogramSnapshot getEmbeddingLatency() { return embeddingLatency; }
+    public LatencyHistogramSnapshot getQueryLatency() { return queryLatency; }
+}
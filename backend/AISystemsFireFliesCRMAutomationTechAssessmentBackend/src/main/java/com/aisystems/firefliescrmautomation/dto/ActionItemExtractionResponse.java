@@ -0,0 +1,17 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.List;
+
+/**
+ * Root object of the structured-output extraction response ({@code {"items":[...]}}).
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 1:30 PM GMT -5 Bogotá DC Colombia
+ */
+public class ActionItemExtractionResponse {
+
+    private List<ActionItem> items;
+
+    public List<ActionItem> getItems() { return items; }
+
+    public void setItems(List<ActionItem> items) { this.items = items; }
+}
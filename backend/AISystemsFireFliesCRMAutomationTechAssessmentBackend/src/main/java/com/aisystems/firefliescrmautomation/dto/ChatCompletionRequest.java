@@ -0,0 +1,64 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Provider-neutral chat-completion request.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 2:05 PM GMT -5 Bogotá DC Colombia
+ */
+public class ChatCompletionRequest {
+
+    private final String model;
+    private final List<Map<String, Object>> messages;
+    private final double temperature;
+    private final int maxTokens;
+    private final Map<String, Object> responseFormat;
+
+    /**
+     * @param model          model name; providers that run locally ignore it
+     * @param messages       chat messages with {@code role} and {@code content}
+     * @param temperature    sampling temperature
+     * @param maxTokens      completion token budget
+     * @param responseFormat OpenAI {@code response_format} value, or null for free text
+     */
+    public ChatCompletionRequest(String model,
+                                 List<Map<String, Object>> messages,
+                                 double temperature,
+                                 int maxTokens,
+                                 Map<String, Object> responseFormat) {
+        this.model = model;
+        this.messages = messages;
+        this.temperature = temperature;
+        this.maxTokens = maxTokens;
+        this.responseFormat = responseFormat;
+    }
+
+    public String getModel() { return model; }
+    public List<Map<String, Object>> getMessages() { return messages; }
+    public double getTemperature() { return temperature; }
+    public int getMaxTokens() { return maxTokens; }
+    public Map<String, Object> getResponseFormat() { return responseFormat; }
+
+    /**
+     * @param routedModel model chosen by the router
+     * @return a copy of this request for the given model
+     */
+    public ChatCompletionRequest withModel(String routedModel) {
+        return new ChatCompletionRequest(routedModel, messages, temperature, maxTokens, responseFormat);
+    }
+
+    /**
+     * @return content of the last user message, or an empty string
+     */
+    public String lastUserContent() {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            Map<String, Object> message = messages.get(i);
+            if ("user".equals(message.get("role")) && message.get("content") != null) {
+                return message.get("content").toString();
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,40 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+/**
+ * Text and metadata of one chat-completion response.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 1:15 PM GMT -5 Bogotá DC Colombia
+ */
+public class ChatCompletionResult {
+
+    private final String model;
+    private final String content;
+    private final String finishReason;
+    private final int promptTokens;
+    private final int completionTokens;
+
+    public ChatCompletionResult(String content, String finishReason, int promptTokens, int completionTokens) {
+        this(null, content, finishReason, promptTokens, completionTokens);
+    }
+
+    public ChatCompletionResult(String model, String content, String finishReason, int promptTokens, int completionTokens) {
+        this.model = model;
+        this.content = content;
+        this.finishReason = finishReason;
+        this.promptTokens = promptTokens;
+        this.completionTokens = completionTokens;
+    }
+
+    public String getModel() { return model; }
+    public String getContent() { return content; }
+    public String getFinishReason() { return finishReason; }
+    public int getPromptTokens() { return promptTokens; }
+    public int getCompletionTokens() { return completionTokens; }
+
+    /**
+     * @return true when generation stopped at {@code max_tokens}
+     */
+    public boolean isTruncated() {
+        return "length".equals(finishReason);
+    }
+}
@@ -0,0 +1,48 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of an extraction benchmark run: the corpus, the provider and one result per
+ * prompt variant and model.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 4:45 PM GMT -5 Bogotá DC Colombia
+ */
+public class ExtractionBenchmarkReport {
+
+    private final String corpus;
+    private final int transcripts;
+    private final String provider;
+    private final int concurrency;
+    private final boolean compressed;
+    private final String startedAt;
+    private final long durationMs;
+    private final List<ExtractionBenchmarkResult> results;
+
+    public ExtractionBenchmarkReport(String corpus,
+                                     int transcripts,
+                                     String provider,
+                                     int concurrency,
+                                     boolean compressed,
+                                     String startedAt,
+                                     long durationMs,
+                                     List<ExtractionBenchmarkResult> results) {
+        this.corpus = corpus;
+        this.transcripts = transcripts;
+        this.provider = provider;
+        this.concurrency = concurrency;
+        this.compressed = compressed;
+        this.startedAt = startedAt;
+        this.durationMs = durationMs;
+        this.results = results;
+    }
+
+    public String getCorpus() { return corpus; }
+    public int getTranscripts() { return transcripts; }
+    public String getProvider() { return provider; }
+    public int getConcurrency() { return concurrency; }
+    public boolean isCompressed() { return compressed; }
+    public String getStartedAt() { return startedAt; }
+    public long getDurationMs() { return durationMs; }
+    public List<ExtractionBenchmarkResult> getResults() { return results; }
+}
@@ -0,0 +1,83 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+/**
+ * Quality, latency and token use of one prompt variant on one model over a labelled corpus.
+ * <p>
+ * A predicted item matches a label when their normalized descriptions share enough words;
+ * {@code precision} is matched over predicted items, {@code recall} matched over labelled ones.
+ * Field accuracies are computed over matched pairs only. {@code failures} counts transcripts
+ * whose call failed or whose answer could not be parsed; they count as predicting nothing.
+ * </p>
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 4:45 PM GMT -5 Bogotá DC Colombia
+ */
+public class ExtractionBenchmarkResult {
+
+    private final String variant;
+    private final String model;
+    private final int transcripts;
+    private final int failures;
+    private final int labelledItems;
+    private final int predictedItems;
+    private final int matchedItems;
+    private final double precision;
+    private final double recall;
+    private final double f1;
+    private final double priorityAccuracy;
+    private final double deadlineAccuracy;
+    private final double assigneeAccuracy;
+    private final double promptTokensPerTranscript;
+    private final double completionTokensPerTranscript;
+    private final LatencyHistogramSnapshot latency;
+
+    public ExtractionBenchmarkResult(String variant,
+                                     String model,
+                                     int transcripts,
+                                     int failures,
+                                     int labelledItems,
+                                     int predictedItems,
+                                     int matchedItems,
+                                     double precision,
+                                     double recall,
+                                     double f1,
+                                     double priorityAccuracy,
+                                     double deadlineAccuracy,
+                                     double assigneeAccuracy,
+                                     double promptTokensPerTranscript,
+                                     double completionTokensPerTranscript,
+                                     LatencyHistogramSnapshot latency) {
+        this.variant = variant;
+        this.model = model;
+        this.transcripts = transcripts;
+        this.failures = failures;
+        this.labelledItems = labelledItems;
+        this.predictedItems = predictedItems;
+        this.matchedItems = matchedItems;
+        this.precision = precision;
+        this.recall = recall;
+        this.f1 = f1;
+        this.priorityAccuracy = priorityAccuracy;
+        this.deadlineAccuracy = deadlineAccuracy;
+        this.assigneeAccuracy = assigneeAccuracy;
+        this.promptTokensPerTranscript = promptTokensPerTranscript;
+        this.completionTokensPerTranscript = completionTokensPerTranscript;
+        this.latency = latency;
+    }
+
+    public String getVariant() { return variant; }
+    public String getModel() { return model; }
+    public int getTranscripts() { return transcripts; }
+    public int getFailures() { return failures; }
+    public int getLabelledItems() { return labelledItems; }
+    public int getPredictedItems() { return predictedItems; }
+    public int getMatchedItems() { return matchedItems; }
+    public double getPrecision() { return precision; }
+    public double getRecall() { return recall; }
+    public double getF1() { return f1; }
+    public double getPriorityAccuracy() { return priorityAccuracy; }
+    public double getDeadlineAccuracy() { return deadlineAccuracy; }
+    public double getAssigneeAccuracy() { return assigneeAccuracy; }
+    public double getPromptTokensPerTranscript() { return promptTokensPerTranscript; }
+    public double getCompletionTokensPerTranscript() { return completionTokensPerTranscript; }
+    public LatencyHistogramSnapshot getLatency() { return latency; }
+}
@@ -0,0 +1,49 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+/**
+ * Counters of the Fireflies webhook ingestion queue.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 10:30 AM GMT -5 Bogotá DC Colombia
+ */
+public class FirefliesIngestionStatus {
+
+    private final int queueDepth;
+    private final int queueCapacity;
+    private final int workers;
+    private final long accepted;
+    private final long rejected;
+    private final long duplicates;
+    private final long processed;
+    private final long failed;
+    private final LatencyHistogramSnapshot processingTime;
+
+    public FirefliesIngestionStatus(int queueDepth,
+                                    int queueCapacity,
+                                    int workers,
+                                    long accepted,
+                                    long rejected,
+                                    long duplicates,
+                                    long processed,
+                                    long failed,
+                                    LatencyHistogramSnapshot processingTime) {
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.workers = workers;
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.duplicates = duplicates;
+        this.processed = processed;
+        this.failed = failed;
+        this.processingTime = processingTime;
+    }
+
+    public int getQueueDepth() { return queueDepth; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public int getWorkers() { return workers; }
+    public long getAccepted() { return accepted; }
+    public long getRejected() { return rejected; }
+    public long getDuplicates() { return duplicates; }
+    public long getProcessed() { return processed; }
+    public long getFailed() { return failed; }
+    public LatencyHistogramSnapshot getProcessingTime() { return processingTime; }
+}
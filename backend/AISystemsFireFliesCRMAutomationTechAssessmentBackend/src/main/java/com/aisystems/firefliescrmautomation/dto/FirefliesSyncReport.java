@@ -0,0 +1,59 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of one Fireflies sync cycle.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 11:10 AM GMT -5 Bogotá DC Colombia
+ */
+public class FirefliesSyncReport {
+
+    private final String startedAt;
+    private final long durationMs;
+    private final int listed;
+    private final int listOffset;
+    private final boolean truncated;
+    private final int alreadyProcessed;
+    private final int processed;
+    private final int failed;
+    private final long watermarkBefore;
+    private final long watermarkAfter;
+    private final List<String> errors;
+
+    public FirefliesSyncReport(String startedAt,
+                               long durationMs,
+                               int listed,
+                               int listOffset,
+                               boolean truncated,
+                               int alreadyProcessed,
+                               int processed,
+                               int failed,
+                               long watermarkBefore,
+                               long watermarkAfter,
+                               List<String> errors) {
+        this.startedAt = startedAt;
+        this.durationMs = durationMs;
+        this.listed = listed;
+        this.listOffset = listOffset;
+        this.truncated = truncated;
+        this.alreadyProcessed = alreadyProcessed;
+        this.processed = processed;
+        this.failed = failed;
+        this.watermarkBefore = watermarkBefore;
+        this.watermarkAfter = watermarkAfter;
+        this.errors = errors;
+    }
+
+    public String getStartedAt() { return startedAt; }
+    public long getDurationMs() { return durationMs; }
+    public int getListed() { return listed; }
+    public int getListOffset() { return listOffset; }
+    public boolean isTruncated() { return truncated; }
+    public int getAlreadyProcessed() { return alreadyProcessed; }
+    public int getProcessed() { return processed; }
+    public int getFailed() { return failed; }
+    public long getWatermarkBefore() { return watermarkBefore; }
+    public long getWatermarkAfter() { return watermarkAfter; }
+    public List<String> getErrors() { return errors; }
+}
@@ -0,0 +1,23 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+/**
+ * Minimal transcript listing entry returned by the Fireflies API.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 11:10 AM GMT -5 Bogotá DC Colombia
+ */
+public class FirefliesTranscriptSummary {
+
+    private final String id;
+    private final String title;
+    private final long dateMillis;
+
+    public FirefliesTranscriptSummary(String id, String title, long dateMillis) {
+        this.id = id;
+        this.title = title;
+        this.dateMillis = dateMillis;
+    }
+
+    public String getId() { return id; }
+    public String getTitle() { return title; }
+    public long getDateMillis() { return dateMillis; }
+}
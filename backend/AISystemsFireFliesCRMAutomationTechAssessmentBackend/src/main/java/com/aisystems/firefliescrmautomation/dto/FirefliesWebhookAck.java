@@ -0,0 +1,26 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+/**
+ * Response returned to Fireflies for a webhook delivery.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 10:30 AM GMT -5 Bogotá DC Colombia
+ */
+public class FirefliesWebhookAck {
+
+    private final boolean accepted;
+    private final String meetingId;
+    private final int queueDepth;
+    private final String message;
+
+    public FirefliesWebhookAck(boolean accepted, String meetingId, int queueDepth, String message) {
+        this.accepted = accepted;
+        this.meetingId = meetingId;
+        this.queueDepth = queueDepth;
+        this.message = message;
+    }
+
+    public boolean isAccepted() { return accepted; }
+    public String getMeetingId() { return meetingId; }
+    public int getQueueDepth() { return queueDepth; }
+    public String getMessage() { return message; }
+}
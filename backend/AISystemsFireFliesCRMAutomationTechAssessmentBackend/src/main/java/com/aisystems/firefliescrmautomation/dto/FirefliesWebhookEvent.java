@@ -0,0 +1,25 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Payload posted by Fireflies webhooks, e.g.
+ * {@code {"meetingId":"ASxwZxCstx","eventType":"Transcription completed","clientReferenceId":"..."}}.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 10:30 AM GMT -5 Bogotá DC Colombia
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class FirefliesWebhookEvent {
+
+    private String meetingId;
+    private String eventType;
+    private String clientReferenceId;
+
+    public String getMeetingId() { return meetingId; }
+    public String getEventType() { return eventType; }
+    public String getClientReferenceId() { return clientReferenceId; }
+
+    public void setMeetingId(String meetingId) { this.meetingId = meetingId; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+    public void setClientReferenceId(String clientReferenceId) { this.clientReferenceId = clientReferenceId; }
+}
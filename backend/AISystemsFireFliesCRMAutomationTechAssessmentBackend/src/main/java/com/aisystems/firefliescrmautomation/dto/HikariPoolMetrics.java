@@ -0,0 +1,46 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+/**
+ * Hikari connection pool gauges plus the measured connection acquire time.
+ * Gauges are reported as -1 until the pool has been started.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 8:10 AM GMT -5 Bogotá DC Colombia
+ */
+public class HikariPoolMetrics {
+
+    private final String pool;
+    private final int active;
+    private final int idle;
+    private final int total;
+    private final int pending;
+    private final int maximumPoolSize;
+    private final long acquireFailures;
+    private final LatencyHistogramSnapshot acquireTime;
+
+    public HikariPoolMetrics(String pool,
+                             int active,
+                             int idle,
+                             int total,
+                             int pending,
+                             int maximumPoolSize,
+                             long acquireFailures,
+                             LatencyHistogramSnapshot acquireTime) {
+        this.pool = pool;
+        this.active = active;
+        this.idle = idle;
+        this.total = total;
+        this.pending = pending;
+        this.maximumPoolSize = maximumPoolSize;
+        this.acquireFailures = acquireFailures;
+        this.acquireTime = acquireTime;
+    }
+
+    public String getPool() { return pool; }
+    public int getActive() { return active; }
+    public int getIdle() { return idle; }
+    public int getTotal() { return total; }
+    public int getPending() { return pending; }
+    public int getMaximumPoolSize() { return maximumPoolSize; }
+    public long getAcquireFailures() { return acquireFailures; }
+    public LatencyHistogramSnapshot getAcquireTime() { return acquireTime; }
+}
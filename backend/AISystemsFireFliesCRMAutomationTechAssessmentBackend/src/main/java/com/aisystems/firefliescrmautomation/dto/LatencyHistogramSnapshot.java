@@ -0,0 +1,43 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.Map;
+
+/**
+ * Point-in-time view of a latency histogram. All times are expressed in milliseconds.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 8:05 AM GMT -5 Bogotá DC Colombia
+ */
+public class LatencyHistogramSnapshot {
+
+    private final long count;
+    private final double meanMs;
+    private final double maxMs;
+    private final double p50Ms;
+    private final double p95Ms;
+    private final double p99Ms;
+    private final Map<String, Long> buckets;
+
+    public LatencyHistogramSnapshot(long count,
+                                    double meanMs,
+                                    double maxMs,
+                                    double p50Ms,
+                                    double p95Ms,
+                                    double p99Ms,
+                                    Map<String, Long> buckets) {
+        this.count = count;
+        this.meanMs = meanMs;
+        this.maxMs = maxMs;
+        this.p50Ms = p50Ms;
+        this.p95Ms = p95Ms;
+        this.p99Ms = p99Ms;
+        this.buckets = buckets;
+    }
+
+    public long getCount() { return count; }
+    public double getMeanMs() { return meanMs; }
+    public double getMaxMs() { return maxMs; }
+    public double getP50Ms() { return p50Ms; }
+    public double getP95Ms() { return p95Ms; }
+    public double getP99Ms() { return p99Ms; }
+    public Map<String, Long> getBuckets() { return buckets; }
+}
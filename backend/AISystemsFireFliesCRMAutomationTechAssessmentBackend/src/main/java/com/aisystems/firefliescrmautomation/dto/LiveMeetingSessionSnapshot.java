@@ -0,0 +1,57 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of a live meeting session: the running action-item set, how much of the appended
+ * transcript it covers and, once the session is closed, the HubSpot creation report.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 3:55 PM GMT -5 Bogotá DC Colombia
+ */
+public class LiveMeetingSessionSnapshot {
+
+    private final String sessionId;
+    private final String state;
+    private final int revision;
+    private final int segments;
+    private final int lines;
+    private final int extractedLines;
+    private final int extractions;
+    private final List<Map<String, Object>> actionItems;
+    private final String lastError;
+    private final HubSpotTaskCreationReport hubspotReport;
+
+    public LiveMeetingSessionSnapshot(String sessionId,
+                                      String state,
+                                      int revision,
+                                      int segments,
+                                      int lines,
+                                      int extractedLines,
+                                      int extractions,
+                                      List<Map<String, Object>> actionItems,
+                                      String lastError,
+                                      HubSpotTaskCreationReport hubspotReport) {
+        this.sessionId = sessionId;
+        this.state = state;
+        this.revision = revision;
+        this.segments = segments;
+        this.lines = lines;
+        this.extractedLines = extractedLines;
+        this.extractions = extractions;
+        this.actionItems = actionItems;
+        this.lastError = lastError;
+        this.hubspotReport = hubspotReport;
+    }
+
+    public String getSessionId() { return sessionId; }
+    public String getState() { return state; }
+    public int getRevision() { return revision; }
+    public int getSegments() { return segments; }
+    public int getLines() { return lines; }
+    public int getExtractedLines() { return extractedLines; }
+    public int getExtractions() { return extractions; }
+    public List<Map<String, Object>> getActionItems() { return actionItems; }
+    public String getLastError() { return lastError; }
+    public HubSpotTaskCreationReport getHubspotReport() { return hubspotReport; }
+}
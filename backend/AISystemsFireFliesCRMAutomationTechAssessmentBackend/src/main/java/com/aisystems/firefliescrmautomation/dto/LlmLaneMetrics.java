@@ -0,0 +1,61 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+/**
+ * Queue metrics of one lane of the LLM call scheduler.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 5:30 PM GMT -5 Bogotá DC Colombia
+ */
+public class LlmLaneMetrics {
+
+    private final String lane;
+    private final int maxInFlight;
+    private final long deadlineMs;
+    private final int inFlight;
+    private final int queued;
+    private final int queuedTenants;
+    private final long submitted;
+    private final long dispatched;
+    private final long expired;
+    private final long preempted;
+    private final long rejected;
+    private final LatencyHistogramSnapshot queueWait;
+
+    public LlmLaneMetrics(String lane,
+                          int maxInFlight,
+                          long deadlineMs,
+                          int inFlight,
+                          int queued,
+                          int queuedTenants,
+                          long submitted,
+                          long dispatched,
+                          long expired,
+                          long preempted,
+                          long rejected,
+                          LatencyHistogramSnapshot queueWait) {
+        this.lane = lane;
+        this.maxInFlight = maxInFlight;
+        this.deadlineMs = deadlineMs;
+        this.inFlight = inFlight;
+        this.queued = queued;
+        this.queuedTenants = queuedTenants;
+        this.submitted = submitted;
+        this.dispatched = dispatched;
+        this.expired = expired;
+        this.preempted = preempted;
+        this.rejected = rejected;
+        this.queueWait = queueWait;
+    }
+
+    public String getLane() { return lane; }
+    public int getMaxInFlight() { return maxInFlight; }
+    public long getDeadlineMs() { return deadlineMs; }
+    public int getInFlight() { return inFlight; }
+    public int getQueued() { return queued; }
+    public int getQueuedTenants() { return queuedTenants; }
+    public long getSubmitted() { return submitted; }
+    public long getDispatched() { return dispatched; }
+    public long getExpired() { return expired; }
+    public long getPreempted() { return preempted; }
+    public long getRejected() { return rejected; }
+    public LatencyHistogramSnapshot getQueueWait() { return queueWait; }
+}
@@ -0,0 +1,44 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of the LLM call scheduler: upstream slots in use, queue depth and per-lane metrics.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 5:30 PM GMT -5 Bogotá DC Colombia
+ */
+public class LlmSchedulerReport {
+
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final int inFlight;
+    private final int maxQueued;
+    private final int queued;
+    private final Map<String, Double> tenantWeights;
+    private final List<LlmLaneMetrics> lanes;
+
+    public LlmSchedulerReport(boolean enabled,
+                              int maxConcurrent,
+                              int inFlight,
+                              int maxQueued,
+                              int queued,
+                              Map<String, Double> tenantWeights,
+                              List<LlmLaneMetrics> lanes) {
+        this.enabled = enabled;
+        this.maxConcurrent = maxConcurrent;
+        this.inFlight = inFlight;
+        this.maxQueued = maxQueued;
+        this.queued = queued;
+        this.tenantWeights = tenantWeights;
+        this.lanes = lanes;
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public int getMaxConcurrent() { return maxConcurrent; }
+    public int getInFlight() { return inFlight; }
+    public int getMaxQueued() { return maxQueued; }
+    public int getQueued() { return queued; }
+    public Map<String, Double> getTenantWeights() { return tenantWeights; }
+    public List<LlmLaneMetrics> getLanes() { return lanes; }
+}
@@ -0,0 +1,41 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+/**
+ * Metrics of one model route (task, tier and model).
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 1:45 PM GMT -5 Bogotá DC Colombia
+ */
+public class ModelRouteMetrics {
+
+    private final String route;
+    private final long calls;
+    private final long failures;
+    private final long promptTokens;
+    private final long completionTokens;
+    private final double costUsd;
+    private final LatencyHistogramSnapshot latency;
+
+    public ModelRouteMetrics(String route,
+                             long calls,
+                             long failures,
+                             long promptTokens,
+                             long completionTokens,
+                             double costUsd,
+                             LatencyHistogramSnapshot latency) {
+        this.route = route;
+        this.calls = calls;
+        this.failures = failures;
+        this.promptTokens = promptTokens;
+        this.completionTokens = completionTokens;
+        this.costUsd = costUsd;
+        this.latency = latency;
+    }
+
+    public String getRoute() { return route; }
+    public long getCalls() { return calls; }
+    public long getFailures() { return failures; }
+    public long getPromptTokens() { return promptTokens; }
+    public long getCompletionTokens() { return completionTokens; }
+    public double getCostUsd() { return costUsd; }
+    public LatencyHistogramSnapshot getLatency() { return latency; }
+}
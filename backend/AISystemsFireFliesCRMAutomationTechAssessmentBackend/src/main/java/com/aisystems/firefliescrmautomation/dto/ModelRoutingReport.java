@@ -0,0 +1,51 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.List;
+
+/**
+ * Configured providers and models, and per-route metrics of the model router.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 1:45 PM GMT -5 Bogotá DC Colombia
+ */
+public class ModelRoutingReport {
+
+    private final String provider;
+    private final String failoverProvider;
+    private final String cheapModel;
+    private final String strongModel;
+    private final String fallbackModel;
+    private final long escalations;
+    private final long failovers;
+    private final long providerFailovers;
+    private final List<ModelRouteMetrics> routes;
+
+    public ModelRoutingReport(String provider,
+                              String failoverProvider,
+                              String cheapModel,
+                              String strongModel,
+                              String fallbackModel,
+                              long escalations,
+                              long failovers,
+                              long providerFailovers,
+                              List<ModelRouteMetrics> routes) {
+        this.provider = provider;
+        this.failoverProvider = failoverProvider;
+        this.cheapModel = cheapModel;
+        this.strongModel = strongModel;
+        this.fallbackModel = fallbackModel;
+        this.escalations = escalations;
+        this.failovers = failovers;
+        this.providerFailovers = providerFailovers;
+        this.routes = routes;
+    }
+
+    public String getProvider() { return provider; }
+    public String getFailoverProvider() { return failoverProvider; }
+    public String getCheapModel() { return cheapModel; }
+    public String getStrongModel() { return strongModel; }
+    public String getFallbackModel() { return fallbackModel; }
+    public long getEscalations() { return escalations; }
+    public long getFailovers() { return failovers; }
+    public long getProviderFailovers() { return providerFailovers; }
+    public List<ModelRouteMetrics> getRoutes() { return routes; }
+}
@@ -0,0 +1,57 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+/**
+ * State of the pre-generated sample transcript pool.
+ * <p>
+ * {@code hits} counts requests served from the pool, {@code misses} those that found it empty
+ * and generated synchronously; {@code generationLatency} covers background generations only.
+ * </p>
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 4:10 PM GMT -5 Bogotá DC Colombia
+ */
+public class SampleTranscriptPoolReport {
+
+    private final boolean enabled;
+    private final int capacity;
+    private final int lowWaterMark;
+    private final int size;
+    private final boolean refilling;
+    private final long hits;
+    private final long misses;
+    private final long generated;
+    private final long failures;
+    private final LatencyHistogramSnapshot generationLatency;
+
+    public SampleTranscriptPoolReport(boolean enabled,
+                                      int capacity,
+                                      int lowWaterMark,
+                                      int size,
+                                      boolean refilling,
+                                      long hits,
+                                      long misses,
+                                      long generated,
+                                      long failures,
+                                      LatencyHistogramSnapshot generationLatency) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.lowWaterMark = lowWaterMark;
+        this.size = size;
+        this.refilling = refilling;
+        this.hits = hits;
+        this.misses = misses;
+        this.generated = generated;
+        this.failures = failures;
+        this.generationLatency = generationLatency;
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public int getCapacity() { return capacity; }
+    public int getLowWaterMark() { return lowWaterMark; }
+    public int getSize() { return size; }
+    public boolean isRefilling() { return refilling; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getGenerated() { return generated; }
+    public long getFailures() { return failures; }
+    public LatencyHistogramSnapshot getGenerationLatency() { return generationLatency; }
+}
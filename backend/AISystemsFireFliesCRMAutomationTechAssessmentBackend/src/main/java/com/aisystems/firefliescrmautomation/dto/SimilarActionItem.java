@@ -0,0 +1,32 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+/**
+ * Past action item returned by the similar-items search, with its cosine similarity to the query.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 3:20 PM GMT -5 Bogotá DC Colombia
+ */
+public class SimilarActionItem {
+
+    private final String description;
+    private final String meeting;
+    private final String assignee;
+    private final String deadline;
+    private final String priority;
+    private final double similarity;
+
+    public SimilarActionItem(String description, String meeting, String assignee, String deadline, String priority, double similarity) {
+        this.description = description;
+        this.meeting = meeting;
+        this.assignee = assignee;
+        this.deadline = deadline;
+        this.priority = priority;
+        this.similarity = similarity;
+    }
+
+    public String getDescription() { return description; }
+    public String getMeeting() { return meeting; }
+    public String getAssignee() { return assignee; }
+    public String getDeadline() { return deadline; }
+    public String getPriority() { return priority; }
+    public double getSimilarity() { return similarity; }
+}
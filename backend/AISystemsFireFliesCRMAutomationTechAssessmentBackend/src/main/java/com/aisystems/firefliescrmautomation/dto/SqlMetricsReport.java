@@ -0,0 +1,61 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL instrumentation report: per-statement latency, slow queries, N+1 incidents, pool metrics
+ * and read/write routing counters (replica fields are null when no replica is configured).
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 8:10 AM GMT -5 Bogotá DC Colombia
+ */
+public class SqlMetricsReport {
+
+    private final String generatedAt;
+    private final long totalStatements;
+    private final long totalFailures;
+    private final long slowQueryThresholdMs;
+    private final List<SqlStatementMetrics> statements;
+    private final List<SqlSlowQueryEntry> slowQueries;
+    private final List<SqlNPlusOneIncident> nPlusOneIncidents;
+    private final List<HikariPoolMetrics> pools;
+    private final Map<String, Long> routing;
+    private final Long replicaLagSeconds;
+    private final Boolean replicaUsable;
+
+    public SqlMetricsReport(String generatedAt,
+                            long totalStatements,
+                            long totalFailures,
+                            long slowQueryThresholdMs,
+                            List<SqlStatementMetrics> statements,
+                            List<SqlSlowQueryEntry> slowQueries,
+                            List<SqlNPlusOneIncident> nPlusOneIncidents,
+                            List<HikariPoolMetrics> pools,
+                            Map<String, Long> routing,
+                            Long replicaLagSeconds,
+                            Boolean replicaUsable) {
+        this.generatedAt = generatedAt;
+        this.totalStatements = totalStatements;
+        this.totalFailures = totalFailures;
+        this.slowQueryThresholdMs = slowQueryThresholdMs;
+        this.statements = statements;
+        this.slowQueries = slowQueries;
+        this.nPlusOneIncidents = nPlusOneIncidents;
+        this.pools = pools;
+        this.routing = routing;
+        this.replicaLagSeconds = replicaLagSeconds;
+        this.replicaUsable = replicaUsable;
+    }
+
+    public String getGeneratedAt() { return generatedAt; }
+    public long getTotalStatements() { return totalStatements; }
+    public long getTotalFailures() { return totalFailures; }
+    public long getSlowQueryThresholdMs() { return slowQueryThresholdMs; }
+    public List<SqlStatementMetrics> getStatements() { return statements; }
+    public List<SqlSlowQueryEntry> getSlowQueries() { return slowQueries; }
+    public List<SqlNPlusOneIncident> getNPlusOneIncidents() { return nPlusOneIncidents; }
+    public List<HikariPoolMetrics> getPools() { return pools; }
+    public Map<String, Long> getRouting() { return routing; }
+    public Long getReplicaLagSeconds() { return replicaLagSeconds; }
+    public Boolean getReplicaUsable() { return replicaUsable; }
+}
@@ -0,0 +1,29 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+/**
+ * A SELECT statement that was executed repeatedly within a single HTTP request.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 8:10 AM GMT -5 Bogotá DC Colombia
+ */
+public class SqlNPlusOneIncident {
+
+    private final String timestamp;
+    private final String request;
+    private final String statement;
+    private final int executions;
+    private final int requestStatements;
+
+    public SqlNPlusOneIncident(String timestamp, String request, String statement, int executions, int requestStatements) {
+        this.timestamp = timestamp;
+        this.request = request;
+        this.statement = statement;
+        this.executions = executions;
+        this.requestStatements = requestStatements;
+    }
+
+    public String getTimestamp() { return timestamp; }
+    public String getRequest() { return request; }
+    public String getStatement() { return statement; }
+    public int getExecutions() { return executions; }
+    public int getRequestStatements() { return requestStatements; }
+}
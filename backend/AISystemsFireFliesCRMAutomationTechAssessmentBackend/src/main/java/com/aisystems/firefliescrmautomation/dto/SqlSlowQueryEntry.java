@@ -0,0 +1,32 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+/**
+ * One entry of the slow-query log.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 8:10 AM GMT -5 Bogotá DC Colombia
+ */
+public class SqlSlowQueryEntry {
+
+    private final String timestamp;
+    private final String dataSource;
+    private final long elapsedMs;
+    private final int batchSize;
+    private final String request;
+    private final String sql;
+
+    public SqlSlowQueryEntry(String timestamp, String dataSource, long elapsedMs, int batchSize, String request, String sql) {
+        this.timestamp = timestamp;
+        this.dataSource = dataSource;
+        this.elapsedMs = elapsedMs;
+        this.batchSize = batchSize;
+        this.request = request;
+        this.sql = sql;
+    }
+
+    public String getTimestamp() { return timestamp; }
+    public String getDataSource() { return dataSource; }
+    public long getElapsedMs() { return elapsedMs; }
+    public int getBatchSize() { return batchSize; }
+    public String getRequest() { return request; }
+    public String getSql() { return sql; }
+}
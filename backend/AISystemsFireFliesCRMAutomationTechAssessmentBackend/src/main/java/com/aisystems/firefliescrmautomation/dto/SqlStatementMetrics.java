@@ -0,0 +1,42 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+/**
+ * Execution metrics for one normalized SQL statement.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 8:10 AM GMT -5 Bogotá DC Colombia
+ */
+public class SqlStatementMetrics {
+
+    private final String statement;
+    private final long totalTimeMs;
+    private final long failures;
+    private final long batchExecutions;
+    private final double averageBatchSize;
+    private final long maxBatchSize;
+    private final LatencyHistogramSnapshot latency;
+
+    public SqlStatementMetrics(String statement,
+                               long totalTimeMs,
+                               long failures,
+                               long batchExecutions,
+                               double averageBatchSize,
+                               long maxBatchSize,
+                               LatencyHistogramSnapshot latency) {
+        this.statement = statement;
+        this.totalTimeMs = totalTimeMs;
+        this.failures = failures;
+        this.batchExecutions = batchExecutions;
+        this.averageBatchSize = averageBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.latency = latency;
+    }
+
+    public String getStatement() { return statement; }
+    public long getExecutions() { return latency.getCount(); }
+    public long getTotalTimeMs() { return totalTimeMs; }
+    public long getFailures() { return failures; }
+    public long getBatchExecutions() { return batchExecutions; }
+    public double getAverageBatchSize() { return averageBatchSize; }
+    public long getMaxBatchSize() { return maxBatchSize; }
+    public LatencyHistogramSnapshot getLatency() { return latency; }
+}
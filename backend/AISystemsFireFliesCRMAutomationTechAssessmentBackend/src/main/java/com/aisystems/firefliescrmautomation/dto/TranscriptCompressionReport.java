@@ -0,0 +1,45 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+/**
+ * Result of compressing a transcript before it is sent to OpenAI.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 12:30 PM GMT -5 Bogotá DC Colombia
+ */
+public class TranscriptCompressionReport {
+
+    private final String level;
+    private final int originalChars;
+    private final int compressedChars;
+    private final int originalTokens;
+    private final int compressedTokens;
+    private final int tokensSaved;
+    private final int droppedSentences;
+    private final String compressedTranscript;
+
+    public TranscriptCompressionReport(String level,
+                                       int originalChars,
+                                       int compressedChars,
+                                       int originalTokens,
+                                       int compressedTokens,
+                                       int tokensSaved,
+                                       int droppedSentences,
+                                       String compressedTranscript) {
+        this.level = level;
+        this.originalChars = originalChars;
+        this.compressedChars = compressedChars;
+        this.originalTokens = originalTokens;
+        this.compressedTokens = compressedTokens;
+        this.tokensSaved = tokensSaved;
+        this.droppedSentences = droppedSentences;
+        this.compressedTranscript = compressedTranscript;
+    }
+
+    public String getLevel() { return level; }
+    public int getOriginalChars() { return originalChars; }
+    public int getCompressedChars() { return compressedChars; }
+    public int getOriginalTokens() { return originalTokens; }
+    public int getCompressedTokens() { return compressedTokens; }
+    public int getTokensSaved() { return tokensSaved; }
+    public int getDroppedSentences() { return droppedSentences; }
+    public String getCompressedTranscript() { return compressedTranscript; }
+}
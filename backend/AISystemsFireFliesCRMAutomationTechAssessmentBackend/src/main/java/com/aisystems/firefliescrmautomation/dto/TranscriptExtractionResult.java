@@ -0,0 +1,77 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one transcript of an extraction batch: its status, the extracted items (with the
+ * HubSpot deal of each when tasks were created) and the time spent in each stage.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 5:00 PM GMT -5 Bogotá DC Colombia
+ */
+public class TranscriptExtractionResult {
+
+    private final int index;
+    private final String meetingKey;
+    private final String status;
+    private final String error;
+    private final List<Map<String, Object>> actionItems;
+    private final int rejectedItems;
+    private final int tasksCreated;
+    private final int tasksSkipped;
+    private final int taskFailures;
+    private final long compressMs;
+    private final long extractMs;
+    private final long parseMs;
+    private final long enrichMs;
+    private final long hubspotMs;
+    private final long totalMs;
+
+    public TranscriptExtractionResult(int index,
+                                      String meetingKey,
+                                      String status,
+                                      String error,
+                                      List<Map<String, Object>> actionItems,
+                                      int rejectedItems,
+                                      int tasksCreated,
+                                      int tasksSkipped,
+                                      int taskFailures,
+                                      long compressMs,
+                                      long extractMs,
+                                      long parseMs,
+                                      long enrichMs,
+                                      long hubspotMs,
+                                      long totalMs) {
+        this.index = index;
+        this.meetingKey = meetingKey;
+        this.status = status;
+        this.error = error;
+        this.actionItems = actionItems;
+        this.rejectedItems = rejectedItems;
+        this.tasksCreated = tasksCreated;
+        this.tasksSkipped = tasksSkipped;
+        this.taskFailures = taskFailures;
+        this.compressMs = compressMs;
+        this.extractMs = extractMs;
+        this.parseMs = parseMs;
+        this.enrichMs = enrichMs;
+        this.hubspotMs = hubspotMs;
+        this.totalMs = totalMs;
+    }
+
+    public int getIndex() { return index; }
+    public String getMeetingKey() { return meetingKey; }
+    public String getStatus() { return status; }
+    public String getError() { return error; }
+    public List<Map<String, Object>> getActionItems() { return actionItems; }
+    public int getRejectedItems() { return rejectedItems; }
+    public int getTasksCreated() { return tasksCreated; }
+    public int getTasksSkipped() { return tasksSkipped; }
+    public int getTaskFailures() { return taskFailures; }
+    public long getCompressMs() { return compressMs; }
+    public long getExtractMs() { return extractMs; }
+    public long getParseMs() { return parseMs; }
+    public long getEnrichMs() { return enrichMs; }
+    public long getHubspotMs() { return hubspotMs; }
+    public long getTotalMs() { return totalMs; }
+}
@@ -0,0 +1,52 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of ingesting an uploaded transcript document.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 11:50 AM GMT -5 Bogotá DC Colombia
+ */
+public class TranscriptIngestionReport {
+
+    private final String fileName;
+    private final long sizeBytes;
+    private final int pageCount;
+    private final int characterCount;
+    private final int speakerTurns;
+    private final List<String> speakers;
+    private final long extractionMs;
+    private final long actionItemExtractionMs;
+    private final List<Map<String, Object>> actionItems;
+
+    public TranscriptIngestionReport(String fileName,
+                                     long sizeBytes,
+                                     int pageCount,
+                                     int characterCount,
+                                     int speakerTurns,
+                                     List<String> speakers,
+                                     long extractionMs,
+                                     long actionItemExtractionMs,
+                                     List<Map<String, Object>> actionItems) {
+        this.fileName = fileName;
+        this.sizeBytes = sizeBytes;
+        this.pageCount = pageCount;
+        this.characterCount = characterCount;
+        this.speakerTurns = speakerTurns;
+        this.speakers = speakers;
+        this.extractionMs = extractionMs;
+        this.actionItemExtractionMs = actionItemExtractionMs;
+        this.actionItems = actionItems;
+    }
+
+    public String getFileName() { return fileName; }
+    public long getSizeBytes() { return sizeBytes; }
+    public int getPageCount() { return pageCount; }
+    public int getCharacterCount() { return characterCount; }
+    public int getSpeakerTurns() { return speakerTurns; }
+    public List<String> getSpeakers() { return speakers; }
+    public long getExtractionMs() { return extractionMs; }
+    public long getActionItemExtractionMs() { return actionItemExtractionMs; }
+    public List<Map<String, Object>> getActionItems() { return actionItems; }
+}
@@ -0,0 +1,66 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of re-processing a transcript revision: how many segments were served from the
+ * per-segment cache, and the HubSpot diff against the previous revision (deals created for new
+ * items, updated for changed ones, archived for removed ones).
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 3:40 PM GMT -5 Bogotá DC Colombia
+ */
+public class TranscriptRevisionReport {
+
+    private final String transcriptId;
+    private final int revision;
+    private final boolean applied;
+    private final int segments;
+    private final int segmentsReused;
+    private final int segmentsExtracted;
+    private final List<Map<String, Object>> created;
+    private final List<Map<String, Object>> updated;
+    private final List<Map<String, Object>> archived;
+    private final int unchanged;
+    private final List<Map<String, Object>> actionItems;
+    private final List<String> errors;
+
+    public TranscriptRevisionReport(String transcriptId,
+                                    int revision,
+                                    boolean applied,
+                                    int segments,
+                                    int segmentsReused,
+                                    int segmentsExtracted,
+                                    List<Map<String, Object>> created,
+                                    List<Map<String, Object>> updated,
+                                    List<Map<String, Object>> archived,
+                                    int unchanged,
+                                    List<Map<String, Object>> actionItems,
+                                    List<String> errors) {
+        this.transcriptId = transcriptId;
+        this.revision = revision;
+        this.applied = applied;
+        this.segments = segments;
+        this.segmentsReused = segmentsReused;
+        this.segmentsExtracted = segmentsExtracted;
+        this.created = created;
+        this.updated = updated;
+        this.archived = archived;
+        this.unchanged = unchanged;
+        this.actionItems = actionItems;
+        this.errors = errors;
+    }
+
+    public String getTranscriptId() { return transcriptId; }
+    public int getRevision() { return revision; }
+    public boolean isApplied() { return applied; }
+    public int getSegments() { return segments; }
+    public int getSegmentsReused() { return segmentsReused; }
+    public int getSegmentsExtracted() { return segmentsExtracted; }
+    public List<Map<String, Object>> getCreated() { return created; }
+    public List<Map<String, Object>> getUpdated() { return updated; }
+    public List<Map<String, Object>> getArchived() { return archived; }
+    public int getUnchanged() { return unchanged; }
+    public List<Map<String, Object>> getActionItems() { return actionItems; }
+    public List<String> getErrors() { return errors; }
+}
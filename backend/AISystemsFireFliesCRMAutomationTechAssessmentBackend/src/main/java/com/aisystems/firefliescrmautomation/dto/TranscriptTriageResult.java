@@ -0,0 +1,40 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of the heuristic pre-extraction of a transcript.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 2:30 PM GMT -5 Bogotá DC Colombia
+ */
+public class TranscriptTriageResult {
+
+    private final String complexity;
+    private final String reason;
+    private final int commitmentSentences;
+    private final int speakers;
+    private final List<Map<String, Object>> actionItems;
+    private final long classificationNanos;
+
+    public TranscriptTriageResult(String complexity,
+                                  String reason,
+                                  int commitmentSentences,
+                                  int speakers,
+                                  List<Map<String, Object>> actionItems,
+                                  long classificationNanos) {
+        this.complexity = complexity;
+        this.reason = reason;
+        this.commitmentSentences = commitmentSentences;
+        this.speakers = speakers;
+        this.actionItems = actionItems;
+        this.classificationNanos = classificationNanos;
+    }
+
+    public String getComplexity() { return complexity; }
+    public String getReason() { return reason; }
+    public int getCommitmentSentences() { return commitmentSentences; }
+    public int getSpeakers() { return speakers; }
+    public List<Map<String, Object>> getActionItems() { return actionItems; }
+    public long getClassificationNanos() { return classificationNanos; }
+}
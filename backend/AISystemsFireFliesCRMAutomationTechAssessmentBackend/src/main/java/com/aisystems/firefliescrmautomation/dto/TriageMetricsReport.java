@@ -0,0 +1,52 @@
+package com.aisystems.firefliescrmautomation.dto;
+
+import java.util.Map;
+
+/**
+ * Classification counts of the heuristic pre-extractor and its agreement with the LLM path.
+ * <p>
+ * Agreement is measured on transcripts for which both paths ran: complex transcripts (the LLM
+ * always runs) and a sample of none/simple transcripts re-run on the LLM in the background.
+ * Items are matched by description word overlap; F1 is 1.0 when both sides found nothing.
+ * </p>
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 2:30 PM GMT -5 Bogotá DC Colombia
+ */
+public class TriageMetricsReport {
+
+    private final boolean fastPathEnabled;
+    private final double shadowSampleRate;
+    private final Map<String, Long> classified;
+    private final Map<String, Long> comparisons;
+    private final Map<String, Double> meanF1;
+    private final Map<String, Double> itemCountAgreement;
+    private final long shadowDropped;
+    private final LatencyHistogramSnapshot classificationLatency;
+
+    public TriageMetricsReport(boolean fastPathEnabled,
+                               double shadowSampleRate,
+                               Map<String, Long> classified,
+                               Map<String, Long> comparisons,
+                               Map<String, Double> meanF1,
+                               Map<String, Double> itemCountAgreement,
+                               long shadowDropped,
+                               LatencyHistogramSnapshot classificationLatency) {
+        this.fastPathEnabled = fastPathEnabled;
+        this.shadowSampleRate = shadowSampleRate;
+        this.classified = classified;
+        this.comparisons = comparisons;
+        this.meanF1 = meanF1;
+        this.itemCountAgreement = itemCountAgreement;
+        this.shadowDropped = shadowDropped;
+        this.classificationLatency = classificationLatency;
+    }
+
+    public boolean isFastPathEnabled() { return fastPathEnabled; }
+    public double getShadowSampleRate() { return shadowSampleRate; }
+    public Map<String, Long> getClassified() { return classified; }
+    public Map<String, Long> getComparisons() { return comparisons; }
+    public Map<String, Double> getMeanF1() { return meanF1; }
+    public Map<String, Double> getItemCountAgreement() { return itemCountAgreement; }
+    public long getShadowDropped() { return shadowDropped; }
+    public LatencyHistogramSnapshot getClassificationLatency() { return classificationLatency; }
+}
@@ -0,0 +1,513 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.ActionItemAnalyticsReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * In-process columnar store of extracted action-item facts used for live dashboards.
+ * <p>
+ * Every fact is one row across five {@code int[]} columns (priority, category, assignee,
+ * deadline week, meeting). String values are dictionary-encoded and each dimension keeps a
+ * running count per code, so an unfiltered GROUP BY is answered without scanning. Filtered
+ * queries are a sequential pass over primitive arrays (split across cores for large stores)
+ * that increments a counter per dictionary code; no objects are allocated per row. Millions of
+ * rows fit in a few tens of megabytes. When {@code aisystems.analytics.max-rows} is reached the oldest 10%
+ * of rows are dropped and the dictionaries are compacted, so values that no longer occur in any
+ * row (old meetings, departed assignees) are forgotten and memory stays bounded by the row cap.
+ * Group-by results keep only the {@code limit} largest buckets, selected with a bounded heap.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 9:40 AM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class ActionItemAnalyticsStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ActionItemAnalyticsStore.class);
+
+    /**
+     * Dimensions that can be grouped or filtered on.
+     */
+    public enum Dimension {
+        PRIORITY, CATEGORY, ASSIGNEE, DEADLINE_WEEK, MEETING;
+
+        /**
+         * Parses a dimension name case-insensitively, accepting {@code deadlineWeek} and {@code deadline-week}.
+         * @param value the name
+         * @return the dimension, or null when unknown
+         */
+        public static Dimension parse(String value) {
+            if (value == null) {
+                return null;
+            }
+            String key = value.trim().replace('-', '_').replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+            for (Dimension dimension : values()) {
+                if (dimension.name().equals(key)) {
+                    return dimension;
+                }
+            }
+            return null;
+        }
+    }
+
+    static final String UNKNOWN_PRIORITY = "NONE";
+    static final String UNKNOWN_CATEGORY = "uncategorized";
+    static final String UNKNOWN_ASSIGNEE = "unassigned";
+    static final String UNKNOWN_WEEK = "unscheduled";
+
+    private static final int DIMENSIONS = Dimension.values().length;
+    private static final int PARALLEL_SCAN_THRESHOLD = 262_144;
+    private static final Pattern ISO_DATE = Pattern.compile("(\\d{4})-(\\d{2})-(\\d{2})");
+    private static final Pattern MEETING_DATE = Pattern.compile("(?im)^\\s*Meeting Date:\\s*(.+?)\\s*$");
+
+    @Value("${aisystems.analytics.max-rows:5000000}")
+    private int maxRows;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Dictionary[] dictionaries = new Dictionary[DIMENSIONS];
+    private int[][] columns = new int[DIMENSIONS][1024];
+    /** Per-dimension count of rows by dictionary code, maintained on insert/eviction. */
+    private long[][] runningTotals = new long[DIMENSIONS][16];
+    private int size;
+
+    public ActionItemAnalyticsStore() {
+        for (int d = 0; d < DIMENSIONS; d++) {
+            dictionaries[d] = new Dictionary();
+        }
+    }
+
+    /**
+     * Derives a stable meeting key from the transcript's "Meeting Date:" header and a 64-bit
+     * FNV-1a hash of its content; {@code String.hashCode} collides too often at this scale.
+     * @param transcript the meeting transcript
+     * @return meeting key such as {@code November 15, 2024#1a2b3c4d5e6f7081}
+     */
+    public static String meetingKey(String transcript) {
+        if (transcript == null) {
+            return "unknown";
+        }
+        return new MeetingKeyBuilder().append(transcript).build();
+    }
+
+    /**
+     * Builds the same key as {@link #meetingKey(String)} from a transcript read in consecutive
+     * parts, so spooled uploads are keyed by their full content without holding it in memory.
+     */
+    public static final class MeetingKeyBuilder {
+
+        private long hash = 0xcbf29ce484222325L;
+        private String date;
+
+        /**
+         * Hashes the next part of the transcript; the date comes from the first part with a header.
+         * @param part next transcript text, in order
+         * @return this builder
+         */
+        public MeetingKeyBuilder append(CharSequence part) {
+            if (date == null) {
+                Matcher m = MEETING_DATE.matcher(part);
+                if (m.find()) {
+                    date = m.group(1);
+                }
+            }
+            for (int i = 0; i < part.length(); i++) {
+                hash ^= part.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return this;
+        }
+
+        public String build() {
+            return (date != null ? date : "undated") + "#" + String.format("%016x", hash);
+        }
+    }
+
+    /**
+     * Appends the action items extracted from one meeting.
+     * @param meeting     meeting key (see {@link #meetingKey(String)})
+     * @param actionItems extracted items (description, priority, deadline, assignee, category)
+     */
+    public void recordActionItems(String meeting, List<Map<String, Object>> actionItems) {
+        if (actionItems == null || actionItems.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Map<String, Object> item : actionItems) {
+                if (item == null || item.containsKey("error") || item.containsKey("raw_output")) {
+                    continue;
+                }
+                ensureCapacity();
+                int row = size;
+                columns[Dimension.PRIORITY.ordinal()][row] = encode(Dimension.PRIORITY, normalizePriority(item.get("priority")));
+                columns[Dimension.CATEGORY.ordinal()][row] = encode(Dimension.CATEGORY, normalizeLower(item.get("category"), UNKNOWN_CATEGORY));
+                columns[Dimension.ASSIGNEE.ordinal()][row] = encode(Dimension.ASSIGNEE, normalizeText(item.get("assignee"), UNKNOWN_ASSIGNEE));
+                columns[Dimension.DEADLINE_WEEK.ordinal()][row] = encode(Dimension.DEADLINE_WEEK, deadlineWeek(item));
+                columns[Dimension.MEETING.ordinal()][row] = encode(Dimension.MEETING, meeting == null ? "unknown" : meeting);
+                for (int d = 0; d < DIMENSIONS; d++) {
+                    runningTotals[d][columns[d][row]]++;
+                }
+                size++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts rows grouped by one dimension, restricted by equality filters on other dimensions.
+     * @param groupBy dimension to group by
+     * @param filters dimension to required value (values are matched after the same normalization used on insert)
+     * @param limit   maximum buckets returned (the largest ones); 0 or less for all
+     * @return buckets ordered by descending count
+     */
+    public ActionItemAnalyticsReport aggregate(Dimension groupBy, Map<Dimension, String> filters, int limit) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            int rows = size;
+            int[] group = columns[groupBy.ordinal()];
+            long[] counts = new long[dictionaries[groupBy.ordinal()].size()];
+
+            List<int[]> filterColumns = new ArrayList<>();
+            List<Integer> filterCodes = new ArrayList<>();
+            boolean impossible = false;
+            if (filters != null) {
+                for (Map.Entry<Dimension, String> filter : filters.entrySet()) {
+                    if (filter.getValue() == null || filter.getValue().isBlank()) {
+                        continue;
+                    }
+                    int code = dictionaries[filter.getKey().ordinal()].lookup(normalizeFilter(filter.getKey(), filter.getValue()));
+                    if (code < 0) {
+                        impossible = true;
+                        break;
+                    }
+                    filterColumns.add(columns[filter.getKey().ordinal()]);
+                    filterCodes.add(code);
+                }
+            }
+
+            long matched = 0;
+            if (!impossible) {
+                int filterCount = filterColumns.size();
+                if (filterCount == 0) {
+                    // Unfiltered group-by: served from the running totals, no scan needed.
+                    long[] totals = runningTotals[groupBy.ordinal()];
+                    System.arraycopy(totals, 0, counts, 0, counts.length);
+                    matched = rows;
+                } else {
+                    int[][] fc = filterColumns.toArray(new int[0][]);
+                    int[] codes = new int[filterCount];
+                    for (int f = 0; f < filterCount; f++) {
+                        codes[f] = filterCodes.get(f);
+                    }
+                    matched = scan(group, fc, codes, rows, counts);
+                }
+            }
+
+            int distinct = 0;
+            for (long count : counts) {
+                if (count > 0) {
+                    distinct++;
+                }
+            }
+            long[] ranked = topBuckets(counts, distinct, limit > 0 ? Math.min(limit, distinct) : distinct);
+            Map<String, Long> buckets = new LinkedHashMap<>();
+            Dictionary dictionary = dictionaries[groupBy.ordinal()];
+            for (int r = ranked.length - 1; r >= 0; r--) {
+                int code = Integer.MAX_VALUE - (int) (ranked[r] & Integer.MAX_VALUE);
+                buckets.put(dictionary.value(code), counts[code]);
+            }
+
+            Map<String, String> appliedFilters = new LinkedHashMap<>();
+            if (filters != null) {
+                filters.forEach((dimension, value) -> {
+                    if (value != null && !value.isBlank()) {
+                        appliedFilters.put(dimension.name().toLowerCase(Locale.ROOT), value);
+                    }
+                });
+            }
+            return new ActionItemAnalyticsReport(groupBy.name().toLowerCase(Locale.ROOT), appliedFilters,
+                    rows, matched, distinct, buckets, (System.nanoTime() - start) / 1_000L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Selects the {@code limit} largest non-empty buckets. Each bucket is packed into one long
+     * (count in the high bits, inverted code in the low 31 bits) so ties go to the older code
+     * and no per-bucket objects are needed when everything is returned.
+     * @return packed buckets in ascending rank order
+     */
+    private static long[] topBuckets(long[] counts, int distinct, int limit) {
+        if (limit >= distinct) {
+            long[] all = new long[distinct];
+            int n = 0;
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    all[n++] = rank(counts[code], code);
+                }
+            }
+            Arrays.sort(all);
+            return all;
+        }
+        PriorityQueue<Long> heap = new PriorityQueue<>(limit + 1);
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] == 0) {
+                continue;
+            }
+            long rank = rank(counts[code], code);
+            if (heap.size() < limit) {
+                heap.add(rank);
+            } else if (rank > heap.peek()) {
+                heap.poll();
+                heap.add(rank);
+            }
+        }
+        long[] top = new long[heap.size()];
+        for (int r = 0; r < top.length; r++) {
+            top[r] = heap.poll();
+        }
+        return top;
+    }
+
+    private static long rank(long count, int code) {
+        return (count << 31) | (Integer.MAX_VALUE - code);
+    }
+
+    /**
+     * Filtered group-by scan. Large stores are split into fixed ranges counted in parallel
+     * into private arrays and merged, so each thread walks its columns sequentially.
+     */
+    private static long scan(int[] group, int[][] filterColumns, int[] codes, int rows, long[] counts) {
+        if (rows < PARALLEL_SCAN_THRESHOLD) {
+            return scanRange(group, filterColumns, codes, 0, rows, counts);
+        }
+        int chunks = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), rows / (PARALLEL_SCAN_THRESHOLD / 4)));
+        int chunkSize = (rows + chunks - 1) / chunks;
+        long[][] partials = new long[chunks][counts.length];
+        long[] matched = new long[chunks];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = c * chunkSize;
+            int to = Math.min(rows, from + chunkSize);
+            if (from < to) {
+                matched[c] = scanRange(group, filterColumns, codes, from, to, partials[c]);
+            }
+        });
+        long total = 0;
+        for (int c = 0; c < chunks; c++) {
+            total += matched[c];
+            long[] partial = partials[c];
+            for (int k = 0; k < counts.length; k++) {
+                counts[k] += partial[k];
+            }
+        }
+        return total;
+    }
+
+    private static long scanRange(int[] group, int[][] filterColumns, int[] codes, int from, int to, long[] counts) {
+        long matched = 0;
+        if (filterColumns.length == 1) {
+            int[] column = filterColumns[0];
+            int code = codes[0];
+            for (int i = from; i < to; i++) {
+                if (column[i] == code) {
+                    counts[group[i]]++;
+                    matched++;
+                }
+            }
+            return matched;
+        }
+        for (int i = from; i < to; i++) {
+            boolean match = true;
+            for (int f = 0; f < filterColumns.length && match; f++) {
+                match = filterColumns[f][i] == codes[f];
+            }
+            if (match) {
+                counts[group[i]]++;
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * @return number of stored action-item rows
+     */
+    public int getRowCount() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureCapacity() {
+        if (size >= maxRows) {
+            int drop = Math.max(1, maxRows / 10);
+            for (int d = 0; d < DIMENSIONS; d++) {
+                for (int i = 0; i < drop; i++) {
+                    runningTotals[d][columns[d][i]]--;
+                }
+                System.arraycopy(columns[d], drop, columns[d], 0, size - drop);
+            }
+            size -= drop;
+            for (int d = 0; d < DIMENSIONS; d++) {
+                compact(d);
+            }
+            log.info("Analytics store reached {} rows; dropped the oldest {}", maxRows, drop);
+        }
+        if (size == columns[0].length) {
+            int newLength = Math.min(Math.max(size * 2, 1024), Math.max(maxRows, 1024));
+            for (int d = 0; d < DIMENSIONS; d++) {
+                columns[d] = Arrays.copyOf(columns[d], newLength);
+            }
+        }
+    }
+
+    /**
+     * Drops dictionary values no remaining row uses and renumbers the column; codes keep their
+     * relative order, so ties in {@link #aggregate} still favour the older value.
+     */
+    private void compact(int d) {
+        Dictionary dictionary = dictionaries[d];
+        long[] totals = runningTotals[d];
+        int codes = dictionary.size();
+        int[] remap = new int[codes];
+        int live = 0;
+        for (int code = 0; code < codes; code++) {
+            remap[code] = totals[code] > 0 ? live++ : -1;
+        }
+        if (live == codes) {
+            return;
+        }
+        Dictionary compacted = new Dictionary();
+        long[] compactedTotals = new long[Math.max(16, live * 2)];
+        for (int code = 0; code < codes; code++) {
+            if (remap[code] >= 0) {
+                compacted.encode(dictionary.value(code));
+                compactedTotals[remap[code]] = totals[code];
+            }
+        }
+        int[] column = columns[d];
+        for (int i = 0; i < size; i++) {
+            column[i] = remap[column[i]];
+        }
+        dictionaries[d] = compacted;
+        runningTotals[d] = compactedTotals;
+    }
+
+    private int encode(Dimension dimension, String value) {
+        int code = dictionaries[dimension.ordinal()].encode(value);
+        long[] totals = runningTotals[dimension.ordinal()];
+        if (code >= totals.length) {
+            runningTotals[dimension.ordinal()] = Arrays.copyOf(totals, totals.length * 2);
+        }
+        return code;
+    }
+
+    private static String normalizeFilter(Dimension dimension, String value) {
+        switch (dimension) {
+            case PRIORITY:
+                return normalizePriority(value);
+            case CATEGORY:
+                return normalizeLower(value, UNKNOWN_CATEGORY);
+            default:
+                return value.trim();
+        }
+    }
+
+    private static String normalizePriority(Object value) {
+        return normalizeText(value, UNKNOWN_PRIORITY).toUpperCase(Locale.ROOT);
+    }
+
+    private static String normalizeLower(Object value, String fallback) {
+        return normalizeText(value, fallback).toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizeText(Object value, String fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        String text = value.toString().trim();
+        return text.isEmpty() || "null".equalsIgnoreCase(text) ? fallback : text;
+    }
+
+    /**
+     * Monday (ISO date) of the week the item's deadline falls into, or {@code unscheduled}.
+     * Uses the resolved {@code deadlineDate} when present.
+     */
+    private static String deadlineWeek(Map<String, Object> item) {
+        Object deadline = item.get("deadlineDate") != null ? item.get("deadlineDate") : item.get("deadline");
+        if (deadline == null) {
+            return UNKNOWN_WEEK;
+        }
+        Matcher m = ISO_DATE.matcher(deadline.toString());
+        if (!m.find()) {
+            return UNKNOWN_WEEK;
+        }
+        int year = Integer.parseInt(m.group(1));
+        int month = Integer.parseInt(m.group(2));
+        int day = Integer.parseInt(m.group(3));
+        if (month < 1 || month > 12 || day < 1 || day > 31 || day > LocalDate.of(year, month, 1).lengthOfMonth()) {
+            return UNKNOWN_WEEK;
+        }
+        LocalDate date = LocalDate.of(year, month, day);
+        return date.minusDays(date.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue()).toString();
+    }
+
+    /**
+     * String dictionary, append-only between compactions; guarded by the store's lock.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private String[] values = new String[16];
+
+        int encode(String value) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            int next = codes.size();
+            if (next == values.length) {
+                values = Arrays.copyOf(values, next * 2);
+            }
+            values[next] = value;
+            codes.put(value, next);
+            return next;
+        }
+
+        int lookup(String value) {
+            Integer code = codes.get(value);
+            return code == null ? -1 : code;
+        }
+
+        String value(int code) {
+            return values[code];
+        }
+
+        int size() {
+            return codes.size();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.ActionItemDedupReport;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects near-duplicate action items before they reach the CRM.
+ * <p>
+ * Descriptions are normalized (lower case, no punctuation or filler words) and indexed with
+ * {@link MinHashLshIndex}. Within one transcript, an item that repeats an earlier one (the
+ * "just to recap" at the end of a call) is merged into it, unless the two are assigned to
+ * different people. Across meetings, an item matching
+ * one seen in the retention window (weekly meetings, a re-processed transcript) is kept but
+ * linked through a {@code duplicateOf} entry carrying the earlier meeting, description,
+ * similarity and HubSpot deal id, so the caller can reuse the deal instead of creating one.
+ * </p>
+ * <p>
+ * The index lives in memory; it starts empty after a restart.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 3:05 PM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class ActionItemDeduplicator implements InitializingBean {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "the", "to", "and", "or", "of", "for", "on", "in", "at", "with", "by", "from",
+            "me", "my", "you", "your", "we", "our", "us", "it", "its", "this", "that", "all", "any",
+            "please", "can", "could", "will", "would", "need", "needs", "just", "also", "up");
+    private static final Map<String, Integer> PRIORITY_RANK = Map.of("LOW", 1, "MEDIUM", 2, "HIGH", 3);
+
+    @Value("${aisystems.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${aisystems.dedup.threshold:0.6}")
+    private double threshold;
+
+    @Value("${aisystems.dedup.bands:16}")
+    private int bands;
+
+    @Value("${aisystems.dedup.rows:4}")
+    private int rows;
+
+    @Value("${aisystems.dedup.max-items:1000000}")
+    private int maxItems;
+
+    @Value("${aisystems.dedup.retention-days:90}")
+    private int retentionDays;
+
+    private MinHashLshIndex index;
+    private final LatencyHistogram lookupLatency = new LatencyHistogram();
+    private final LongAdder checked = new LongAdder();
+    private final LongAdder merged = new LongAdder();
+    private final LongAdder linked = new LongAdder();
+    private final LongAdder writesAvoided = new LongAdder();
+
+    @Override
+    public void afterPropertiesSet() {
+        index = new MinHashLshIndex(bands, rows, maxItems);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Merges duplicates within the list and links items seen in earlier meetings; the remaining
+     * items are added to the index.
+     * @param meeting meeting key (see {@link ActionItemAnalyticsStore#meetingKey(String)})
+     * @param items   extracted items; error entries are passed through
+     * @return the items left after merging, in their original order
+     */
+    public List<Map<String, Object>> deduplicate(String meeting, List<Map<String, Object>> items) {
+        return deduplicate(meeting, items, true);
+    }
+
+    /**
+     * Merges duplicates within the list only; the index is neither queried nor updated.
+     * @param items extracted items; error entries are passed through
+     * @return the items left after merging, in their original order
+     */
+    public List<Map<String, Object>> mergeDuplicates(List<Map<String, Object>> items) {
+        return deduplicate(null, items, false);
+    }
+
+    private List<Map<String, Object>> deduplicate(String meeting, List<Map<String, Object>> items, boolean acrossMeetings) {
+        if (!enabled || items == null || items.isEmpty()) {
+            return items;
+        }
+        long now = System.currentTimeMillis();
+        long cutoff = now - TimeUnit.DAYS.toMillis(retentionDays);
+        List<Map<String, Object>> kept = new ArrayList<>();
+        List<int[]> keptSignatures = new ArrayList<>();
+        for (Map<String, Object> item : items) {
+            Object description = item == null ? null : item.get("description");
+            if (description == null || item.containsKey("error") || item.containsKey("raw_output")) {
+                kept.add(item);
+                keptSignatures.add(null);
+                continue;
+            }
+            String normalized = normalize(description.toString());
+            if (normalized.isEmpty()) {
+                kept.add(item);
+                keptSignatures.add(null);
+                continue;
+            }
+            long start = System.nanoTime();
+            int[] signature = index.signature(normalized);
+            checked.increment();
+
+            int same = findInBatch(signature, item.get("assignee"), kept, keptSignatures);
+            if (same >= 0) {
+                mergeInto(kept.get(same), item);
+                merged.increment();
+                lookupLatency.record(System.nanoTime() - start);
+                continue;
+            }
+
+            MinHashLshIndex.Match match = acrossMeetings ? index.findBestAndTouch(signature, threshold, cutoff, null, now) : null;
+            if (match != null) {
+                Map<String, Object> duplicateOf = new HashMap<>();
+                duplicateOf.put("meeting", match.getMeeting());
+                duplicateOf.put("description", match.getDescription());
+                duplicateOf.put("similarity", Math.round(match.getSimilarity() * 100) / 100.0);
+                if (match.getReference() != null) {
+                    duplicateOf.put("hubspotDealId", match.getReference());
+                }
+                item.put("duplicateOf", duplicateOf);
+                linked.increment();
+            } else if (acrossMeetings) {
+                index.add(signature, meeting, description.toString(), now, cutoff);
+            }
+            lookupLatency.record(System.nanoTime() - start);
+            kept.add(item);
+            keptSignatures.add(signature);
+        }
+        return kept;
+    }
+
+    /**
+     * Remembers the HubSpot deal created for an item so later duplicates can reuse it.
+     * @param item   item passed to {@link #deduplicate}
+     * @param dealId HubSpot deal id
+     */
+    public void recordDeal(Map<String, Object> item, String dealId) {
+        Object description = item == null ? null : item.get("description");
+        if (!enabled || description == null || dealId == null) {
+            return;
+        }
+        String normalized = normalize(description.toString());
+        if (normalized.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        index.findBestAndTouch(index.signature(normalized), threshold, now - TimeUnit.DAYS.toMillis(retentionDays), dealId, now);
+    }
+
+    public void recordWriteAvoided() {
+        writesAvoided.increment();
+    }
+
+    public ActionItemDedupReport getReport() {
+        return new ActionItemDedupReport(enabled, threshold, bands, rows, index.size(), index.getEvicted(),
+                checked.sum(), merged.sum(), linked.sum(), writesAvoided.sum(), lookupLatency.snapshot());
+    }
+
+    /**
+     * Lower-cases, drops punctuation and filler words and strips a plural "s", so "Send me the
+     * lead sources." and "send lead source" normalize the same way.
+     * @param text description
+     * @return space-separated remaining words
+     */
+    static String normalize(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty() || STOP_WORDS.contains(word)) {
+                continue;
+            }
+            if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+                word = word.substring(0, word.length() - 1);
+            }
+            if (out.length() > 0) {
+                out.append(' ');
+            }
+            out.append(word);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Index of the earlier item of the same list this one repeats. Items assigned to different
+     * people are never merged: "Lisa sends the deck" and "Mark sends the deck" are two tasks.
+     */
+    private int findInBatch(int[] signature, Object assignee, List<Map<String, Object>> kept, List<int[]> keptSignatures) {
+        for (int i = 0; i < keptSignatures.size(); i++) {
+            int[] other = keptSignatures.get(i);
+            if (other == null || !sameAssignee(assignee, kept.get(i).get("assignee"))) {
+                continue;
+            }
+            int equal = 0;
+            for (int h = 0; h < signature.length; h++) {
+                if (signature[h] == other[h]) {
+                    equal++;
+                }
+            }
+            if ((double) equal / signature.length >= threshold) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean sameAssignee(Object a, Object b) {
+        if (a == null || b == null || a.toString().isBlank() || b.toString().isBlank()) {
+            return true;
+        }
+        return a.toString().strip().equalsIgnoreCase(b.toString().strip());
+    }
+
+    /**
+     * Keeps the first item's wording; fills in a missing deadline or assignee from the duplicate
+     * and keeps the higher priority.
+     */
+    private void mergeInto(Map<String, Object> target, Map<String, Object> duplicate) {
+        for (String key : List.of("deadline", "deadlineDate", "deadlineMillis", "assignee", "category")) {
+            if (target.get(key) == null && duplicate.get(key) != null) {
+                target.put(key, duplicate.get(key));
+            }
+        }
+        Object priority = duplicate.get("priority");
+        if (priority != null && rank(priority) > rank(target.get("priority"))) {
+            target.put("priority", priority);
+        }
+        Object count = target.get("mergedDuplicates");
+        target.put("mergedDuplicates", (count instanceof Number ? ((Number) count).intValue() : 0) + 1);
+    }
+
+    private static int rank(Object priority) {
+        return priority == null ? 0 : PRIORITY_RANK.getOrDefault(priority.toString().toUpperCase(Locale.ROOT), 0);
+    }
+}
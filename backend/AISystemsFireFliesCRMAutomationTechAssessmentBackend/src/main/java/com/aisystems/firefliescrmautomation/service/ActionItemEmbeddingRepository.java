@@ -0,0 +1,159 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.configuration.ReadWriteRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MySQL cache of action item embeddings, keyed by embedding model and a hash of the normalized
+ * description, so a description is embedded once per model. Vectors are stored as little-endian
+ * float32 blobs. Lookups are read-only and may be served by the read replica; a vector missing
+ * there because of replication lag is only embedded again.
+ * <p>
+ * Tables are created on first use rather than at startup so the application still boots when
+ * the database is unreachable.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 3:20 PM GMT -5 Bogotá DC Colombia
+ */
+@Repository
+public class ActionItemEmbeddingRepository {
+
+    private static final int IN_CLAUSE_CHUNK = 500;
+
+    @Autowired
+    @Qualifier("AISystemsJdbcTemplate")
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile boolean schemaReady;
+
+    /**
+     * Cached embedding with the description and meeting it was first seen in.
+     */
+    public static final class StoredEmbedding {
+        private final String textKey;
+        private final String meeting;
+        private final String description;
+        private final float[] vector;
+
+        public StoredEmbedding(String textKey, String meeting, String description, float[] vector) {
+            this.textKey = textKey;
+            this.meeting = meeting;
+            this.description = description;
+            this.vector = vector;
+        }
+
+        public String getTextKey() { return textKey; }
+        public String getMeeting() { return meeting; }
+        public String getDescription() { return description; }
+        public float[] getVector() { return vector; }
+    }
+
+    private void ensureSchema() {
+        if (schemaReady) {
+            return;
+        }
+        synchronized (this) {
+            if (schemaReady) {
+                return;
+            }
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS action_item_embedding (" +
+                    "model VARCHAR(64) NOT NULL, " +
+                    "text_key CHAR(64) NOT NULL, " +
+                    "dimensions INT NOT NULL, " +
+                    "meeting_key VARCHAR(128) NULL, " +
+                    "description VARCHAR(1024) NOT NULL, " +
+                    "vector BLOB NOT NULL, " +
+                    "created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+                    "PRIMARY KEY (model, text_key))");
+            schemaReady = true;
+        }
+    }
+
+    /**
+     * @param model    embedding model
+     * @param textKeys description hashes
+     * @return cached vectors by text key; keys without a cached vector are absent
+     */
+    public Map<String, float[]> findVectors(String model, Collection<String> textKeys) {
+        if (textKeys == null || textKeys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        ensureSchema();
+        List<String> keys = new ArrayList<>(textKeys);
+        return ReadWriteRoutingDataSource.readOnly(() -> {
+            Map<String, float[]> vectors = new HashMap<>();
+            for (int from = 0; from < keys.size(); from += IN_CLAUSE_CHUNK) {
+                List<String> chunk = keys.subList(from, Math.min(keys.size(), from + IN_CLAUSE_CHUNK));
+                List<Object> args = new ArrayList<>(chunk.size() + 1);
+                args.add(model);
+                args.addAll(chunk);
+                String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+                jdbcTemplate.query("SELECT text_key, vector FROM action_item_embedding WHERE model = ? AND text_key IN (" + placeholders + ")",
+                        rs -> {
+                            vectors.put(rs.getString(1), decode(rs.getBytes(2)));
+                        }, args.toArray());
+            }
+            return vectors;
+        });
+    }
+
+    /**
+     * Loads the most recent embeddings of a model, newest first, to warm the in-memory index.
+     * @param model embedding model
+     * @param limit maximum rows
+     * @return stored embeddings
+     */
+    public List<StoredEmbedding> findRecent(String model, int limit) {
+        ensureSchema();
+        return ReadWriteRoutingDataSource.readOnly(() -> jdbcTemplate.query(
+                "SELECT text_key, meeting_key, description, vector FROM action_item_embedding " +
+                        "WHERE model = ? ORDER BY created_at DESC LIMIT ?",
+                (rs, row) -> new StoredEmbedding(rs.getString(1), rs.getString(2), rs.getString(3), decode(rs.getBytes(4))),
+                model, limit));
+    }
+
+    /**
+     * Stores embeddings; rows already cached are left unchanged.
+     * @param model      embedding model
+     * @param embeddings embeddings to store
+     */
+    public void saveAll(String model, List<StoredEmbedding> embeddings) {
+        if (embeddings == null || embeddings.isEmpty()) {
+            return;
+        }
+        ensureSchema();
+        List<Object[]> rows = new ArrayList<>(embeddings.size());
+        for (StoredEmbedding embedding : embeddings) {
+            String description = embedding.getDescription();
+            rows.add(new Object[]{model, embedding.getTextKey(), embedding.getVector().length, embedding.getMeeting(),
+                    description.length() > 1024 ? description.substring(0, 1024) : description, encode(embedding.getVector())});
+        }
+        jdbcTemplate.batchUpdate("INSERT IGNORE INTO action_item_embedding (model, text_key, dimensions, meeting_key, description, vector) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    static byte[] encode(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    static float[] decode(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+}
@@ -1,29 +1,63 @@
 package com.aisystems.firefliescrmautomation.service;
 
+import com.aisystems.firefliescrmautomation.dto.ActionItem;
+import com.aisystems.firefliescrmautomation.dto.ActionItemBatchReport;
+import com.aisystems.firefliescrmautomation.dto.HubSpotTaskCreationReport;
+import com.aisystems.firefliescrmautomation.dto.TranscriptCompressionReport;
+import com.aisystems.firefliescrmautomation.dto.TranscriptExtractionResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import com.aisystems.firefliescrmautomation.dto.HubSpotTaskCreationReport;
-import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Service for extracting action items from meeting transcripts using an LLM (OpenAI).
+ * Batch extraction engine: extracts action items from many transcripts concurrently and creates
+ * their HubSpot deals through the batch endpoint.
  * <p>
- * This service takes a transcript, sends it to the LLM, and parses the response into structured action items.
- * Smart features include priority tagging, deadline parsing, assignee detection, and error handling.
+ * Each transcript goes through the same stages as the single-transcript pipeline, timed one by
+ * one: compress, extract (triage rules or the LLM, see
+ * {@link OpenAIService#extractFromCompressedText(String)}), parse into validated
+ * {@link ActionItem}s, and enrich (deadline resolution, deduplication, analytics). Transcripts run
+ * on a shared pool of {@code parallelism} threads, so concurrent batches never exceed it either.
+ * Once every transcript is done, the items of the whole batch are sent to HubSpot
+ * {@code hubspot-batch-size} deals per request instead of one request per deal.
  * </p>
  *
  * Example usage:
  * <pre>
- *     List<Map<String, Object>> actions = actionItemExtractorService.extractActionItems(transcript);
+ *     ActionItemBatchReport report = actionItemExtractorService.extractBatch(transcripts, true);
  * </pre>
  *
  * @author Manuela Cortés Granados
  * @since 6 December 2025
  */
 @Service
-public class ActionItemExtractorService {
+public class ActionItemExtractorService implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ActionItemExtractorService.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Status of one transcript of a batch. */
+    public enum Status { OK, FAILED, TOO_LONG, TIMED_OUT }
 
     @Autowired
     private OpenAIService openAIService;
@@ -31,26 +65,132 @@ public class ActionItemExtractorService {
     @Autowired
     private HubSpotTaskService hubSpotTaskService;
 
+    @Autowired
+    private TranscriptCompressor transcriptCompressor;
+
+    @Autowired
+    private PromptBudgetPlanner promptBudgetPlanner;
+
+    @Autowired
+    private ActionItemDeduplicator deduplicator;
+
+    @Value("${aisystems.extractor.parallelism:4}")
+    private int parallelism;
+
+    @Value("${aisystems.extractor.max-batch:500}")
+    private int maxBatch;
+
+    @Value("${aisystems.extractor.batch-timeout-ms:600000}")
+    private long batchTimeoutMs;
+
+    @Value("${aisystems.extractor.hubspot-batch-size:100}")
+    private int hubspotBatchSize;
+
+    private ExecutorService workers;
+
+    @Override
+    public void afterPropertiesSet() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "action-item-extractor-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+
     /**
-     * Extracts action items from a meeting transcript using the LLM API.
+     * Extracts action items from a meeting transcript on the calling thread.
      * <p>
-     * The method sends a prompt to the LLM asking for a JSON list of action items, each with fields:
-     * description, priority, deadline, assignee, and category. Handles incomplete transcripts and API errors.
+     * The items are validated against {@link ActionItemSchema} (description, priority
+     * HIGH/MEDIUM/LOW, deadline, assignee, category), their deadlines are resolved against the
+     * meeting date and duplicates are merged. When the transcript is too long or extraction
+     * fails, the list holds a single {@code error} entry, as in
+     * {@link OpenAIService#extractActionItemsFromTranscript(String)}.
      * </p>
      *
      * @param transcript The meeting transcript text.
      * @return List of action items as maps (description, priority, deadline, assignee, category).
      */
     public List<Map<String, Object>> extractActionItems(String transcript) {
-        String prompt = "Extract all action items from the following meeting transcript. " +
-                "For each action item, return a JSON object with: description, priority (high/medium/low), " +
-                "deadline (if mentioned), assignee (if mentioned), and category (e.g., training, integration, feedback). " +
-                "If no action items are found, return an empty list. Transcript: " + transcript;
-        String response = openAIService.getCompletion(prompt);
-        // TODO: Parse response as JSON list of action items
-        // Example: Use Jackson or Gson to parse response
-        // Handle errors and incomplete transcripts
-        return List.of(); // Placeholder: implement JSON parsing
+        Extraction extraction = extract(0, transcript);
+        if (extraction.status != Status.OK) {
+            List<Map<String, Object>> error = new ArrayList<>();
+            error.add(new HashMap<>(Map.of("error", extraction.error)));
+            return error;
+        }
+        return extraction.items;
+    }
+
+    /**
+     * Extracts action items from a batch of transcripts concurrently and, optionally, creates
+     * their HubSpot deals in batches.
+     * @param transcripts meeting transcripts
+     * @param createTasks true to create a HubSpot deal per extracted item
+     * @return consolidated report with one result per transcript, in input order
+     * @throws IllegalArgumentException when the batch holds more than {@code max-batch} transcripts
+     * @since 19 October 2026 5:00 PM GMT -5 Bogotá DC Colombia
+     */
+    public ActionItemBatchReport extractBatch(List<String> transcripts, boolean createTasks) {
+        if (transcripts.size() > maxBatch) {
+            throw new IllegalArgumentException("A batch holds at most " + maxBatch + " transcripts, got " + transcripts.size());
+        }
+        long start = System.nanoTime();
+        String tenant = LlmCallScheduler.currentTenant();
+        List<Callable<Extraction>> tasks = new ArrayList<>(transcripts.size());
+        for (int i = 0; i < transcripts.size(); i++) {
+            int index = i;
+            tasks.add(() -> LlmCallScheduler.inLane(LlmCallScheduler.Lane.BULK, tenant, () -> extract(index, transcripts.get(index))));
+        }
+        List<Extraction> extractions = new ArrayList<>(transcripts.size());
+        try {
+            // Unfinished extractions are cancelled once the batch timeout elapses.
+            List<Future<Extraction>> futures = workers.invokeAll(tasks, batchTimeoutMs, TimeUnit.MILLISECONDS);
+            for (int i = 0; i < futures.size(); i++) {
+                extractions.add(result(i, transcripts.get(i), futures.get(i)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while extracting the batch", e);
+        }
+        long extractionNanos = System.nanoTime() - start;
+
+        HubSpotStage hubspot = createTasks ? createTasks(extractions) : new HubSpotStage();
+
+        List<TranscriptExtractionResult> results = new ArrayList<>(extractions.size());
+        int succeeded = 0;
+        int actionItems = 0;
+        for (Extraction extraction : extractions) {
+            if (extraction.status == Status.OK) {
+                succeeded++;
+                actionItems += extraction.items.size();
+            }
+            results.add(extraction.toResult());
+        }
+        return new ActionItemBatchReport(transcripts.size(), succeeded, transcripts.size() - succeeded, actionItems,
+                hubspot.created, hubspot.skipped, hubspot.failed, Math.max(1, parallelism), hubspot.batches,
+                millis(extractionNanos), millis(hubspot.nanos), millis(System.nanoTime() - start), hubspot.errors, results);
+    }
+
+    /**
+     * Runs one transcript through every stage on the calling thread; its deals, if any, go to
+     * HubSpot in a single batch request.
+     * @param index       position of the transcript in its batch or upload
+     * @param transcript  meeting transcript
+     * @param createTasks true to create a HubSpot deal per extracted item
+     * @return the transcript's result with stage timings
+     * @since 19 October 2026 5:15 PM GMT -5 Bogotá DC Colombia
+     */
+    public TranscriptExtractionResult extractOne(int index, String transcript, boolean createTasks) {
+        Extraction extraction = extract(index, transcript);
+        if (createTasks && extraction.status == Status.OK) {
+            createTasks(List.of(extraction));
+        }
+        return extraction.toResult();
     }
 
     /**
@@ -61,28 +201,281 @@ public class ActionItemExtractorService {
      * @since 9 December 2025 GMT 7:58 AM -5 Bogotá DC Colombia
      */
     public HubSpotTaskCreationReport extractAndCreateHubSpotTasks(String transcript) {
-        List<Map<String, Object>> actionItems = extractActionItems(transcript);
-        List<String> responses = new ArrayList<>();
+        Extraction extraction = extract(0, transcript);
         List<String> errors = new ArrayList<>();
-        List<Map<String, Object>> taskResults = new ArrayList<>();
-        int succeeded = 0;
-        int failed = 0;
-        for (Map<String, Object> item : actionItems) {
+        if (extraction.status != Status.OK) {
+            errors.add(extraction.error);
+            return new HubSpotTaskCreationReport(0, 0, 1, new ArrayList<>(), errors, new ArrayList<>(), new ArrayList<>());
+        }
+        HubSpotStage hubspot = createTasks(List.of(extraction));
+        errors.addAll(hubspot.errors);
+        return new HubSpotTaskCreationReport(extraction.items.size(), hubspot.created + hubspot.skipped, hubspot.failed,
+                hubspot.responses, errors, extraction.items, extraction.items);
+    }
+
+    /**
+     * Runs a transcript through the compress, extract and parse stages in the bulk lane, without
+     * enriching or recording the items, so a benchmark can score the batch engine without adding
+     * to the analytics or the deduplication index.
+     * @param transcript meeting transcript
+     * @return the validated items, or null when the extraction failed
+     * @since 19 October 2026 6:45 PM GMT -5 Bogotá DC Colombia
+     */
+    public List<Map<String, Object>> extractUnrecorded(String transcript) {
+        Extraction extraction = LlmCallScheduler.inLane(LlmCallScheduler.Lane.BULK, LlmCallScheduler.currentTenant(),
+                () -> extract(0, transcript, false));
+        return extraction.status == Status.OK ? extraction.items : null;
+    }
+
+    private Extraction extract(int index, String transcript) {
+        return extract(index, transcript, true);
+    }
+
+    private Extraction extract(int index, String transcript, boolean record) {
+        Extraction extraction = new Extraction(index, ActionItemAnalyticsStore.meetingKey(transcript));
+        long start = System.nanoTime();
+        try {
+            if (transcript == null || transcript.isBlank()) {
+                return extraction.fail(Status.FAILED, "Transcript is empty");
+            }
+            TranscriptCompressionReport compression = transcriptCompressor.compress(transcript);
+            long compressed = System.nanoTime();
+            extraction.compressNanos = compressed - start;
+            if (compression.getCompressedTokens() > promptBudgetPlanner.getMaxTranscriptTokens()) {
+                return extraction.fail(Status.TOO_LONG, "Transcript is " + compression.getCompressedTokens()
+                        + " tokens; the limit is " + promptBudgetPlanner.getMaxTranscriptTokens());
+            }
+
+            List<Map<String, Object>> raw = openAIService.extractFromCompressedText(compression.getCompressedTranscript());
+            long extracted = System.nanoTime();
+            extraction.extractNanos = extracted - compressed;
+
+            List<ActionItem> items = new ArrayList<>(raw.size());
+            String unusable = null;
+            for (Map<String, Object> entry : raw) {
+                if (entry.containsKey("error") || entry.containsKey("raw_output")) {
+                    unusable = String.valueOf(entry.containsKey("error") ? entry.get("error") : entry.get("raw_output"));
+                    continue;
+                }
+                ActionItem item = toActionItem(entry);
+                if (ActionItemSchema.validate(item)) {
+                    items.add(item);
+                } else {
+                    extraction.rejected++;
+                }
+            }
+            long parsed = System.nanoTime();
+            extraction.parseNanos = parsed - extracted;
+            if (items.isEmpty() && unusable != null) {
+                return extraction.fail(Status.FAILED, "Unusable extraction output: " + unusable);
+            }
+
+            List<Map<String, Object>> maps = new ArrayList<>(items.size());
+            for (ActionItem item : items) {
+                maps.add(item.toMap());
+            }
+            if (record) {
+                openAIService.recordExtraction(transcript, maps);
+            }
+            extraction.enrichNanos = System.nanoTime() - parsed;
+            extraction.items = maps;
+            extraction.status = Status.OK;
+        } catch (RuntimeException e) {
+            log.warn("Extraction of transcript {} of the batch failed: {}", index, e.getMessage());
+            extraction.fail(Status.FAILED, "Failed to extract action items: " + e.getMessage());
+        } finally {
+            extraction.totalNanos = System.nanoTime() - start;
+        }
+        return extraction;
+    }
+
+    private static Extraction result(int index, String transcript, Future<Extraction> future) {
+        try {
+            return future.get();
+        } catch (CancellationException e) {
+            return new Extraction(index, ActionItemAnalyticsStore.meetingKey(transcript))
+                    .fail(Status.TIMED_OUT, "Extraction did not finish within the batch timeout");
+        } catch (ExecutionException | InterruptedException e) {
+            return new Extraction(index, ActionItemAnalyticsStore.meetingKey(transcript))
+                    .fail(Status.FAILED, "Failed to extract action items: " + e.getMessage());
+        }
+    }
+
+    private static ActionItem toActionItem(Map<String, Object> entry) {
+        ActionItem item = new ActionItem();
+        item.setDescription(string(entry.get("description")));
+        item.setPriority(string(entry.get("priority")));
+        item.setDeadline(string(entry.get("deadline")));
+        item.setAssignee(string(entry.get("assignee")));
+        item.setCategory(string(entry.get("category")));
+        return item;
+    }
+
+    private static String string(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Creates the deals of every successful extraction, {@code hubspot-batch-size} per request.
+     * Items linked to an earlier meeting's deal reuse it; a failed request only fails its own items.
+     */
+    private HubSpotStage createTasks(List<Extraction> extractions) {
+        HubSpotStage stage = new HubSpotStage();
+        List<Extraction> owners = new ArrayList<>();
+        List<Map<String, Object>> pending = new ArrayList<>();
+        for (Extraction extraction : extractions) {
+            if (extraction.status != Status.OK) {
+                continue;
+            }
+            for (Map<String, Object> item : extraction.items) {
+                Object duplicateOf = item.get("duplicateOf");
+                Object dealId = duplicateOf instanceof Map ? ((Map<?, ?>) duplicateOf).get("hubspotDealId") : null;
+                if (dealId != null) {
+                    item.put("hubspotTaskId", dealId);
+                    item.put("hubspotSkipped", "duplicate");
+                    deduplicator.recordWriteAvoided();
+                    extraction.tasksSkipped++;
+                    stage.skipped++;
+                    continue;
+                }
+                owners.add(extraction);
+                pending.add(item);
+            }
+        }
+
+        int size = Math.max(1, Math.min(hubspotBatchSize, HubSpotTaskService.HUBSPOT_BATCH_LIMIT));
+        long start = System.nanoTime();
+        for (int from = 0; from < pending.size(); from += size) {
+            int to = Math.min(pending.size(), from + size);
+            List<Map<String, Object>> batch = pending.subList(from, to);
+            long batchStart = System.nanoTime();
+            String error = null;
             try {
-                String response = hubSpotTaskService.createTask(
-                    item.getOrDefault("description", "").toString(),
-                    item.getOrDefault("deadline", null) != null ? item.get("deadline").toString() : null,
-                    item.getOrDefault("priority", "NONE").toString(),
-                    item.getOrDefault("assignee", null) != null ? item.get("assignee").toString() : null
-                );
-                responses.add(response);
-                taskResults.add(item);
-                succeeded++;
+                String raw = hubSpotTaskService.createTaskBatch(batch);
+                stage.responses.add(raw);
+                error = assignDealIds(batch, raw);
             } catch (Exception ex) {
-                errors.add("Error for item: " + item + " - " + ex.getMessage());
-                failed++;
+                error = ex.getMessage();
             }
+            stage.batches++;
+            long batchNanos = System.nanoTime() - batchStart;
+            Set<Extraction> touched = new LinkedHashSet<>(owners.subList(from, to));
+            for (Extraction extraction : touched) {
+                extraction.hubspotNanos += batchNanos;
+            }
+            for (int i = from; i < to; i++) {
+                Map<String, Object> item = pending.get(i);
+                if (item.get("hubspotTaskId") != null) {
+                    deduplicator.recordDeal(item, item.get("hubspotTaskId").toString());
+                    owners.get(i).tasksCreated++;
+                    stage.created++;
+                } else {
+                    item.put("hubspotError", error != null ? error : "Deal missing from the HubSpot batch response");
+                    owners.get(i).taskFailures++;
+                    stage.failed++;
+                }
+            }
+            if (error != null) {
+                stage.errors.add("HubSpot batch " + stage.batches + " (" + batch.size() + " deals): " + error);
+            }
+        }
+        stage.nanos = System.nanoTime() - start;
+        return stage;
+    }
+
+    /**
+     * Matches the deals of a batch create response back to their items by the
+     * {@code objectWriteTraceId} each result echoes, which is the item's position in the batch.
+     * A response without trace ids is matched by position only when it holds one result per item.
+     * @return the HubSpot error messages of the batch, or null when it had none
+     */
+    static String assignDealIds(List<Map<String, Object>> batch, String raw) throws Exception {
+        Map<?, ?> response = MAPPER.readValue(raw, Map.class);
+        Object results = response.get("results");
+        if (results instanceof List) {
+            List<?> list = (List<?>) results;
+            for (int i = 0; i < list.size(); i++) {
+                if (!(list.get(i) instanceof Map)) {
+                    continue;
+                }
+                Map<?, ?> result = (Map<?, ?>) list.get(i);
+                int position = traceIndex(result.get("objectWriteTraceId"), batch.size());
+                if (position < 0 && result.get("objectWriteTraceId") == null && list.size() == batch.size()) {
+                    position = i;
+                }
+                if (position >= 0 && result.get("id") != null && batch.get(position).get("hubspotTaskId") == null) {
+                    batch.get(position).put("hubspotTaskId", result.get("id"));
+                }
+            }
+        }
+        Object errors = response.get("errors");
+        if (!(errors instanceof List) || ((List<?>) errors).isEmpty()) {
+            return null;
+        }
+        List<String> messages = new ArrayList<>();
+        for (Object error : (List<?>) errors) {
+            messages.add(String.valueOf(error instanceof Map ? ((Map<?, ?>) error).get("message") : error));
+        }
+        return String.join("; ", messages);
+    }
+
+    private static int traceIndex(Object traceId, int size) {
+        try {
+            int index = traceId == null ? -1 : Integer.parseInt(traceId.toString());
+            return index < size ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /** Mutable state of one transcript while the batch runs. */
+    private static final class Extraction {
+        final int index;
+        final String meetingKey;
+        Status status = Status.FAILED;
+        String error;
+        List<Map<String, Object>> items = new ArrayList<>();
+        int rejected;
+        int tasksCreated;
+        int tasksSkipped;
+        int taskFailures;
+        long compressNanos;
+        long extractNanos;
+        long parseNanos;
+        long enrichNanos;
+        long hubspotNanos;
+        long totalNanos;
+
+        Extraction(int index, String meetingKey) {
+            this.index = index;
+            this.meetingKey = meetingKey;
         }
-        return new HubSpotTaskCreationReport(actionItems.size(), succeeded, failed, responses, errors, actionItems, taskResults);
+
+        Extraction fail(Status status, String error) {
+            this.status = status;
+            this.error = error;
+            return this;
+        }
+
+        TranscriptExtractionResult toResult() {
+            return new TranscriptExtractionResult(index, meetingKey, status.name(), error, items, rejected,
+                    tasksCreated, tasksSkipped, taskFailures, millis(compressNanos), millis(extractNanos),
+                    millis(parseNanos), millis(enrichNanos), millis(hubspotNanos), millis(totalNanos + hubspotNanos));
+        }
+    }
+
+    /** Totals of the HubSpot stage of a batch. */
+    private static final class HubSpotStage {
+        int created;
+        int skipped;
+        int failed;
+        int batches;
+        long nanos;
+        final List<String> responses = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
     }
 }
@@ -0,0 +1,77 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.ActionItem;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JSON schema of the action item extraction response and the matching validation.
+ * <p>
+ * The schema is sent as {@code response_format} in strict mode, so the model can only emit
+ * {@code {"items":[...]}} with the declared fields. {@link #validate(ActionItem)} re-checks the
+ * constraints the API does not guarantee (non-blank description) and normalises priority.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 1:30 PM GMT -5 Bogotá DC Colombia
+ */
+public final class ActionItemSchema {
+
+    public static final Set<String> PRIORITIES = Set.of("HIGH", "MEDIUM", "LOW");
+
+    private static final Map<String, Object> NULLABLE_STRING = Map.of("type", List.of("string", "null"));
+
+    private static final Map<String, Object> ITEM_SCHEMA = Map.of(
+            "type", "object",
+            "properties", Map.of(
+                    "description", Map.of("type", "string"),
+                    "priority", Map.of("type", "string", "enum", List.of("HIGH", "MEDIUM", "LOW")),
+                    "deadline", NULLABLE_STRING,
+                    "assignee", NULLABLE_STRING,
+                    "category", NULLABLE_STRING),
+            "required", List.of("description", "priority", "deadline", "assignee", "category"),
+            "additionalProperties", false);
+
+    /** Value of the {@code response_format} request field. */
+    public static final Map<String, Object> RESPONSE_FORMAT = Map.of(
+            "type", "json_schema",
+            "json_schema", Map.of(
+                    "name", "action_items",
+                    "strict", true,
+                    "schema", Map.of(
+                            "type", "object",
+                            "properties", Map.of("items", Map.of("type", "array", "items", ITEM_SCHEMA)),
+                            "required", List.of("items"),
+                            "additionalProperties", false)));
+
+    private ActionItemSchema() {
+    }
+
+    /**
+     * Validates and normalises an item in place.
+     * @param item extracted item
+     * @return true when the item satisfies the schema
+     */
+    public static boolean validate(ActionItem item) {
+        if (item == null || item.getDescription() == null || item.getDescription().isBlank()) {
+            return false;
+        }
+        String priority = item.getPriority() == null ? "" : item.getPriority().trim().toUpperCase(Locale.ROOT);
+        if (!PRIORITIES.contains(priority)) {
+            return false;
+        }
+        item.setPriority(priority);
+        item.setDescription(item.getDescription().trim());
+        item.setDeadline(blankToNull(item.getDeadline()));
+        item.setAssignee(blankToNull(item.getAssignee()));
+        item.setCategory(blankToNull(item.getCategory()));
+        return true;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,431 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.ActionItemEmbeddingReport;
+import com.aisystems.firefliescrmautomation.dto.SimilarActionItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * "Show me past action items similar to this one": embeds extracted action items and answers
+ * k-nearest-neighbour queries from an in-process {@link HnswIndex}.
+ * <p>
+ * Embeddings come from the active {@link LlmProvider} ({@link LocalLlmProvider} hashes words
+ * deterministically, which is what tests and offline runs use) and are cached in MySQL through
+ * {@link ActionItemEmbeddingRepository}, keyed by model and normalized description, so a
+ * description is embedded once per model. Each embedding model gets its own index, warmed from
+ * the cache on first use. Indexing after extraction runs on a single background thread with a
+ * bounded queue; batches are dropped, and counted, when it is full. The database is optional:
+ * when it is unreachable the index keeps working from memory.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 3:20 PM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class ActionItemSimilarityService implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ActionItemSimilarityService.class);
+    private static final int EMBEDDING_BATCH = 100;
+
+    @Autowired
+    private ModelRouter modelRouter;
+
+    @Autowired
+    private ActionItemEmbeddingRepository repository;
+
+    @Value("${aisystems.embeddings.enabled:true}")
+    private boolean enabled;
+
+    @Value("${aisystems.embeddings.model:text-embedding-3-small}")
+    private String embeddingModel;
+
+    @Value("${aisystems.embeddings.dimensions:256}")
+    private int dimensions;
+
+    @Value("${aisystems.embeddings.hnsw.m:16}")
+    private int hnswM;
+
+    @Value("${aisystems.embeddings.hnsw.ef-construction:100}")
+    private int efConstruction;
+
+    @Value("${aisystems.embeddings.hnsw.ef-search:64}")
+    private int efSearch;
+
+    @Value("${aisystems.embeddings.warm-items:100000}")
+    private int warmItems;
+
+    @Value("${aisystems.embeddings.queue-capacity:64}")
+    private int queueCapacity;
+
+    private final Map<String, Space> spaces = new ConcurrentHashMap<>();
+    private final AtomicInteger threadIndex = new AtomicInteger();
+    private ThreadPoolExecutor indexPool;
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder databaseHits = new LongAdder();
+    private final LongAdder providerEmbeddings = new LongAdder();
+    private final LongAdder databaseErrors = new LongAdder();
+    private final LongAdder droppedBatches = new LongAdder();
+    private final LatencyHistogram embeddingLatency = new LatencyHistogram();
+    private final LatencyHistogram queryLatency = new LatencyHistogram();
+
+    @Override
+    public void afterPropertiesSet() {
+        indexPool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+            Thread thread = new Thread(runnable, "embedding-index-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, (runnable, executor) -> droppedBatches.increment());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues extracted items for embedding and indexing without delaying the caller.
+     * @param meeting meeting key
+     * @param items   extracted items; error entries are skipped
+     */
+    public void indexAsync(String meeting, List<Map<String, Object>> items) {
+        if (!enabled || items == null || items.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> snapshot = new ArrayList<>(items.size());
+        for (Map<String, Object> item : items) {
+            if (item != null && item.get("description") != null && !item.containsKey("error")) {
+                snapshot.add(new HashMap<>(item));
+            }
+        }
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        indexPool.execute(() -> {
+            try {
+                index(meeting, snapshot);
+            } catch (RuntimeException ex) {
+                log.warn("Embedding action items of {} failed: {}", meeting, ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Embeds and indexes items; an item already indexed for the same meeting is skipped.
+     * @param meeting meeting key
+     * @param items   extracted items
+     * @return number of items added to the index
+     */
+    public int index(String meeting, List<Map<String, Object>> items) {
+        LlmProvider provider = modelRouter.provider();
+        Space space = space(provider);
+        Map<String, String> texts = new LinkedHashMap<>();
+        List<Map<String, Object>> pending = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        for (Map<String, Object> item : items) {
+            Object description = item.get("description");
+            if (description == null || description.toString().isBlank()) {
+                continue;
+            }
+            String key = textKey(description.toString());
+            if (space.isIndexed(meeting, key)) {
+                continue;
+            }
+            texts.putIfAbsent(key, description.toString());
+            pending.add(item);
+            keys.add(key);
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        Map<String, float[]> vectors = embed(space, provider, texts, meeting, true);
+        int added = 0;
+        for (int i = 0; i < pending.size(); i++) {
+            float[] vector = vectors.get(keys.get(i));
+            if (vector != null && space.add(meeting, keys.get(i), pending.get(i), vector)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Finds indexed action items similar to a text.
+     * @param text action item description (or any text)
+     * @param k    number of results
+     * @return up to {@code k} items, most similar first
+     */
+    public List<SimilarActionItem> findSimilar(String text, int k) {
+        if (!enabled || text == null || text.isBlank()) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        LlmProvider provider = modelRouter.provider();
+        Space space = space(provider);
+        String key = textKey(text);
+        float[] query = embed(space, provider, Map.of(key, text), null, false).get(key);
+        List<SimilarActionItem> similar = query == null ? List.of() : space.search(query, k, Math.max(efSearch, k));
+        queryLatency.record(System.nanoTime() - start);
+        return similar;
+    }
+
+    public ActionItemEmbeddingReport getReport() {
+        Map<String, Integer> indexed = new TreeMap<>();
+        spaces.forEach((model, space) -> indexed.put(model, space.size()));
+        return new ActionItemEmbeddingReport(enabled, dimensions, indexed, memoryHits.sum(), databaseHits.sum(),
+                providerEmbeddings.sum(), databaseErrors.sum(), droppedBatches.sum(), embeddingLatency.snapshot(),
+                queryLatency.snapshot());
+    }
+
+    /**
+     * Resolves vectors from the in-memory index, then the MySQL cache, then the provider.
+     * @param texts   text key to text
+     * @param meeting meeting stored with new cache rows
+     * @param store   whether provider results are written to the cache
+     */
+    private Map<String, float[]> embed(Space space, LlmProvider provider, Map<String, String> texts, String meeting, boolean store) {
+        Map<String, float[]> vectors = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String key : texts.keySet()) {
+            float[] known = space.vectorOf(key);
+            if (known != null) {
+                vectors.put(key, known);
+                memoryHits.increment();
+            } else {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            try {
+                Map<String, float[]> cached = repository.findVectors(space.model, missing);
+                vectors.putAll(cached);
+                missing.removeAll(cached.keySet());
+                databaseHits.add(cached.size());
+            } catch (RuntimeException ex) {
+                databaseError(ex);
+            }
+        }
+        if (missing.isEmpty()) {
+            return vectors;
+        }
+        List<String> keys = new ArrayList<>(missing);
+        List<ActionItemEmbeddingRepository.StoredEmbedding> created = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += EMBEDDING_BATCH) {
+            List<String> batchKeys = keys.subList(from, Math.min(keys.size(), from + EMBEDDING_BATCH));
+            List<String> batch = new ArrayList<>(batchKeys.size());
+            for (String key : batchKeys) {
+                batch.add(texts.get(key));
+            }
+            long start = System.nanoTime();
+            List<float[]> embedded = provider.embed(space.model, batch, dimensions);
+            embeddingLatency.record(System.nanoTime() - start);
+            providerEmbeddings.add(batch.size());
+            for (int i = 0; i < batchKeys.size(); i++) {
+                vectors.put(batchKeys.get(i), embedded.get(i));
+                created.add(new ActionItemEmbeddingRepository.StoredEmbedding(batchKeys.get(i), meeting, batch.get(i), embedded.get(i)));
+            }
+        }
+        if (store) {
+            try {
+                repository.saveAll(space.model, created);
+            } catch (RuntimeException ex) {
+                databaseError(ex);
+            }
+        }
+        return vectors;
+    }
+
+    /**
+     * @return the index of the provider's embedding model, warmed from the cache on first use
+     */
+    private Space space(LlmProvider provider) {
+        String model = provider.isLocal() ? LocalLlmProvider.EMBEDDING_MODEL : embeddingModel;
+        Space space = spaces.computeIfAbsent(model, Space::new);
+        if (!space.warmed) {
+            synchronized (space) {
+                if (!space.warmed) {
+                    space.warmed = true;
+                    warm(space);
+                }
+            }
+        }
+        return space;
+    }
+
+    private void warm(Space space) {
+        try {
+            List<ActionItemEmbeddingRepository.StoredEmbedding> stored = repository.findRecent(space.model, warmItems);
+            // Oldest first, so insertion order matches the order the items were first seen.
+            for (int i = stored.size() - 1; i >= 0; i--) {
+                ActionItemEmbeddingRepository.StoredEmbedding embedding = stored.get(i);
+                Map<String, Object> item = new HashMap<>();
+                item.put("description", embedding.getDescription());
+                space.add(embedding.getMeeting(), embedding.getTextKey(), item, embedding.getVector());
+            }
+            if (!stored.isEmpty()) {
+                log.info("Loaded {} cached '{}' embeddings into the similarity index", stored.size(), space.model);
+            }
+        } catch (RuntimeException ex) {
+            databaseError(ex);
+        }
+    }
+
+    private void databaseError(RuntimeException ex) {
+        if (databaseErrors.sum() == 0) {
+            log.warn("Embedding cache unavailable, continuing in memory: {}", ex.getMessage());
+        }
+        databaseErrors.increment();
+    }
+
+    /**
+     * SHA-256 of the normalized description, so wording that only differs in case, punctuation
+     * or filler words shares one vector.
+     */
+    static String textKey(String description) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(ActionItemDeduplicator.normalize(description).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (indexPool != null) {
+            indexPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Index and item metadata of one embedding model.
+     */
+    private final class Space {
+        private final String model;
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final List<Entry> entries = new ArrayList<>();
+        private final Map<String, Integer> nodeByKey = new HashMap<>();
+        private final Set<String> indexed = new HashSet<>();
+        private HnswIndex index;
+        private volatile boolean warmed;
+
+        Space(String model) {
+            this.model = model;
+        }
+
+        boolean isIndexed(String meeting, String key) {
+            lock.readLock().lock();
+            try {
+                return indexed.contains(meeting + "|" + key);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        float[] vectorOf(String key) {
+            lock.readLock().lock();
+            try {
+                Integer node = nodeByKey.get(key);
+                return node != null ? index.vector(node) : null;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        boolean add(String meeting, String key, Map<String, Object> item, float[] vector) {
+            lock.writeLock().lock();
+            try {
+                if (!indexed.add(meeting + "|" + key)) {
+                    return false;
+                }
+                if (index == null) {
+                    index = new HnswIndex(vector.length, hnswM, efConstruction, model.hashCode());
+                }
+                if (vector.length != index.dimensions()) {
+                    log.warn("Ignoring {}-dimension '{}' embedding; the index has {}", vector.length, model, index.dimensions());
+                    return false;
+                }
+                int node = index.add(vector);
+                entries.add(new Entry(item, meeting));
+                nodeByKey.putIfAbsent(key, node);
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<SimilarActionItem> search(float[] query, int k, int ef) {
+            lock.readLock().lock();
+            try {
+                if (index == null || query.length != index.dimensions()) {
+                    return List.of();
+                }
+                List<SimilarActionItem> similar = new ArrayList<>();
+                for (HnswIndex.Neighbor neighbor : index.search(query, k, ef)) {
+                    Entry entry = entries.get(neighbor.getId());
+                    similar.add(new SimilarActionItem(entry.description, entry.meeting, entry.assignee, entry.deadline,
+                            entry.priority, Math.round(neighbor.getScore() * 1000) / 1000.0));
+                }
+                return similar;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String description;
+        private final String meeting;
+        private final String assignee;
+        private final String deadline;
+        private final String priority;
+
+        Entry(Map<String, Object> item, String meeting) {
+            this.description = text(item.get("description"));
+            this.meeting = meeting;
+            this.assignee = text(item.get("assignee"));
+            this.deadline = text(item.get("deadlineDate") != null ? item.get("deadlineDate") : item.get("deadline"));
+            this.priority = text(item.get("priority"));
+        }
+
+        private static String text(Object value) {
+            return value != null ? value.toString() : null;
+        }
+    }
+}
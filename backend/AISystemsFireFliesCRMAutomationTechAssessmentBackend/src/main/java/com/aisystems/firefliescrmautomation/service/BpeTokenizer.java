@@ -0,0 +1,185 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Offline token counter for the gpt-4o / gpt-4o-mini family ({@code o200k_base}).
+ * <p>
+ * When the {@code o200k_base.tiktoken} rank file is available (classpath or file system, see
+ * {@code aisystems.openai.tokenizer.vocab}) counts are exact: text is split with the o200k
+ * pre-tokenizer pattern and each piece is byte-pair merged by rank, as tiktoken does. Without
+ * the file the same pre-tokenizer is used with a per-piece estimate, which stays within a few
+ * percent on English meeting transcripts and errs on the high side.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 12:50 PM GMT -5 Bogotá DC Colombia
+ */
+@Component
+public class BpeTokenizer implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BpeTokenizer.class);
+
+    /** Pre-tokenizer pattern of o200k_base. */
+    private static final Pattern O200K_PATTERN = Pattern.compile(String.join("|",
+            "[^\\r\\n\\p{L}\\p{N}]?[\\p{Lu}\\p{Lt}\\p{Lm}\\p{Lo}\\p{M}]*[\\p{Ll}\\p{Lm}\\p{Lo}\\p{M}]+(?i:'s|'t|'re|'ve|'m|'ll|'d)?",
+            "[^\\r\\n\\p{L}\\p{N}]?[\\p{Lu}\\p{Lt}\\p{Lm}\\p{Lo}\\p{M}]+[\\p{Ll}\\p{Lm}\\p{Lo}\\p{M}]*(?i:'s|'t|'re|'ve|'m|'ll|'d)?",
+            "\\p{N}{1,3}",
+            " ?[^\\s\\p{L}\\p{N}]+[\\r\\n/]*",
+            "\\s*[\\r\\n]+",
+            "\\s+(?!\\S)",
+            "\\s+"));
+
+    /** Chat-format overhead per message (role and separators). */
+    public static final int TOKENS_PER_MESSAGE = 3;
+    /** Tokens that prime the assistant reply. */
+    public static final int REPLY_PRIMING_TOKENS = 3;
+
+    @Value("${aisystems.openai.tokenizer.vocab:classpath:tokenizer/o200k_base.tiktoken}")
+    private String vocabLocation;
+
+    /** Token bytes (ISO-8859-1 string, one char per byte) to merge rank. */
+    private Map<String, Integer> ranks;
+
+    @Override
+    public void afterPropertiesSet() {
+        try (InputStream in = openVocab()) {
+            if (in == null) {
+                log.info("Tokenizer vocabulary {} not found; token counts are estimated", vocabLocation);
+                return;
+            }
+            Map<String, Integer> loaded = new HashMap<>(262_144);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII))) {
+                String line;
+                Base64.Decoder decoder = Base64.getDecoder();
+                while ((line = reader.readLine()) != null) {
+                    int space = line.indexOf(' ');
+                    if (space <= 0) {
+                        continue;
+                    }
+                    byte[] token = decoder.decode(line.substring(0, space));
+                    loaded.put(new String(token, StandardCharsets.ISO_8859_1), Integer.parseInt(line.substring(space + 1).trim()));
+                }
+            }
+            ranks = loaded;
+            log.info("Loaded {} BPE ranks from {}", loaded.size(), vocabLocation);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load tokenizer vocabulary {}: {}; token counts are estimated", vocabLocation, e.getMessage());
+        }
+    }
+
+    /**
+     * @return true when counts come from the real o200k ranks rather than the estimate
+     */
+    public boolean isExact() {
+        return ranks != null;
+    }
+
+    /**
+     * Counts the tokens of a text.
+     * @param text text to measure
+     * @return token count (0 for null or empty text)
+     */
+    public int countTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        Map<String, Integer> vocabulary = ranks;
+        int total = 0;
+        Matcher matcher = O200K_PATTERN.matcher(text);
+        while (matcher.find()) {
+            String piece = matcher.group();
+            total += vocabulary != null ? bytePairCount(vocabulary, piece) : estimatePiece(piece);
+        }
+        return total;
+    }
+
+    /**
+     * Counts the prompt tokens of a single user message in chat format.
+     * @param content message content
+     * @return prompt tokens including chat framing
+     */
+    public int countChatPromptTokens(String content) {
+        return TOKENS_PER_MESSAGE + countTokens("user") + countTokens(content) + REPLY_PRIMING_TOKENS;
+    }
+
+    private static int bytePairCount(Map<String, Integer> vocabulary, String piece) {
+        String bytes = new String(piece.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1);
+        if (vocabulary.containsKey(bytes)) {
+            return 1;
+        }
+        int length = bytes.length();
+        // parts[i] is the start offset of the i-th current token; merge the lowest-ranked pair until none is left.
+        int[] parts = new int[length + 1];
+        for (int i = 0; i <= length; i++) {
+            parts[i] = i;
+        }
+        int count = length + 1;
+        while (count > 2) {
+            int bestRank = Integer.MAX_VALUE;
+            int bestIndex = -1;
+            for (int i = 0; i + 2 < count; i++) {
+                Integer rank = vocabulary.get(bytes.substring(parts[i], parts[i + 2]));
+                if (rank != null && rank < bestRank) {
+                    bestRank = rank;
+                    bestIndex = i;
+                }
+            }
+            if (bestIndex < 0) {
+                break;
+            }
+            System.arraycopy(parts, bestIndex + 2, parts, bestIndex + 1, count - bestIndex - 2);
+            count--;
+        }
+        return count - 1;
+    }
+
+    /**
+     * Estimate used without the rank file: short ASCII words are a single token, longer and
+     * non-ASCII pieces are charged by length.
+     */
+    private static int estimatePiece(String piece) {
+        int length = piece.length();
+        char first = piece.charAt(0);
+        boolean ascii = piece.chars().allMatch(c -> c < 128);
+        if (!ascii) {
+            return Math.max(1, (piece.getBytes(StandardCharsets.UTF_8).length + 2) / 3);
+        }
+        if (Character.isLetter(first) || (first == ' ' && length > 1 && Character.isLetter(piece.charAt(1)))) {
+            return length <= 9 ? 1 : 1 + (length - 6) / 4;
+        }
+        if (Character.isWhitespace(first)) {
+            return 1;
+        }
+        return Math.max(1, (length + 1) / 2);
+    }
+
+    private InputStream openVocab() throws IOException {
+        if (vocabLocation == null || vocabLocation.isBlank()) {
+            return null;
+        }
+        if (vocabLocation.startsWith("classpath:")) {
+            String resource = vocabLocation.substring("classpath:".length());
+            return BpeTokenizer.class.getClassLoader().getResourceAsStream(resource.startsWith("/") ? resource.substring(1) : resource);
+        }
+        Path path = Path.of(vocabLocation.startsWith("file:") ? vocabLocation.substring("file:".length()) : vocabLocation);
+        return Files.isReadable(path) ? Files.newInputStream(path) : null;
+    }
+}
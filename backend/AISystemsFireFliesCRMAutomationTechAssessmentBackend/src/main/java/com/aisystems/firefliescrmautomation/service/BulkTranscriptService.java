@@ -0,0 +1,439 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.TranscriptExtractionResult;
+import com.aisystems.firefliescrmautomation.service.TranscriptSpoolService.SpooledTranscript;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Processes uploads of many transcripts and streams one result line per transcript.
+ * <p>
+ * The upload (NDJSON or a zip) is spooled to disk first, so the client is never held up by
+ * extraction. Transcripts are then read one at a time and run through
+ * {@link ActionItemExtractorService#extractOne(int, String, boolean)} on a shared pool of
+ * {@code max-concurrency} threads; each job also caps its own in-flight transcripts, and
+ * reading waits for a free slot instead of queueing the whole upload. Each result is written
+ * as soon as its transcript finishes, so lines come out of order and carry the transcript id.
+ * A final {@code summary} line closes the stream. When the client goes away, no further
+ * transcripts are started.
+ * </p>
+ * Input formats:
+ * <ul>
+ *     <li>NDJSON: one object per line with {@code transcript} and an optional {@code id} (the
+ *     format written by {@code SyntheticTranscriptGeneratorMain}), or one JSON string per line.
+ *     Lines without an id get {@code line-N}.</li>
+ *     <li>Zip: every file is one plain-text transcript whose id is the entry name;
+ *     {@code .ndjson} / {@code .jsonl} entries are read as NDJSON.</li>
+ * </ul>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 5:15 PM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class BulkTranscriptService implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkTranscriptService.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
+
+    @Autowired
+    private TranscriptSpoolService transcriptSpoolService;
+
+    @Autowired
+    private ActionItemExtractorService actionItemExtractorService;
+
+    @Value("${aisystems.bulk.max-concurrency:8}")
+    private int maxConcurrency;
+
+    @Value("${aisystems.bulk.max-jobs:2}")
+    private int maxJobs;
+
+    @Value("${aisystems.bulk.max-bytes:1073741824}")
+    private long maxBytes;
+
+    @Value("${aisystems.bulk.max-transcript-bytes:10485760}")
+    private int maxTranscriptBytes;
+
+    private ExecutorService workers;
+    private final AtomicInteger activeJobs = new AtomicInteger();
+    private final LongAdder processed = new LongAdder();
+
+    /**
+     * Thrown when {@code max-jobs} bulk uploads are already being processed.
+     */
+    public static class BulkCapacityException extends RuntimeException {
+        public BulkCapacityException(int maxJobs) {
+            super("Already processing " + maxJobs + " bulk uploads; retry when one finishes");
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(Math.max(1, maxConcurrency), runnable -> {
+            Thread thread = new Thread(runnable, "bulk-transcripts-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Reserves a job slot and spools the upload. The returned job must be written exactly once.
+     * @param body        NDJSON or zip upload
+     * @param concurrency transcripts processed at once, capped at {@code max-concurrency}
+     * @param createTasks true to create a HubSpot deal per extracted item
+     * @return the job, ready to stream its results
+     * @throws BulkCapacityException when {@code max-jobs} uploads are already running
+     * @throws IOException when the upload cannot be spooled
+     */
+    public BulkJob open(InputStream body, int concurrency, boolean createTasks) throws IOException {
+        int active;
+        do {
+            active = activeJobs.get();
+            if (active >= Math.max(1, maxJobs)) {
+                throw new BulkCapacityException(maxJobs);
+            }
+        } while (!activeJobs.compareAndSet(active, active + 1));
+        try {
+            SpooledTranscript upload = transcriptSpoolService.spool(body, maxBytes);
+            return new BulkJob(upload, Math.max(1, Math.min(concurrency, maxConcurrency)), createTasks);
+        } catch (IOException | RuntimeException e) {
+            activeJobs.decrementAndGet();
+            throw e;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeJobs", activeJobs.get());
+        stats.put("maxJobs", maxJobs);
+        stats.put("maxConcurrency", maxConcurrency);
+        stats.put("transcriptsProcessed", processed.sum());
+        return stats;
+    }
+
+    /**
+     * One spooled upload being processed.
+     */
+    public final class BulkJob {
+
+        private final SpooledTranscript upload;
+        private final int concurrency;
+        private final boolean createTasks;
+        private final Object writeLock = new Object();
+        // Created on the request thread: its LLM calls are accounted to the uploading tenant.
+        private final String tenant = LlmCallScheduler.currentTenant();
+        private final AtomicBoolean aborted = new AtomicBoolean();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder invalid = new LongAdder();
+        private final LongAdder actionItems = new LongAdder();
+        private final LongAdder tasksCreated = new LongAdder();
+        private final LongAdder taskFailures = new LongAdder();
+
+        BulkJob(SpooledTranscript upload, int concurrency, boolean createTasks) {
+            this.upload = upload;
+            this.concurrency = concurrency;
+            this.createTasks = createTasks;
+        }
+
+        /**
+         * Processes the upload and writes one NDJSON line per transcript as it finishes, then
+         * the summary line. Releases the job slot and deletes the spooled upload.
+         * @param out response stream
+         */
+        public void writeTo(OutputStream out) {
+            long start = System.nanoTime();
+            Semaphore inFlight = new Semaphore(concurrency);
+            int transcripts = 0;
+            String readError = null;
+            try {
+                try (upload; TranscriptSource source = open(upload.getFile())) {
+                    BulkTranscript next;
+                    while (!aborted.get() && (next = source.next()) != null) {
+                        transcripts++;
+                        if (next.error != null) {
+                            invalid.increment();
+                            write(out, line(next.id, Map.of("status", "INVALID", "error", next.error)));
+                            continue;
+                        }
+                        inFlight.acquireUninterruptibly();
+                        BulkTranscript transcript = next;
+                        int index = transcripts - 1;
+                        try {
+                            workers.execute(() -> {
+                                try {
+                                    process(out, index, transcript);
+                                } finally {
+                                    inFlight.release();
+                                }
+                            });
+                        } catch (RuntimeException e) {
+                            inFlight.release();
+                            throw e;
+                        }
+                    }
+                } catch (IOException e) {
+                    // A corrupt zip or unreadable upload ends the job; what already started still reports.
+                    readError = e.getMessage();
+                    log.warn("Bulk upload could not be read: {}", readError);
+                }
+                inFlight.acquireUninterruptibly(concurrency);
+
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("transcripts", transcripts);
+                summary.put("succeeded", succeeded.sum());
+                summary.put("failed", failed.sum());
+                summary.put("invalid", invalid.sum());
+                summary.put("actionItems", actionItems.sum());
+                summary.put("tasksCreated", tasksCreated.sum());
+                summary.put("taskFailures", taskFailures.sum());
+                summary.put("concurrency", concurrency);
+                summary.put("aborted", aborted.get());
+                if (readError != null) {
+                    summary.put("error", "Upload could not be read: " + readError);
+                }
+                summary.put("durationMs", (System.nanoTime() - start) / 1_000_000);
+                write(out, Map.of("summary", summary));
+            } finally {
+                activeJobs.decrementAndGet();
+            }
+            log.info("Bulk upload of {} transcripts processed in {} ms ({} succeeded, {} failed, {} invalid{})",
+                    transcripts, (System.nanoTime() - start) / 1_000_000, succeeded.sum(), failed.sum(), invalid.sum(),
+                    aborted.get() ? ", client disconnected" : "");
+        }
+
+        private void process(OutputStream out, int index, BulkTranscript transcript) {
+            if (aborted.get()) {
+                return;
+            }
+            TranscriptExtractionResult result;
+            try {
+                result = LlmCallScheduler.inLane(LlmCallScheduler.Lane.BULK, tenant,
+                        () -> actionItemExtractorService.extractOne(index, transcript.text, createTasks));
+            } catch (RuntimeException e) {
+                failed.increment();
+                write(out, line(transcript.id, Map.of("status", ActionItemExtractorService.Status.FAILED.name(),
+                        "error", String.valueOf(e.getMessage()))));
+                return;
+            }
+            processed.increment();
+            if (ActionItemExtractorService.Status.OK.name().equals(result.getStatus())) {
+                succeeded.increment();
+                actionItems.add(result.getActionItems().size());
+            } else {
+                failed.increment();
+            }
+            tasksCreated.add(result.getTasksCreated());
+            taskFailures.add(result.getTaskFailures());
+            write(out, line(transcript.id, result));
+        }
+
+        private void write(OutputStream out, Object line) {
+            if (aborted.get()) {
+                return;
+            }
+            try {
+                byte[] json = MAPPER.writeValueAsBytes(line);
+                synchronized (writeLock) {
+                    out.write(json);
+                    out.write('\n');
+                    out.flush();
+                }
+            } catch (IOException e) {
+                // The client disconnected: finish what is running, start nothing new.
+                aborted.set(true);
+                log.warn("Bulk upload client went away: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static Map<String, Object> line(String id, Object result) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("id", id);
+        line.put("result", result);
+        return line;
+    }
+
+    private TranscriptSource open(Path file) throws IOException {
+        byte[] head = new byte[ZIP_MAGIC.length];
+        int read;
+        try (InputStream in = Files.newInputStream(file)) {
+            read = in.readNBytes(head, 0, head.length);
+        }
+        if (read == ZIP_MAGIC.length && Arrays.equals(head, ZIP_MAGIC)) {
+            return new ZipSource(new ZipFile(file.toFile(), StandardCharsets.UTF_8));
+        }
+        return new NdjsonSource("", Files.newInputStream(file));
+    }
+
+    /** A transcript read from the upload, or the reason its entry could not be read. */
+    private static final class BulkTranscript {
+        final String id;
+        final String text;
+        final String error;
+
+        BulkTranscript(String id, String text, String error) {
+            this.id = id;
+            this.text = text;
+            this.error = error;
+        }
+    }
+
+    private interface TranscriptSource extends Closeable {
+        /** @return the next transcript, or null at the end of the upload */
+        BulkTranscript next() throws IOException;
+    }
+
+    /**
+     * Reads one JSON record per line straight from the bytes, buffering at most
+     * {@code max-transcript-bytes} of a line; the rest of a longer line is skipped unread.
+     */
+    private final class NdjsonSource implements TranscriptSource {
+        private final String idPrefix;
+        private final InputStream in;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private int lineNumber;
+
+        NdjsonSource(String idPrefix, InputStream in) {
+            this.idPrefix = idPrefix;
+            this.in = new BufferedInputStream(in);
+        }
+
+        @Override
+        public BulkTranscript next() throws IOException {
+            String record;
+            boolean tooLong;
+            do {
+                line.reset();
+                tooLong = false;
+                int b;
+                while ((b = in.read()) != -1 && b != '\n') {
+                    if (line.size() < maxTranscriptBytes) {
+                        line.write(b);
+                    } else {
+                        tooLong = true;
+                    }
+                }
+                if (b == -1 && line.size() == 0) {
+                    return null;
+                }
+                lineNumber++;
+                record = tooLong ? null : line.toString(StandardCharsets.UTF_8);
+            } while (!tooLong && record.isBlank());
+            String fallbackId = idPrefix + "line-" + lineNumber;
+            if (tooLong) {
+                return new BulkTranscript(fallbackId, null, "Line exceeds " + maxTranscriptBytes + " bytes");
+            }
+            try {
+                JsonNode node = MAPPER.readTree(record);
+                if (node.isTextual()) {
+                    return new BulkTranscript(fallbackId, node.asText(), null);
+                }
+                JsonNode id = node.get("id");
+                String transcriptId = id == null || id.isNull() ? fallbackId : idPrefix + id.asText();
+                JsonNode text = node.get("transcript");
+                if (text == null || !text.isTextual()) {
+                    return new BulkTranscript(transcriptId, null, "Missing \"transcript\" field");
+                }
+                return new BulkTranscript(transcriptId, text.asText(), null);
+            } catch (IOException | RuntimeException e) {
+                return new BulkTranscript(fallbackId, null, "Invalid JSON: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private final class ZipSource implements TranscriptSource {
+        private final ZipFile zip;
+        private final Enumeration<? extends ZipEntry> entries;
+        private NdjsonSource nested;
+
+        ZipSource(ZipFile zip) {
+            this.zip = zip;
+            this.entries = zip.entries();
+        }
+
+        @Override
+        public BulkTranscript next() throws IOException {
+            while (true) {
+                if (nested != null) {
+                    BulkTranscript transcript = nested.next();
+                    if (transcript != null) {
+                        return transcript;
+                    }
+                    nested.close();
+                    nested = null;
+                }
+                if (!entries.hasMoreElements()) {
+                    return null;
+                }
+                ZipEntry entry = entries.nextElement();
+                String name = entry.getName();
+                String fileName = name.substring(name.lastIndexOf('/') + 1);
+                if (entry.isDirectory() || name.startsWith("__MACOSX/") || fileName.startsWith(".")) {
+                    continue;
+                }
+                String lower = name.toLowerCase(Locale.ROOT);
+                if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+                    nested = new NdjsonSource(name + "#", zip.getInputStream(entry));
+                    continue;
+                }
+                try (InputStream in = zip.getInputStream(entry)) {
+                    byte[] bytes = in.readNBytes(maxTranscriptBytes + 1);
+                    if (bytes.length > maxTranscriptBytes) {
+                        return new BulkTranscript(name, null, "Entry exceeds " + maxTranscriptBytes + " bytes");
+                    }
+                    return new BulkTranscript(name, new String(bytes, StandardCharsets.UTF_8), null);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (nested != null) {
+                nested.close();
+            }
+            zip.close();
+        }
+    }
+}
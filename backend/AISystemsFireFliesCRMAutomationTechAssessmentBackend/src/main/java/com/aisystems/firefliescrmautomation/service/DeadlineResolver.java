@@ -0,0 +1,341 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.ParsePosition;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves deadlines as stated in a meeting ("Friday", "end of week", "next week",
+ * "December 1st") to a date, anchored to the transcript's {@code Meeting Date:} header.
+ * <p>
+ * Parsing never throws: dates are read with precompiled formatters through
+ * {@link DateTimeFormatter#parseUnresolved(CharSequence, ParsePosition)}, which reports failure
+ * through the parse position, and field values are range-checked before a {@link LocalDate} is
+ * built. Relative expressions are matched with precompiled word-boundary patterns on one
+ * lower-cased copy of the text. The day is resolved first ("tomorrow", a weekday, "next week")
+ * and a time of day ("EOD", "tonight", "morning") only qualifies it, so "tomorrow EOD" is
+ * tomorrow. A weekday means its next occurrence after the meeting, or that weekday of the
+ * following week with "next"; "end of week" and "next week" mean Friday of that week; dates
+ * without a year roll over to the next year when they would fall before the meeting.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 2:50 PM GMT -5 Bogotá DC Colombia
+ */
+@Component
+public class DeadlineResolver {
+
+    /** Returned when a deadline cannot be resolved. */
+    public static final long UNRESOLVED = -1L;
+
+    private static final String MEETING_DATE_LABEL = "meeting date:";
+
+    private static final DateTimeFormatter[] HEADER_FORMATS = {
+            formatter("MMMM d['st']['nd']['rd']['th'][,] uuuu"),
+            formatter("MMM d['st']['nd']['rd']['th'][,] uuuu"),
+            formatter("uuuu-MM-dd"),
+            formatter("d MMMM uuuu"),
+            formatter("EEEE, MMMM d['st']['nd']['rd']['th'][,] uuuu")
+    };
+    private static final DateTimeFormatter ISO_DATE = formatter("uuuu-MM-dd");
+    private static final DateTimeFormatter MONTH_DAY = formatter("MMMM d['st']['nd']['rd']['th']");
+    private static final DateTimeFormatter SHORT_MONTH_DAY = formatter("MMM d['st']['nd']['rd']['th']");
+    private static final DateTimeFormatter YEAR_SUFFIX = formatter("[,] uuuu");
+
+    private static final String[] MONTHS = {"january", "february", "march", "april", "may", "june", "july",
+            "august", "september", "october", "november", "december"};
+    private static final String[] SHORT_MONTHS = {"jan", "feb", "mar", "apr", "may", "jun", "jul",
+            "aug", "sep", "oct", "nov", "dec"};
+
+    private static final Pattern TOMORROW = Pattern.compile("\\btomorrow\\b");
+    private static final Pattern WEEKDAY = Pattern.compile(
+            "\\b(next\\s+)?(monday|tuesday|wednesday|thursday|friday|saturday|sunday)\\b");
+    private static final Pattern NEXT_WEEK = Pattern.compile("\\bnext\\s+week\\b");
+    private static final Pattern END_OF_WEEK = Pattern.compile("\\b(end of (the )?week|eow|this week)\\b");
+    private static final Pattern NEXT_MONTH = Pattern.compile("\\bnext\\s+month\\b");
+    private static final Pattern END_OF_MONTH = Pattern.compile("\\b(end of (the )?month|this month)\\b");
+    private static final Pattern IN_PERIOD = Pattern.compile("\\bin (\\d{1,3}) (day|week)s?\\b");
+    private static final Pattern SAME_DAY = Pattern.compile("\\b(today|tonight|end of (the )?day|eod)\\b");
+    private static final Pattern MORNING = Pattern.compile("\\bmorning\\b");
+
+    @Value("${aisystems.deadlines.zone:America/Bogota}")
+    private String zone;
+
+    @Value("${aisystems.deadlines.due-hour:17}")
+    private int dueHour;
+
+    private volatile ZoneId zoneId;
+
+    /**
+     * Reads the {@code Meeting Date:} header.
+     * @param transcript transcript text
+     * @return the meeting date, or null when there is no readable header
+     */
+    public LocalDate meetingDate(String transcript) {
+        if (transcript == null) {
+            return null;
+        }
+        int label = indexOfIgnoreCase(transcript, MEETING_DATE_LABEL);
+        if (label < 0) {
+            return null;
+        }
+        int start = label + MEETING_DATE_LABEL.length();
+        while (start < transcript.length() && transcript.charAt(start) == ' ') {
+            start++;
+        }
+        for (DateTimeFormatter format : HEADER_FORMATS) {
+            LocalDate date = parseDate(format, transcript, start);
+            if (date != null) {
+                return date;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves a deadline to the due time (configured hour, midday for "morning") on its date.
+     * @param deadline deadline as stated
+     * @param anchor   meeting date; today when null
+     * @return epoch millis, or {@link #UNRESOLVED}
+     */
+    public long resolve(String deadline, LocalDate anchor) {
+        LocalDate date = resolveDate(deadline, anchor);
+        if (date == null) {
+            return UNRESOLVED;
+        }
+        int hour = MORNING.matcher(deadline.toLowerCase(Locale.ROOT)).find() ? 12 : dueHour;
+        return date.atTime(hour, 0).atZone(zoneId()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Resolves a deadline to a date.
+     * @param deadline deadline as stated
+     * @param anchor   meeting date; today when null
+     * @return the date, or null when the expression is not understood
+     */
+    public LocalDate resolveDate(String deadline, LocalDate anchor) {
+        if (deadline == null || deadline.isBlank()) {
+            return null;
+        }
+        LocalDate base = anchor != null ? anchor : LocalDate.now(zoneId());
+        String text = deadline.toLowerCase(Locale.ROOT);
+
+        int iso = firstDigit(text);
+        if (iso >= 0) {
+            LocalDate absolute = parseDate(ISO_DATE, deadline, iso);
+            if (absolute != null) {
+                return absolute;
+            }
+        }
+        for (String month : MONTHS) {
+            int at = indexOfWord(text, month);
+            LocalDate date = at >= 0 ? monthDay(MONTH_DAY, deadline, at, base) : null;
+            if (date != null) {
+                return date;
+            }
+        }
+        for (String month : SHORT_MONTHS) {
+            int at = indexOfWord(text, month);
+            LocalDate date = at >= 0 ? monthDay(SHORT_MONTH_DAY, deadline, at, base) : null;
+            if (date != null) {
+                return date;
+            }
+        }
+
+        // The day comes first; "EOD", "tonight" or "morning" only qualify it ("tomorrow EOD", "Friday morning").
+        if (TOMORROW.matcher(text).find()) {
+            return base.plusDays(1);
+        }
+        boolean nextWeek = NEXT_WEEK.matcher(text).find();
+        Matcher weekday = WEEKDAY.matcher(text);
+        if (weekday.find()) {
+            DayOfWeek day = DayOfWeek.valueOf(weekday.group(2).toUpperCase(Locale.ROOT));
+            if (nextWeek || weekday.group(1) != null) {
+                // "next Tuesday" / "Tuesday next week": that weekday in the week after the meeting's week.
+                return startOfWeek(base).plusWeeks(1).plusDays(day.getValue() - 1L);
+            }
+            int ahead = day.getValue() - base.getDayOfWeek().getValue();
+            return base.plusDays(ahead <= 0 ? ahead + 7 : ahead);
+        }
+        if (nextWeek) {
+            return startOfWeek(base).plusWeeks(1).plusDays(4);
+        }
+        if (END_OF_WEEK.matcher(text).find()) {
+            LocalDate friday = startOfWeek(base).plusDays(4);
+            return friday.isBefore(base) ? friday.plusWeeks(1) : friday;
+        }
+        if (NEXT_MONTH.matcher(text).find()) {
+            LocalDate next = base.plusMonths(1);
+            return next.withDayOfMonth(next.lengthOfMonth());
+        }
+        if (END_OF_MONTH.matcher(text).find()) {
+            return base.withDayOfMonth(base.lengthOfMonth());
+        }
+        Matcher in = IN_PERIOD.matcher(text);
+        if (in.find()) {
+            int value = Integer.parseInt(in.group(1));
+            return in.group(2).equals("day") ? base.plusDays(value) : base.plusWeeks(value);
+        }
+        if (SAME_DAY.matcher(text).find()) {
+            return base;
+        }
+        return null;
+    }
+
+    /**
+     * Reads an absolute close date: epoch millis, ISO-8601 instant or ISO date.
+     * @param raw value as stored
+     * @return epoch millis, or {@link #UNRESOLVED}
+     */
+    public long parseAbsolute(String raw) {
+        if (raw == null) {
+            return UNRESOLVED;
+        }
+        String value = raw.trim();
+        if (value.isEmpty()) {
+            return UNRESOLVED;
+        }
+        boolean numeric = value.length() <= 18;
+        for (int i = 0; i < value.length() && numeric; i++) {
+            numeric = Character.isDigit(value.charAt(i));
+        }
+        if (numeric) {
+            return Long.parseLong(value);
+        }
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor instant = DateTimeFormatter.ISO_INSTANT.parseUnresolved(value, position);
+        if (instant != null && position.getErrorIndex() < 0 && position.getIndex() == value.length()
+                && instant.isSupported(ChronoField.INSTANT_SECONDS)) {
+            long millis = instant.getLong(ChronoField.INSTANT_SECONDS) * 1000L;
+            return instant.isSupported(ChronoField.NANO_OF_SECOND) ? millis + instant.getLong(ChronoField.NANO_OF_SECOND) / 1_000_000L : millis;
+        }
+        LocalDate date = parseDate(ISO_DATE, value, 0);
+        return date != null ? date.atTime(dueHour, 0).atZone(zoneId()).toInstant().toEpochMilli() : UNRESOLVED;
+    }
+
+    /**
+     * Adds {@code deadlineDate} (ISO date) and {@code deadlineMillis} to every item whose
+     * deadline resolves against the transcript's meeting date.
+     * @param items      extracted items
+     * @param transcript transcript they came from
+     */
+    public void annotate(List<Map<String, Object>> items, String transcript) {
+        LocalDate anchor = meetingDate(transcript);
+        for (Map<String, Object> item : items) {
+            Object deadline = item.get("deadline");
+            if (deadline == null) {
+                continue;
+            }
+            LocalDate date = resolveDate(deadline.toString(), anchor);
+            if (date != null) {
+                item.put("deadlineDate", date.toString());
+                item.put("deadlineMillis", resolve(deadline.toString(), anchor));
+            }
+        }
+    }
+
+    private LocalDate monthDay(DateTimeFormatter format, String text, int at, LocalDate base) {
+        ParsePosition position = new ParsePosition(at);
+        TemporalAccessor parsed = format.parseUnresolved(text, position);
+        if (parsed == null || position.getErrorIndex() >= 0) {
+            return null;
+        }
+        int year = base.getYear();
+        boolean explicitYear = false;
+        TemporalAccessor yearPart = YEAR_SUFFIX.parseUnresolved(text, position);
+        if (yearPart != null && position.getErrorIndex() < 0 && yearPart.isSupported(ChronoField.YEAR)) {
+            year = (int) yearPart.getLong(ChronoField.YEAR);
+            explicitYear = true;
+        }
+        LocalDate date = toDate(year, parsed.getLong(ChronoField.MONTH_OF_YEAR), parsed.getLong(ChronoField.DAY_OF_MONTH));
+        if (date != null && !explicitYear && date.isBefore(base)) {
+            date = toDate(year + 1, date.getMonthValue(), date.getDayOfMonth());
+        }
+        return date;
+    }
+
+    private static LocalDate parseDate(DateTimeFormatter format, CharSequence text, int start) {
+        ParsePosition position = new ParsePosition(start);
+        TemporalAccessor parsed = format.parseUnresolved(text, position);
+        if (parsed == null || position.getErrorIndex() >= 0 || !parsed.isSupported(ChronoField.MONTH_OF_YEAR)
+                || !parsed.isSupported(ChronoField.DAY_OF_MONTH) || !parsed.isSupported(ChronoField.YEAR)) {
+            return null;
+        }
+        return toDate(parsed.getLong(ChronoField.YEAR), parsed.getLong(ChronoField.MONTH_OF_YEAR), parsed.getLong(ChronoField.DAY_OF_MONTH));
+    }
+
+    private static LocalDate toDate(long year, long month, long day) {
+        if (year < 1970 || year > 9999 || month < 1 || month > 12 || day < 1) {
+            return null;
+        }
+        if (day > Month.of((int) month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of((int) year, (int) month, (int) day);
+    }
+
+    private static LocalDate startOfWeek(LocalDate date) {
+        return date.minusDays(date.getDayOfWeek().getValue() - 1L);
+    }
+
+    private static int firstDigit(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isDigit(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Index of {@code word} in {@code text} where it is not part of a longer word, or -1.
+     */
+    private static int indexOfWord(String text, String word) {
+        for (int at = text.indexOf(word); at >= 0; at = text.indexOf(word, at + 1)) {
+            int end = at + word.length();
+            if ((at == 0 || !Character.isLetter(text.charAt(at - 1)))
+                    && (end == text.length() || !Character.isLetter(text.charAt(end)))) {
+                return at;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfIgnoreCase(String text, String lowerNeedle) {
+        int last = text.length() - lowerNeedle.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, lowerNeedle, 0, lowerNeedle.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private ZoneId zoneId() {
+        ZoneId id = zoneId;
+        if (id == null) {
+            id = ZoneId.of(zone);
+            zoneId = id;
+        }
+        return id;
+    }
+
+    private static DateTimeFormatter formatter(String pattern) {
+        return new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient().appendPattern(pattern).toFormatter(Locale.US);
+    }
+}
@@ -0,0 +1,479 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.ActionItem;
+import com.aisystems.firefliescrmautomation.dto.ChatCompletionResult;
+import com.aisystems.firefliescrmautomation.dto.ExtractionBenchmarkReport;
+import com.aisystems.firefliescrmautomation.dto.ExtractionBenchmarkResult;
+import com.aisystems.firefliescrmautomation.tools.SyntheticTranscriptGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures extraction quality, latency and token use over a labelled transcript corpus.
+ * <p>
+ * Every transcript is extracted once per prompt variant and model: {@code text} and
+ * {@code structured} are the two extraction prompts of {@link OpenAIService}, sent with
+ * {@link OpenAIService#completeExtraction} so routing, escalation and failover do not blur the
+ * numbers; {@code rules} is {@link RuleBasedActionItemExtractor}, the no-model baseline;
+ * {@code batch} is the production batch engine ({@link ActionItemExtractorService}, with its own
+ * compression, triage and routing, reported as model {@code pipeline} without token counts).
+ * Calls run concurrently on the chosen provider, queued in the bulk lane of
+ * {@link LlmCallScheduler} so a run never takes the slots interactive calls need. Predicted items are matched to labels by word overlap
+ * of their normalized descriptions; priority, deadline and assignee are scored on the matched
+ * pairs.
+ * </p>
+ * <p>
+ * The corpus is {@code golden} (the hand-labelled transcripts on the classpath),
+ * {@code synthetic} (generated on the fly by {@link SyntheticTranscriptGenerator}), {@code mixed}
+ * (the golden transcripts topped up with synthetic ones to the limit) or the name of
+ * an NDJSON file in {@code aisystems.benchmark.corpus-dir} in the generator's format. One run at a
+ * time.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 4:45 PM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class ExtractionBenchmarkService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtractionBenchmarkService.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String GOLDEN_CORPUS = "benchmark/golden-transcripts.ndjson";
+    private static final String RULES_MODEL = "rules";
+    private static final String BATCH_MODEL = "pipeline";
+
+    /** Prompt variants; the name is the one used in requests and reports. */
+    public enum Variant {
+        RULES, TEXT, STRUCTURED, BATCH;
+
+        public static Variant parse(String value) {
+            return Variant.valueOf(value.strip().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    @Autowired
+    private OpenAIService openAIService;
+
+    @Autowired
+    private ModelRouter modelRouter;
+
+    @Autowired
+    private RuleBasedActionItemExtractor ruleBasedExtractor;
+
+    @Autowired
+    private TranscriptCompressor transcriptCompressor;
+
+    @Autowired
+    private ActionItemExtractorService actionItemExtractorService;
+
+    @Value("${aisystems.benchmark.corpus-dir:benchmarks}")
+    private String corpusDir;
+
+    @Value("${aisystems.benchmark.match-threshold:0.5}")
+    private double matchThreshold;
+
+    @Value("${aisystems.benchmark.max-concurrency:16}")
+    private int maxConcurrency;
+
+    @Value("${aisystems.benchmark.max-transcripts:5000}")
+    private int maxTranscripts;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Runs a benchmark.
+     * @param corpus       {@code golden}, {@code synthetic}, {@code mixed} or an NDJSON file name in the corpus directory
+     * @param limit        maximum number of transcripts (synthetic and mixed: how many in total)
+     * @param seed         seed of the synthetic corpus
+     * @param variants     prompt variants
+     * @param models       models for the LLM variants; empty for the configured cheap model
+     * @param providerName provider for the LLM variants; blank for the active one
+     * @param concurrency  concurrent calls
+     * @param compress     send transcripts through {@link TranscriptCompressor} first, as the pipeline does;
+     *                     the {@code batch} variant always compresses
+     * @return the report, or null when another run is in progress
+     * @throws IllegalArgumentException when the corpus or provider is unknown
+     */
+    public ExtractionBenchmarkReport run(String corpus, int limit, long seed, List<Variant> variants, List<String> models,
+                                         String providerName, int concurrency, boolean compress) {
+        LlmProvider provider = providerName == null || providerName.isBlank() ? modelRouter.provider() : modelRouter.findProvider(providerName);
+        if (provider == null) {
+            throw new IllegalArgumentException("Unknown LLM provider: " + providerName);
+        }
+        List<String> llmModels = models == null || models.isEmpty()
+                ? List.of(modelRouter.model(provider, ModelRouter.Tier.CHEAP)) : models;
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            List<LabelledTranscript> transcripts = load(corpus, Math.max(1, Math.min(limit, maxTranscripts)), seed);
+            if (compress) {
+                for (LabelledTranscript transcript : transcripts) {
+                    transcript.prompt = transcriptCompressor.compress(transcript.transcript).getCompressedTranscript();
+                }
+            }
+            int threads = Math.max(1, Math.min(concurrency, maxConcurrency));
+            Instant startedAt = Instant.now();
+            long start = System.nanoTime();
+            List<ExtractionBenchmarkResult> results = execute(transcripts, variants, llmModels, provider, threads);
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            log.info("Extraction benchmark over {} {} transcript(s) on {} finished in {} ms", transcripts.size(), corpus,
+                    provider.getName(), durationMs);
+            return new ExtractionBenchmarkReport(corpus, transcripts.size(), provider.getName(), threads, compress,
+                    startedAt.toString(), durationMs, results);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private List<ExtractionBenchmarkResult> execute(List<LabelledTranscript> transcripts, List<Variant> variants,
+                                                    List<String> models, LlmProvider provider, int threads) {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (Variant variant : variants) {
+            List<String> variantModels = variant == Variant.RULES ? List.of(RULES_MODEL)
+                    : variant == Variant.BATCH ? List.of(BATCH_MODEL) : models;
+            for (String model : variantModels) {
+                scores.putIfAbsent(variant.name().toLowerCase(Locale.ROOT) + "|" + model, new Score(variant, model));
+            }
+        }
+        String tenant = LlmCallScheduler.currentTenant();
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "extraction-benchmark-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (LabelledTranscript transcript : transcripts) {
+                for (Score score : scores.values()) {
+                    futures.add(pool.submit(() -> LlmCallScheduler.runInLane(LlmCallScheduler.Lane.BULK, tenant,
+                            () -> measure(score, transcript, provider))));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Benchmark interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Benchmark failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        List<ExtractionBenchmarkResult> results = new ArrayList<>();
+        for (Score score : scores.values()) {
+            results.add(score.toResult());
+        }
+        return results;
+    }
+
+    private void measure(Score score, LabelledTranscript transcript, LlmProvider provider) {
+        long start = System.nanoTime();
+        List<Map<String, Object>> predicted = null;
+        ChatCompletionResult completion = null;
+        try {
+            if (score.variant == Variant.RULES) {
+                predicted = new ArrayList<>();
+                for (ActionItem item : ruleBasedExtractor.extract(transcript.prompt)) {
+                    predicted.add(item.toMap());
+                }
+            } else if (score.variant == Variant.BATCH) {
+                predicted = actionItemExtractorService.extractUnrecorded(transcript.transcript);
+            } else {
+                boolean structured = score.variant == Variant.STRUCTURED;
+                completion = openAIService.completeExtraction(provider, score.model, structured, transcript.prompt);
+                predicted = OpenAIService.parseExtraction(completion, structured);
+            }
+        } catch (RuntimeException e) {
+            log.debug("Benchmark call {} on {} failed: {}", score.variant, transcript.id, e.getMessage());
+        }
+        long nanos = System.nanoTime() - start;
+        score.add(transcript.labels, predicted, completion, nanos, matchThreshold);
+    }
+
+    private List<LabelledTranscript> load(String corpus, int limit, long seed) {
+        String name = corpus == null || corpus.isBlank() ? "golden" : corpus.strip();
+        if (name.equals("synthetic")) {
+            return synthetic(new ArrayList<>(limit), limit, seed);
+        }
+        try {
+            if (name.equals("golden")) {
+                return golden(limit);
+            }
+            if (name.equals("mixed")) {
+                return synthetic(golden(limit), limit, seed);
+            }
+            Path dir = Path.of(corpusDir).toAbsolutePath().normalize();
+            Path file = dir.resolve(name).normalize();
+            if (!file.startsWith(dir) || !Files.isRegularFile(file)) {
+                throw new IllegalArgumentException("Unknown benchmark corpus: " + name);
+            }
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                return readNdjson(reader, limit);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read benchmark corpus " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static List<LabelledTranscript> golden(int limit) throws IOException {
+        try (InputStream in = ExtractionBenchmarkService.class.getClassLoader().getResourceAsStream(GOLDEN_CORPUS)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Golden corpus " + GOLDEN_CORPUS + " is not on the classpath");
+            }
+            return readNdjson(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), limit);
+        }
+    }
+
+    /** Appends generated transcripts until {@code transcripts} holds {@code limit}. */
+    private static List<LabelledTranscript> synthetic(List<LabelledTranscript> transcripts, int limit, long seed) {
+        SyntheticTranscriptGenerator generator = new SyntheticTranscriptGenerator(new SyntheticTranscriptGenerator.Config().seed(seed));
+        for (int i = 0; transcripts.size() < limit; i++) {
+            SyntheticTranscriptGenerator.SyntheticTranscript generated = generator.generate(i);
+            List<Label> labels = new ArrayList<>();
+            for (SyntheticTranscriptGenerator.Label label : generated.getActionItems()) {
+                labels.add(new Label(label.getDescription(), label.getAssignee(), label.getDeadline(), label.getPriority()));
+            }
+            transcripts.add(new LabelledTranscript(generated.getId(), generated.getTranscript(), labels));
+        }
+        return transcripts;
+    }
+
+    private static List<LabelledTranscript> readNdjson(BufferedReader reader, int limit) throws IOException {
+        List<LabelledTranscript> transcripts = new ArrayList<>();
+        String line;
+        while (transcripts.size() < limit && (line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node = MAPPER.readTree(line);
+            List<Label> labels = new ArrayList<>();
+            for (JsonNode item : node.path("actionItems")) {
+                labels.add(new Label(text(item, "description"), text(item, "assignee"), text(item, "deadline"), text(item, "priority")));
+            }
+            transcripts.add(new LabelledTranscript(text(node, "id"), text(node, "transcript"), labels));
+        }
+        return transcripts;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    static Set<String> words(Object description) {
+        return description == null ? Set.of()
+                : new HashSet<>(Arrays.asList(ActionItemDeduplicator.normalize(description.toString()).split(" ")));
+    }
+
+    static double overlap(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int shared = 0;
+        for (String word : a) {
+            if (b.contains(word)) {
+                shared++;
+            }
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+
+    /** "by Friday." and "friday" match, as do "Wednesday" and "Wednesday morning". */
+    static boolean sameDeadline(String expected, Object actual) {
+        String a = normalizeDeadline(expected);
+        String b = normalizeDeadline(actual == null ? null : actual.toString());
+        if (a.isEmpty() || b.isEmpty()) {
+            return a.equals(b);
+        }
+        return a.equals(b) || a.contains(b) || b.contains(a);
+    }
+
+    private static String normalizeDeadline(String deadline) {
+        if (deadline == null || deadline.equalsIgnoreCase("null") || deadline.equalsIgnoreCase("none")) {
+            return "";
+        }
+        return deadline.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9 ]", " ").replaceAll("^\\s*(by|before|until|due)\\s+", "")
+                .replaceAll("\\s+", " ").strip();
+    }
+
+    /** Compares first names, so "Jennifer" matches "Jennifer Martinez". */
+    static boolean sameAssignee(String expected, Object actual) {
+        if (expected == null || actual == null) {
+            return expected == null && actual == null;
+        }
+        String a = expected.strip().split("\\s+")[0];
+        String b = actual.toString().strip().split("\\s+")[0];
+        return a.equalsIgnoreCase(b);
+    }
+
+    private static final class LabelledTranscript {
+        final String id;
+        final String transcript;
+        final List<Label> labels;
+        String prompt;
+
+        LabelledTranscript(String id, String transcript, List<Label> labels) {
+            this.id = id;
+            this.transcript = transcript == null ? "" : transcript;
+            this.labels = labels;
+            this.prompt = this.transcript;
+        }
+    }
+
+    private static final class Label {
+        final String description;
+        final String assignee;
+        final String deadline;
+        final String priority;
+
+        Label(String description, String assignee, String deadline, String priority) {
+            this.description = description;
+            this.assignee = assignee;
+            this.deadline = deadline;
+            this.priority = priority;
+        }
+    }
+
+    /** Accumulates one variant and model; {@link #add} is called from the benchmark threads. */
+    private static final class Score {
+        final Variant variant;
+        final String model;
+        final LatencyHistogram latency = new LatencyHistogram();
+        int transcripts;
+        int failures;
+        int labelled;
+        int predicted;
+        int matched;
+        int priorityCorrect;
+        int deadlineCorrect;
+        int assigneeCorrect;
+        long promptTokens;
+        long completionTokens;
+
+        Score(Variant variant, String model) {
+            this.variant = variant;
+            this.model = model;
+        }
+
+        void add(List<Label> labels, List<Map<String, Object>> items, ChatCompletionResult completion, long nanos, double threshold) {
+            latency.record(nanos);
+            List<Map<String, Object>> predictions = new ArrayList<>();
+            if (items != null) {
+                for (Map<String, Object> item : items) {
+                    if (item != null && item.get("description") != null) {
+                        predictions.add(item);
+                    }
+                }
+            }
+            // Greedy one-to-one matching, most similar pairs first.
+            List<double[]> pairs = new ArrayList<>();
+            List<Set<String>> predictedWords = new ArrayList<>();
+            for (Map<String, Object> item : predictions) {
+                predictedWords.add(words(item.get("description")));
+            }
+            for (int l = 0; l < labels.size(); l++) {
+                Set<String> labelWords = words(labels.get(l).description);
+                for (int p = 0; p < predictions.size(); p++) {
+                    double similarity = overlap(labelWords, predictedWords.get(p));
+                    if (similarity >= threshold) {
+                        pairs.add(new double[]{similarity, l, p});
+                    }
+                }
+            }
+            pairs.sort((a, b) -> Double.compare(b[0], a[0]));
+            boolean[] labelUsed = new boolean[labels.size()];
+            boolean[] predictionUsed = new boolean[predictions.size()];
+            int matchedHere = 0;
+            int priorityHere = 0;
+            int deadlineHere = 0;
+            int assigneeHere = 0;
+            for (double[] pair : pairs) {
+                int l = (int) pair[1];
+                int p = (int) pair[2];
+                if (labelUsed[l] || predictionUsed[p]) {
+                    continue;
+                }
+                labelUsed[l] = true;
+                predictionUsed[p] = true;
+                matchedHere++;
+                Label label = labels.get(l);
+                Map<String, Object> item = predictions.get(p);
+                Object priority = item.get("priority");
+                if (label.priority != null && priority != null && label.priority.equalsIgnoreCase(priority.toString())) {
+                    priorityHere++;
+                }
+                if (sameDeadline(label.deadline, item.get("deadline"))) {
+                    deadlineHere++;
+                }
+                if (sameAssignee(label.assignee, item.get("assignee"))) {
+                    assigneeHere++;
+                }
+            }
+            synchronized (this) {
+                transcripts++;
+                if (items == null) {
+                    failures++;
+                }
+                labelled += labels.size();
+                predicted += predictions.size();
+                matched += matchedHere;
+                priorityCorrect += priorityHere;
+                deadlineCorrect += deadlineHere;
+                assigneeCorrect += assigneeHere;
+                if (completion != null) {
+                    promptTokens += completion.getPromptTokens();
+                    completionTokens += completion.getCompletionTokens();
+                }
+            }
+        }
+
+        synchronized ExtractionBenchmarkResult toResult() {
+            double precision = predicted == 0 ? (labelled == 0 ? 1 : 0) : (double) matched / predicted;
+            double recall = labelled == 0 ? 1 : (double) matched / labelled;
+            double f1 = precision + recall == 0 ? 0 : 2 * precision * recall / (precision + recall);
+            return new ExtractionBenchmarkResult(variant.name().toLowerCase(Locale.ROOT), model, transcripts, failures,
+                    labelled, predicted, matched, round(precision), round(recall), round(f1),
+                    round(ratio(priorityCorrect, matched)), round(ratio(deadlineCorrect, matched)), round(ratio(assigneeCorrect, matched)),
+                    round(ratio(promptTokens, transcripts)), round(ratio(completionTokens, transcripts)), latency.snapshot());
+        }
+
+        private static double ratio(long part, long whole) {
+            return whole == 0 ? 0 : (double) part / whole;
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 10000) / 10000.0;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.FirefliesTranscriptSummary;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link FirefliesTranscriptClient} backed by the Fireflies GraphQL API.
+ * <p>
+ * Requires the environment variable FIREFLIES_API_KEY. The endpoint defaults to
+ * https://api.fireflies.ai/graphql and can be pointed at a local stub for tests.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 10:25 AM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class FirefliesGraphQLTranscriptClient implements FirefliesTranscriptClient {
+
+    private static final String TRANSCRIPT_QUERY =
+            "query Transcript($transcriptId: String!) { transcript(id: $transcriptId) " +
+            "{ id title date participants sentences { speaker_name text } } }";
+
+    private static final String TRANSCRIPTS_SINCE_QUERY =
+            "query Transcripts($fromDate: DateTime, $limit: Int, $skip: Int) " +
+            "{ transcripts(fromDate: $fromDate, limit: $limit, skip: $skip) { id title date } }";
+
+    private static final DateTimeFormatter MEETING_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("MMMM d, uuuu", Locale.US).withZone(ZoneOffset.UTC);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Value("${aisystems.fireflies.api-url:https://api.fireflies.ai/graphql}")
+    private String apiUrl;
+
+    @Value("${aisystems.fireflies.api-key:}")
+    private String apiKey;
+
+    @Value("${aisystems.fireflies.timeout-ms:15000}")
+    private long timeoutMs;
+
+    private volatile RestTemplate restTemplate;
+
+    @Override
+    public String fetchTranscript(String transcriptId) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("transcriptId", transcriptId);
+        JsonNode data = execute(TRANSCRIPT_QUERY, variables);
+        JsonNode transcript = data.path("transcript");
+        if (transcript.isMissingNode() || transcript.isNull()) {
+            throw new IllegalStateException("Fireflies transcript not found: " + transcriptId);
+        }
+        return toTranscriptText(transcript);
+    }
+
+    @Override
+    public List<FirefliesTranscriptSummary> listTranscriptsSince(long sinceEpochMillis, int limit, int skip) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("fromDate", Instant.ofEpochMilli(sinceEpochMillis).toString());
+        variables.put("limit", limit);
+        variables.put("skip", skip);
+        JsonNode data = execute(TRANSCRIPTS_SINCE_QUERY, variables);
+        List<FirefliesTranscriptSummary> summaries = new ArrayList<>();
+        for (JsonNode node : data.path("transcripts")) {
+            String id = node.path("id").asText(null);
+            if (id == null || id.isBlank()) {
+                continue;
+            }
+            summaries.add(new FirefliesTranscriptSummary(id, node.path("title").asText(""), node.path("date").asLong(0L)));
+        }
+        summaries.sort(Comparator.comparingLong(FirefliesTranscriptSummary::getDateMillis));
+        return summaries;
+    }
+
+    /**
+     * Posts a GraphQL query and returns its {@code data} node.
+     * @param query     GraphQL query text
+     * @param variables query variables
+     * @return the data node
+     * @throws IllegalStateException on transport errors or GraphQL errors
+     */
+    JsonNode execute(String query, Map<String, Object> variables) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (apiKey != null && !apiKey.isBlank()) {
+            headers.setBearerAuth(apiKey);
+        }
+        Map<String, Object> body = new HashMap<>();
+        body.put("query", query);
+        body.put("variables", variables);
+
+        ResponseEntity<String> response;
+        try {
+            response = restTemplate().postForEntity(apiUrl, new HttpEntity<>(body, headers), String.class);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Fireflies API call failed: " + ex.getMessage(), ex);
+        }
+        try {
+            JsonNode root = MAPPER.readTree(response.getBody() == null ? "{}" : response.getBody());
+            JsonNode errors = root.path("errors");
+            if (errors.isArray() && errors.size() > 0) {
+                throw new IllegalStateException("Fireflies API error: " + errors.path(0).path("message").asText("unknown"));
+            }
+            return root.path("data");
+        } catch (IllegalStateException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IllegalStateException("Unreadable Fireflies API response: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Renders a Fireflies transcript node as pipeline text, merging consecutive sentences of
+     * the same speaker into one turn.
+     * @param transcript the {@code transcript} node
+     * @return transcript text
+     */
+    static String toTranscriptText(JsonNode transcript) {
+        StringBuilder text = new StringBuilder();
+        if (transcript.path("date").isNumber()) {
+            text.append("Meeting Date: ")
+                .append(MEETING_DATE_FORMAT.format(Instant.ofEpochMilli(transcript.path("date").asLong())))
+                .append('\n');
+        }
+        Set<String> speakers = new LinkedHashSet<>();
+        for (JsonNode sentence : transcript.path("sentences")) {
+            String speaker = sentence.path("speaker_name").asText("");
+            if (!speaker.isBlank()) {
+                speakers.add(speaker);
+            }
+        }
+        if (!speakers.isEmpty()) {
+            text.append("Participants: ").append(String.join(", ", speakers)).append('\n');
+        }
+        String currentSpeaker = null;
+        StringBuilder turn = new StringBuilder();
+        for (JsonNode sentence : transcript.path("sentences")) {
+            String speaker = sentence.path("speaker_name").asText("Speaker");
+            String line = sentence.path("text").asText("").trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (!speaker.equals(currentSpeaker)) {
+                if (currentSpeaker != null) {
+                    text.append(currentSpeaker).append(": ").append(turn).append('\n');
+                }
+                currentSpeaker = speaker;
+                turn.setLength(0);
+            } else {
+                turn.append(' ');
+            }
+            turn.append(line);
+        }
+        if (currentSpeaker != null) {
+            text.append(currentSpeaker).append(": ").append(turn).append('\n');
+        }
+        return text.toString().trim();
+    }
+
+    private RestTemplate restTemplate() {
+        RestTemplate template = restTemplate;
+        if (template == null) {
+            SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+            factory.setConnectTimeout(Duration.ofMillis(timeoutMs));
+            factory.setReadTimeout(Duration.ofMillis(timeoutMs));
+            template = new RestTemplate(factory);
+            restTemplate = template;
+        }
+        return template;
+    }
+}
@@ -0,0 +1,245 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.FirefliesSyncReport;
+import com.aisystems.firefliescrmautomation.dto.FirefliesTranscriptSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Pulls new Fireflies transcripts on a schedule as a safety net for missed webhooks.
+ * <p>
+ * Each cycle lists only transcripts dated at or after the persisted watermark, drops the ones
+ * already processed (by the webhook or an earlier cycle) with a single {@code IN} lookup, and
+ * processes the rest in parallel batches. Each transcript is claimed in the sync-state table
+ * before processing, so one the webhook is handling at the same time is skipped. The watermark
+ * only advances past a meeting once it and every older candidate succeeded (or is still being
+ * handled elsewhere), so failures are retried on the next cycle while the per-cycle cost stays
+ * proportional to the number of new meetings.
+ * </p>
+ * <p>
+ * Fireflies lists newest first, so a listing cut off at {@code max-pages} holds only the newest
+ * meetings. Such a cycle processes them but leaves the watermark alone and remembers how far
+ * it listed; the next cycle continues from there (new meetings only shift older ones further,
+ * so nothing is skipped, at worst re-listed). The watermark moves only when a listing pass
+ * reaches the oldest meeting: to the newest meeting of the pass, or to the oldest one that
+ * failed, so it never passes a meeting that was not listed and processed.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 11:20 AM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class FirefliesSyncPoller implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(FirefliesSyncPoller.class);
+    private static final String CURSOR_NAME = "fireflies-transcripts";
+    private static final int MAX_ERRORS_REPORTED = 20;
+
+    @Autowired
+    private FirefliesTranscriptClient firefliesTranscriptClient;
+
+    @Autowired
+    private FirefliesTranscriptProcessor firefliesTranscriptProcessor;
+
+    @Autowired
+    private FirefliesSyncStateRepository syncStateRepository;
+
+    @Value("${aisystems.fireflies.sync.enabled:false}")
+    private boolean enabled;
+
+    @Value("${aisystems.fireflies.sync.page-size:50}")
+    private int pageSize;
+
+    @Value("${aisystems.fireflies.sync.max-pages:20}")
+    private int maxPages;
+
+    @Value("${aisystems.fireflies.sync.batch-size:8}")
+    private int batchSize;
+
+    @Value("${aisystems.fireflies.sync.parallelism:4}")
+    private int parallelism;
+
+    private ExecutorService workerPool;
+    /** Where the next listing starts while working through a backlog larger than one cycle. */
+    private int backlogOffset;
+    /** Newest meeting listed and oldest meeting failed (or held) in the current listing pass. */
+    private long passNewestMs;
+    private long passOldestFailedMs = Long.MAX_VALUE;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile FirefliesSyncReport lastReport;
+
+    @Override
+    public void afterPropertiesSet() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "fireflies-sync-worker-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        workerPool.shutdownNow();
+    }
+
+    /**
+     * Scheduled entry point; does nothing unless {@code aisystems.fireflies.sync.enabled=true}.
+     */
+    @Scheduled(initialDelayString = "${aisystems.fireflies.sync.initial-delay-ms:60000}",
+            fixedDelayString = "${aisystems.fireflies.sync.interval-ms:300000}")
+    public void scheduledSync() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            syncNow();
+        } catch (RuntimeException e) {
+            log.warn("Fireflies sync cycle failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs one sync cycle immediately.
+     * @return the cycle report, or null when another cycle is already running
+     */
+    public FirefliesSyncReport syncNow() {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            lastReport = runCycle();
+            return lastReport;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public FirefliesSyncReport getLastReport() {
+        return lastReport;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private FirefliesSyncReport runCycle() {
+        long start = System.nanoTime();
+        String startedAt = Instant.now().toString();
+        long watermarkBefore = syncStateRepository.loadWatermark(CURSOR_NAME);
+
+        int listOffset = backlogOffset;
+        List<FirefliesTranscriptSummary> listed = new ArrayList<>();
+        boolean truncated = listSince(watermarkBefore, listOffset, listed);
+        Set<String> alreadyProcessed = syncStateRepository.findProcessed(
+                listed.stream().map(FirefliesTranscriptSummary::getId).collect(Collectors.toList()));
+
+        List<FirefliesTranscriptSummary> pending = listed.stream()
+                .filter(summary -> !alreadyProcessed.contains(summary.getId()))
+                .collect(Collectors.toList());
+        List<String> errors = new ArrayList<>();
+        Set<String> failedIds = new HashSet<>();
+        Set<String> heldIds = new HashSet<>();
+        int processedCount = 0;
+
+        int step = Math.max(1, batchSize);
+        for (int from = 0; from < pending.size(); from += step) {
+            List<FirefliesTranscriptSummary> batch = pending.subList(from, Math.min(pending.size(), from + step));
+            List<Future<?>> futures = new ArrayList<>(batch.size());
+            for (FirefliesTranscriptSummary summary : batch) {
+                futures.add(workerPool.submit(() -> firefliesTranscriptProcessor.process(
+                        summary.getId(), summary.getDateMillis(), "poller")));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                FirefliesTranscriptSummary summary = batch.get(i);
+                try {
+                    if (futures.get(i).get() != null) {
+                        processedCount++;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Fireflies sync interrupted", e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof FirefliesTranscriptProcessor.TranscriptInProgressException) {
+                        // The webhook is on it; list it again next cycle in case that attempt fails.
+                        heldIds.add(summary.getId());
+                        continue;
+                    }
+                    failedIds.add(summary.getId());
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.warn("Fireflies sync failed for transcript {}: {}", summary.getId(), cause.getMessage());
+                    if (errors.size() < MAX_ERRORS_REPORTED) {
+                        errors.add(summary.getId() + ": " + cause.getMessage());
+                    }
+                }
+            }
+        }
+
+        for (FirefliesTranscriptSummary summary : listed) {
+            passNewestMs = Math.max(passNewestMs, summary.getDateMillis());
+            if (failedIds.contains(summary.getId()) || heldIds.contains(summary.getId())) {
+                passOldestFailedMs = Math.min(passOldestFailedMs, summary.getDateMillis());
+            }
+        }
+        long watermark = watermarkBefore;
+        if (truncated) {
+            // Older meetings were not listed yet: keep the watermark and list them next cycle.
+            backlogOffset = listOffset + listed.size();
+        } else {
+            // The pass reached the oldest meeting. Stop at the oldest failure so it is listed
+            // again next cycle (the watermark is inclusive).
+            watermark = Math.max(watermarkBefore, passOldestFailedMs == Long.MAX_VALUE ? passNewestMs : passOldestFailedMs);
+            backlogOffset = 0;
+            passNewestMs = 0L;
+            passOldestFailedMs = Long.MAX_VALUE;
+            if (watermark > watermarkBefore) {
+                syncStateRepository.saveWatermark(CURSOR_NAME, watermark);
+            }
+        }
+        long durationMs = (System.nanoTime() - start) / 1_000_000L;
+        log.info("Fireflies sync: {} listed from offset {}{}, {} already processed, {} processed, {} failed in {} ms",
+                listed.size(), listOffset, truncated ? " (truncated)" : "", alreadyProcessed.size(), processedCount,
+                failedIds.size(), durationMs);
+        return new FirefliesSyncReport(startedAt, durationMs, listed.size(), listOffset, truncated, alreadyProcessed.size(),
+                processedCount, failedIds.size(), watermarkBefore, watermark, errors);
+    }
+
+    /**
+     * Lists up to {@code max-pages} pages starting {@code offset} transcripts below the newest.
+     * @param into receives the listed transcripts, oldest first
+     * @return true when the listing stopped at {@code max-pages} before the oldest meeting
+     */
+    private boolean listSince(long watermark, int offset, List<FirefliesTranscriptSummary> into) {
+        int limit = Math.max(1, pageSize);
+        boolean truncated = true;
+        for (int page = 0; page < Math.max(1, maxPages); page++) {
+            List<FirefliesTranscriptSummary> batch = firefliesTranscriptClient.listTranscriptsSince(watermark, limit, offset + page * limit);
+            into.addAll(batch);
+            if (batch.size() < limit) {
+                truncated = false;
+                break;
+            }
+        }
+        into.sort((a, b) -> Long.compare(a.getDateMillis(), b.getDateMillis()));
+        return truncated;
+    }
+}
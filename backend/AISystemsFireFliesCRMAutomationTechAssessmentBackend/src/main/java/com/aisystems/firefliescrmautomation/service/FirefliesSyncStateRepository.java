@@ -0,0 +1,261 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.configuration.ReadWriteRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MySQL persistence for the Fireflies sync watermark, the set of processed transcripts, the
+ * claims of transcripts being processed and the HubSpot deals created for each transcript's
+ * action items by {@link TranscriptRevisionService}.
+ * <p>
+ * A transcript is processed only by whoever inserts its claim row ({@link #claim(String, String)});
+ * the claim is deleted after the transcript is marked processed, so webhook redeliveries and a
+ * webhook racing the poller never process the same transcript twice. A claim older than
+ * {@code aisystems.fireflies.claim-timeout-ms} belongs to a worker that died and can be taken over.
+ * </p>
+ * <p>
+ * Processed-id lookups are read-only and may be served by the read replica; the watermark is
+ * read from the primary because the poller reads it right after writing it.
+ * </p>
+ * <p>
+ * Tables are created on first use rather than at startup so the application still boots when
+ * the database is unreachable.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 11:15 AM GMT -5 Bogotá DC Colombia
+ */
+@Repository
+public class FirefliesSyncStateRepository {
+
+    private static final int IN_CLAUSE_CHUNK = 500;
+
+    /**
+     * Outcome of {@link #claim(String, String)}.
+     */
+    public enum ClaimResult { CLAIMED, PROCESSED, IN_PROGRESS }
+
+    /**
+     * An action item of a transcript revision and the HubSpot deal created for it.
+     */
+    public static final class RevisionDeal {
+        private final String dealId;
+        private final String itemKey;
+        private final String itemJson;
+        private final int revision;
+
+        public RevisionDeal(String dealId, String itemKey, String itemJson, int revision) {
+            this.dealId = dealId;
+            this.itemKey = itemKey;
+            this.itemJson = itemJson;
+            this.revision = revision;
+        }
+
+        public String getDealId() { return dealId; }
+        public String getItemKey() { return itemKey; }
+        public String getItemJson() { return itemJson; }
+        public int getRevision() { return revision; }
+    }
+
+    @Autowired
+    @Qualifier("AISystemsJdbcTemplate")
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${aisystems.fireflies.claim-timeout-ms:1800000}")
+    private long claimTimeoutMs;
+
+    private volatile boolean schemaReady;
+
+    private void ensureSchema() {
+        if (schemaReady) {
+            return;
+        }
+        synchronized (this) {
+            if (schemaReady) {
+                return;
+            }
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS fireflies_sync_cursor (" +
+                    "cursor_name VARCHAR(64) NOT NULL PRIMARY KEY, " +
+                    "watermark_ms BIGINT NOT NULL, " +
+                    "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP)");
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS fireflies_processed_transcript (" +
+                    "transcript_id VARCHAR(64) NOT NULL PRIMARY KEY, " +
+                    "meeting_date_ms BIGINT NULL, " +
+                    "source VARCHAR(16) NOT NULL, " +
+                    "processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS fireflies_transcript_claim (" +
+                    "transcript_id VARCHAR(64) NOT NULL PRIMARY KEY, " +
+                    "source VARCHAR(16) NOT NULL, " +
+                    "claimed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS transcript_revision_deal (" +
+                    "transcript_id VARCHAR(64) NOT NULL, " +
+                    "deal_id VARCHAR(64) NOT NULL, " +
+                    "item_key VARCHAR(1024) NOT NULL, " +
+                    "item_json TEXT NOT NULL, " +
+                    "revision INT NOT NULL, " +
+                    "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP, " +
+                    "PRIMARY KEY (transcript_id, deal_id))");
+            schemaReady = true;
+        }
+    }
+
+    /**
+     * @param cursorName cursor identifier
+     * @return the stored watermark (epoch millis), or 0 when none is stored yet
+     */
+    public long loadWatermark(String cursorName) {
+        ensureSchema();
+        List<Long> values = jdbcTemplate.queryForList(
+                "SELECT watermark_ms FROM fireflies_sync_cursor WHERE cursor_name = ?", Long.class, cursorName);
+        return values.isEmpty() || values.get(0) == null ? 0L : values.get(0);
+    }
+
+    /**
+     * Stores the watermark; it never moves backwards.
+     * @param cursorName  cursor identifier
+     * @param watermarkMs epoch millis of the newest fully processed meeting
+     */
+    public void saveWatermark(String cursorName, long watermarkMs) {
+        ensureSchema();
+        jdbcTemplate.update("INSERT INTO fireflies_sync_cursor (cursor_name, watermark_ms) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE watermark_ms = GREATEST(watermark_ms, VALUES(watermark_ms))", cursorName, watermarkMs);
+    }
+
+    /**
+     * @param transcriptIds candidate ids
+     * @return the subset that has already been processed
+     */
+    public Set<String> findProcessed(Collection<String> transcriptIds) {
+        if (transcriptIds == null || transcriptIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        ensureSchema();
+        List<String> ids = new ArrayList<>(transcriptIds);
+        return ReadWriteRoutingDataSource.readOnly(() -> {
+            Set<String> processed = new HashSet<>();
+            for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+                List<String> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CLAUSE_CHUNK));
+                String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+                processed.addAll(jdbcTemplate.queryForList(
+                        "SELECT transcript_id FROM fireflies_processed_transcript WHERE transcript_id IN (" + placeholders + ")",
+                        String.class, chunk.toArray()));
+            }
+            return processed;
+        });
+    }
+
+    /**
+     * Records a transcript as processed (idempotent).
+     * @param transcriptId  Fireflies transcript id
+     * @param meetingDateMs meeting date in epoch millis, or null when unknown
+     * @param source        webhook or poller
+     */
+    public void markProcessed(String transcriptId, Long meetingDateMs, String source) {
+        ensureSchema();
+        jdbcTemplate.update("INSERT IGNORE INTO fireflies_processed_transcript (transcript_id, meeting_date_ms, source) VALUES (?, ?, ?)",
+                transcriptId, meetingDateMs, source);
+    }
+
+    /**
+     * Atomically claims a transcript for processing. Runs on the primary: a lagging replica
+     * would miss a claim or a processed row written a moment ago.
+     * @param transcriptId Fireflies transcript id
+     * @param source       webhook or poller
+     * @return CLAIMED when the caller must process it and then call {@link #markProcessed} and
+     *         {@link #releaseClaim}; PROCESSED when it is already done; IN_PROGRESS when another
+     *         worker holds the claim
+     */
+    public ClaimResult claim(String transcriptId, String source) {
+        ensureSchema();
+        int claimed = jdbcTemplate.update("INSERT IGNORE INTO fireflies_transcript_claim (transcript_id, source) VALUES (?, ?)",
+                transcriptId, source);
+        if (claimed == 0) {
+            claimed = jdbcTemplate.update("UPDATE fireflies_transcript_claim SET source = ?, claimed_at = CURRENT_TIMESTAMP " +
+                            "WHERE transcript_id = ? AND claimed_at < CURRENT_TIMESTAMP - INTERVAL ? SECOND",
+                    source, transcriptId, Math.max(1L, claimTimeoutMs / 1_000L));
+        }
+        if (claimed == 0) {
+            return isProcessed(transcriptId) ? ClaimResult.PROCESSED : ClaimResult.IN_PROGRESS;
+        }
+        // The previous holder may have finished between its processed insert and its claim delete.
+        if (isProcessed(transcriptId)) {
+            releaseClaim(transcriptId);
+            return ClaimResult.PROCESSED;
+        }
+        return ClaimResult.CLAIMED;
+    }
+
+    /**
+     * Deletes the claim of a transcript, after it was marked processed or when processing failed.
+     * @param transcriptId Fireflies transcript id
+     */
+    public void releaseClaim(String transcriptId) {
+        ensureSchema();
+        jdbcTemplate.update("DELETE FROM fireflies_transcript_claim WHERE transcript_id = ?", transcriptId);
+    }
+
+    /**
+     * Reads the deals of a transcript from the primary: a revision is applied right after the
+     * previous one was written.
+     * @param transcriptId transcript id
+     * @return the deals in the order they were created
+     */
+    public List<RevisionDeal> loadRevisionDeals(String transcriptId) {
+        ensureSchema();
+        return jdbcTemplate.query("SELECT deal_id, item_key, item_json, revision FROM transcript_revision_deal " +
+                        "WHERE transcript_id = ? ORDER BY updated_at, deal_id",
+                (rs, row) -> new RevisionDeal(rs.getString(1), rs.getString(2), rs.getString(3), rs.getInt(4)),
+                transcriptId);
+    }
+
+    /**
+     * Records a created or updated deal of a transcript, as soon as HubSpot returned its id.
+     * @param transcriptId transcript id
+     * @param deal         the deal and its current action item
+     */
+    public void saveRevisionDeal(String transcriptId, RevisionDeal deal) {
+        ensureSchema();
+        jdbcTemplate.update("INSERT INTO transcript_revision_deal (transcript_id, deal_id, item_key, item_json, revision) " +
+                        "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE item_key = VALUES(item_key), " +
+                        "item_json = VALUES(item_json), revision = VALUES(revision)",
+                transcriptId, deal.getDealId(), deal.getItemKey(), deal.getItemJson(), deal.getRevision());
+    }
+
+    /**
+     * Forgets deals that were archived.
+     * @param transcriptId transcript id
+     * @param dealIds      archived deal ids
+     */
+    public void deleteRevisionDeals(String transcriptId, Collection<String> dealIds) {
+        if (dealIds == null || dealIds.isEmpty()) {
+            return;
+        }
+        ensureSchema();
+        List<String> ids = new ArrayList<>(dealIds);
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CLAUSE_CHUNK));
+            List<Object> args = new ArrayList<>();
+            args.add(transcriptId);
+            args.addAll(chunk);
+            jdbcTemplate.update("DELETE FROM transcript_revision_deal WHERE transcript_id = ? AND deal_id IN (" +
+                    String.join(",", Collections.nCopies(chunk.size(), "?")) + ")", args.toArray());
+        }
+    }
+
+    private boolean isProcessed(String transcriptId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM fireflies_processed_transcript WHERE transcript_id = ?", Integer.class, transcriptId);
+        return count != null && count > 0;
+    }
+}
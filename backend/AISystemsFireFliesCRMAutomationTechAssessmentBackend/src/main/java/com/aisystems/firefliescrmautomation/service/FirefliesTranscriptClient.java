@@ -0,0 +1,40 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.FirefliesTranscriptSummary;
+
+import java.util.List;
+
+/**
+ * Source of Fireflies meeting transcripts.
+ * <p>
+ * The default implementation calls the Fireflies GraphQL API; its endpoint is configurable
+ * ({@code aisystems.fireflies.api-url}) so a local stub server can stand in for it, or another
+ * bean implementing this interface can be marked {@code @Primary} to replace it entirely.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 10:20 AM GMT -5 Bogotá DC Colombia
+ */
+public interface FirefliesTranscriptClient {
+
+    /**
+     * Fetches a transcript and renders it in the plain-text format used by the extraction
+     * pipeline ("Meeting Date:", "Participants:" and one "Speaker: text" line per turn).
+     * @param transcriptId Fireflies transcript/meeting id
+     * @return transcript text
+     * @throws IllegalStateException when the transcript cannot be fetched
+     */
+    String fetchTranscript(String transcriptId);
+
+    /**
+     * Lists transcripts whose meeting date is at or after the given instant. Pages run newest
+     * first, as the Fireflies API returns them, so {@code skip} counts from the newest meeting;
+     * the transcripts within a page are returned oldest first.
+     * @param sinceEpochMillis lower bound (inclusive) of the meeting date
+     * @param limit            page size
+     * @param skip             number of newer transcripts to skip (pagination)
+     * @return one page of transcript summaries
+     * @throws IllegalStateException when the listing fails
+     */
+    List<FirefliesTranscriptSummary> listTranscriptsSince(long sinceEpochMillis, int limit, int skip);
+}
@@ -0,0 +1,123 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.HubSpotTaskCreationReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Runs one Fireflies transcript through the extraction pipeline: fetch the transcript,
+ * extract action items with {@link OpenAIService} and create the HubSpot deals.
+ * Shared by the webhook workers and the sync poller.
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 10:35 AM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class FirefliesTranscriptProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(FirefliesTranscriptProcessor.class);
+
+    /** Tenant the Fireflies calls are accounted to in the {@link LlmCallScheduler}. */
+    private static final String FIREFLIES_TENANT = "fireflies";
+
+    @Autowired
+    private FirefliesTranscriptClient firefliesTranscriptClient;
+
+    @Autowired
+    private OpenAIService openAIService;
+
+    @Autowired
+    private FirefliesSyncStateRepository syncStateRepository;
+
+    /**
+     * Thrown when another worker is processing the transcript right now.
+     */
+    public static class TranscriptInProgressException extends IllegalStateException {
+        public TranscriptInProgressException(String transcriptId) {
+            super("Fireflies transcript " + transcriptId + " is being processed by another worker");
+        }
+    }
+
+    /**
+     * Thrown when the extraction or the HubSpot writes of a transcript failed; the transcript is
+     * not marked processed, so the webhook redelivery or the next poller cycle retries it.
+     */
+    public static class TranscriptProcessingException extends IllegalStateException {
+        public TranscriptProcessingException(String transcriptId, List<String> errors) {
+            super("Fireflies transcript " + transcriptId + " failed: " + String.join("; ", errors));
+        }
+    }
+
+    /**
+     * Processes a transcript end to end.
+     * @param transcriptId Fireflies transcript/meeting id
+     * @return the HubSpot creation report, or null when the transcript was already processed
+     * @throws IllegalStateException when the transcript cannot be fetched
+     * @throws TranscriptProcessingException when its extraction or a HubSpot write failed
+     * @throws TranscriptInProgressException when another worker is processing it
+     */
+    public HubSpotTaskCreationReport process(String transcriptId) {
+        return process(transcriptId, null, "webhook");
+    }
+
+    /**
+     * Claims a transcript, processes it end to end and, when every step succeeded, records it as
+     * processed so redeliveries and the other ingestion path (webhook or poller) skip it.
+     * @param transcriptId  Fireflies transcript/meeting id
+     * @param meetingDateMs meeting date in epoch millis, or null when unknown
+     * @param source        ingestion path, webhook or poller
+     * @return the HubSpot creation report, or null when the transcript was already processed
+     * @throws IllegalStateException when the transcript cannot be fetched
+     * @throws TranscriptProcessingException when its extraction or a HubSpot write failed
+     * @throws TranscriptInProgressException when another worker is processing it
+     */
+    public HubSpotTaskCreationReport process(String transcriptId, Long meetingDateMs, String source) {
+        FirefliesSyncStateRepository.ClaimResult claim = syncStateRepository.claim(transcriptId, source);
+        if (claim == FirefliesSyncStateRepository.ClaimResult.PROCESSED) {
+            log.info("Fireflies transcript {} ({}) was already processed; skipping", transcriptId, source);
+            return null;
+        }
+        if (claim == FirefliesSyncStateRepository.ClaimResult.IN_PROGRESS) {
+            throw new TranscriptInProgressException(transcriptId);
+        }
+        HubSpotTaskCreationReport report;
+        try {
+            String transcript = firefliesTranscriptClient.fetchTranscript(transcriptId);
+            // Webhook and poller work queues behind interactive calls for upstream LLM slots.
+            report = LlmCallScheduler.inLane(LlmCallScheduler.Lane.WEBHOOK, FIREFLIES_TENANT,
+                    () -> openAIService.createTasksFromTranscript(transcript));
+        } catch (RuntimeException e) {
+            releaseClaim(transcriptId);
+            throw e;
+        }
+        // createTasksFromTranscript reports extraction failures instead of throwing them.
+        if (report.getTotalFailed() > 0 || (report.getErrors() != null && !report.getErrors().isEmpty())) {
+            releaseClaim(transcriptId);
+            throw new TranscriptProcessingException(transcriptId, report.getErrors() != null && !report.getErrors().isEmpty()
+                    ? report.getErrors() : List.of(report.getTotalFailed() + " action item(s) failed"));
+        }
+        log.info("Processed Fireflies transcript {} ({}): {} action items, {} succeeded, {} failed",
+                transcriptId, source, report.getTotalRequested(), report.getTotalSucceeded(), report.getTotalFailed());
+        try {
+            syncStateRepository.markProcessed(transcriptId, meetingDateMs, source);
+        } catch (RuntimeException e) {
+            // Keep the claim: it blocks reprocessing until it times out instead of right away.
+            log.warn("Could not record Fireflies transcript {} as processed: {}", transcriptId, e.getMessage());
+            return report;
+        }
+        releaseClaim(transcriptId);
+        return report;
+    }
+
+    private void releaseClaim(String transcriptId) {
+        try {
+            syncStateRepository.releaseClaim(transcriptId);
+        } catch (RuntimeException e) {
+            log.warn("Could not release the claim of Fireflies transcript {}: {}", transcriptId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.FirefliesIngestionStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-process queue between the Fireflies webhook endpoint and the extraction pipeline.
+ * <p>
+ * {@link #enqueue(String)} never blocks: it either accepts the meeting id, reports it as a
+ * duplicate of a delivery that is still queued or running, or reports the queue as full so the
+ * caller can answer 429. A fixed set of worker threads drains the queue through
+ * {@link FirefliesTranscriptProcessor}, which claims each transcript in the sync-state table,
+ * so redeliveries after processing finished and transcripts the poller already handled are
+ * also counted as duplicates instead of being processed again.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 10:40 AM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class FirefliesWebhookQueueService implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(FirefliesWebhookQueueService.class);
+
+    /**
+     * Outcome of an enqueue attempt.
+     */
+    public enum EnqueueResult { ACCEPTED, DUPLICATE, QUEUE_FULL }
+
+    @Autowired
+    private FirefliesTranscriptProcessor firefliesTranscriptProcessor;
+
+    @Value("${aisystems.fireflies.webhook.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${aisystems.fireflies.webhook.workers:4}")
+    private int workers;
+
+    private BlockingQueue<String> queue;
+    private ExecutorService workerPool;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LatencyHistogram processingTime = new LatencyHistogram();
+
+    @Override
+    public void afterPropertiesSet() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        AtomicInteger threadIndex = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "fireflies-webhook-worker-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < Math.max(1, workers); i++) {
+            workerPool.execute(this::drain);
+        }
+    }
+
+    /**
+     * Offers a meeting id to the queue without blocking.
+     * @param meetingId Fireflies meeting id
+     * @return the enqueue outcome
+     */
+    public EnqueueResult enqueue(String meetingId) {
+        if (!pending.add(meetingId)) {
+            duplicates.increment();
+            return EnqueueResult.DUPLICATE;
+        }
+        if (!queue.offer(meetingId)) {
+            pending.remove(meetingId);
+            rejected.increment();
+            return EnqueueResult.QUEUE_FULL;
+        }
+        accepted.increment();
+        return EnqueueResult.ACCEPTED;
+    }
+
+    /**
+     * Estimates how long a rejected sender should wait before retrying: the time the workers
+     * need to drain the current backlog at the observed mean processing time.
+     * @return seconds, between 1 and 300
+     */
+    public long retryAfterSeconds() {
+        double meanMs = processingTime.snapshot().getMeanMs();
+        if (meanMs <= 0) {
+            meanMs = 5_000;
+        }
+        double seconds = queue.size() * meanMs / Math.max(1, workers) / 1_000.0;
+        return Math.max(1L, Math.min(300L, (long) Math.ceil(seconds)));
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return queue counters and processing time histogram
+     */
+    public FirefliesIngestionStatus getStatus() {
+        return new FirefliesIngestionStatus(queue.size(), queueCapacity, workers, accepted.sum(), rejected.sum(),
+                duplicates.sum(), processed.sum(), failed.sum(), processingTime.snapshot());
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            String meetingId;
+            try {
+                meetingId = queue.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                if (firefliesTranscriptProcessor.process(meetingId) != null) {
+                    processed.increment();
+                } else {
+                    duplicates.increment();
+                }
+            } catch (FirefliesTranscriptProcessor.TranscriptInProgressException ex) {
+                duplicates.increment();
+                log.info("Fireflies meeting {} is already being processed; dropping the redelivery", meetingId);
+            } catch (Exception ex) {
+                failed.increment();
+                log.warn("Failed to process Fireflies meeting {}: {}", meetingId, ex.getMessage());
+            } finally {
+                processingTime.record(System.nanoTime() - start);
+                pending.remove(meetingId);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (workerPool != null) {
+            workerPool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Hierarchical navigable small world graph for approximate k-nearest-neighbour search by
+ * cosine similarity.
+ * <p>
+ * Vectors are L2-normalized on insert and stored back to back in one {@code float[]}
+ * ({@code dimensions} floats per node, no per-vector objects), so similarity is a dot product
+ * over a contiguous slice. Layer-0 links live in one flat {@code int[]} with
+ * {@code 2 * m} links (plus slack) per node; the few nodes on upper layers keep their own
+ * small arrays. Inserts are incremental and neighbours are chosen with the diversity
+ * heuristic of the HNSW paper. Level assignment uses a seeded generator, so the same inserts
+ * build the same graph.
+ * </p>
+ * <p>
+ * Not thread-safe; callers guard inserts and searches with a read/write lock.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 3:20 PM GMT -5 Bogotá DC Colombia
+ */
+public final class HnswIndex {
+
+    private static final Comparator<Neighbor> BEST_FIRST = (a, b) -> Float.compare(b.score, a.score);
+    private static final Comparator<Neighbor> WORST_FIRST = (a, b) -> Float.compare(a.score, b.score);
+
+    private final int dimensions;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+
+    private int capacity;
+    private int size;
+    private float[] vectors;
+    private int[] layer0;
+    private int[][] upper;
+    private byte[] levels;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    /**
+     * Search result: node id and cosine similarity to the query.
+     */
+    public static final class Neighbor {
+        private final int id;
+        private final float score;
+
+        Neighbor(int id, float score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public int getId() { return id; }
+        public float getScore() { return score; }
+    }
+
+    /**
+     * @param dimensions     vector size
+     * @param m              links per node on upper layers (twice as many on layer 0)
+     * @param efConstruction candidate list size while inserting
+     * @param seed           level generator seed
+     */
+    public HnswIndex(int dimensions, int m, int efConstruction, long seed) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("dimensions must be positive");
+        }
+        this.dimensions = dimensions;
+        this.m = Math.max(2, m);
+        this.maxM0 = this.m * 2;
+        this.efConstruction = Math.max(this.m, efConstruction);
+        this.levelMultiplier = 1.0 / Math.log(this.m);
+        this.random = new SplittableRandom(seed);
+        allocate(256);
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Inserts a vector.
+     * @param vector vector of {@link #dimensions()} floats; it is copied and normalized
+     * @return node id (insertion order, starting at 0)
+     */
+    public int add(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + vector.length);
+        }
+        if (size == capacity) {
+            grow(capacity * 2);
+        }
+        int id = size++;
+        copyNormalized(vector, vectors, id * dimensions);
+        int level = randomLevel();
+        levels[id] = (byte) level;
+        if (level > 0) {
+            upper[id] = new int[level * (slots(1) + 1)];
+        }
+        if (entryPoint < 0) {
+            entryPoint = id;
+            maxLevel = level;
+            return id;
+        }
+
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > level; layer--) {
+            current = greedyClosest(vectors, id * dimensions, current, layer);
+        }
+        for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+            List<Neighbor> found = searchLayer(vectors, id * dimensions, current, efConstruction, layer);
+            List<Neighbor> selected = selectNeighbors(found, layer == 0 ? maxM0 : m);
+            for (Neighbor neighbor : selected) {
+                appendLink(id, neighbor.id, layer);
+                connect(neighbor.id, id, layer);
+            }
+            current = found.get(0).id;
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = id;
+        }
+        return id;
+    }
+
+    /**
+     * Finds approximate nearest neighbours.
+     * @param query query vector (normalized internally)
+     * @param k     results wanted
+     * @param ef    candidate list size; higher is slower and more accurate
+     * @return up to {@code k} neighbours, most similar first
+     */
+    public List<Neighbor> search(float[] query, int k, int ef) {
+        if (query.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + query.length);
+        }
+        if (entryPoint < 0 || k <= 0) {
+            return List.of();
+        }
+        float[] normalized = new float[dimensions];
+        copyNormalized(query, normalized, 0);
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > 0; layer--) {
+            current = greedyClosest(normalized, 0, current, layer);
+        }
+        List<Neighbor> found = searchLayer(normalized, 0, current, Math.max(ef, k), 0);
+        return found.size() > k ? new ArrayList<>(found.subList(0, k)) : found;
+    }
+
+    /**
+     * @param id node id
+     * @return a copy of the stored (normalized) vector
+     */
+    public float[] vector(int id) {
+        return Arrays.copyOfRange(vectors, id * dimensions, (id + 1) * dimensions);
+    }
+
+    private int greedyClosest(float[] query, int queryOffset, int start, int layer) {
+        int current = start;
+        float best = dot(query, queryOffset, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] links = links(current, layer);
+            int base = linkBase(current, layer);
+            for (int i = 1; i <= links[base]; i++) {
+                int candidate = links[base + i];
+                float score = dot(query, queryOffset, candidate);
+                if (score > best) {
+                    best = score;
+                    current = candidate;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Best-first search of one layer.
+     * @return up to {@code ef} nodes, most similar first
+     */
+    private List<Neighbor> searchLayer(float[] query, int queryOffset, int entry, int ef, int layer) {
+        IntSet visited = new IntSet(ef * 4);
+        PriorityQueue<Neighbor> candidates = new PriorityQueue<>(BEST_FIRST);
+        PriorityQueue<Neighbor> results = new PriorityQueue<>(WORST_FIRST);
+        Neighbor first = new Neighbor(entry, dot(query, queryOffset, entry));
+        visited.add(entry);
+        candidates.add(first);
+        results.add(first);
+        while (!candidates.isEmpty()) {
+            Neighbor closest = candidates.poll();
+            if (results.size() >= ef && closest.score < results.peek().score) {
+                break;
+            }
+            int[] links = links(closest.id, layer);
+            int base = linkBase(closest.id, layer);
+            for (int i = 1; i <= links[base]; i++) {
+                int candidate = links[base + i];
+                if (!visited.add(candidate)) {
+                    continue;
+                }
+                float score = dot(query, queryOffset, candidate);
+                if (results.size() < ef || score > results.peek().score) {
+                    Neighbor neighbor = new Neighbor(candidate, score);
+                    candidates.add(neighbor);
+                    results.add(neighbor);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        List<Neighbor> ordered = new ArrayList<>(results);
+        ordered.sort(BEST_FIRST);
+        return ordered;
+    }
+
+    /**
+     * Keeps a candidate only when it is closer to the base than to every neighbour already kept,
+     * which spreads links across clusters; pruned candidates fill any remaining slots.
+     * @param candidates candidates sorted most similar first
+     */
+    private List<Neighbor> selectNeighbors(List<Neighbor> candidates, int max) {
+        List<Neighbor> selected = new ArrayList<>(max);
+        List<Neighbor> pruned = new ArrayList<>();
+        for (Neighbor candidate : candidates) {
+            if (selected.size() >= max) {
+                break;
+            }
+            boolean diverse = true;
+            for (Neighbor kept : selected) {
+                if (dot(vectors, candidate.id * dimensions, kept.id) > candidate.score) {
+                    diverse = false;
+                    break;
+                }
+            }
+            (diverse ? selected : pruned).add(candidate);
+        }
+        for (int i = 0; i < pruned.size() && selected.size() < max; i++) {
+            selected.add(pruned.get(i));
+        }
+        return selected;
+    }
+
+    /**
+     * Adds a back link from {@code node} to {@code added}. Lists may grow into their slack; a
+     * full list is pruned back to its limit with {@link #selectNeighbors}, so the quadratic
+     * heuristic runs once per {@code limit / 2} back links instead of on every insert.
+     */
+    private void connect(int node, int added, int layer) {
+        int[] links = links(node, layer);
+        int base = linkBase(node, layer);
+        int count = links[base];
+        int limit = layer == 0 ? maxM0 : m;
+        if (count < slots(layer)) {
+            links[base + 1 + count] = added;
+            links[base] = count + 1;
+            return;
+        }
+        List<Neighbor> candidates = new ArrayList<>(count + 1);
+        for (int i = 1; i <= count; i++) {
+            int neighbor = links[base + i];
+            candidates.add(new Neighbor(neighbor, dot(vectors, node * dimensions, neighbor)));
+        }
+        candidates.add(new Neighbor(added, dot(vectors, node * dimensions, added)));
+        candidates.sort(BEST_FIRST);
+        List<Neighbor> selected = selectNeighbors(candidates, limit);
+        links[base] = selected.size();
+        for (int i = 0; i < selected.size(); i++) {
+            links[base + 1 + i] = selected.get(i).id;
+        }
+    }
+
+    /**
+     * @return link slots per node on a layer: the limit plus 50% slack
+     */
+    private int slots(int layer) {
+        int limit = layer == 0 ? maxM0 : m;
+        return limit + limit / 2;
+    }
+
+    private void appendLink(int node, int neighbor, int layer) {
+        int[] links = links(node, layer);
+        int base = linkBase(node, layer);
+        links[base + 1 + links[base]++] = neighbor;
+    }
+
+    private int[] links(int node, int layer) {
+        return layer == 0 ? layer0 : upper[node];
+    }
+
+    private int linkBase(int node, int layer) {
+        return layer == 0 ? node * (slots(0) + 1) : (layer - 1) * (slots(1) + 1);
+    }
+
+    /**
+     * Four independent accumulators let the JIT pipeline the multiply-adds.
+     */
+    private float dot(float[] query, int queryOffset, int node) {
+        int offset = node * dimensions;
+        float s0 = 0f;
+        float s1 = 0f;
+        float s2 = 0f;
+        float s3 = 0f;
+        int i = 0;
+        for (int end = dimensions - 3; i < end; i += 4) {
+            s0 += query[queryOffset + i] * vectors[offset + i];
+            s1 += query[queryOffset + i + 1] * vectors[offset + i + 1];
+            s2 += query[queryOffset + i + 2] * vectors[offset + i + 2];
+            s3 += query[queryOffset + i + 3] * vectors[offset + i + 3];
+        }
+        for (; i < dimensions; i++) {
+            s0 += query[queryOffset + i] * vectors[offset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private void copyNormalized(float[] source, float[] target, int offset) {
+        double norm = 0;
+        for (float value : source) {
+            norm += value * value;
+        }
+        float scale = norm > 0 ? (float) (1.0 / Math.sqrt(norm)) : 0f;
+        for (int i = 0; i < dimensions; i++) {
+            target[offset + i] = source[i] * scale;
+        }
+    }
+
+    private int randomLevel() {
+        double uniform = 1.0 - random.nextDouble();
+        return Math.min(Byte.MAX_VALUE, (int) (-Math.log(uniform) * levelMultiplier));
+    }
+
+    private void allocate(int newCapacity) {
+        capacity = newCapacity;
+        vectors = new float[capacity * dimensions];
+        layer0 = new int[capacity * (slots(0) + 1)];
+        upper = new int[capacity][];
+        levels = new byte[capacity];
+    }
+
+    private void grow(int newCapacity) {
+        capacity = newCapacity;
+        vectors = Arrays.copyOf(vectors, capacity * dimensions);
+        layer0 = Arrays.copyOf(layer0, capacity * (slots(0) + 1));
+        upper = Arrays.copyOf(upper, capacity);
+        levels = Arrays.copyOf(levels, capacity);
+    }
+
+    /**
+     * Open-addressing set of node ids for one search.
+     */
+    private static final class IntSet {
+        private int[] slots;
+        private int count;
+
+        IntSet(int expected) {
+            slots = new int[Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1];
+        }
+
+        /**
+         * @return false when the id was already present
+         */
+        boolean add(int id) {
+            if ((count + 1) * 2 > slots.length) {
+                int[] old = slots;
+                slots = new int[old.length * 2];
+                count = 0;
+                for (int stored : old) {
+                    if (stored != 0) {
+                        add(stored - 1);
+                    }
+                }
+            }
+            int mask = slots.length - 1;
+            int key = id + 1;
+            for (int slot = (key * 0x9E3779B9) & mask; ; slot = (slot + 1) & mask) {
+                if (slots[slot] == 0) {
+                    slots[slot] = key;
+                    count++;
+                    return true;
+                }
+                if (slots[slot] == key) {
+                    return false;
+                }
+            }
+        }
+    }
+}
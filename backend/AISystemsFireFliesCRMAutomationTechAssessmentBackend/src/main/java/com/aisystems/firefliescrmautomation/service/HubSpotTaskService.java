@@ -2,6 +2,7 @@ package com.aisystems.firefliescrmautomation.service;
 
 import com.aisystems.firefliescrmautomation.dto.HubSpotDealDeletionReport;
 import com.aisystems.firefliescrmautomation.dto.HubSpotDealDeletionStatus;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -32,7 +33,11 @@ public class HubSpotTaskService {
     @Value("${HUBSPOT_API_KEY}")
     private String hubspotApiKey;
 
+    @Autowired
+    private DeadlineResolver deadlineResolver;
+
     private static final String HUBSPOT_DEALS_URL = "https://api.hubapi.com/crm/v3/objects/deals";
+    public static final int HUBSPOT_BATCH_LIMIT = 100;
 
     /**
      * Creates a deal in HubSpot with the given details.
@@ -44,7 +49,8 @@ public class HubSpotTaskService {
      * 
      * 
      * @param description Deal name/description.
-     * @param dueDate     Target close date (ISO 8601 or epoch ms).
+     * @param dueDate     Target close date: ISO 8601, epoch ms or a relative deadline such as "Friday",
+     *                    resolved against today.
      * @param priority    Priority (stored as custom field ai_systems_priority).
      * @param assignee    HubSpot owner id (numeric). If non-numeric, it is ignored.
      * @return The HubSpot API response as a string.
@@ -53,21 +59,22 @@ public class HubSpotTaskService {
      * @since 9 December 2025
      */
     public String createTask(String description, String dueDate, String priority, String assignee) {
+        return createTask(description, dueDate, priority, assignee, tryParseCloseDate(dueDate));
+    }
+
+    /**
+     * Same as {@link #createTask(String, String, String, String)} with the close date already resolved.
+     * @param closeDateMillis HubSpot {@code closedate} in epoch ms, or null to leave it unset
+     * @return The HubSpot API response as a string.
+     */
+    public String createTask(String description, String dueDate, String priority, String assignee, Long closeDateMillis) {
         RestTemplate restTemplate = new RestTemplate();
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setBearerAuth(hubspotApiKey);
 
-        Map<String, Object> properties = new HashMap<>();
-        properties.put("ai_systems_description", description);
-        properties.put("ai_systems_deadline", dueDate);
-        properties.put("ai_systems_assignee", assignee);
-        properties.put("ai_systems_priority", priority != null ? priority.toUpperCase() : "NONE");
-
-
-
         Map<String, Object> body = new HashMap<>();
-        body.put("properties", properties);
+        body.put("properties", dealProperties(description, dueDate, priority, assignee, closeDateMillis));
 
         HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
         ResponseEntity<String> response = restTemplate.postForEntity(HUBSPOT_DEALS_URL, request, String.class);
@@ -76,7 +83,8 @@ public class HubSpotTaskService {
 
     /**
      * Creates multiple deals in HubSpot from a list of action items.
-     * Each action item should have keys: description, priority, deadline, assignee.
+     * Each action item should have keys: description, priority, deadline, assignee. The close
+     * date comes from {@code deadlineMillis} when extraction resolved it against the meeting date.
      * @param actionItems List of action item maps
      * @return List of HubSpot API responses
      * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
@@ -89,12 +97,99 @@ public class HubSpotTaskService {
             String priority = item.getOrDefault("priority", "NONE").toString();
             String deadline = item.getOrDefault("deadline", null) != null ? item.get("deadline").toString() : null;
             String assignee = item.getOrDefault("assignee", null) != null ? item.get("assignee").toString() : null;
-            String response = createTask(description, deadline, priority, assignee);
+            Object resolved = item.get("deadlineMillis");
+            Long closeDate = resolved instanceof Number ? ((Number) resolved).longValue() : tryParseCloseDate(deadline);
+            String response = createTask(description, deadline, priority, assignee, closeDate);
             responses.add(response);
         }
         return responses;
     }
 
+    /**
+     * Creates one deal per action item in a single request to the batch create endpoint.
+     * HubSpot does not promise to return the results in input order, so every input carries its
+     * position in {@code actionItems} as {@code objectWriteTraceId}, which the results echo.
+     * @param actionItems at most {@link #HUBSPOT_BATCH_LIMIT} action item maps
+     * @return the HubSpot API response
+     */
+    public String createTaskBatch(List<Map<String, Object>> actionItems) {
+        if (actionItems.size() > HUBSPOT_BATCH_LIMIT) {
+            throw new IllegalArgumentException("A HubSpot batch holds at most " + HUBSPOT_BATCH_LIMIT + " deals");
+        }
+        List<Map<String, Object>> inputs = new ArrayList<>();
+        for (int i = 0; i < actionItems.size(); i++) {
+            inputs.add(Map.of("properties", dealProperties(actionItems.get(i)), "objectWriteTraceId", String.valueOf(i)));
+        }
+        return postBatches(HUBSPOT_DEALS_URL + "/batch/create", inputs).get(0);
+    }
+
+    /**
+     * Updates existing deals with the current wording, priority, deadline and assignee of their
+     * action items through the batch update endpoint, 100 deals per request.
+     * @param itemsByDealId action item maps keyed by HubSpot deal id
+     * @return the HubSpot API response of each batch
+     */
+    public List<String> updateTasksFromActionItems(Map<String, Map<String, Object>> itemsByDealId) {
+        List<Map<String, Object>> inputs = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Object>> entry : itemsByDealId.entrySet()) {
+            Map<String, Object> item = entry.getValue();
+            Map<String, Object> input = new HashMap<>();
+            input.put("id", entry.getKey());
+            input.put("properties", dealProperties(item));
+            inputs.add(input);
+        }
+        return postBatches(HUBSPOT_DEALS_URL + "/batch/update", inputs);
+    }
+
+    /**
+     * Archives deals (HubSpot moves them to the recycle bin) through the batch archive
+     * endpoint, 100 deals per request.
+     * @param dealIds HubSpot deal ids
+     * @return the HubSpot API response of each batch (empty on success)
+     */
+    public List<String> archiveTasks(List<String> dealIds) {
+        List<Map<String, Object>> inputs = new ArrayList<>();
+        for (String dealId : dealIds) {
+            inputs.add(Map.of("id", dealId));
+        }
+        return postBatches(HUBSPOT_DEALS_URL + "/batch/archive", inputs);
+    }
+
+    private List<String> postBatches(String url, List<Map<String, Object>> inputs) {
+        RestTemplate restTemplate = new RestTemplate();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(hubspotApiKey);
+        List<String> responses = new ArrayList<>();
+        for (int from = 0; from < inputs.size(); from += HUBSPOT_BATCH_LIMIT) {
+            Map<String, Object> body = Map.of("inputs", inputs.subList(from, Math.min(inputs.size(), from + HUBSPOT_BATCH_LIMIT)));
+            ResponseEntity<String> response = restTemplate.postForEntity(url, new HttpEntity<>(body, headers), String.class);
+            responses.add(response.getBody() != null ? response.getBody() : "");
+        }
+        return responses;
+    }
+
+    private Map<String, Object> dealProperties(Map<String, Object> item) {
+        String deadline = item.get("deadline") != null ? item.get("deadline").toString() : null;
+        Object resolved = item.get("deadlineMillis");
+        Long closeDate = resolved instanceof Number ? ((Number) resolved).longValue() : tryParseCloseDate(deadline);
+        return dealProperties(item.getOrDefault("description", "").toString(), deadline,
+                item.getOrDefault("priority", "NONE").toString(),
+                item.get("assignee") != null ? item.get("assignee").toString() : null, closeDate);
+    }
+
+    private Map<String, Object> dealProperties(String description, String dueDate, String priority, String assignee, Long closeDateMillis) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("ai_systems_description", description);
+        properties.put("ai_systems_deadline", dueDate);
+        properties.put("ai_systems_assignee", assignee);
+        properties.put("ai_systems_priority", priority != null ? priority.toUpperCase() : "NONE");
+        if (closeDateMillis != null) {
+            properties.put("closedate", closeDateMillis);
+        }
+        return properties;
+    }
+
     /**
      * Fetches every deal in HubSpot, logs the identifiers, and deletes them.
      * <p>
@@ -199,26 +294,12 @@ public class HubSpotTaskService {
      * @return
      */
 
-    // Convert human-friendly or ISO strings to epoch millis if possible; otherwise return null.
+    // Convert ISO strings, epoch millis or relative deadlines to epoch millis if possible; otherwise return null.
     private Long tryParseCloseDate(String raw) {
-        if (raw == null || raw.isBlank()) {
-            return null;
-        }
-        try {
-            // Try numeric epoch ms
-            return Long.parseLong(raw.trim());
-        } catch (NumberFormatException ignore) {
-            // Try ISO-8601 date/time
-            try {
-                return java.time.Instant.parse(raw.trim()).toEpochMilli();
-            } catch (Exception ignore2) {
-                // Try LocalDate with midnight UTC
-                try {
-                    return java.time.LocalDate.parse(raw.trim()).atStartOfDay(java.time.ZoneOffset.UTC).toInstant().toEpochMilli();
-                } catch (Exception ignore3) {
-                    return null;
-                }
-            }
+        long millis = deadlineResolver.parseAbsolute(raw);
+        if (millis == DeadlineResolver.UNRESOLVED) {
+            millis = deadlineResolver.resolve(raw, null);
         }
+        return millis == DeadlineResolver.UNRESOLVED ? null : millis;
     }
 }
@@ -0,0 +1,132 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tolerant, incremental reader for a JSON array of objects produced by a language model.
+ * <p>
+ * Text can be fed in pieces (continuations, streamed deltas). Anything before the first
+ * {@code [} (prose, Markdown fences) is skipped, and every top-level object is captured as soon
+ * as its closing brace arrives, so a response truncated in the middle of the array still yields
+ * all of its complete objects. Not thread-safe.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 1:15 PM GMT -5 Bogotá DC Colombia
+ */
+public final class IncrementalJsonArrayParser {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<String> completedObjects = new ArrayList<>();
+    private final StringBuilder currentObject = new StringBuilder();
+    private boolean arrayStarted;
+    private boolean arrayClosed;
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+
+    /**
+     * Consumes the next piece of model output.
+     * @param text next characters
+     * @return this parser
+     */
+    public IncrementalJsonArrayParser feed(CharSequence text) {
+        for (int i = 0; i < text.length() && !arrayClosed; i++) {
+            char c = text.charAt(i);
+            if (!arrayStarted) {
+                if (c == '[') {
+                    arrayStarted = true;
+                }
+                continue;
+            }
+            if (depth > 0) {
+                currentObject.append(c);
+            }
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> inString = depth > 0;
+                case '{', '[' -> {
+                    if (depth == 0 && c == '{') {
+                        currentObject.setLength(0);
+                        currentObject.append(c);
+                    }
+                    if (depth > 0 || c == '{') {
+                        depth++;
+                    }
+                }
+                case '}', ']' -> {
+                    if (depth == 0) {
+                        arrayClosed = c == ']';
+                    } else if (--depth == 0) {
+                        completedObjects.add(currentObject.toString());
+                        currentObject.setLength(0);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return raw JSON text of each complete top-level object, in order
+     */
+    public List<String> getCompletedObjects() {
+        return completedObjects;
+    }
+
+    /**
+     * @return true once the closing bracket of the array has been read
+     */
+    public boolean isComplete() {
+        return arrayClosed;
+    }
+
+    /**
+     * @return true when an array was found but some text after the last complete object was cut off
+     */
+    public boolean isTruncated() {
+        return arrayStarted && !arrayClosed;
+    }
+
+    /**
+     * Deserialises the complete objects; objects that are not valid JSON are skipped.
+     * @return parsed objects
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> parseObjects() {
+        List<Map<String, Object>> objects = new ArrayList<>(completedObjects.size());
+        for (String json : completedObjects) {
+            try {
+                objects.add(MAPPER.readValue(json, Map.class));
+            } catch (Exception ignored) {
+                // skip the malformed element, keep the rest
+            }
+        }
+        return objects;
+    }
+
+    /**
+     * One-shot helper for a complete (or truncated) response.
+     * @param text model output
+     * @return parser holding the result
+     */
+    public static IncrementalJsonArrayParser parse(String text) {
+        return new IncrementalJsonArrayParser().feed(text == null ? "" : text);
+    }
+}
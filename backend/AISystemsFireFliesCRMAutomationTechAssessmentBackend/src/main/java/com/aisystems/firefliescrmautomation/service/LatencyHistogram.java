@@ -0,0 +1,119 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.LatencyHistogramSnapshot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free fixed-bucket latency histogram.
+ * <p>
+ * Values are recorded in nanoseconds and counted into exponential buckets (100 µs up to 30 s), so
+ * recording is a couple of {@link LongAdder} increments and memory stays constant no matter how
+ * many samples are taken. Percentiles are estimated from the bucket upper bounds.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 8:05 AM GMT -5 Bogotá DC Colombia
+ */
+public final class LatencyHistogram {
+
+    /** Bucket upper bounds in microseconds; the last bucket is open ended. */
+    private static final long[] BOUNDS_MICROS = {
+            100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+            100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000, 30_000_000
+    };
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MICROS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a single observation.
+     * @param nanos elapsed time in nanoseconds (negative values are clamped to zero)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        long micros = value / 1_000L;
+        int idx = 0;
+        while (idx < BOUNDS_MICROS.length && micros > BOUNDS_MICROS[idx]) {
+            idx++;
+        }
+        buckets[idx].increment();
+        count.increment();
+        sumNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * Records a single observation expressed in milliseconds.
+     * @param millis elapsed time in milliseconds
+     */
+    public void recordMillis(long millis) {
+        record(millis * 1_000_000L);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Takes a point-in-time copy of the histogram suitable for JSON export.
+     * @return snapshot with count, mean, max, p50/p95/p99 (bucket upper bounds) and bucket counts
+     */
+    public LatencyHistogramSnapshot snapshot() {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        double max = maxNanos.get() / 1_000_000.0;
+        double mean = total == 0 ? 0.0 : (sumNanos.sum() / (double) total) / 1_000_000.0;
+
+        Map<String, Long> bucketView = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            String label = i < BOUNDS_MICROS.length
+                    ? "<=" + formatMillis(BOUNDS_MICROS[i]) + "ms"
+                    : ">" + formatMillis(BOUNDS_MICROS[BOUNDS_MICROS.length - 1]) + "ms";
+            bucketView.put(label, counts[i]);
+        }
+        return new LatencyHistogramSnapshot(total, mean, max,
+                percentile(counts, total, 0.50, max),
+                percentile(counts, total, 0.95, max),
+                percentile(counts, total, 0.99, max),
+                bucketView);
+    }
+
+    private static double percentile(long[] counts, long total, double quantile, double max) {
+        if (total == 0) {
+            return 0.0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                double upper = i < BOUNDS_MICROS.length ? BOUNDS_MICROS[i] / 1_000.0 : max;
+                return Math.min(upper, max);
+            }
+        }
+        return max;
+    }
+
+    private static String formatMillis(long micros) {
+        return micros % 1_000 == 0 ? Long.toString(micros / 1_000) : Double.toString(micros / 1_000.0);
+    }
+}
@@ -0,0 +1,483 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.HubSpotTaskCreationReport;
+import com.aisystems.firefliescrmautomation.dto.LiveMeetingSessionSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts action items while a meeting is still running.
+ * <p>
+ * A session receives transcript segments as they are produced. Appends are debounced: the
+ * extraction runs {@code debounce-ms} after the last segment, or at the latest
+ * {@code max-wait-ms} after the first unprocessed one, so a steady stream of short segments
+ * does not become one LLM call per segment. Each extraction only sends the header lines, the
+ * last {@code context-lines} already processed lines (so a request split across two segments is
+ * still seen whole) and the new lines. Its items are merged into the running set of the session;
+ * what the overlap extracts again is merged away as a duplicate. At most one extraction runs per
+ * session at a time.
+ * </p>
+ * <p>
+ * Subscribers receive the running set over server-sent events after every extraction. Closing
+ * the session extracts what is left, resolves deadlines and links earlier meetings over the
+ * whole transcript and writes to HubSpot once. Sessions without appends for
+ * {@code idle-timeout-ms} are closed the same way. Sessions live in memory only.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 3:55 PM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class LiveMeetingSessionService implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveMeetingSessionService.class);
+    private static final Pattern HEADER_LINE = Pattern.compile("^(Meeting Date|Participants|Speakers)\\s*:.*$", Pattern.CASE_INSENSITIVE);
+    static final String UPDATE_EVENT = "action-items";
+    static final String CLOSED_EVENT = "closed";
+
+    @Autowired
+    private TranscriptCompressor transcriptCompressor;
+
+    @Autowired
+    private OpenAIService openAIService;
+
+    @Autowired
+    private DeadlineResolver deadlineResolver;
+
+    @Autowired
+    private ActionItemDeduplicator deduplicator;
+
+    @Value("${aisystems.live-sessions.debounce-ms:1500}")
+    private long debounceMs;
+
+    @Value("${aisystems.live-sessions.max-wait-ms:10000}")
+    private long maxWaitMs;
+
+    @Value("${aisystems.live-sessions.context-lines:4}")
+    private int contextLines;
+
+    @Value("${aisystems.live-sessions.idle-timeout-ms:900000}")
+    private long idleTimeoutMs;
+
+    @Value("${aisystems.live-sessions.apply-on-idle-close:true}")
+    private boolean applyOnIdleClose;
+
+    @Value("${aisystems.live-sessions.max-sessions:200}")
+    private int maxSessions;
+
+    @Value("${aisystems.live-sessions.max-lines:20000}")
+    private int maxLines;
+
+    @Value("${aisystems.live-sessions.workers:2}")
+    private int workers;
+
+    @Value("${aisystems.live-sessions.sse-timeout-ms:3600000}")
+    private long sseTimeoutMs;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void afterPropertiesSet() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "live-meeting-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long sweepMs = Math.max(1000, idleTimeoutMs / 4);
+        scheduler.scheduleWithFixedDelay(this::closeIdleSessions, sweepMs, sweepMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        for (Session session : sessions.values()) {
+            session.emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    /**
+     * Opens a session.
+     * @param transcript optional first segment, usually the meeting date and participants
+     * @return the snapshot of the new session, or null when {@code max-sessions} are open
+     */
+    public LiveMeetingSessionSnapshot openSession(String transcript) {
+        if (sessions.size() >= maxSessions) {
+            return null;
+        }
+        Session session = new Session(UUID.randomUUID().toString());
+        sessions.put(session.id, session);
+        if (transcript != null && !transcript.isBlank()) {
+            return appendSegment(session.id, transcript);
+        }
+        synchronized (session) {
+            return snapshot(session);
+        }
+    }
+
+    /**
+     * Appends a transcript segment and (re)schedules the debounced extraction.
+     * @param sessionId session id
+     * @param segment   new transcript lines
+     * @return the session snapshot, or null when the session is unknown or closing
+     * @throws SessionTooLongException when the session would exceed {@code max-lines}
+     */
+    public LiveMeetingSessionSnapshot appendSegment(String sessionId, String segment) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            return null;
+        }
+        List<String> headerLines = new ArrayList<>();
+        List<String> bodyLines = new ArrayList<>();
+        for (String line : (segment == null ? "" : segment).split("\\R")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            (HEADER_LINE.matcher(line.strip()).matches() ? headerLines : bodyLines).add(line.strip());
+        }
+        synchronized (session) {
+            if (session.closing) {
+                return null;
+            }
+            if (session.lines.size() + bodyLines.size() > maxLines) {
+                throw new SessionTooLongException(maxLines);
+            }
+            for (String line : headerLines) {
+                if (session.header.indexOf(line) < 0) {
+                    session.header.append(line).append('\n');
+                }
+            }
+            session.lines.addAll(bodyLines);
+            session.segments++;
+            session.lastActivity = System.currentTimeMillis();
+            if (!bodyLines.isEmpty()) {
+                scheduleExtraction(session);
+            }
+            return snapshot(session);
+        }
+    }
+
+    /**
+     * @param sessionId session id
+     * @return the current snapshot, or null when the session is unknown
+     */
+    public LiveMeetingSessionSnapshot getSnapshot(String sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            return null;
+        }
+        synchronized (session) {
+            return snapshot(session);
+        }
+    }
+
+    /**
+     * Subscribes to the session's updates: an {@value #UPDATE_EVENT} event with the snapshot
+     * right away and after every extraction, and a {@value #CLOSED_EVENT} event with the final
+     * snapshot when the session closes.
+     * @param sessionId session id
+     * @return the emitter, or null when the session is unknown
+     */
+    public SseEmitter subscribe(String sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        Runnable remove = () -> session.emitters.remove(emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        session.emitters.add(emitter);
+        LiveMeetingSessionSnapshot snapshot;
+        synchronized (session) {
+            snapshot = snapshot(session);
+        }
+        send(session, emitter, UPDATE_EVENT, snapshot);
+        if (snapshot.getState().equals(State.CLOSED.name())) {
+            // Subscribed while the session was closing; the closed event may already be gone.
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * Closes the session: extracts the remaining lines, resolves deadlines and links earlier
+     * meetings over the whole transcript and, when requested, creates the HubSpot tasks.
+     * @param sessionId      session id
+     * @param applyToHubSpot false to return the final items without writing them
+     * @return the final snapshot, or null when the session is unknown or already closing
+     */
+    public LiveMeetingSessionSnapshot close(String sessionId, boolean applyToHubSpot) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            return null;
+        }
+        synchronized (session) {
+            if (session.closing) {
+                return null;
+            }
+            session.closing = true;
+            if (session.pending != null) {
+                session.pending.cancel(false);
+                session.pending = null;
+            }
+            awaitExtraction(session);
+        }
+        extract(session);
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        String transcript;
+        synchronized (session) {
+            awaitExtraction(session);
+            for (Map<String, Object> item : session.actionItems) {
+                items.add(new HashMap<>(item));
+            }
+            transcript = session.transcript(0, session.lines.size());
+        }
+        HubSpotTaskCreationReport report = null;
+        String error = null;
+        try {
+            openAIService.recordExtraction(transcript, items);
+            if (applyToHubSpot && !items.isEmpty()) {
+                report = openAIService.createTasksFromActionItems(items);
+            }
+        } catch (RuntimeException e) {
+            error = "Failed to finish session: " + e.getMessage();
+            log.warn("Live meeting session {}: {}", session.id, error);
+        }
+        LiveMeetingSessionSnapshot snapshot;
+        synchronized (session) {
+            session.actionItems = items;
+            session.report = report;
+            if (error != null) {
+                session.lastError = error;
+            }
+            session.closed = true;
+            snapshot = snapshot(session);
+        }
+        sessions.remove(session.id, session);
+        for (SseEmitter emitter : session.emitters) {
+            send(session, emitter, CLOSED_EVENT, snapshot);
+            emitter.complete();
+        }
+        return snapshot;
+    }
+
+    public int getOpenSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Debounce: the pending extraction moves to {@code debounce-ms} from now, but never past
+     * {@code max-wait-ms} after the first line it has not processed. Called holding the session lock.
+     */
+    private void scheduleExtraction(Session session) {
+        long now = System.currentTimeMillis();
+        if (session.pending == null) {
+            session.pendingSince = now;
+        } else {
+            session.pending.cancel(false);
+        }
+        long delay = Math.max(0, Math.min(debounceMs, session.pendingSince + maxWaitMs - now));
+        session.pending = scheduler.schedule(() -> extract(session), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Extracts the lines appended since the last extraction (plus the context overlap) and merges
+     * the items into the running set. A failed window is retried with the next extraction.
+     */
+    private void extract(Session session) {
+        String window;
+        int to;
+        synchronized (session) {
+            session.pending = null;
+            if (session.extracting || session.lines.size() == session.extractedLines) {
+                // A running extraction reschedules itself for the lines appended meanwhile.
+                return;
+            }
+            to = session.lines.size();
+            window = session.transcript(Math.max(0, session.extractedLines - contextLines), to);
+            session.extracting = true;
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        String error = null;
+        try {
+            String compact = transcriptCompressor.compress(window).getCompressedTranscript();
+            // Someone is watching the session, so its calls stay in the interactive lane even
+            // though they run on the worker threads.
+            List<Map<String, Object>> extracted = LlmCallScheduler.inLane(LlmCallScheduler.Lane.INTERACTIVE, session.tenant,
+                    () -> openAIService.extractFromCompressedText(compact));
+            for (Map<String, Object> item : extracted) {
+                if (item.containsKey("error") || item.containsKey("raw_output")) {
+                    error = String.valueOf(item.getOrDefault("error", "Unparseable extraction output"));
+                } else {
+                    items.add(item);
+                }
+            }
+            deadlineResolver.annotate(items, window);
+        } catch (RuntimeException e) {
+            error = "Failed to extract action items: " + e.getMessage();
+        }
+
+        LiveMeetingSessionSnapshot snapshot;
+        synchronized (session) {
+            session.extracting = false;
+            session.notifyAll();
+            if (error == null) {
+                List<Map<String, Object>> merged = new ArrayList<>(session.actionItems);
+                Object[] mergedCounts = new Object[merged.size()];
+                for (int i = 0; i < mergedCounts.length; i++) {
+                    mergedCounts[i] = merged.get(i).get("mergedDuplicates");
+                }
+                merged.addAll(items);
+                merged = new ArrayList<>(deduplicator.mergeDuplicates(merged));
+                // Running items stay first and distinct; the context overlap extracted again is
+                // not a duplicate in the transcript, so their counters are restored.
+                for (int i = 0; i < mergedCounts.length; i++) {
+                    if (mergedCounts[i] == null) {
+                        merged.get(i).remove("mergedDuplicates");
+                    } else {
+                        merged.get(i).put("mergedDuplicates", mergedCounts[i]);
+                    }
+                }
+                session.actionItems = merged;
+                session.extractedLines = to;
+                session.extractions++;
+                session.revision++;
+                session.lastError = null;
+                if (!session.closing && session.lines.size() > to && session.pending == null) {
+                    scheduleExtraction(session);
+                }
+            } else {
+                session.lastError = error;
+                log.warn("Live meeting session {}: {}", session.id, error);
+            }
+            snapshot = snapshot(session);
+        }
+        for (SseEmitter emitter : session.emitters) {
+            send(session, emitter, UPDATE_EVENT, snapshot);
+        }
+    }
+
+    private void closeIdleSessions() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        for (Session session : sessions.values()) {
+            if (session.lastActivity >= cutoff) {
+                continue;
+            }
+            try {
+                if (close(session.id, applyOnIdleClose) != null) {
+                    log.info("Closed idle live meeting session {}", session.id);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to close idle live meeting session {}: {}", session.id, e.getMessage());
+            }
+        }
+    }
+
+    /** Called holding the session lock. */
+    private static void awaitExtraction(Session session) {
+        while (session.extracting) {
+            try {
+                session.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void send(Session session, SseEmitter emitter, String event, LiveMeetingSessionSnapshot snapshot) {
+        try {
+            emitter.send(SseEmitter.event().name(event).id(Integer.toString(snapshot.getRevision())).data(snapshot));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the servlet container completes the emitter.
+            session.emitters.remove(emitter);
+        }
+    }
+
+    /** Called holding the session lock; items are copied so serialization never sees a merge in progress. */
+    private static LiveMeetingSessionSnapshot snapshot(Session session) {
+        List<Map<String, Object>> items = new ArrayList<>(session.actionItems.size());
+        for (Map<String, Object> item : session.actionItems) {
+            items.add(new HashMap<>(item));
+        }
+        return new LiveMeetingSessionSnapshot(session.id, session.state().name(), session.revision, session.segments,
+                session.lines.size(), session.extractedLines, session.extractions, items, session.lastError, session.report);
+    }
+
+    enum State { OPEN, CLOSING, CLOSED }
+
+    /** Mutable state is guarded by the session's monitor. */
+    private static final class Session {
+        final String id;
+        /** Tenant of the request that opened the session; its extractions are accounted to it. */
+        final String tenant = LlmCallScheduler.currentTenant();
+        final StringBuilder header = new StringBuilder();
+        final List<String> lines = new ArrayList<>();
+        final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        List<Map<String, Object>> actionItems = new ArrayList<>();
+        HubSpotTaskCreationReport report;
+        String lastError;
+        int segments;
+        int extractedLines;
+        int extractions;
+        int revision;
+        boolean extracting;
+        boolean closing;
+        boolean closed;
+        ScheduledFuture<?> pending;
+        long pendingSince;
+        volatile long lastActivity = System.currentTimeMillis();
+
+        Session(String id) {
+            this.id = id;
+        }
+
+        State state() {
+            return closed ? State.CLOSED : closing ? State.CLOSING : State.OPEN;
+        }
+
+        /** Header lines followed by body lines {@code [from, to)}. */
+        String transcript(int from, int to) {
+            StringBuilder text = new StringBuilder(header);
+            for (String line : lines.subList(from, to)) {
+                text.append(line).append('\n');
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * Thrown when a segment would take a session past {@code aisystems.live-sessions.max-lines}.
+     */
+    public static class SessionTooLongException extends IllegalArgumentException {
+        public SessionTooLongException(int maxLines) {
+            super("Live meeting session exceeds the maximum of " + maxLines + " transcript lines");
+        }
+    }
+}
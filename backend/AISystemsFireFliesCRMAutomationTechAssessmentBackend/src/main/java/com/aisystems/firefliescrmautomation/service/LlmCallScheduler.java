@@ -0,0 +1,486 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.ChatCompletionRequest;
+import com.aisystems.firefliescrmautomation.dto.LlmLaneMetrics;
+import com.aisystems.firefliescrmautomation.dto.LlmSchedulerReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for upstream LLM calls: priority lanes with weighted fair queuing per tenant.
+ * <p>
+ * At most {@code max-concurrent} calls are in flight on the upstream provider. A call that finds
+ * no free slot waits in the queue of its lane. The lane and tenant come from the calling thread
+ * (see {@link #inLane(Lane, String, Supplier)}); untagged threads, i.e. HTTP requests, are
+ * {@link Lane#INTERACTIVE}. Free slots always go to the highest lane with work: interactive,
+ * then webhook, then bulk. Webhook and bulk calls are also capped at {@code webhook-max-share}
+ * and {@code bulk-max-share} of the slots each, and together at {@code max-concurrent} minus
+ * {@code interactive-reserved}, so webhook and bulk traffic never hold every slot an interactive
+ * call could need (with a single slot nothing can be reserved); in-flight calls are never
+ * interrupted, and the reserved slots keep interactive latency flat under batch load.
+ * </p>
+ * <p>
+ * Within a lane, tenants share the lane in proportion to their weight
+ * ({@code tenant-weights}, default 1): each call gets a virtual finish tag of
+ * {@code max(lane virtual time, tenant's last tag) + estimated tokens / weight} and the lowest
+ * tag runs first, so a tenant submitting thousands of calls does not starve one submitting a few.
+ * </p>
+ * <p>
+ * Every call has a deadline per lane; a call still queued at its deadline is dropped with
+ * {@link CallRejectedException}. When the queue is full, a non-bulk call preempts the queued
+ * bulk call with the latest tag: that call leaves the queue, waits {@code preempt-backoff-ms}
+ * and queues again until its own deadline. Local providers are not scheduled.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 5:30 PM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class LlmCallScheduler implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LlmCallScheduler.class);
+
+    /** Scheduling lanes, highest priority first. */
+    public enum Lane { INTERACTIVE, WEBHOOK, BULK }
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<Context> CONTEXT = new ThreadLocal<>();
+    private static final Context DEFAULT_CONTEXT = new Context(Lane.INTERACTIVE, DEFAULT_TENANT);
+    private static final Permit NO_PERMIT = () -> { };
+
+    @Value("${aisystems.llm-scheduler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${aisystems.llm-scheduler.max-concurrent:8}")
+    private int maxConcurrent;
+
+    @Value("${aisystems.llm-scheduler.max-queued:1000}")
+    private int maxQueued;
+
+    @Value("${aisystems.llm-scheduler.webhook-max-share:0.75}")
+    private double webhookMaxShare;
+
+    @Value("${aisystems.llm-scheduler.bulk-max-share:0.5}")
+    private double bulkMaxShare;
+
+    @Value("${aisystems.llm-scheduler.interactive-reserved:1}")
+    private int interactiveReserved;
+
+    @Value("${aisystems.llm-scheduler.deadline-ms.interactive:15000}")
+    private long interactiveDeadlineMs;
+
+    @Value("${aisystems.llm-scheduler.deadline-ms.webhook:120000}")
+    private long webhookDeadlineMs;
+
+    @Value("${aisystems.llm-scheduler.deadline-ms.bulk:600000}")
+    private long bulkDeadlineMs;
+
+    @Value("${aisystems.llm-scheduler.preempt-backoff-ms:2000}")
+    private long preemptBackoffMs;
+
+    @Value("${aisystems.llm-scheduler.tenant-weights:}")
+    private String tenantWeightsSpec;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Lane, LaneState> lanes = new EnumMap<>(Lane.class);
+    private final Map<String, Double> tenantWeights = new LinkedHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private int inFlight;
+    private int queued;
+    /** Slots webhook and bulk calls may hold together. */
+    private int nonInteractiveMaxInFlight;
+
+    /**
+     * Thrown when a call cannot get an upstream slot: its deadline passed while queued, the
+     * queue is full or the caller was interrupted.
+     */
+    public static class CallRejectedException extends RuntimeException {
+        public CallRejectedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * An upstream slot held by the current call; close it once the provider has answered.
+     */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        int slots = Math.max(1, maxConcurrent);
+        nonInteractiveMaxInFlight = Math.max(1, slots - Math.max(0, interactiveReserved));
+        lanes.put(Lane.INTERACTIVE, new LaneState(Lane.INTERACTIVE, slots, interactiveDeadlineMs));
+        lanes.put(Lane.WEBHOOK, new LaneState(Lane.WEBHOOK, share(slots, webhookMaxShare), webhookDeadlineMs));
+        lanes.put(Lane.BULK, new LaneState(Lane.BULK, share(slots, bulkMaxShare), bulkDeadlineMs));
+        if (tenantWeightsSpec != null) {
+            for (String entry : tenantWeightsSpec.split(",")) {
+                String[] pair = entry.split(":", 2);
+                if (pair.length == 2 && !pair[0].isBlank()) {
+                    tenantWeights.put(pair[0].strip(), Math.max(0.01, Double.parseDouble(pair[1].strip())));
+                }
+            }
+        }
+    }
+
+    private static int share(int slots, double share) {
+        return Math.max(1, Math.min(slots, (int) Math.floor(slots * share)));
+    }
+
+    /**
+     * Runs the given work with its LLM calls scheduled in the given lane and tenant.
+     * @param lane   lane of the work's calls
+     * @param tenant tenant the calls are accounted to; null for {@link #DEFAULT_TENANT}
+     * @param work   the work
+     * @param <T>    result type
+     * @return the work result
+     */
+    public static <T> T inLane(Lane lane, String tenant, Supplier<T> work) {
+        Context previous = CONTEXT.get();
+        CONTEXT.set(new Context(lane, tenant == null || tenant.isBlank() ? DEFAULT_TENANT : tenant));
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CONTEXT.remove();
+            } else {
+                CONTEXT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #inLane(Lane, String, Supplier)} for work without a result.
+     */
+    public static void runInLane(Lane lane, String tenant, Runnable work) {
+        inLane(lane, tenant, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return the tenant of the current thread, to hand to work it starts on other threads
+     */
+    public static String currentTenant() {
+        Context context = CONTEXT.get();
+        return context != null ? context.tenant : DEFAULT_TENANT;
+    }
+
+    /**
+     * Waits for an upstream slot for the request in the current thread's lane.
+     * @param provider provider the request goes to; local providers are not scheduled
+     * @param request  the request, to estimate its cost in tokens
+     * @return the slot; close it when the call is done
+     * @throws CallRejectedException when no slot was granted before the deadline
+     */
+    public Permit acquire(LlmProvider provider, ChatCompletionRequest request) {
+        if (!enabled || provider.isLocal()) {
+            return NO_PERMIT;
+        }
+        Context context = CONTEXT.get() != null ? CONTEXT.get() : DEFAULT_CONTEXT;
+        return acquire(context.lane, context.tenant, estimateTokens(request));
+    }
+
+    Permit acquire(Lane lane, String tenant, int cost) {
+        LaneState state = lanes.get(lane);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(state.deadlineMs);
+        while (true) {
+            Ticket ticket = new Ticket(lane, tenant, cost, deadline, lock.newCondition());
+            if (await(ticket)) {
+                AtomicBoolean released = new AtomicBoolean();
+                return () -> {
+                    if (released.compareAndSet(false, true)) {
+                        release(ticket);
+                    }
+                };
+            }
+            // Preempted by higher-priority work: back off and queue again while the deadline allows.
+            long remaining = deadline - System.nanoTime();
+            long backoff = TimeUnit.MILLISECONDS.toNanos(preemptBackoffMs);
+            if (remaining <= backoff) {
+                throw new CallRejectedException(lane + " call of tenant " + tenant + " was preempted past its deadline");
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CallRejectedException("Interrupted while waiting for an LLM slot");
+            }
+        }
+    }
+
+    /**
+     * Queues the ticket and waits until it runs.
+     * @return true when the ticket holds a slot, false when it was preempted
+     */
+    private boolean await(Ticket ticket) {
+        LaneState state = lanes.get(ticket.lane);
+        lock.lock();
+        try {
+            state.submitted++;
+            if (queued >= Math.max(1, maxQueued) && !preemptFor(ticket.lane)) {
+                state.rejected++;
+                throw new CallRejectedException("LLM call queue is full (" + queued + " queued)");
+            }
+            state.enqueue(ticket, weight(ticket.tenant));
+            queued++;
+            dispatch();
+            while (ticket.status == Status.QUEUED) {
+                long remaining = ticket.deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    state.remove(ticket);
+                    expire(state, ticket);
+                    break;
+                }
+                try {
+                    ticket.ready.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    if (ticket.status == Status.QUEUED) {
+                        state.remove(ticket);
+                        queued--;
+                    } else if (ticket.status == Status.RUNNING) {
+                        releaseLocked(ticket);
+                    }
+                    Thread.currentThread().interrupt();
+                    throw new CallRejectedException("Interrupted while waiting for an LLM slot");
+                }
+            }
+            if (ticket.status == Status.EXPIRED) {
+                throw new CallRejectedException(ticket.lane + " call of tenant " + ticket.tenant
+                        + " waited past its " + state.deadlineMs + " ms deadline");
+            }
+            return ticket.status == Status.RUNNING;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Makes room for a non-bulk call by evicting the queued bulk call with the latest tag. */
+    private boolean preemptFor(Lane lane) {
+        if (lane == Lane.BULK) {
+            return false;
+        }
+        LaneState bulk = lanes.get(Lane.BULK);
+        Ticket victim = bulk.latest();
+        if (victim == null) {
+            return false;
+        }
+        bulk.remove(victim);
+        queued--;
+        victim.status = Status.PREEMPTED;
+        bulk.preempted++;
+        victim.ready.signal();
+        return true;
+    }
+
+    /** Counts a ticket that left its queue at its deadline; its waiter throws once it wakes up. */
+    private void expire(LaneState state, Ticket ticket) {
+        queued--;
+        ticket.status = Status.EXPIRED;
+        state.expired++;
+        ticket.ready.signal();
+    }
+
+    private void release(Ticket ticket) {
+        lock.lock();
+        try {
+            releaseLocked(ticket);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseLocked(Ticket ticket) {
+        lanes.get(ticket.lane).inFlight--;
+        inFlight--;
+        ticket.status = Status.DONE;
+        dispatch();
+    }
+
+    /** Hands free slots to the highest lane under its cap; expired tickets are dropped on the way. */
+    private void dispatch() {
+        long now = System.nanoTime();
+        while (inFlight < Math.max(1, maxConcurrent)) {
+            Ticket next = null;
+            int nonInteractive = inFlight - lanes.get(Lane.INTERACTIVE).inFlight;
+            for (LaneState state : lanes.values()) {
+                if (state.inFlight >= state.maxInFlight
+                        || (state.lane != Lane.INTERACTIVE && nonInteractive >= nonInteractiveMaxInFlight)) {
+                    continue;
+                }
+                while ((next = state.poll()) != null && next.deadline - now <= 0) {
+                    expire(state, next);
+                }
+                if (next != null) {
+                    break;
+                }
+            }
+            if (next == null) {
+                return;
+            }
+            LaneState state = lanes.get(next.lane);
+            queued--;
+            state.virtualTime = Math.max(state.virtualTime, next.finishTag);
+            state.inFlight++;
+            inFlight++;
+            state.dispatched++;
+            state.queueWait.record(now - next.enqueuedAt);
+            next.status = Status.RUNNING;
+            next.ready.signal();
+        }
+    }
+
+    private double weight(String tenant) {
+        return tenantWeights.getOrDefault(tenant, 1.0);
+    }
+
+    /** Prompt characters / 4 plus the completion budget. */
+    private static int estimateTokens(ChatCompletionRequest request) {
+        long chars = 0;
+        if (request.getMessages() != null) {
+            for (Map<String, Object> message : request.getMessages()) {
+                Object content = message.get("content");
+                chars += content != null ? content.toString().length() : 0;
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, chars / 4 + Math.max(0, request.getMaxTokens()));
+    }
+
+    public LlmSchedulerReport getReport() {
+        lock.lock();
+        try {
+            List<LlmLaneMetrics> metrics = new ArrayList<>();
+            for (LaneState state : lanes.values()) {
+                metrics.add(new LlmLaneMetrics(state.lane.name(), state.maxInFlight, state.deadlineMs, state.inFlight,
+                        state.queue.size(), state.queuedPerTenant.size(), state.submitted, state.dispatched,
+                        state.expired, state.preempted, state.rejected, state.queueWait.snapshot()));
+            }
+            return new LlmSchedulerReport(enabled, Math.max(1, maxConcurrent), inFlight, Math.max(1, maxQueued), queued,
+                    new LinkedHashMap<>(tenantWeights), metrics);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private enum Status { QUEUED, RUNNING, PREEMPTED, EXPIRED, DONE }
+
+    private static final class Context {
+        final Lane lane;
+        final String tenant;
+
+        Context(Lane lane, String tenant) {
+            this.lane = lane;
+            this.tenant = tenant;
+        }
+    }
+
+    private final class Ticket {
+        final Lane lane;
+        final String tenant;
+        final int cost;
+        final long deadline;
+        final Condition ready;
+        final long enqueuedAt = System.nanoTime();
+        final long seq = sequence.incrementAndGet();
+        double finishTag;
+        Status status = Status.QUEUED;
+
+        Ticket(Lane lane, String tenant, int cost, long deadline, Condition ready) {
+            this.lane = lane;
+            this.tenant = tenant;
+            this.cost = cost;
+            this.deadline = deadline;
+            this.ready = ready;
+        }
+    }
+
+    /** Queue and counters of one lane; guarded by the scheduler lock. */
+    private static final class LaneState {
+        final Lane lane;
+        final int maxInFlight;
+        final long deadlineMs;
+        final PriorityQueue<Ticket> queue = new PriorityQueue<>(
+                Comparator.comparingDouble((Ticket ticket) -> ticket.finishTag).thenComparingLong(ticket -> ticket.seq));
+        final Map<String, Integer> queuedPerTenant = new HashMap<>();
+        final Map<String, Double> lastFinish = new HashMap<>();
+        final LatencyHistogram queueWait = new LatencyHistogram();
+        double virtualTime;
+        int inFlight;
+        long submitted;
+        long dispatched;
+        long expired;
+        long preempted;
+        long rejected;
+
+        LaneState(Lane lane, int maxInFlight, long deadlineMs) {
+            this.lane = lane;
+            this.maxInFlight = maxInFlight;
+            this.deadlineMs = deadlineMs;
+        }
+
+        void enqueue(Ticket ticket, double weight) {
+            double start = Math.max(virtualTime, lastFinish.getOrDefault(ticket.tenant, 0.0));
+            ticket.finishTag = start + Math.max(1, ticket.cost) / weight;
+            lastFinish.put(ticket.tenant, ticket.finishTag);
+            queuedPerTenant.merge(ticket.tenant, 1, Integer::sum);
+            queue.add(ticket);
+        }
+
+        /** Takes the queued ticket with the lowest tag out of the queue. */
+        Ticket poll() {
+            Ticket ticket = queue.poll();
+            if (ticket != null) {
+                dequeued(ticket);
+            }
+            return ticket;
+        }
+
+        Ticket latest() {
+            Ticket latest = null;
+            for (Ticket ticket : queue) {
+                if (latest == null || ticket.finishTag > latest.finishTag) {
+                    latest = ticket;
+                }
+            }
+            return latest;
+        }
+
+        void remove(Ticket ticket) {
+            if (queue.remove(ticket)) {
+                dequeued(ticket);
+            }
+        }
+
+        private void dequeued(Ticket ticket) {
+            if (queuedPerTenant.merge(ticket.tenant, -1, Integer::sum) <= 0) {
+                queuedPerTenant.remove(ticket.tenant);
+                // Forget idle tenants whose tag the lane has caught up with.
+                if (lastFinish.getOrDefault(ticket.tenant, 0.0) <= virtualTime) {
+                    lastFinish.remove(ticket.tenant);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.ChatCompletionRequest;
+import com.aisystems.firefliescrmautomation.dto.ChatCompletionResult;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Chat-completion backend used by {@link OpenAIService}.
+ * <p>
+ * {@link OpenAIChatProvider} calls the OpenAI API; {@link LocalLlmProvider} answers in-process
+ * with rule-based extraction and needs no network. The active provider and the one to fail
+ * over to are chosen by {@link ModelRouter} ({@code aisystems.llm.provider} and
+ * {@code aisystems.llm.failover-provider}); other implementations only need to be beans.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 2:05 PM GMT -5 Bogotá DC Colombia
+ */
+public interface LlmProvider {
+
+    /**
+     * @return provider name as used in {@code aisystems.llm.provider}
+     */
+    String getName();
+
+    /**
+     * @return false when the provider cannot serve requests (e.g. no API key configured)
+     */
+    boolean isAvailable();
+
+    /**
+     * @return true when the provider runs in-process: no network, no cost, deterministic output
+     */
+    boolean isLocal();
+
+    /**
+     * Runs a completion.
+     * @param request the request; {@link ChatCompletionRequest#getModel()} is already routed
+     * @return content, finish reason and token usage, or null when the provider returned nothing
+     */
+    ChatCompletionResult complete(ChatCompletionRequest request);
+
+    /**
+     * Runs a completion and hands over the content as it is generated.
+     * @param request the request
+     * @param onDelta receives each content fragment in order
+     * @return the assembled result with finish reason and token usage
+     */
+    ChatCompletionResult stream(ChatCompletionRequest request, Consumer<String> onDelta);
+
+    /**
+     * Embeds texts for similarity search.
+     * @param model      embedding model; local providers use their own
+     * @param texts      texts to embed
+     * @param dimensions requested vector size
+     * @return one vector per text, in the order of {@code texts}
+     */
+    List<float[]> embed(String model, List<String> texts, int dimensions);
+
+    /**
+     * @param failure exception thrown by {@link #complete} or {@link #stream}
+     * @return true when the same request may succeed elsewhere (timeouts, throttling, server errors)
+     */
+    default boolean isTransient(RuntimeException failure) {
+        return false;
+    }
+}
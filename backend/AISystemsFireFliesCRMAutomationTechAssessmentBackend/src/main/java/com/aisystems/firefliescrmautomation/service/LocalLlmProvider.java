@@ -0,0 +1,171 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.ActionItem;
+import com.aisystems.firefliescrmautomation.dto.ChatCompletionRequest;
+import com.aisystems.firefliescrmautomation.dto.ChatCompletionResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-process {@link LlmProvider} with no network and no model: the zero-latency baseline for
+ * benchmarks and the degraded mode when OpenAI is unreachable or not configured.
+ * <p>
+ * Extraction prompts (a prompt mentioning action items followed by {@code Transcript:}) are
+ * answered by {@link RuleBasedActionItemExtractor}, as {@code {"items": [...]}} when a
+ * {@code response_format} is requested and as a bare JSON array otherwise. Other prompts that
+ * embed a transcript get the transcript back; anything else is echoed. Output is cut at
+ * {@code max_tokens} with finish reason {@code length}, like the real API, and token usage is
+ * counted with {@link BpeTokenizer}. Embeddings hash the normalized words and their character
+ * trigrams into a fixed-size signed vector, so equal texts always get equal vectors.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 2:20 PM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class LocalLlmProvider implements LlmProvider {
+
+    public static final String NAME = "local";
+
+    /** Model name reported in results and route metrics. */
+    public static final String MODEL = "local-rules";
+
+    /** Embedding model name: feature hashing of words and character trigrams. */
+    public static final String EMBEDDING_MODEL = "local-hashing";
+
+    private static final int DEFAULT_EMBEDDING_DIMENSIONS = 256;
+
+    private static final String TRANSCRIPT_MARKER = "Transcript: ";
+
+    /** Instructions appended after the transcript, e.g. "Return only the transcript text lines." */
+    private static final Pattern TRAILING_INSTRUCTIONS = Pattern.compile("\\s+(?:Return|Respond|Do not|Include|Please)\\b[^\\n]*$");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private RuleBasedActionItemExtractor extractor;
+
+    @Autowired
+    private BpeTokenizer tokenizer;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
+    @Override
+    public ChatCompletionResult complete(ChatCompletionRequest request) {
+        String prompt = request.lastUserContent();
+        String content = answer(prompt, request.getResponseFormat() != null);
+        int promptTokens = 0;
+        for (Map<String, Object> message : request.getMessages()) {
+            Object value = message.get("content");
+            promptTokens += BpeTokenizer.TOKENS_PER_MESSAGE + tokenizer.countTokens(value != null ? value.toString() : "");
+        }
+        promptTokens += BpeTokenizer.REPLY_PRIMING_TOKENS;
+
+        int completionTokens = tokenizer.countTokens(content);
+        String finishReason = "stop";
+        if (completionTokens > request.getMaxTokens() && request.getMaxTokens() > 0) {
+            content = content.substring(0, (int) ((long) content.length() * request.getMaxTokens() / completionTokens));
+            completionTokens = tokenizer.countTokens(content);
+            finishReason = "length";
+        }
+        return new ChatCompletionResult(MODEL, content, finishReason, promptTokens, completionTokens);
+    }
+
+    /**
+     * Produces the whole answer, then hands it over word by word.
+     */
+    @Override
+    public ChatCompletionResult stream(ChatCompletionRequest request, Consumer<String> onDelta) {
+        ChatCompletionResult result = complete(request);
+        for (String piece : result.getContent().split("(?<=\\s)")) {
+            if (!piece.isEmpty()) {
+                onDelta.accept(piece);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Signed feature hashing: each normalized word adds 1 and each of its character trigrams 0.5
+     * to one coordinate; the vector is L2-normalized. Deterministic and free, not semantic.
+     */
+    @Override
+    public List<float[]> embed(String model, List<String> texts, int dimensions) {
+        int size = dimensions > 0 ? dimensions : DEFAULT_EMBEDDING_DIMENSIONS;
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            float[] vector = new float[size];
+            String normalized = ActionItemDeduplicator.normalize(text == null ? "" : text);
+            for (String word : normalized.split(" ")) {
+                if (word.isEmpty()) {
+                    continue;
+                }
+                addFeature(vector, word.hashCode(), 1.0f);
+                String padded = "#" + word + "#";
+                for (int i = 0; i + 3 <= padded.length(); i++) {
+                    addFeature(vector, padded.substring(i, i + 3).hashCode() * 31 + 7, 0.5f);
+                }
+            }
+            double norm = 0;
+            for (float value : vector) {
+                norm += value * value;
+            }
+            if (norm > 0) {
+                float scale = (float) (1.0 / Math.sqrt(norm));
+                for (int i = 0; i < size; i++) {
+                    vector[i] *= scale;
+                }
+            }
+            vectors.add(vector);
+        }
+        return vectors;
+    }
+
+    private static void addFeature(float[] vector, int hash, float weight) {
+        int mixed = hash * 0x9E3779B9;
+        int slot = Math.floorMod(mixed >>> 1, vector.length);
+        vector[slot] += (mixed & 1) == 0 ? weight : -weight;
+    }
+
+    private String answer(String prompt, boolean structured) {
+        int marker = prompt.lastIndexOf(TRANSCRIPT_MARKER);
+        if (marker < 0) {
+            return prompt;
+        }
+        String instructions = prompt.substring(0, marker).toLowerCase(Locale.ROOT);
+        String transcript = prompt.substring(marker + TRANSCRIPT_MARKER.length());
+        if (!instructions.contains("action items") || instructions.contains("generate")) {
+            return TRAILING_INSTRUCTIONS.matcher(transcript).replaceFirst("").strip();
+        }
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (ActionItem item : extractor.extract(transcript)) {
+            items.add(item.toMap());
+        }
+        try {
+            return structured ? MAPPER.writeValueAsString(Map.of("items", items)) : MAPPER.writeValueAsString(items);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not serialise action items: " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * MinHash signatures with banded locality-sensitive hashing over short texts.
+ * <p>
+ * Texts are shingled into character 4-grams and hashed {@code bands * rows} times; only the
+ * lowest byte of each minimum is stored (b-bit MinHash, one byte per hash) and the similarity
+ * estimate is corrected for the 1/256 chance of a byte collision. Each band keeps an
+ * open-addressing table from band hash to the newest item, with older items chained through a
+ * per-band {@code int[]}, so a lookup costs {@code bands} probes plus a byte comparison per
+ * candidate, independent of the number of items. When full, items older than the retention
+ * cut-off (and, if still full, the oldest half) are dropped and the tables rebuilt.
+ * </p>
+ * <p>
+ * Thread-safe: lookups share a read lock, inserts take the write lock.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 3:05 PM GMT -5 Bogotá DC Colombia
+ */
+public final class MinHashLshIndex {
+
+    private static final int SHINGLE = 4;
+    private static final double BYTE_COLLISION = 1.0 / 256;
+
+    private final int bands;
+    private final int rows;
+    private final int hashes;
+    private final int maxItems;
+    private final long[] seeds;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int capacity;
+    private int size;
+    private byte[] signatures;
+    private long[] timestamps;
+    private String[] meetings;
+    private String[] descriptions;
+    private String[] references;
+    private BandTable[] tables;
+    private int[][] next;
+    private long evicted;
+
+    /**
+     * Candidate returned by {@link #findBest}.
+     */
+    public static final class Match {
+        private final int id;
+        private final double similarity;
+        private final String meeting;
+        private final String description;
+        private final String reference;
+
+        Match(int id, double similarity, String meeting, String description, String reference) {
+            this.id = id;
+            this.similarity = similarity;
+            this.meeting = meeting;
+            this.description = description;
+            this.reference = reference;
+        }
+
+        public int getId() { return id; }
+        public double getSimilarity() { return similarity; }
+        public String getMeeting() { return meeting; }
+        public String getDescription() { return description; }
+        public String getReference() { return reference; }
+    }
+
+    /**
+     * @param bands    number of LSH bands
+     * @param rows     hashes per band; the similarity at which a pair becomes a candidate with
+     *                 probability 1/2 is about {@code (1/bands)^(1/rows)}
+     * @param maxItems item limit before eviction
+     */
+    public MinHashLshIndex(int bands, int rows, int maxItems) {
+        this.bands = Math.max(1, bands);
+        this.rows = Math.max(1, rows);
+        this.hashes = this.bands * this.rows;
+        this.maxItems = Math.max(16, maxItems);
+        this.seeds = new long[hashes];
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < hashes; i++) {
+            seed = mix(seed + 0x632BE59BD9B9E5L * (i + 1));
+            seeds[i] = seed;
+        }
+        allocate(Math.min(1024, this.maxItems));
+    }
+
+    /**
+     * Computes the full-width MinHash of a normalized text.
+     * @param text normalized text
+     * @return {@code bands * rows} minimum hash values
+     */
+    public int[] signature(String text) {
+        int[] minimums = new int[hashes];
+        Arrays.fill(minimums, Integer.MAX_VALUE);
+        int length = text.length();
+        int shingles = Math.max(1, length - SHINGLE + 1);
+        for (int start = 0; start < shingles; start++) {
+            // FNV-1a over the shingle characters, no substring allocation.
+            long shingle = 0xcbf29ce484222325L;
+            for (int i = start, end = Math.min(length, start + SHINGLE); i < end; i++) {
+                shingle = (shingle ^ text.charAt(i)) * 0x100000001b3L;
+            }
+            for (int h = 0; h < hashes; h++) {
+                int value = (int) (mix(shingle ^ seeds[h]) >>> 33);
+                if (value < minimums[h]) {
+                    minimums[h] = value;
+                }
+            }
+        }
+        return minimums;
+    }
+
+    /**
+     * Finds the most similar indexed item.
+     * @param signature    signature from {@link #signature(String)}
+     * @param threshold    minimum estimated Jaccard similarity
+     * @param minTimestamp items recorded before this instant are ignored
+     * @return the best match, or null
+     */
+    public Match findBest(int[] signature, double threshold, long minTimestamp) {
+        lock.readLock().lock();
+        try {
+            return best(signature, threshold, minTimestamp);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the most similar indexed item and, under the same lock, refreshes its timestamp and
+     * attaches a reference if it has none yet, so the id cannot be reused by an eviction in between.
+     * @param signature    signature from {@link #signature(String)}
+     * @param threshold    minimum estimated Jaccard similarity
+     * @param minTimestamp items recorded before this instant are ignored
+     * @param reference    reference to attach when the item has none, or null
+     * @param timestamp    new timestamp
+     * @return the best match as it was before the update, or null
+     */
+    public Match findBestAndTouch(int[] signature, double threshold, long minTimestamp, String reference, long timestamp) {
+        lock.writeLock().lock();
+        try {
+            Match match = best(signature, threshold, minTimestamp);
+            if (match != null) {
+                int id = match.getId();
+                if (reference != null && references[id] == null) {
+                    references[id] = reference;
+                }
+                timestamps[id] = Math.max(timestamps[id], timestamp);
+            }
+            return match;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Match best(int[] signature, double threshold, long minTimestamp) {
+        int best = -1;
+        double bestSimilarity = threshold;
+        for (int band = 0; band < bands; band++) {
+            int candidate = tables[band].get(bandKey(signature, band));
+            while (candidate >= 0) {
+                if (timestamps[candidate] >= minTimestamp) {
+                    double similarity = similarity(signature, candidate);
+                    if (similarity > bestSimilarity || (best < 0 && similarity >= bestSimilarity)) {
+                        best = candidate;
+                        bestSimilarity = similarity;
+                    }
+                }
+                candidate = next[band][candidate];
+            }
+        }
+        return best < 0 ? null : new Match(best, bestSimilarity, meetings[best], descriptions[best], references[best]);
+    }
+
+    /**
+     * Indexes an item.
+     * @param signature   signature from {@link #signature(String)}
+     * @param meeting     meeting key
+     * @param description original description
+     * @param timestamp   epoch millis of the meeting or of processing
+     * @param cutoff      eviction cut-off (items before it are dropped first when full)
+     * @return the item id, valid until the next eviction
+     */
+    public int add(int[] signature, String meeting, String description, long timestamp, long cutoff) {
+        lock.writeLock().lock();
+        try {
+            if (size == capacity) {
+                if (capacity < maxItems) {
+                    grow(Math.min(maxItems, capacity * 2));
+                } else {
+                    evict(cutoff);
+                }
+            }
+            int id = size++;
+            for (int h = 0; h < hashes; h++) {
+                signatures[id * hashes + h] = (byte) signature[h];
+            }
+            timestamps[id] = timestamp;
+            meetings[id] = meeting;
+            descriptions[id] = description;
+            link(id, signature);
+            return id;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Attaches an external reference (e.g. the HubSpot deal id) and refreshes the timestamp.
+     * @param id        item id from {@link #add} or {@link Match#getId()}
+     * @param reference reference to keep, or null to leave it unchanged
+     * @param timestamp new timestamp
+     */
+    public void touch(int id, String reference, long timestamp) {
+        lock.writeLock().lock();
+        try {
+            if (id >= 0 && id < size) {
+                if (reference != null) {
+                    references[id] = reference;
+                }
+                timestamps[id] = Math.max(timestamps[id], timestamp);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getEvicted() {
+        lock.readLock().lock();
+        try {
+            return evicted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double similarity(int[] signature, int candidate) {
+        int equal = 0;
+        int offset = candidate * hashes;
+        for (int h = 0; h < hashes; h++) {
+            if (signatures[offset + h] == (byte) signature[h]) {
+                equal++;
+            }
+        }
+        return Math.max(0.0, ((double) equal / hashes - BYTE_COLLISION) / (1 - BYTE_COLLISION));
+    }
+
+    /**
+     * Band keys are recomputed from the stored bytes when the arrays are rebuilt, so they only
+     * depend on the low byte of each value.
+     */
+    private long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int r = band * rows, end = r + rows; r < end; r++) {
+            key = mix(key * 31 + (byte) signature[r]);
+        }
+        return key;
+    }
+
+    private long storedBandKey(int id, int band) {
+        long key = band;
+        for (int r = band * rows, end = r + rows; r < end; r++) {
+            key = mix(key * 31 + signatures[id * hashes + r]);
+        }
+        return key;
+    }
+
+    private void link(int id, int[] signature) {
+        for (int band = 0; band < bands; band++) {
+            long key = signature != null ? bandKey(signature, band) : storedBandKey(id, band);
+            next[band][id] = tables[band].get(key);
+            tables[band].put(key, id);
+        }
+    }
+
+    private void allocate(int newCapacity) {
+        capacity = newCapacity;
+        signatures = new byte[capacity * hashes];
+        timestamps = new long[capacity];
+        meetings = new String[capacity];
+        descriptions = new String[capacity];
+        references = new String[capacity];
+        tables = new BandTable[bands];
+        next = new int[bands][capacity];
+        for (int band = 0; band < bands; band++) {
+            tables[band] = new BandTable(capacity);
+        }
+    }
+
+    private void grow(int newCapacity) {
+        byte[] oldSignatures = signatures;
+        long[] oldTimestamps = timestamps;
+        String[] oldMeetings = meetings;
+        String[] oldDescriptions = descriptions;
+        String[] oldReferences = references;
+        int count = size;
+        allocate(newCapacity);
+        copyAndRelink(oldSignatures, oldTimestamps, oldMeetings, oldDescriptions, oldReferences, count, null);
+    }
+
+    private void evict(long cutoff) {
+        int keep = 0;
+        for (int id = 0; id < size; id++) {
+            if (timestamps[id] >= cutoff) {
+                keep++;
+            }
+        }
+        long limit = cutoff;
+        if (keep > capacity / 2) {
+            // Still too full after the retention cut-off: keep the newest half.
+            long[] sorted = Arrays.copyOf(timestamps, size);
+            Arrays.sort(sorted);
+            limit = Math.max(cutoff, sorted[size - capacity / 2]);
+        }
+        byte[] oldSignatures = signatures;
+        long[] oldTimestamps = timestamps;
+        String[] oldMeetings = meetings;
+        String[] oldDescriptions = descriptions;
+        String[] oldReferences = references;
+        int count = size;
+        allocate(capacity);
+        copyAndRelink(oldSignatures, oldTimestamps, oldMeetings, oldDescriptions, oldReferences, count, limit);
+        evicted += count - size;
+    }
+
+    private void copyAndRelink(byte[] oldSignatures, long[] oldTimestamps, String[] oldMeetings, String[] oldDescriptions,
+                               String[] oldReferences, int count, Long minTimestamp) {
+        size = 0;
+        for (int old = 0; old < count && size < capacity; old++) {
+            if (minTimestamp != null && oldTimestamps[old] < minTimestamp) {
+                continue;
+            }
+            int id = size++;
+            System.arraycopy(oldSignatures, old * hashes, signatures, id * hashes, hashes);
+            timestamps[id] = oldTimestamps[old];
+            meetings[id] = oldMeetings[old];
+            descriptions[id] = oldDescriptions[old];
+            references[id] = oldReferences[old];
+            link(id, null);
+        }
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Open-addressing map from band key to the newest item id in that bucket.
+     */
+    private static final class BandTable {
+        private long[] keys;
+        private int[] heads;
+        private int used;
+
+        BandTable(int expected) {
+            int slots = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+            keys = new long[slots];
+            heads = new int[slots];
+            Arrays.fill(heads, -1);
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = (int) mix(key) & mask; ; slot = (slot + 1) & mask) {
+                if (heads[slot] < 0) {
+                    return -1;
+                }
+                if (keys[slot] == key) {
+                    return heads[slot];
+                }
+            }
+        }
+
+        void put(long key, int head) {
+            if ((used + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            for (int slot = (int) mix(key) & mask; ; slot = (slot + 1) & mask) {
+                if (heads[slot] < 0) {
+                    keys[slot] = key;
+                    heads[slot] = head;
+                    used++;
+                    return;
+                }
+                if (keys[slot] == key) {
+                    heads[slot] = head;
+                    return;
+                }
+            }
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldHeads = heads;
+            keys = new long[oldKeys.length * 2];
+            heads = new int[oldHeads.length * 2];
+            Arrays.fill(heads, -1);
+            used = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldHeads[i] >= 0) {
+                    put(oldKeys[i], oldHeads[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.ModelRouteMetrics;
+import com.aisystems.firefliescrmautomation.dto.ModelRoutingReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Chooses the model for each OpenAI call and keeps per-route latency, token and cost metrics.
+ * <p>
+ * Calls start on the {@link Tier#CHEAP} model unless the task is extraction over a large
+ * prompt, which goes straight to {@link Tier#STRONG}. Callers escalate a cheap extraction to
+ * the strong model when its result fails validation, and fail over to {@link Tier#FALLBACK}
+ * when the primary model times out or returns a server error. Models and prices are set in
+ * {@code application.properties}.
+ * </p>
+ * <p>
+ * Calls go to the {@link LlmProvider} named by {@code aisystems.llm.provider}. When it is not
+ * available (e.g. no API key) or keeps failing after the model failover, requests move to
+ * {@code aisystems.llm.failover-provider}, by default the in-process {@link LocalLlmProvider}.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 1:45 PM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class ModelRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelRouter.class);
+
+    /**
+     * Kind of work a call performs.
+     */
+    public enum Task { EXTRACTION, GENERATION, COMPLETION }
+
+    /**
+     * Model tier.
+     */
+    public enum Tier { CHEAP, STRONG, FALLBACK }
+
+    @Autowired
+    private List<LlmProvider> providers;
+
+    @Value("${aisystems.llm.provider:openai}")
+    private String providerName;
+
+    @Value("${aisystems.llm.failover-provider:local}")
+    private String failoverProviderName;
+
+    @Value("${aisystems.openai.models.cheap:gpt-4o-mini}")
+    private String cheapModel;
+
+    @Value("${aisystems.openai.models.strong:gpt-4o}")
+    private String strongModel;
+
+    @Value("${aisystems.openai.models.fallback:gpt-4.1-mini}")
+    private String fallbackModel;
+
+    @Value("${aisystems.openai.routing.large-prompt-tokens:30000}")
+    private int largePromptTokens;
+
+    @Value("${aisystems.openai.routing.escalation-enabled:true}")
+    private boolean escalationEnabled;
+
+    @Value("${aisystems.openai.pricing.cheap:0.15,0.60}")
+    private String cheapPricing;
+
+    @Value("${aisystems.openai.pricing.strong:2.50,10.00}")
+    private String strongPricing;
+
+    @Value("${aisystems.openai.pricing.fallback:0.40,1.60}")
+    private String fallbackPricing;
+
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+    private final LongAdder escalations = new LongAdder();
+    private final LongAdder failovers = new LongAdder();
+    private final LongAdder providerFailovers = new LongAdder();
+    private volatile boolean unavailableLogged;
+
+    /**
+     * Picks the starting tier for a call.
+     * @param task         kind of work
+     * @param promptTokens prompt size
+     * @return tier to use first
+     */
+    public Tier route(Task task, int promptTokens) {
+        if (task == Task.EXTRACTION && promptTokens > largePromptTokens) {
+            return Tier.STRONG;
+        }
+        return Tier.CHEAP;
+    }
+
+    /**
+     * @return the configured provider, or the failover provider when the configured one is unavailable
+     * @throws IllegalStateException when neither is available
+     */
+    public LlmProvider provider() {
+        LlmProvider primary = findProvider(providerName);
+        if (primary != null && primary.isAvailable()) {
+            return primary;
+        }
+        LlmProvider failover = findProvider(failoverProviderName);
+        if (failover == null || !failover.isAvailable()) {
+            throw new IllegalStateException("No LLM provider available (configured: " + providerName + ")");
+        }
+        if (!unavailableLogged) {
+            unavailableLogged = true;
+            log.warn("LLM provider '{}' is not available; serving requests from '{}'", providerName, failover.getName());
+        }
+        return failover;
+    }
+
+    /**
+     * @param failed provider whose call failed after any model failover
+     * @return the provider to retry on, or null when there is none
+     */
+    public LlmProvider failoverProviderOf(LlmProvider failed) {
+        LlmProvider failover = findProvider(failoverProviderName);
+        return failover != null && failover != failed && failover.isAvailable() ? failover : null;
+    }
+
+    /**
+     * @param provider provider serving the call
+     * @param tier     tier
+     * @return the model name to send; local providers report their own
+     */
+    public String model(LlmProvider provider, Tier tier) {
+        return provider.isLocal() ? LocalLlmProvider.MODEL : model(tier);
+    }
+
+    /**
+     * @param tier tier
+     * @return configured model name
+     */
+    public String model(Tier tier) {
+        return switch (tier) {
+            case CHEAP -> cheapModel;
+            case STRONG -> strongModel;
+            case FALLBACK -> fallbackModel;
+        };
+    }
+
+    /**
+     * @param tier tier whose result failed validation
+     * @return the tier to retry with, or null when there is nothing stronger
+     */
+    public Tier escalationOf(Tier tier) {
+        return escalationEnabled && tier == Tier.CHEAP && !strongModel.equals(cheapModel) && !provider().isLocal() ? Tier.STRONG : null;
+    }
+
+    /**
+     * @param tier tier that timed out or failed
+     * @return the tier to fail over to, or null when already on the fallback
+     */
+    public Tier failoverOf(Tier tier) {
+        return tier != Tier.FALLBACK && !fallbackModel.isBlank() && !fallbackModel.equals(model(tier)) ? Tier.FALLBACK : null;
+    }
+
+    /**
+     * Records a finished call.
+     * @param task             kind of work
+     * @param tier             tier used
+     * @param model            model the call was sent to
+     * @param nanos            wall-clock duration
+     * @param promptTokens     prompt tokens reported by the API
+     * @param completionTokens completion tokens reported by the API
+     * @param success          false when the call failed or returned nothing
+     */
+    public void record(Task task, Tier tier, String model, long nanos, int promptTokens, int completionTokens, boolean success) {
+        RouteStats stats = routes.computeIfAbsent(routeKey(task, tier, model), key -> new RouteStats());
+        stats.latency.record(nanos);
+        stats.calls.increment();
+        if (!success) {
+            stats.failures.increment();
+        }
+        stats.promptTokens.add(promptTokens);
+        stats.completionTokens.add(completionTokens);
+        double[] price = pricing(model);
+        stats.costUsd.add(promptTokens / 1_000_000.0 * price[0] + completionTokens / 1_000_000.0 * price[1]);
+    }
+
+    public void recordEscalation() {
+        escalations.increment();
+    }
+
+    public void recordFailover() {
+        failovers.increment();
+    }
+
+    public void recordProviderFailover() {
+        providerFailovers.increment();
+    }
+
+    /**
+     * @return metrics of every route used so far
+     */
+    public ModelRoutingReport getReport() {
+        List<ModelRouteMetrics> metrics = new ArrayList<>();
+        routes.forEach((route, stats) -> metrics.add(new ModelRouteMetrics(route, stats.calls.sum(), stats.failures.sum(),
+                stats.promptTokens.sum(), stats.completionTokens.sum(), stats.costUsd.sum(), stats.latency.snapshot())));
+        metrics.sort((a, b) -> a.getRoute().compareTo(b.getRoute()));
+        return new ModelRoutingReport(providerName, failoverProviderName, cheapModel, strongModel, fallbackModel,
+                escalations.sum(), failovers.sum(), providerFailovers.sum(), metrics);
+    }
+
+    /**
+     * @param name provider name as used in {@code aisystems.llm.provider}
+     * @return the provider bean with that name, available or not, or null when there is none
+     */
+    public LlmProvider findProvider(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        for (LlmProvider candidate : providers) {
+            if (candidate.getName().equalsIgnoreCase(name.trim())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private String routeKey(Task task, Tier tier, String model) {
+        return task.name().toLowerCase(Locale.ROOT) + ":" + tier.name().toLowerCase(Locale.ROOT) + ":" + model;
+    }
+
+    /**
+     * Prices of the configured OpenAI models; anything else (local provider) costs nothing.
+     */
+    private double[] pricing(String model) {
+        String value;
+        if (cheapModel.equals(model)) {
+            value = cheapPricing;
+        } else if (strongModel.equals(model)) {
+            value = strongPricing;
+        } else if (fallbackModel.equals(model)) {
+            value = fallbackPricing;
+        } else {
+            return new double[]{0.0, 0.0};
+        }
+        try {
+            String[] parts = value.split(",");
+            return new double[]{Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim())};
+        } catch (RuntimeException ex) {
+            return new double[]{0.0, 0.0};
+        }
+    }
+
+    private static final class RouteStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder promptTokens = new LongAdder();
+        private final LongAdder completionTokens = new LongAdder();
+        private final DoubleAdder costUsd = new DoubleAdder();
+    }
+}
@@ -0,0 +1,245 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.ChatCompletionRequest;
+import com.aisystems.firefliescrmautomation.dto.ChatCompletionResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * {@link LlmProvider} backed by the OpenAI chat-completions endpoint.
+ * <p>
+ * The API key comes from the environment variable OPENAI_API_KEY; without it the provider
+ * reports itself unavailable and {@link ModelRouter} serves requests from the failover
+ * provider. The endpoint is configurable ({@code aisystems.openai.api-url}) so an
+ * OpenAI-compatible server can stand in for it.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 2:10 PM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class OpenAIChatProvider implements LlmProvider {
+
+    public static final String NAME = "openai";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Value("${OPENAI_API_KEY:}")
+    private String openaiApiKey;
+
+    @Value("${aisystems.openai.api-url:https://api.openai.com/v1/chat/completions}")
+    private String apiUrl;
+
+    @Value("${aisystems.openai.embeddings-url:https://api.openai.com/v1/embeddings}")
+    private String embeddingsUrl;
+
+    @Value("${aisystems.openai.timeout-ms:30000}")
+    private int timeoutMs;
+
+    private volatile RestTemplate restTemplate;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return openaiApiKey != null && !openaiApiKey.isBlank();
+    }
+
+    @Override
+    public boolean isLocal() {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ChatCompletionResult complete(ChatCompletionRequest request) {
+        ResponseEntity<Map> response = restTemplate().postForEntity(apiUrl, new HttpEntity<>(toBody(request, false), jsonHeaders()), Map.class);
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            return null;
+        }
+        return toCompletionResult(response.getBody());
+    }
+
+    /**
+     * Posts with {@code stream=true} and reads the server-sent events line by line; usage comes
+     * from the final chunk ({@code stream_options.include_usage}).
+     */
+    @Override
+    public ChatCompletionResult stream(ChatCompletionRequest request, Consumer<String> onDelta) {
+        Map<String, Object> body = toBody(request, true);
+        return restTemplate().execute(apiUrl, HttpMethod.POST, httpRequest -> {
+            httpRequest.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            httpRequest.getHeaders().setBearerAuth(openaiApiKey);
+            try (OutputStream out = httpRequest.getBody()) {
+                out.write(MAPPER.writeValueAsBytes(body));
+            }
+        }, httpResponse -> {
+            StringBuilder content = new StringBuilder();
+            String model = request.getModel();
+            String finishReason = null;
+            int promptTokens = 0;
+            int completionTokens = 0;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(httpResponse.getBody(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.startsWith("data:")) {
+                        continue;
+                    }
+                    String data = line.substring(5).trim();
+                    if ("[DONE]".equals(data)) {
+                        break;
+                    }
+                    JsonNode chunk = MAPPER.readTree(data);
+                    model = chunk.path("model").asText(model);
+                    JsonNode choice = chunk.path("choices").path(0);
+                    String delta = choice.path("delta").path("content").asText(null);
+                    if (delta != null && !delta.isEmpty()) {
+                        content.append(delta);
+                        onDelta.accept(delta);
+                    }
+                    if (choice.path("finish_reason").isTextual()) {
+                        finishReason = choice.path("finish_reason").asText();
+                    }
+                    if (chunk.path("usage").isObject()) {
+                        promptTokens = chunk.path("usage").path("prompt_tokens").asInt();
+                        completionTokens = chunk.path("usage").path("completion_tokens").asInt();
+                    }
+                }
+            }
+            return new ChatCompletionResult(model, content.toString(), finishReason, promptTokens, completionTokens);
+        });
+    }
+
+    /**
+     * Posts to the embeddings endpoint; {@code dimensions} shortens text-embedding-3 vectors.
+     */
+    @Override
+    public List<float[]> embed(String model, List<String> texts, int dimensions) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", model);
+        body.put("input", texts);
+        if (dimensions > 0) {
+            body.put("dimensions", dimensions);
+        }
+        ResponseEntity<JsonNode> response = restTemplate().postForEntity(embeddingsUrl, new HttpEntity<>(body, jsonHeaders()), JsonNode.class);
+        JsonNode data = response.getBody() != null ? response.getBody().path("data") : null;
+        if (data == null || data.size() != texts.size()) {
+            throw new IllegalStateException("Embeddings response has " + (data == null ? 0 : data.size()) + " vectors for " + texts.size() + " inputs");
+        }
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            vectors.add(null);
+        }
+        for (JsonNode entry : data) {
+            JsonNode values = entry.path("embedding");
+            float[] vector = new float[values.size()];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = (float) values.get(i).asDouble();
+            }
+            vectors.set(entry.path("index").asInt(), vector);
+        }
+        return vectors;
+    }
+
+    @Override
+    public boolean isTransient(RuntimeException failure) {
+        if (failure instanceof ResourceAccessException) {
+            return true;
+        }
+        if (failure instanceof HttpStatusCodeException statusEx && statusEx.getStatusCode() != null) {
+            int status = statusEx.getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return false;
+    }
+
+    private Map<String, Object> toBody(ChatCompletionRequest request, boolean stream) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", request.getModel());
+        body.put("messages", request.getMessages());
+        body.put("temperature", request.getTemperature());
+        body.put("max_tokens", request.getMaxTokens());
+        if (request.getResponseFormat() != null) {
+            body.put("response_format", request.getResponseFormat());
+        }
+        if (stream) {
+            body.put("stream", true);
+            body.put("stream_options", Map.of("include_usage", true));
+        }
+        return body;
+    }
+
+    private HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(openaiApiKey);
+        return headers;
+    }
+
+    private RestTemplate restTemplate() {
+        RestTemplate template = restTemplate;
+        if (template == null) {
+            SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+            factory.setConnectTimeout(Duration.ofMillis(Math.min(timeoutMs, 10_000)));
+            factory.setReadTimeout(Duration.ofMillis(timeoutMs));
+            template = new RestTemplate(factory);
+            restTemplate = template;
+        }
+        return template;
+    }
+
+    static ChatCompletionResult toCompletionResult(Map<?, ?> body) {
+        String content = null;
+        String finishReason = null;
+        Object choices = body.get("choices");
+        if (choices instanceof List && !((List<?>) choices).isEmpty()) {
+            Object first = ((List<?>) choices).get(0);
+            if (first instanceof Map) {
+                Object reason = ((Map<?, ?>) first).get("finish_reason");
+                finishReason = reason != null ? reason.toString() : null;
+                Object message = ((Map<?, ?>) first).get("message");
+                if (message instanceof Map) {
+                    Object value = ((Map<?, ?>) message).get("content");
+                    content = value != null ? value.toString() : null;
+                }
+            }
+        }
+        int promptTokens = 0;
+        int completionTokens = 0;
+        Object usage = body.get("usage");
+        if (usage instanceof Map) {
+            Object prompt = ((Map<?, ?>) usage).get("prompt_tokens");
+            Object completion = ((Map<?, ?>) usage).get("completion_tokens");
+            promptTokens = prompt instanceof Number ? ((Number) prompt).intValue() : 0;
+            completionTokens = completion instanceof Number ? ((Number) completion).intValue() : 0;
+        }
+        Object model = body.get("model");
+        return new ChatCompletionResult(model != null ? model.toString() : null, content, finishReason, promptTokens, completionTokens);
+    }
+}
@@ -1,24 +1,32 @@
 package com.aisystems.firefliescrmautomation.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.function.Consumer;
 import com.aisystems.firefliescrmautomation.service.HubSpotTaskService;
+import com.aisystems.firefliescrmautomation.dto.ActionItem;
+import com.aisystems.firefliescrmautomation.dto.ActionItemExtractionResponse;
+import com.aisystems.firefliescrmautomation.dto.ChatCompletionRequest;
+import com.aisystems.firefliescrmautomation.dto.ChatCompletionResult;
 import com.aisystems.firefliescrmautomation.dto.HubSpotTaskCreationReport;
+import com.aisystems.firefliescrmautomation.dto.TranscriptCompressionReport;
+import com.aisystems.firefliescrmautomation.dto.TranscriptTriageResult;
 
 /**
  * Service for integrating with the OpenAI API to generate chat completions.
  * <p>
- * This service uses the OpenAI chat completions endpoint and the gpt-4o-mini model.
- * The API key is injected from the system environment variable OPENAI_API_KEY for security.
+ * Requests go through an {@link LlmProvider}: the OpenAI chat completions endpoint by default,
+ * or the in-process {@link LocalLlmProvider} offline. The provider and the model of each call
+ * are chosen by {@link ModelRouter}.
  * </p>
  *
  * Example usage:
@@ -32,24 +40,90 @@ import com.aisystems.firefliescrmautomation.dto.HubSpotTaskCreationReport;
 @Service
 public class OpenAIService {
 
-    /**
-     * The OpenAI API key, injected from the system environment variable OPENAI_API_KEY.
-     */
-    @Value("${OPENAI_API_KEY}")
-    private String openaiApiKey;
+    private static final Logger log = LoggerFactory.getLogger(OpenAIService.class);
+
+    @Autowired
+    private HubSpotTaskService hubSpotTaskService;
+
+    @Autowired
+    private ActionItemAnalyticsStore analyticsStore;
+
+    @Autowired
+    private TranscriptCompressor transcriptCompressor;
+
+    @Autowired
+    private PromptBudgetPlanner promptBudgetPlanner;
+
+    @Autowired
+    private ModelRouter modelRouter;
+
+    @Autowired
+    private TranscriptTriageService triageService;
+
+    @Autowired
+    private DeadlineResolver deadlineResolver;
+
+    @Autowired
+    private ActionItemDeduplicator deduplicator;
+
+    @Autowired
+    private ActionItemSimilarityService similarityService;
+
+    @Autowired
+    private LlmCallScheduler llmCallScheduler;
+
+    @Value("${aisystems.openai.max-continuations:3}")
+    private int maxContinuations;
+
+    private static final String CONTINUATION_PROMPT =
+            "Your previous answer was cut off. Continue exactly where it stopped. Do not repeat anything and do not add commentary.";
+
+    @Value("${aisystems.openai.extraction.structured-output:true}")
+    private boolean structuredOutput;
+
+    private static final com.fasterxml.jackson.databind.ObjectMapper JSON = new com.fasterxml.jackson.databind.ObjectMapper()
+            .configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
     /**
-     * The OpenAI chat completions endpoint URL.
+     * Fireflies-style transcript the sample generator imitates; also the fallback sample when
+     * generation fails.
      */
-    private static final String OPENAI_URL = "https://api.openai.com/v1/chat/completions";
+    public static final String SAMPLE_TRANSCRIPT = "Meeting Date: November 15, 2024\n" +
+            "Participants: Lisa, Jennifer (Real Estate Agent)\n" +
+            "Lisa: Hi Jennifer, thanks for hopping on this call. I wanted to walk through where we are with your Follow Up Boss setup and make sure we're on track for your go-live date.\n" +
+            "Jennifer: Absolutely! I'm excited to finally get this rolling. I've been so overwhelmed trying to manage my leads manually.\n" +
+            "Lisa: Totally understandable. So, based on what we discussed last week, here's what we need to knock out over the next two weeks.\n" +
+            "Lisa: First, we need to finalize your lead source tracking. I'll need you to send me a list of all your lead sources—Zillow, Realtor.com, your website, referrals, open houses, etc.—by Friday.\n" +
+            "Jennifer Martinez: Got it. I'll pull that together and email it to you by end of week.\n" +
+            "Lisa: Perfect. Second, we need to set up your automated drip campaigns. I'm going to need you to review the email templates I sent you last Monday and let me know if you want to make any changes. Can you get me your feedback by Wednesday?\n" +
+            "Jennifer Martinez: Yes, I'll review those tonight and send you my edits by Wednesday morning.\n" +
+            "Lisa: Awesome. Third, we need to schedule a training session for your assistant, Sarah, so she knows how to use Follow Up Boss for lead entry and task management. Can you have her pick a time on my calendar for next week?\n" +
+            "Jennifer Martinez: Absolutely. I'll have her book something today.\n" +
+            "Lisa: Great. And lastly, I want to make sure we're integrating your showing software—ShowingTime, right?—with Follow Up Boss so that when a showing gets scheduled, it automatically creates a follow-up task. I'll handle the technical setup, but I'll need your ShowingTime login credentials. Can you send those to me via our secure portal by Thursday?\n" +
+            "Jennifer Martinez: Yep, I'll do that tomorrow.\n" +
+            "Lisa: Perfect. So just to recap: lead source list by Friday, email template feedback by Wednesday, Sarah books her training for next week, and ShowingTime credentials by Thursday. Does that all sound doable?\n" +
+            "Jennifer Martinez: Yes, totally doable. I really appreciate you breaking this down for me.\n" +
+            "Lisa: Of course! That's what we're here for. I'll check in with you on Friday to make sure everything's on track, and we should be good to go live by December 1st.\n" +
+            "Jennifer Martinez: Sounds great. Thanks, Lisa!\n" +
+            "Lisa: Anytime. Talk soon!";
 
-    @Autowired
-    private HubSpotTaskService hubSpotTaskService;
+    private static final String SAMPLE_PROMPT = "Generate a random sample meeting transcript with similar structure, participants, and action items as the following transcript. Change names, dates, and details, but keep the format and number of action items. Transcript: " + SAMPLE_TRANSCRIPT;
+
+    private static final String STRUCTURED_EXTRACTION_INSTRUCTIONS = "Extract all action items from the following meeting transcript. " +
+            "For each item give a description, a priority (HIGH, MEDIUM or LOW), the deadline as stated (null if none), " +
+            "the assignee's full name (null if none) and a short category such as follow-up, setup, training or documentation. " +
+            "If a 'Speakers:' line maps initials to names, use the full names. ";
+
+    private static final String EXTRACTION_INSTRUCTIONS = "Extract all action items from the following meeting transcript. " +
+            "For each action item, provide: description, priority (HIGH/MEDIUM/LOW), deadline (if mentioned), and assignee (if mentioned). " +
+            "If a 'Speakers:' line maps initials to names, use the full names for assignee. " +
+            "Return the result as a JSON array of objects with keys: description, priority, deadline, assignee. ";
 
     /**
      * Calls the OpenAI chat-completions endpoint with the given prompt and returns the generated text.
      * <p>
-     * Uses gpt-4o-mini with up to 512 max tokens on the first attempt.
+     * Uses the cheap model tier with up to 512 max tokens, clamped to what the prompt leaves of the
+     * context window.
      * </p>
      *
      * @param prompt The prompt to send to OpenAI for text generation.
@@ -58,59 +132,154 @@ public class OpenAIService {
      * @since 5 December 2025 11:12 AM GMT -5 Bogotá DC Colombia
      */
     public String getCompletion(String prompt) {
-        RestTemplate restTemplate = new RestTemplate();
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(openaiApiKey);
+        return getCompletion(prompt, promptBudgetPlanner.completionTokensFor(prompt, 512));
+    }
+
+    /**
+     * Same as {@link #getCompletion(String)} with an explicit {@code max_tokens}.
+     * @param prompt    the prompt to send
+     * @param maxTokens completion token budget, sized by {@link PromptBudgetPlanner}
+     * @return the generated text, or a message if no response is received
+     */
+    public String getCompletion(String prompt, int maxTokens) {
+        return completeText(prompt, maxTokens, ModelRouter.Task.COMPLETION,
+                modelRouter.route(ModelRouter.Task.COMPLETION, promptBudgetPlanner.countTokens(prompt)));
+    }
 
+    private String completeText(String prompt, int maxTokens, ModelRouter.Task task, ModelRouter.Tier tier) {
         // First attempt
-        String text = fetchCompletion(restTemplate, headers, prompt, 512);
-        if (text != null && !text.trim().isEmpty()) {
-            return text.trim();
+        ChatCompletionResult result = fetchCompletion(task, tier, userMessage(prompt), maxTokens);
+        if (result == null || result.getContent() == null || result.getContent().trim().isEmpty()) {
+            // Retry once with stronger instruction to avoid empty completions
+            String retryPrompt = prompt + "\nPlease respond with a short, non-empty completion.";
+            result = fetchCompletion(task, tier, userMessage(retryPrompt), maxTokens);
+            if (result == null || result.getContent() == null || result.getContent().trim().isEmpty()) {
+                return "No response from OpenAI.";
+            }
         }
 
-        // Retry once with stronger instruction to avoid empty completions
-        String retryPrompt = prompt + "\nPlease respond with a short, non-empty completion.";
-        text = fetchCompletion(restTemplate, headers, retryPrompt, 256);
-        if (text != null && !text.trim().isEmpty()) {
-            return text.trim();
+        // Cut off at max_tokens: ask for the rest instead of regenerating everything.
+        StringBuilder text = new StringBuilder(result.getContent());
+        int continuations = 0;
+        while (result != null && result.isTruncated() && continuations < maxContinuations) {
+            continuations++;
+            List<Map<String, Object>> messages = new ArrayList<>(userMessage(prompt));
+            messages.add(Map.of("role", "assistant", "content", text.toString()));
+            messages.add(Map.of("role", "user", "content", CONTINUATION_PROMPT));
+            result = fetchCompletion(task, tier, messages, maxTokens);
+            if (result == null || result.getContent() == null || result.getContent().isEmpty()) {
+                break;
+            }
+            appendContinuation(text, result.getContent());
+        }
+        if (continuations > 0) {
+            log.info("Completion truncated at {} tokens; stitched {} continuation(s)", maxTokens, continuations);
         }
+        return text.toString().trim();
+    }
 
-        return "No response from OpenAI.";
+    private static List<Map<String, Object>> userMessage(String prompt) {
+        List<Map<String, Object>> messages = new ArrayList<>();
+        messages.add(Map.of("role", "user", "content", prompt));
+        return messages;
     }
 
     /**
-     * Internal helper to post a completion request and extract the first text choice.
+     * Appends a continuation, dropping any prefix that repeats the tail of the partial output.
      */
-    private String fetchCompletion(RestTemplate restTemplate, HttpHeaders headers, String prompt, int maxTokens) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("model", "gpt-4o-mini");
-        body.put("temperature", 0.7);
-        body.put("max_tokens", maxTokens);
-        body.put("messages", java.util.List.of(
-                java.util.Map.of("role", "user", "content", prompt)
-        ));
+    static void appendContinuation(StringBuilder partial, String continuation) {
+        int maxOverlap = Math.min(Math.min(partial.length(), continuation.length()), 200);
+        for (int overlap = maxOverlap; overlap > 0; overlap--) {
+            if (continuation.startsWith(partial.substring(partial.length() - overlap))) {
+                partial.append(continuation, overlap, continuation.length());
+                return;
+            }
+        }
+        partial.append(continuation);
+    }
+
+    /**
+     * Internal helper to post a completion request and extract the first choice with its finish reason.
+     */
+    private ChatCompletionResult fetchCompletion(ModelRouter.Task task, ModelRouter.Tier tier, List<Map<String, Object>> messages, int maxTokens) {
+        return postCompletion(task, tier, new ChatCompletionRequest(null, messages, 0.7, maxTokens, null));
+    }
 
+    private ChatCompletionResult postCompletion(ModelRouter.Task task, ModelRouter.Tier tier, ChatCompletionRequest request) {
         try {
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
-            ResponseEntity<Map> response = restTemplate.postForEntity(OPENAI_URL, request, Map.class);
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Object choices = response.getBody().get("choices");
-                if (choices instanceof java.util.List && !((java.util.List<?>) choices).isEmpty()) {
-                    Object first = ((java.util.List<?>) choices).get(0);
-                    if (first instanceof Map) {
-                        Object message = ((Map<?, ?>) first).get("message");
-                        if (message instanceof Map) {
-                            Object content = ((Map<?, ?>) message).get("content");
-                            return content != null ? content.toString() : null;
-                        }
-                    }
-                }
-            }
+            return exchange(modelRouter.provider(), task, tier, request);
+        } catch (LlmCallScheduler.CallRejectedException ex) {
+            // Overload is not a provider failure: let the controller answer 503.
+            throw ex;
         } catch (Exception ex) {
             // Let caller handle fallback if an exception occurs.
+            return null;
+        }
+    }
+
+    /**
+     * Runs a request on the given provider with the model of the given tier and records the
+     * route metrics. Transient failures (timeouts, connection errors, 429, 5xx) fail over once to
+     * the fallback model, then to the failover provider.
+     * @return the result, or null when the provider returned nothing
+     */
+    private ChatCompletionResult exchange(LlmProvider provider, ModelRouter.Task task, ModelRouter.Tier tier, ChatCompletionRequest request) {
+        ChatCompletionRequest routed = request.withModel(modelRouter.model(provider, tier));
+        RuntimeException failure;
+        // The slot is given back before failing over, so the retry queues like any other call.
+        try (LlmCallScheduler.Permit permit = llmCallScheduler.acquire(provider, routed)) {
+            long start = System.nanoTime();
+            try {
+                ChatCompletionResult result = provider.complete(routed);
+                modelRouter.record(task, tier, routed.getModel(), System.nanoTime() - start,
+                        result != null ? result.getPromptTokens() : 0, result != null ? result.getCompletionTokens() : 0, result != null);
+                return result;
+            } catch (RuntimeException ex) {
+                modelRouter.record(task, tier, routed.getModel(), System.nanoTime() - start, 0, 0, false);
+                failure = ex;
+            }
+        }
+        if (!provider.isTransient(failure)) {
+            throw failure;
+        }
+        ModelRouter.Tier failover = provider.isLocal() ? null : modelRouter.failoverOf(tier);
+        if (failover != null) {
+            modelRouter.recordFailover();
+            log.warn("{} call on {} failed ({}); failing over to {}", task, routed.getModel(), failure.getMessage(), modelRouter.model(failover));
+            return exchange(provider, task, failover, request);
+        }
+        LlmProvider alternate = modelRouter.failoverProviderOf(provider);
+        if (alternate == null) {
+            throw failure;
+        }
+        modelRouter.recordProviderFailover();
+        log.warn("{} call on provider {} failed ({}); failing over to provider {}", task, provider.getName(), failure.getMessage(), alternate.getName());
+        return exchange(alternate, task, tier, request);
+    }
+
+    /**
+     * Streams a completion for the given prompt, handing each content fragment to the consumer.
+     * Runs on the cheap tier without continuation or failover.
+     * @param prompt  the prompt to send
+     * @param onDelta receives content fragments in order
+     * @return the assembled result with token usage
+     */
+    public ChatCompletionResult streamCompletion(String prompt, Consumer<String> onDelta) {
+        LlmProvider provider = modelRouter.provider();
+        ModelRouter.Tier tier = modelRouter.route(ModelRouter.Task.COMPLETION, promptBudgetPlanner.countTokens(prompt));
+        ChatCompletionRequest request = new ChatCompletionRequest(modelRouter.model(provider, tier), userMessage(prompt), 0.7,
+                promptBudgetPlanner.completionTokensFor(prompt, 512), null);
+        try (LlmCallScheduler.Permit permit = llmCallScheduler.acquire(provider, request)) {
+            long start = System.nanoTime();
+            ChatCompletionResult result = null;
+            try {
+                result = provider.stream(request, onDelta);
+                return result;
+            } finally {
+                modelRouter.record(ModelRouter.Task.COMPLETION, tier, request.getModel(), System.nanoTime() - start,
+                        result != null ? result.getPromptTokens() : 0, result != null ? result.getCompletionTokens() : 0, result != null);
+            }
         }
-        return null;
     }
 
     /**
@@ -120,37 +289,50 @@ public class OpenAIService {
      *
      * @param transcript The meeting transcript text.
      * @return List of action items, each as a map with keys: description, priority, deadline, assignee.
+     * @throws PromptBudgetPlanner.PromptTooLargeException when the transcript exceeds the token limit
      * @author Manuela Cortés Granados (manuelcortesgranados@gmail.com)
      * @since 9 December 2025 GMT -5 Bogotá DC Colombia
      */
     public List<Map<String, Object>> extractActionItemsFromTranscript(String transcript) {
+        List<Map<String, Object>> actionItems = extractActionItemsFromSegment(transcript);
+        if (!endsWithError(actionItems)) {
+            try {
+                recordExtraction(transcript, actionItems);
+            } catch (Exception ex) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", "Failed to extract action items: " + ex.getMessage());
+                actionItems.add(error);
+            }
+        }
+        return actionItems;
+    }
+
+    /**
+     * Extracts action items from one segment of a transcript without deadline resolution,
+     * deduplication or analytics; the caller runs {@link #recordExtraction(String, String, List)}
+     * once over the items of all segments.
+     * @param segment transcript text (a whole transcript or one segment of it)
+     * @return extracted items, ending with an {@code error} entry when the extraction failed
+     * @throws PromptBudgetPlanner.PromptTooLargeException when the transcript exceeds the token limit
+     */
+    public List<Map<String, Object>> extractActionItemsFromSegment(String segment) {
         List<Map<String, Object>> actionItems = new ArrayList<>();
 
-        String extractionPrompt = "Extract all action items from the following meeting transcript. " +
-            "For each action item, provide: description, priority (HIGH/MEDIUM/LOW), deadline (if mentioned), and assignee (if mentioned). " +
-            "Return the result as a JSON array of objects with keys: description, priority, deadline, assignee. " +
-            "Transcript: " + transcript;
+        // Strip filler, courtesy turns and recap duplicates before paying for the tokens.
+        TranscriptCompressionReport compression = transcriptCompressor.compress(segment);
+        log.debug("Transcript compressed at level {}: {} -> {} tokens ({} saved)", compression.getLevel(),
+                compression.getOriginalTokens(), compression.getCompressedTokens(), compression.getTokensSaved());
+
+        String compact = compression.getCompressedTranscript();
+        if (compression.getCompressedTokens() > promptBudgetPlanner.getMaxTranscriptTokens()) {
+            throw new PromptBudgetPlanner.PromptTooLargeException("Transcript is " + compression.getCompressedTokens()
+                    + " tokens; the limit is " + promptBudgetPlanner.getMaxTranscriptTokens());
+        }
 
         try {
-            String json = getCompletion(extractionPrompt);
-            if (json != null && !json.trim().isEmpty()) {
-                // Strip Markdown code fences if present
-                json = json.trim();
-                if (json.startsWith("```")) {
-                    json = json.replaceFirst("```json", "")
-                               .replaceFirst("```", "");
-                }
-                // Try to parse the JSON array
-                try {
-                    com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-                    actionItems = mapper.readValue(json.trim(), mapper.getTypeFactory().constructCollectionType(List.class, Map.class));
-                } catch (Exception parseEx) {
-                    // If parsing fails, return a single item with raw text
-                    Map<String, Object> raw = new HashMap<>();
-                    raw.put("raw_output", json.trim());
-                    actionItems.add(raw);
-                }
-            }
+            actionItems.addAll(extractFromCompressedText(compact));
+        } catch (LlmCallScheduler.CallRejectedException ex) {
+            throw ex;
         } catch (Exception ex) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "Failed to extract action items: " + ex.getMessage());
@@ -159,6 +341,223 @@ public class OpenAIService {
         return actionItems;
     }
 
+    /**
+     * @return whether the extraction failed (its last entry is an {@code error} item)
+     */
+    public static boolean endsWithError(List<Map<String, Object>> actionItems) {
+        return !actionItems.isEmpty() && actionItems.get(actionItems.size() - 1).containsKey("error");
+    }
+
+    /**
+     * Finishes an extraction of the whole transcript: resolves deadlines, merges and links
+     * duplicates and records the items for analytics and similarity search.
+     * @param transcript  full meeting transcript (the meeting date and key come from it)
+     * @param actionItems extracted items; replaced in place by the deduplicated list
+     */
+    public void recordExtraction(String transcript, List<Map<String, Object>> actionItems) {
+        recordExtraction(ActionItemAnalyticsStore.meetingKey(transcript), transcript, actionItems);
+    }
+
+    /**
+     * Same as {@link #recordExtraction(String, List)} for a transcript that was read in segments.
+     * @param meeting     meeting key of the whole transcript
+     * @param header      text carrying the transcript's {@code Meeting Date:} header
+     * @param actionItems items of all segments; replaced in place by the deduplicated list
+     */
+    public void recordExtraction(String meeting, String header, List<Map<String, Object>> actionItems) {
+        // "Friday" or "next week" only mean something relative to the meeting date.
+        deadlineResolver.annotate(actionItems, header);
+        // Recaps repeat requests and weekly meetings repeat commitments: merge or link them before any CRM write.
+        List<Map<String, Object>> distinct = deduplicator.deduplicate(meeting, actionItems);
+        if (distinct != actionItems) {
+            actionItems.clear();
+            actionItems.addAll(distinct);
+        }
+        analyticsStore.recordActionItems(meeting, actionItems);
+        similarityService.indexAsync(meeting, actionItems);
+    }
+
+    /**
+     * Extracts action items from already compressed transcript text (a whole transcript or one
+     * segment of it) without deadline resolution, deduplication or analytics.
+     * @param compact compressed transcript text
+     * @return extracted items
+     */
+    public List<Map<String, Object>> extractFromCompressedText(String compact) {
+        // Transcripts with no or only plain commitments are answered by the rules without an LLM call.
+        TranscriptTriageResult triage = triageService.isEnabled() ? triageService.classify(compact) : null;
+        boolean localProvider = modelRouter.provider().isLocal();
+        if (triage != null && !TranscriptTriageService.Complexity.COMPLEX.name().equals(triage.getComplexity())) {
+            log.debug("Triage {} ({}): answered without the LLM", triage.getComplexity(), triage.getReason());
+            if (!localProvider) {
+                triageService.maybeShadow(triage, () -> extractWithLlm(compact));
+            }
+            return new ArrayList<>(triage.getActionItems());
+        }
+        List<Map<String, Object>> actionItems = extractWithLlm(compact);
+        if (triage != null && !localProvider) {
+            triageService.recordComplexAgreement(compact, actionItems);
+        }
+        return actionItems;
+    }
+
+    /**
+     * Sizes max_tokens from the expected number of items, splits what does not fit the context
+     * window and extracts each chunk on the LLM.
+     */
+    private List<Map<String, Object>> extractWithLlm(String compact) {
+        List<Map<String, Object>> actionItems = new ArrayList<>();
+        int completionTokens = promptBudgetPlanner.extractionCompletionTokens(compact);
+        List<String> chunks = promptBudgetPlanner.chunkToFit(compact, EXTRACTION_INSTRUCTIONS, completionTokens);
+        for (String chunk : chunks) {
+            int chunkTokens = chunks.size() == 1 ? completionTokens : promptBudgetPlanner.extractionCompletionTokens(chunk);
+            actionItems.addAll(requestActionItems(chunk, chunkTokens));
+        }
+        return actionItems;
+    }
+
+    /**
+     * Runs the extraction prompt on one transcript (or chunk) and parses the JSON array answer.
+     */
+    private List<Map<String, Object>> requestActionItems(String transcriptText, int maxTokens) {
+        ModelRouter.Tier tier = modelRouter.route(ModelRouter.Task.EXTRACTION, promptBudgetPlanner.countTokens(transcriptText));
+        if (structuredOutput) {
+            List<Map<String, Object>> structured = requestStructuredActionItems(transcriptText, maxTokens, tier);
+            ModelRouter.Tier stronger = modelRouter.escalationOf(tier);
+            if (stronger != null && failsValidation(structured, transcriptText)) {
+                // The cheap model produced nothing usable for a transcript that clearly has items.
+                modelRouter.recordEscalation();
+                log.info("Escalating extraction from {} to {}", modelRouter.model(tier), modelRouter.model(stronger));
+                tier = stronger;
+                structured = requestStructuredActionItems(transcriptText, maxTokens, tier);
+            }
+            if (structured != null) {
+                return structured;
+            }
+            log.warn("Structured extraction failed; falling back to free-text extraction");
+        }
+        List<Map<String, Object>> actionItems = new ArrayList<>();
+        String extractionPrompt = EXTRACTION_INSTRUCTIONS + "Transcript: " + transcriptText;
+        String json = completeText(extractionPrompt, promptBudgetPlanner.completionTokensFor(extractionPrompt, maxTokens),
+                ModelRouter.Task.EXTRACTION, tier);
+        if (json != null && !json.trim().isEmpty()) {
+            // Salvage every complete object, even when the array was cut off; fences and prose are skipped.
+            IncrementalJsonArrayParser parser = IncrementalJsonArrayParser.parse(json);
+            actionItems = parser.parseObjects();
+            if (parser.isTruncated() && !actionItems.isEmpty()) {
+                log.warn("Action item array was truncated; kept {} complete item(s)", actionItems.size());
+            }
+            if (actionItems.isEmpty() && !parser.isComplete()) {
+                // If parsing fails, return a single item with raw text
+                Map<String, Object> raw = new HashMap<>();
+                raw.put("raw_output", json.trim());
+                actionItems.add(raw);
+            }
+        }
+        return actionItems;
+    }
+
+    /**
+     * Structured-output extraction: the response is constrained by {@link ActionItemSchema} at
+     * temperature 0 and deserialised straight into {@link ActionItem}. Items that fail validation
+     * are dropped; a truncated response keeps its complete items.
+     * @return the validated items, or null when the request failed or nothing usable came back
+     */
+    private List<Map<String, Object>> requestStructuredActionItems(String transcriptText, int maxTokens, ModelRouter.Tier tier) {
+        String extractionPrompt = STRUCTURED_EXTRACTION_INSTRUCTIONS + "Transcript: " + transcriptText;
+        ChatCompletionRequest request = new ChatCompletionRequest(null, userMessage(extractionPrompt), 0,
+                promptBudgetPlanner.completionTokensFor(extractionPrompt, maxTokens), ActionItemSchema.RESPONSE_FORMAT);
+
+        ChatCompletionResult result = postCompletion(ModelRouter.Task.EXTRACTION, tier, request);
+        if (result == null || result.getContent() == null || result.getContent().isBlank()) {
+            return null;
+        }
+        return parseStructuredItems(result);
+    }
+
+    /**
+     * Deserialises a structured-output completion into validated items; a truncated response
+     * keeps its complete items.
+     * @return the validated items, or null when nothing usable came back
+     */
+    private static List<Map<String, Object>> parseStructuredItems(ChatCompletionResult result) {
+        List<ActionItem> items;
+        if (!result.isTruncated()) {
+            try {
+                ActionItemExtractionResponse response = JSON.readValue(result.getContent(), ActionItemExtractionResponse.class);
+                items = response.getItems() != null ? response.getItems() : new ArrayList<>();
+            } catch (Exception ex) {
+                return null;
+            }
+        } else {
+            items = new ArrayList<>();
+            for (Map<String, Object> salvaged : IncrementalJsonArrayParser.parse(result.getContent()).parseObjects()) {
+                items.add(JSON.convertValue(salvaged, ActionItem.class));
+            }
+            log.warn("Structured extraction truncated at {} completion tokens; kept {} complete item(s)",
+                    result.getCompletionTokens(), items.size());
+        }
+
+        List<Map<String, Object>> actionItems = new ArrayList<>(items.size());
+        int rejected = 0;
+        for (ActionItem item : items) {
+            if (ActionItemSchema.validate(item)) {
+                actionItems.add(item.toMap());
+            } else {
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            log.warn("Dropped {} action item(s) that failed schema validation", rejected);
+        }
+        return actionItems.isEmpty() && rejected > 0 ? null : actionItems;
+    }
+
+    /**
+     * Runs one extraction prompt on the given provider and model, without compression, triage,
+     * routing, escalation, continuation or failover, so a benchmark measures exactly one prompt
+     * variant on one model. The call still waits for a slot of {@link LlmCallScheduler} in the
+     * caller's lane.
+     * @param provider       provider to call
+     * @param model          model name; local providers use their own
+     * @param structured     true for the json_schema prompt, false for the free-text JSON array prompt
+     * @param transcriptText transcript as it should be sent
+     * @return the completion, or null when the provider returned nothing
+     * @throws LlmCallScheduler.CallRejectedException when no slot was granted before the lane's deadline
+     */
+    public ChatCompletionResult completeExtraction(LlmProvider provider, String model, boolean structured, String transcriptText) {
+        String extractionPrompt = (structured ? STRUCTURED_EXTRACTION_INSTRUCTIONS : EXTRACTION_INSTRUCTIONS) + "Transcript: " + transcriptText;
+        int maxTokens = promptBudgetPlanner.completionTokensFor(extractionPrompt,
+                promptBudgetPlanner.extractionCompletionTokens(transcriptText));
+        ChatCompletionRequest request = new ChatCompletionRequest(provider.isLocal() ? LocalLlmProvider.MODEL : model,
+                userMessage(extractionPrompt), structured ? 0 : 0.7, maxTokens, structured ? ActionItemSchema.RESPONSE_FORMAT : null);
+        try (LlmCallScheduler.Permit permit = llmCallScheduler.acquire(provider, request)) {
+            return provider.complete(request);
+        }
+    }
+
+    /**
+     * Parses a completion of {@link #completeExtraction} the way the pipeline parses its own.
+     * @param result     completion
+     * @param structured whether the structured prompt was used
+     * @return the items, or null when the completion was empty or unusable
+     */
+    public static List<Map<String, Object>> parseExtraction(ChatCompletionResult result, boolean structured) {
+        if (result == null || result.getContent() == null || result.getContent().isBlank()) {
+            return null;
+        }
+        if (structured) {
+            return parseStructuredItems(result);
+        }
+        IncrementalJsonArrayParser parser = IncrementalJsonArrayParser.parse(result.getContent());
+        List<Map<String, Object>> items = parser.parseObjects();
+        return items.isEmpty() && !parser.isComplete() ? null : items;
+    }
+
+    private boolean failsValidation(List<Map<String, Object>> items, String transcriptText) {
+        return items == null || (items.isEmpty() && promptBudgetPlanner.expectedActionItems(transcriptText) >= 2);
+    }
+
     /**
      * Extracts action items from a transcript and creates corresponding HubSpot tasks.
      * Returns a report DTO with aggregated status.
@@ -168,18 +567,58 @@ public class OpenAIService {
      * @since 9 December 2025 GMT 9:52 AM -5 Bogotá DC Colombia
      */
     public HubSpotTaskCreationReport createTasksFromTranscript(String baseTranscript) {
+        List<Map<String, Object>> actionItems;
+        try {
+            actionItems = extractActionItemsFromTranscript(baseTranscript);
+        } catch (LlmCallScheduler.CallRejectedException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            return new HubSpotTaskCreationReport(0, 0, 1, new ArrayList<>(),
+                    List.of("Failed to create tasks: " + ex.getMessage()), new ArrayList<>(), new ArrayList<>());
+        }
+        return createTasksFromActionItems(actionItems);
+    }
+
+    /**
+     * Creates HubSpot tasks for already extracted action items. Items linked to an earlier
+     * meeting's deal reuse it instead of creating another one.
+     * @param actionItems items as returned by {@link #extractActionItemsFromTranscript(String)}
+     * @return HubSpotTaskCreationReport summarizing the operation
+     */
+    public HubSpotTaskCreationReport createTasksFromActionItems(List<Map<String, Object>> actionItems) {
         List<String> responses = new ArrayList<>();
         List<String> errors = new ArrayList<>();
-        List<Map<String, Object>> actionItems = new ArrayList<>();
         List<Map<String, Object>> taskResults = new ArrayList<>();
         try {
-            actionItems = extractActionItemsFromTranscript(baseTranscript);
-            responses = hubSpotTaskService.createTasksFromActionItems(actionItems);
+            List<Map<String, Object>> toCreate = new ArrayList<>();
+            for (Map<String, Object> item : actionItems) {
+                // Failed or unparseable extractions are reported, never written to the CRM.
+                if (item.containsKey("error")) {
+                    errors.add(String.valueOf(item.get("error")));
+                    continue;
+                }
+                if (item.containsKey("raw_output")) {
+                    errors.add("Unparseable extraction output; no deal created");
+                    continue;
+                }
+                Object duplicateOf = item.get("duplicateOf");
+                Object dealId = duplicateOf instanceof Map ? ((Map<?, ?>) duplicateOf).get("hubspotDealId") : null;
+                if (dealId == null) {
+                    toCreate.add(item);
+                    continue;
+                }
+                Map<String, Object> result = new HashMap<>(item);
+                result.put("hubspotTaskId", dealId);
+                result.put("hubspotSkipped", "duplicate");
+                taskResults.add(result);
+                deduplicator.recordWriteAvoided();
+            }
+            responses = hubSpotTaskService.createTasksFromActionItems(toCreate);
             // Build user-friendly task result summary
             for (int i = 0; i < responses.size(); i++) {
                 Map<String, Object> result = new HashMap<>();
-                if (i < actionItems.size()) {
-                    result.putAll(actionItems.get(i));
+                if (i < toCreate.size()) {
+                    result.putAll(toCreate.get(i));
                 }
                 String raw = responses.get(i);
                 result.put("hubspotRawResponse", raw);
@@ -190,6 +629,9 @@ public class OpenAIService {
                     Object url = parsed.get("url");
                     result.put("hubspotTaskId", id);
                     result.put("hubspotTaskUrl", url);
+                    if (id != null && i < toCreate.size()) {
+                        deduplicator.recordDeal(toCreate.get(i), id.toString());
+                    }
                 } catch (Exception ignored) {
                     // keep raw response only
                 }
@@ -214,39 +656,20 @@ public class OpenAIService {
      * @since 5 December 2025 11:25 AM GMT -5 Bogotá DC Colombia
      */
     public String generateRandomSampleTranscript() {
-        String baseTranscript = "Meeting Date: November 15, 2024\n" +
-            "Participants: Lisa, Jennifer (Real Estate Agent)\n" +
-            "Lisa: Hi Jennifer, thanks for hopping on this call. I wanted to walk through where we are with your Follow Up Boss setup and make sure we're on track for your go-live date.\n" +
-            "Jennifer: Absolutely! I'm excited to finally get this rolling. I've been so overwhelmed trying to manage my leads manually.\n" +
-            "Lisa: Totally understandable. So, based on what we discussed last week, here's what we need to knock out over the next two weeks.\n" +
-            "Lisa: First, we need to finalize your lead source tracking. I'll need you to send me a list of all your lead sources—Zillow, Realtor.com, your website, referrals, open houses, etc.—by Friday.\n" +
-            "Jennifer Martinez: Got it. I'll pull that together and email it to you by end of week.\n" +
-            "Lisa: Perfect. Second, we need to set up your automated drip campaigns. I'm going to need you to review the email templates I sent you last Monday and let me know if you want to make any changes. Can you get me your feedback by Wednesday?\n" +
-            "Jennifer Martinez: Yes, I'll review those tonight and send you my edits by Wednesday morning.\n" +
-            "Lisa: Awesome. Third, we need to schedule a training session for your assistant, Sarah, so she knows how to use Follow Up Boss for lead entry and task management. Can you have her pick a time on my calendar for next week?\n" +
-            "Jennifer Martinez: Absolutely. I'll have her book something today.\n" +
-            "Lisa: Great. And lastly, I want to make sure we're integrating your showing software—ShowingTime, right?—with Follow Up Boss so that when a showing gets scheduled, it automatically creates a follow-up task. I'll handle the technical setup, but I'll need your ShowingTime login credentials. Can you send those to me via our secure portal by Thursday?\n" +
-            "Jennifer Martinez: Yep, I'll do that tomorrow.\n" +
-            "Lisa: Perfect. So just to recap: lead source list by Friday, email template feedback by Wednesday, Sarah books her training for next week, and ShowingTime credentials by Thursday. Does that all sound doable?\n" +
-            "Jennifer Martinez: Yes, totally doable. I really appreciate you breaking this down for me.\n" +
-            "Lisa: Of course! That's what we're here for. I'll check in with you on Friday to make sure everything's on track, and we should be good to go live by December 1st.\n" +
-            "Jennifer Martinez: Sounds great. Thanks, Lisa!\n" +
-            "Lisa: Anytime. Talk soon!";
-        String prompt = "Generate a random sample meeting transcript with similar structure, participants, and action items as the following transcript. Change names, dates, and details, but keep the format and number of action items. Transcript: " + baseTranscript;
         try {
-            String generated = getCompletion(prompt + " Return only the transcript text lines. Do not include explanations or JSON.");
+            String generated = getCompletion(SAMPLE_PROMPT + " Return only the transcript text lines. Do not include explanations or JSON.");
             if (generated == null || generated.trim().isEmpty()) {
                 // Retry once with a stricter instruction if the first call came back empty.
-                generated = getCompletion(prompt + " Respond with transcript text only. Include speaker names and action items. Do not return empty text.");
+                generated = getCompletion(SAMPLE_PROMPT + " Respond with transcript text only. Include speaker names and action items. Do not return empty text.");
             }
             // If OpenAI still returns an empty/blank payload, fall back to the static example so the endpoint isn't empty.
             if (generated == null || generated.trim().isEmpty()) {
-                return baseTranscript;
+                return SAMPLE_TRANSCRIPT;
             }
             return generated.trim();
         } catch (Exception ex) {
             // Always return content even if the upstream OpenAI call fails.
-            return baseTranscript;
+            return SAMPLE_TRANSCRIPT;
         }
     }
 
@@ -257,42 +680,18 @@ public class OpenAIService {
      * @since 5 December 2025 11:25 AM GMT -5 Bogotá DC Colombia
      */
     public Map<String, Object> generateRandomSampleTranscriptFull() {
-        String baseTranscript = "Meeting Date: November 15, 2024\n" +
-            "Participants: Lisa, Jennifer (Real Estate Agent)\n" +
-            "Lisa: Hi Jennifer, thanks for hopping on this call. I wanted to walk through where we are with your Follow Up Boss setup and make sure we're on track for your go-live date.\n" +
-            "Jennifer: Absolutely! I'm excited to finally get this rolling. I've been so overwhelmed trying to manage my leads manually.\n" +
-            "Lisa: Totally understandable. So, based on what we discussed last week, here's what we need to knock out over the next two weeks.\n" +
-            "Lisa: First, we need to finalize your lead source tracking. I'll need you to send me a list of all your lead sources—Zillow, Realtor.com, your website, referrals, open houses, etc.—by Friday.\n" +
-            "Jennifer Martinez: Got it. I'll pull that together and email it to you by end of week.\n" +
-            "Lisa: Perfect. Second, we need to set up your automated drip campaigns. I'm going to need you to review the email templates I sent you last Monday and let me know if you want to make any changes. Can you get me your feedback by Wednesday?\n" +
-            "Jennifer Martinez: Yes, I'll review those tonight and send you my edits by Wednesday morning.\n" +
-            "Lisa: Awesome. Third, we need to schedule a training session for your assistant, Sarah, so she knows how to use Follow Up Boss for lead entry and task management. Can you have her pick a time on my calendar for next week?\n" +
-            "Jennifer Martinez: Absolutely. I'll have her book something today.\n" +
-            "Lisa: Great. And lastly, I want to make sure we're integrating your showing software—ShowingTime, right?—with Follow Up Boss so that when a showing gets scheduled, it automatically creates a follow-up task. I'll handle the technical setup, but I'll need your ShowingTime login credentials. Can you send those to me via our secure portal by Thursday?\n" +
-            "Jennifer Martinez: Yep, I'll do that tomorrow.\n" +
-            "Lisa: Perfect. So just to recap: lead source list by Friday, email template feedback by Wednesday, Sarah books her training for next week, and ShowingTime credentials by Thursday. Does that all sound doable?\n" +
-            "Jennifer Martinez: Yes, totally doable. I really appreciate you breaking this down for me.\n" +
-            "Lisa: Of course! That's what we're here for. I'll check in with you on Friday to make sure everything's on track, and we should be good to go live by December 1st.\n" +
-            "Jennifer Martinez: Sounds great. Thanks, Lisa!\n" +
-            "Lisa: Anytime. Talk soon!";
-        String prompt = "Generate a random sample meeting transcript with similar structure, participants, and action items as the following transcript. Change names, dates, and details, but keep the format and number of action items. Transcript: " + baseTranscript;
         Instant start = Instant.now();
-        RestTemplate restTemplate = new RestTemplate();
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(openaiApiKey);
-        Map<String, Object> body = new HashMap<>();
-        body.put("model", "gpt-4o-mini");
-        body.put("messages", java.util.List.of(
-                java.util.Map.of("role", "user", "content", prompt)
-        ));
-        body.put("temperature", 0.7);
-        body.put("max_tokens", 500);
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
-        ResponseEntity<Map> response = restTemplate.postForEntity(OPENAI_URL, request, Map.class);
+        ChatCompletionRequest request = new ChatCompletionRequest(null, userMessage(SAMPLE_PROMPT), 0.7, 500, null);
+        ChatCompletionResult result = null;
+        try {
+            result = exchange(modelRouter.provider(), ModelRouter.Task.GENERATION,
+                    modelRouter.route(ModelRouter.Task.GENERATION, promptBudgetPlanner.countTokens(SAMPLE_PROMPT)), request);
+        } catch (Exception ex) {
+            log.warn("Sample transcript generation failed: {}", ex.getMessage());
+        }
         Instant end = Instant.now();
-        if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-            Map<String, Object> bodyMap = response.getBody();
+        if (result != null) {
+            Map<String, Object> bodyMap = toResponseMap(result);
             attachExecutionMetadata(bodyMap, start, end);
             return bodyMap;
         }
@@ -302,6 +701,29 @@ public class OpenAIService {
         return error;
     }
 
+    /**
+     * Renders a result in the chat-completions response shape, whatever provider produced it.
+     */
+    private static Map<String, Object> toResponseMap(ChatCompletionResult result) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("role", "assistant");
+        message.put("content", result.getContent());
+        Map<String, Object> choice = new HashMap<>();
+        choice.put("index", 0);
+        choice.put("message", message);
+        choice.put("finish_reason", result.getFinishReason());
+        Map<String, Object> usage = new HashMap<>();
+        usage.put("prompt_tokens", result.getPromptTokens());
+        usage.put("completion_tokens", result.getCompletionTokens());
+        usage.put("total_tokens", result.getPromptTokens() + result.getCompletionTokens());
+        Map<String, Object> body = new HashMap<>();
+        body.put("object", "chat.completion");
+        body.put("model", result.getModel());
+        body.put("choices", List.of(choice));
+        body.put("usage", usage);
+        return body;
+    }
+
     private void attachExecutionMetadata(Map<String, Object> container, Instant start, Instant end) {
         container.put("executionTimestamp", end.toString());
         container.put("executionDurationMs", Duration.between(start, end).toMillis());
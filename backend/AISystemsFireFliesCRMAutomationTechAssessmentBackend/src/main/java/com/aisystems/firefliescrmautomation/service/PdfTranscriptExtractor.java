@@ -0,0 +1,129 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Extracts text from a PDF transcript page by page, splitting the document into page ranges
+ * that are processed in parallel.
+ * <p>
+ * {@link PDDocument} is not thread-safe, so each task opens its own instance of the spooled
+ * file. Documents are loaded with {@link MemoryUsageSetting#setupTempFileOnly()} so parser
+ * buffers live in scratch files instead of the heap, and the shared pool caps how many
+ * documents are open at once; heap use therefore depends on the pool size, not on the page
+ * count.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 11:45 AM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class PdfTranscriptExtractor implements InitializingBean, DisposableBean {
+
+    @Value("${aisystems.transcripts.pdf.parallelism:4}")
+    private int parallelism;
+
+    @Value("${aisystems.transcripts.pdf.pages-per-task:25}")
+    private int pagesPerTask;
+
+    @Value("${aisystems.transcripts.pdf.max-pages:2000}")
+    private int maxPages;
+
+    private ExecutorService extractionPool;
+
+    @Override
+    public void afterPropertiesSet() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        extractionPool = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "pdf-extract-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        extractionPool.shutdownNow();
+    }
+
+    /**
+     * Extracts the text of every page.
+     * @param pdf spooled PDF file
+     * @return page texts in document order
+     * @throws IOException when the file is not a readable PDF
+     * @throws IllegalArgumentException when the document is encrypted or exceeds the page cap
+     */
+    public List<String> extractPages(Path pdf) throws IOException {
+        int pageCount;
+        try (PDDocument document = load(pdf)) {
+            if (document.isEncrypted()) {
+                throw new IllegalArgumentException("Encrypted PDFs are not supported");
+            }
+            pageCount = document.getNumberOfPages();
+        }
+        if (pageCount > maxPages) {
+            throw new IllegalArgumentException("PDF has " + pageCount + " pages; the limit is " + maxPages);
+        }
+
+        int step = Math.max(1, pagesPerTask);
+        List<Future<List<String>>> ranges = new ArrayList<>();
+        for (int first = 1; first <= pageCount; first += step) {
+            int start = first;
+            int end = Math.min(pageCount, first + step - 1);
+            ranges.add(extractionPool.submit(() -> extractRange(pdf, start, end)));
+        }
+
+        List<String> pages = new ArrayList<>(pageCount);
+        try {
+            for (Future<List<String>> range : ranges) {
+                pages.addAll(range.get());
+            }
+        } catch (InterruptedException e) {
+            ranges.forEach(range -> range.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("PDF extraction interrupted", e);
+        } catch (ExecutionException e) {
+            ranges.forEach(range -> range.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("PDF extraction failed: " + cause.getMessage(), cause);
+        }
+        return pages;
+    }
+
+    private static List<String> extractRange(Path pdf, int startPage, int endPage) throws IOException {
+        List<String> pages = new ArrayList<>(endPage - startPage + 1);
+        try (PDDocument document = load(pdf)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);
+            stripper.setLineSeparator("\n");
+            for (int page = startPage; page <= endPage; page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                pages.add(stripper.getText(document));
+            }
+        }
+        return pages;
+    }
+
+    private static PDDocument load(Path pdf) throws IOException {
+        return PDDocument.load(pdf.toFile(), MemoryUsageSetting.setupTempFileOnly());
+    }
+}
@@ -0,0 +1,184 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sizes OpenAI requests with {@link BpeTokenizer} before anything goes over the network:
+ * picks {@code max_tokens} from the expected number of action items and splits transcripts
+ * that would not fit the model context window into line-aligned chunks.
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 1:00 PM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class PromptBudgetPlanner {
+
+    private static final Pattern HEADER_LINE = Pattern.compile(
+            "^(Meeting Date|Participants|Speakers)\\s*:.*$", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    /** Sentences that carry a request or a dated commitment; roughly one per action item. */
+    private static final Pattern ACTION_CUE = Pattern.compile(
+            "\\b(need you to|can you|could you|please|by (monday|tuesday|wednesday|thursday|friday|saturday|sunday|" +
+            "tomorrow|tonight|today|end of|next|the end)|(next|this) week|tomorrow)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SENTENCE_SPLIT = Pattern.compile("(?<=[.!?])\\s+|\\R");
+    /** Tokens of the JSON array brackets and a possible closing remark. */
+    private static final int RESPONSE_OVERHEAD_TOKENS = 32;
+
+    @Autowired
+    private BpeTokenizer tokenizer;
+
+    @Value("${aisystems.openai.context-window:128000}")
+    private int contextWindow;
+
+    @Value("${aisystems.openai.max-output-tokens:16384}")
+    private int maxOutputTokens;
+
+    @Value("${aisystems.openai.min-completion-tokens:256}")
+    private int minCompletionTokens;
+
+    @Value("${aisystems.openai.tokens-per-action-item:70}")
+    private int tokensPerActionItem;
+
+    @Value("${aisystems.openai.max-transcript-tokens:400000}")
+    private int maxTranscriptTokens;
+
+    @Value("${aisystems.openai.max-chunk-tokens:24000}")
+    private int maxChunkTokens;
+
+    /**
+     * A prompt or transcript that can never be sent: the request itself is too large.
+     */
+    public static class PromptTooLargeException extends IllegalArgumentException {
+        public PromptTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    public int getMaxTranscriptTokens() {
+        return maxTranscriptTokens;
+    }
+
+    public int countTokens(String text) {
+        return tokenizer.countTokens(text);
+    }
+
+    /**
+     * Clamps a requested completion size to what is left of the context window.
+     * @param prompt          the user message
+     * @param requestedTokens desired {@code max_tokens}
+     * @return a {@code max_tokens} value that fits
+     * @throws PromptTooLargeException when the prompt alone does not fit the context window
+     */
+    public int completionTokensFor(String prompt, int requestedTokens) {
+        int available = contextWindow - tokenizer.countChatPromptTokens(prompt);
+        if (available < minCompletionTokens) {
+            throw new PromptTooLargeException("Prompt does not fit the " + contextWindow + " token context window");
+        }
+        return Math.max(1, Math.min(Math.min(requestedTokens, maxOutputTokens), available));
+    }
+
+    /**
+     * Estimates the number of action items from sentences with commitment cues.
+     * @param transcript transcript text
+     * @return expected action items (at least 1)
+     */
+    public int expectedActionItems(String transcript) {
+        int cues = 0;
+        for (String sentence : SENTENCE_SPLIT.split(transcript)) {
+            Matcher matcher = ACTION_CUE.matcher(sentence);
+            if (matcher.find()) {
+                cues++;
+            }
+        }
+        return Math.max(1, cues);
+    }
+
+    /**
+     * Chooses {@code max_tokens} for an extraction request: the expected number of items times
+     * the per-item cost, with 50% headroom, between the configured minimum and the model maximum.
+     * @param transcript transcript text (or chunk)
+     * @return completion token budget
+     */
+    public int extractionCompletionTokens(String transcript) {
+        int expected = RESPONSE_OVERHEAD_TOKENS + expectedActionItems(transcript) * tokensPerActionItem * 3 / 2;
+        return Math.max(minCompletionTokens, Math.min(maxOutputTokens, expected));
+    }
+
+    /**
+     * Splits a transcript into chunks that fit next to the instructions and the completion budget.
+     * Chunks are cut at line boundaries and repeat the header lines; a single oversized line is
+     * split by characters.
+     * @param transcript        transcript text
+     * @param instructions      prompt text sent with every chunk
+     * @param completionTokens  {@code max_tokens} reserved for each answer
+     * @return one element when the transcript fits as is
+     */
+    public List<String> chunkToFit(String transcript, String instructions, int completionTokens) {
+        int fixed = tokenizer.countChatPromptTokens(instructions) + completionTokens;
+        int budget = Math.min(maxChunkTokens, contextWindow - fixed);
+        if (budget <= 0) {
+            throw new IllegalArgumentException("Instructions and completion budget exceed the context window");
+        }
+        if (tokenizer.countTokens(transcript) <= contextWindow - fixed) {
+            return List.of(transcript);
+        }
+
+        StringBuilder header = new StringBuilder();
+        Matcher headerMatcher = HEADER_LINE.matcher(transcript);
+        while (headerMatcher.find()) {
+            header.append(headerMatcher.group()).append('\n');
+        }
+        int headerTokens = tokenizer.countTokens(header.toString());
+        int lineBudget = Math.max(1, budget - headerTokens);
+
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder(header);
+        int currentTokens = headerTokens;
+        for (String line : transcript.split("\\R")) {
+            if (line.isBlank() || HEADER_LINE.matcher(line).matches()) {
+                continue;
+            }
+            for (String piece : splitOversizedLine(line, lineBudget)) {
+                int pieceTokens = tokenizer.countTokens(piece) + 1;
+                if (currentTokens + pieceTokens > budget && currentTokens > headerTokens) {
+                    chunks.add(current.toString().strip());
+                    current = new StringBuilder(header);
+                    currentTokens = headerTokens;
+                }
+                current.append(piece).append('\n');
+                currentTokens += pieceTokens;
+            }
+        }
+        if (currentTokens > headerTokens) {
+            chunks.add(current.toString().strip());
+        }
+        return chunks;
+    }
+
+    private List<String> splitOversizedLine(String line, int lineBudget) {
+        int tokens = tokenizer.countTokens(line);
+        if (tokens <= lineBudget) {
+            return List.of(line);
+        }
+        int parts = (tokens + lineBudget - 1) / lineBudget + 1;
+        int step = Math.max(1, line.length() / parts);
+        List<String> pieces = new ArrayList<>();
+        int start = 0;
+        while (start < line.length()) {
+            int end = Math.min(line.length(), start + step);
+            int space = end < line.length() ? line.lastIndexOf(' ', end) : -1;
+            if (space > start) {
+                end = space;
+            }
+            pieces.add(line.substring(start, end).strip());
+            start = end;
+        }
+        return pieces;
+    }
+}
@@ -0,0 +1,195 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.ActionItem;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic action item extraction without a model.
+ * <p>
+ * Works on the pipeline transcript format ("Speaker: text" turns, optional {@code Speakers:}
+ * legend from {@link TranscriptCompressor}). A request addressed to the other party ("I'll need
+ * you to...", "Can you...") becomes an item assigned to the next speaker; a first-person
+ * commitment ("I'll...") becomes an item assigned to the speaker, unless it only acknowledges
+ * a request from the previous turn. Recap sentences are skipped. Deadlines are kept as stated;
+ * priority follows from how close the deadline is.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 2:15 PM GMT -5 Bogotá DC Colombia
+ */
+@Component
+public class RuleBasedActionItemExtractor {
+
+    private static final Pattern HEADER_LINE = Pattern.compile("^(Meeting Date|Participants)\\s*:.*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LEGEND_LINE = Pattern.compile("^Speakers\\s*:\\s*(.*)$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TURN_LINE = Pattern.compile("^([^:]{1,60}?)\\s*:\\s*(.+)$");
+    private static final Pattern SENTENCE_SPLIT = Pattern.compile("(?<=[.!?])\\s+");
+
+    private static final Pattern REQUEST = Pattern.compile(
+            "\\b(?:I(?:'ll| will)? need you to|I(?:'m| am) going to need you to|can you|could you|would you|" +
+            "please|make sure (?:you|to))\\s+(.+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern COMMITMENT = Pattern.compile(
+            "\\bI(?:'ll| will|'m going to| am going to)\\s+(?!need\\b)(.+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern RECAP = Pattern.compile("\\b(recap|to summarize|in summary|to sum up)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CLAUSE_BREAK = Pattern.compile(",\\s+(?:but|and|so)\\s+(?:I|we|you|it)\\b.*$");
+    private static final Pattern QUESTION_TAIL = Pattern.compile("\\s*(\\?|, right\\?|\\.)+$");
+
+    private static final String WEEKDAY = "monday|tuesday|wednesday|thursday|friday|saturday|sunday";
+    private static final String MONTH = "january|february|march|april|may|june|july|august|september|october|november|december";
+    private static final Pattern DEADLINE = Pattern.compile(
+            "\\b(?<!last )(end of (?:the )?(?:day|week|month)|eod|eow|today|tonight|tomorrow|" +
+            "(?:next|this) (?:week|month|" + WEEKDAY + ")|(?:" + WEEKDAY + ")(?: morning| afternoon| evening)?|" +
+            "(?:" + MONTH + ") \\d{1,2}(?:st|nd|rd|th)?)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern EXPLICIT_DEADLINE = Pattern.compile("\\b(?:by|before|until|due)\\s+" + DEADLINE.pattern(), Pattern.CASE_INSENSITIVE);
+    private static final Pattern URGENT = Pattern.compile("\\b(urgent|asap|immediately|right away|critical)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> IMMINENT = Set.of("today", "tonight", "tomorrow", "eod", "end of day", "end of the day");
+
+    /** Category keywords, checked in order. */
+    private static final List<Map.Entry<String, Pattern>> CATEGORIES = List.of(
+            Map.entry("training", Pattern.compile("\\b(train|onboard|session|walkthrough)\\w*")),
+            Map.entry("setup", Pattern.compile("\\b(set up|setup|integrat|configur|install|credential|login|access)\\w*")),
+            Map.entry("documentation", Pattern.compile("\\b(template|document|notes|list|review|edits?)\\b")),
+            Map.entry("follow-up", Pattern.compile("\\b(send|email|call|check in|follow up|follow-up|feedback)\\b")));
+
+    private static final int MAX_DESCRIPTION_CHARS = 200;
+
+    /**
+     * Extracts action items from a transcript.
+     * @param transcript transcript text
+     * @return items in transcript order, never null
+     */
+    public List<ActionItem> extract(String transcript) {
+        List<ActionItem> items = new ArrayList<>();
+        if (transcript == null || transcript.isBlank()) {
+            return items;
+        }
+        Map<String, String> legend = new HashMap<>();
+        List<String[]> turns = new ArrayList<>();
+        for (String rawLine : transcript.split("\\R")) {
+            String line = rawLine.strip();
+            if (line.isEmpty() || HEADER_LINE.matcher(line).matches()) {
+                continue;
+            }
+            Matcher legendLine = LEGEND_LINE.matcher(line);
+            if (legendLine.matches()) {
+                for (String entry : legendLine.group(1).split(",")) {
+                    String[] pair = entry.split("=", 2);
+                    if (pair.length == 2) {
+                        legend.put(pair[0].strip(), pair[1].strip());
+                    }
+                }
+                continue;
+            }
+            Matcher turn = TURN_LINE.matcher(line);
+            if (turn.matches()) {
+                String speaker = turn.group(1).strip();
+                turns.add(new String[]{legend.getOrDefault(speaker, speaker), turn.group(2)});
+            } else if (!turns.isEmpty()) {
+                String[] last = turns.get(turns.size() - 1);
+                last[1] = last[1] + " " + line;
+            }
+        }
+
+        Set<String> seen = new HashSet<>();
+        boolean previousTurnRequested = false;
+        for (int i = 0; i < turns.size(); i++) {
+            String speaker = turns.get(i)[0];
+            String addressee = addressee(turns, i);
+            boolean requested = false;
+            for (String sentence : SENTENCE_SPLIT.split(turns.get(i)[1])) {
+                if (RECAP.matcher(sentence).find()) {
+                    continue;
+                }
+                Matcher request = REQUEST.matcher(sentence);
+                if (request.find()) {
+                    requested |= add(items, seen, request.group(1), addressee, speaker);
+                    continue;
+                }
+                Matcher commitment = COMMITMENT.matcher(sentence);
+                if (commitment.find() && !previousTurnRequested) {
+                    add(items, seen, commitment.group(1), speaker, speaker);
+                }
+            }
+            previousTurnRequested = requested && addressee != null && !addressee.equals(speaker);
+        }
+        return items;
+    }
+
+    private static String addressee(List<String[]> turns, int index) {
+        String speaker = turns.get(index)[0];
+        for (int j = index + 1; j < turns.size(); j++) {
+            if (!sameSpeaker(turns.get(j)[0], speaker)) {
+                return turns.get(j)[0];
+            }
+        }
+        for (int j = index - 1; j >= 0; j--) {
+            if (!sameSpeaker(turns.get(j)[0], speaker)) {
+                return turns.get(j)[0];
+            }
+        }
+        return null;
+    }
+
+    private static boolean sameSpeaker(String a, String b) {
+        return a.equals(b) || a.startsWith(b + " ") || b.startsWith(a + " ");
+    }
+
+    private static boolean add(List<ActionItem> items, Set<String> seen, String clause, String assignee, String speaker) {
+        String description = QUESTION_TAIL.matcher(CLAUSE_BREAK.matcher(clause.strip()).replaceAll("")).replaceAll("");
+        // First-person references point at the speaker once the sentence is rephrased as a task.
+        description = description.replaceAll("\\bme\\b", speaker).replaceAll("\\bmy\\b", speaker + "'s");
+        if (description.split("\\s+").length < 3) {
+            return false;
+        }
+        if (description.length() > MAX_DESCRIPTION_CHARS) {
+            int cut = description.lastIndexOf(' ', MAX_DESCRIPTION_CHARS);
+            description = description.substring(0, cut > 0 ? cut : MAX_DESCRIPTION_CHARS);
+        }
+        description = Character.toUpperCase(description.charAt(0)) + description.substring(1);
+        if (!seen.add(description.toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+
+        // "by Friday" wins over other dates mentioned in passing.
+        String deadline = null;
+        Matcher deadlineMatcher = EXPLICIT_DEADLINE.matcher(description);
+        if (deadlineMatcher.find() || (deadlineMatcher = DEADLINE.matcher(description)).find()) {
+            deadline = deadlineMatcher.group(1);
+        }
+        ActionItem item = new ActionItem();
+        item.setDescription(description);
+        item.setDeadline(deadline);
+        item.setAssignee(assignee);
+        item.setPriority(priority(description, deadline));
+        item.setCategory(category(description));
+        items.add(item);
+        return true;
+    }
+
+    private static String priority(String description, String deadline) {
+        if (URGENT.matcher(description).find() || (deadline != null && IMMINENT.contains(deadline.toLowerCase(Locale.ROOT)))) {
+            return "HIGH";
+        }
+        return deadline != null ? "MEDIUM" : "LOW";
+    }
+
+    private static String category(String description) {
+        String lower = description.toLowerCase(Locale.ROOT);
+        for (Map.Entry<String, Pattern> category : CATEGORIES) {
+            if (category.getValue().matcher(lower).find()) {
+                return category.getKey();
+            }
+        }
+        return "follow-up";
+    }
+}
@@ -0,0 +1,215 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.SampleTranscriptPoolReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves sample transcripts from a pool generated in the background.
+ * <p>
+ * The sample endpoints are demo and QA traffic; generating on every click made each one wait
+ * for a full LLM completion. The pool is filled to {@code capacity} at startup and refilled by a
+ * single background thread whenever a request leaves it at or below {@code low-water-mark}.
+ * Each entry keeps the full completion response plus its generation stats (model, tokens,
+ * duration, time generated), so both the text and the full endpoint are served from it. Only
+ * when the pool is empty does a request generate synchronously as before. A failed generation
+ * pauses refilling for {@code retry-backoff-ms} instead of retrying in a loop.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 4:10 PM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class SampleTranscriptPool implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SampleTranscriptPool.class);
+
+    /** Tenant the refill calls are accounted to in the {@link LlmCallScheduler}'s bulk lane. */
+    private static final String POOL_TENANT = "sample-pool";
+
+    @Autowired
+    private OpenAIService openAIService;
+
+    @Value("${aisystems.sample-pool.enabled:true}")
+    private boolean enabled;
+
+    @Value("${aisystems.sample-pool.capacity:16}")
+    private int capacity;
+
+    @Value("${aisystems.sample-pool.low-water-mark:4}")
+    private int lowWaterMark;
+
+    @Value("${aisystems.sample-pool.retry-backoff-ms:60000}")
+    private long retryBackoffMs;
+
+    private LinkedBlockingQueue<PooledSample> pool;
+    private ExecutorService refiller;
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long pausedUntil;
+    private final LatencyHistogram generationLatency = new LatencyHistogram();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    @Override
+    public void afterPropertiesSet() {
+        pool = new LinkedBlockingQueue<>(Math.max(1, capacity));
+        AtomicInteger threadIndex = new AtomicInteger();
+        refiller = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sample-pool-refill-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            triggerRefill();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refiller.shutdownNow();
+    }
+
+    /**
+     * @return a pooled sample transcript, or one generated now when the pool is empty
+     */
+    public String takeTranscript() {
+        PooledSample sample = take();
+        return sample != null ? sample.transcript : openAIService.generateRandomSampleTranscript();
+    }
+
+    /**
+     * @return the full completion response of a pooled sample with a {@code samplePool} entry
+     * describing its generation, or a response generated now when the pool is empty
+     */
+    public Map<String, Object> takeFull() {
+        PooledSample sample = take();
+        if (sample == null) {
+            Map<String, Object> response = openAIService.generateRandomSampleTranscriptFull();
+            response.put("samplePool", Map.of("source", "live"));
+            return response;
+        }
+        Map<String, Object> response = new HashMap<>(sample.response);
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("source", "pool");
+        stats.put("sampleId", sample.id);
+        stats.put("generatedAt", sample.generatedAt.toString());
+        stats.put("generationDurationMs", sample.generationMillis);
+        stats.put("ageMs", System.currentTimeMillis() - sample.generatedAt.toEpochMilli());
+        response.put("samplePool", stats);
+        return response;
+    }
+
+    public SampleTranscriptPoolReport getReport() {
+        return new SampleTranscriptPoolReport(enabled, capacity, lowWaterMark, pool.size(), refilling.get(),
+                hits.sum(), misses.sum(), generated.sum(), failures.sum(), generationLatency.snapshot());
+    }
+
+    private PooledSample take() {
+        if (!enabled) {
+            return null;
+        }
+        PooledSample sample = pool.poll();
+        if (sample != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        if (pool.size() <= lowWaterMark) {
+            triggerRefill();
+        }
+        return sample;
+    }
+
+    private void triggerRefill() {
+        if (System.currentTimeMillis() < pausedUntil || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+        refiller.execute(() -> {
+            try {
+                LlmCallScheduler.runInLane(LlmCallScheduler.Lane.BULK, POOL_TENANT, this::refill);
+            } finally {
+                refilling.set(false);
+            }
+        });
+    }
+
+    private void refill() {
+        while (pool.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+            PooledSample sample = generate();
+            if (sample == null) {
+                pausedUntil = System.currentTimeMillis() + retryBackoffMs;
+                return;
+            }
+            pool.offer(sample);
+        }
+    }
+
+    private PooledSample generate() {
+        long start = System.nanoTime();
+        Map<String, Object> response;
+        try {
+            response = openAIService.generateRandomSampleTranscriptFull();
+        } catch (RuntimeException e) {
+            response = Map.of("error", String.valueOf(e.getMessage()));
+        }
+        long nanos = System.nanoTime() - start;
+        String transcript = content(response);
+        if (response.containsKey("error") || transcript == null || transcript.isBlank()) {
+            failures.increment();
+            log.warn("Sample transcript generation failed; refilling paused for {} ms: {}", retryBackoffMs,
+                    response.getOrDefault("error", "empty completion"));
+            return null;
+        }
+        generationLatency.record(nanos);
+        generated.increment();
+        return new PooledSample(sequence.incrementAndGet(), transcript.trim(), response, Instant.now(), nanos / 1_000_000);
+    }
+
+    /** Text of the first choice of a chat-completions shaped response. */
+    private static String content(Map<String, Object> response) {
+        Object choices = response.get("choices");
+        if (!(choices instanceof List) || ((List<?>) choices).isEmpty()) {
+            return null;
+        }
+        Object choice = ((List<?>) choices).get(0);
+        Object message = choice instanceof Map ? ((Map<?, ?>) choice).get("message") : null;
+        Object content = message instanceof Map ? ((Map<?, ?>) message).get("content") : null;
+        return content != null ? content.toString() : null;
+    }
+
+    private static final class PooledSample {
+        final long id;
+        final String transcript;
+        final Map<String, Object> response;
+        final Instant generatedAt;
+        final long generationMillis;
+
+        PooledSample(long id, String transcript, Map<String, Object> response, Instant generatedAt, long generationMillis) {
+            this.id = id;
+            this.transcript = transcript;
+            this.response = response;
+            this.generatedAt = generatedAt;
+            this.generationMillis = generationMillis;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.HikariPoolMetrics;
+import com.aisystems.firefliescrmautomation.dto.SqlMetricsReport;
+import com.aisystems.firefliescrmautomation.dto.SqlNPlusOneIncident;
+import com.aisystems.firefliescrmautomation.dto.SqlSlowQueryEntry;
+import com.aisystems.firefliescrmautomation.dto.SqlStatementMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Collects SQL execution metrics reported by the datasource-proxy listener and the
+ * connection-acquire wrapper installed by {@code AISystemsDataSourceConfig}.
+ * <p>
+ * Tracks per-statement latency histograms and batch sizes (statements are normalized so that
+ * literals do not explode the key space), keeps a bounded slow-query log, detects N+1 query
+ * patterns within a single HTTP request and exposes Hikari pool gauges together with the
+ * measured connection acquire time. When a read replica is configured the read/write routing
+ * decisions and the last measured replication lag are reported as well.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 8:10 AM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class SqlMetricsService {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlMetricsService.class);
+
+    private static final String OVERFLOW_STATEMENT = "<other statements>";
+    private static final int MAX_LOGGED_SQL_LENGTH = 1_000;
+    private static final int MAX_NORMALIZATION_CACHE = 2_000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w$])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_LIST = Pattern.compile("(?i)\\bvalues\\s*(\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\))(?:\\s*,\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Value("${aisystems.sql-metrics.slow-query-threshold-ms:250}")
+    private long slowQueryThresholdMs;
+
+    @Value("${aisystems.sql-metrics.n-plus-one-threshold:10}")
+    private int nPlusOneThreshold;
+
+    @Value("${aisystems.sql-metrics.max-tracked-statements:500}")
+    private int maxTrackedStatements;
+
+    @Value("${aisystems.sql-metrics.slow-query-log-size:100}")
+    private int slowQueryLogSize;
+
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Map<String, String> normalizationCache = new ConcurrentHashMap<>();
+    private final Map<String, PoolStats> pools = new ConcurrentHashMap<>();
+    private final Deque<SqlSlowQueryEntry> slowQueries = new ArrayDeque<>();
+    private final Deque<SqlNPlusOneIncident> nPlusOneIncidents = new ArrayDeque<>();
+    private final ThreadLocal<RequestScope> requestScope = new ThreadLocal<>();
+    private final LongAdder totalStatements = new LongAdder();
+    private final LongAdder totalFailures = new LongAdder();
+    private final Map<String, LongAdder> routing = new ConcurrentHashMap<>();
+    private volatile Long replicaLagSeconds;
+    private volatile Boolean replicaUsable;
+
+    /**
+     * Registers a Hikari pool so its gauges are exported with the SQL metrics.
+     * @param name logical pool name (primary, replica, ...)
+     * @param dataSource the pool
+     */
+    public void registerPool(String name, HikariDataSource dataSource) {
+        pools.computeIfAbsent(name, key -> new PoolStats()).dataSource = dataSource;
+    }
+
+    /**
+     * Records how long a caller waited to obtain a pooled connection.
+     * @param poolName logical pool name
+     * @param nanos    elapsed wait in nanoseconds
+     * @param success  whether a connection was obtained
+     */
+    public void recordConnectionAcquire(String poolName, long nanos, boolean success) {
+        PoolStats stats = pools.computeIfAbsent(poolName, key -> new PoolStats());
+        stats.acquireTime.record(nanos);
+        if (!success) {
+            stats.acquireFailures.increment();
+        }
+    }
+
+    /**
+     * Counts one routing decision of the read/write routing DataSource.
+     * @param route route label (write-primary, read-replica, read-fallback-primary)
+     */
+    public void recordRouting(String route) {
+        routing.computeIfAbsent(route, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Records the result of the latest replica lag check.
+     * @param lagSeconds measured lag in seconds, or -1 when unknown
+     * @param usable     whether reads are currently routed to the replica
+     */
+    public void recordReplicaLag(long lagSeconds, boolean usable) {
+        this.replicaLagSeconds = lagSeconds;
+        this.replicaUsable = usable;
+    }
+
+    /**
+     * Records one executed statement (or batch) reported by the datasource proxy.
+     * @param dataSourceName proxy name the statement ran against
+     * @param sql            raw SQL text
+     * @param elapsedMs      execution time in milliseconds
+     * @param batch          whether this was a JDBC batch execution
+     * @param batchSize      number of parameter sets/statements in the batch
+     * @param success        whether execution completed without throwing
+     */
+    public void recordStatement(String dataSourceName, String sql, long elapsedMs,
+                                boolean batch, int batchSize, boolean success) {
+        String normalized = normalize(sql);
+        StatementStats stats = statements.get(normalized);
+        if (stats == null) {
+            String key = statements.size() < maxTrackedStatements ? normalized : OVERFLOW_STATEMENT;
+            stats = statements.computeIfAbsent(key, k -> new StatementStats());
+        }
+        stats.latency.recordMillis(elapsedMs);
+        stats.totalMs.add(elapsedMs);
+        if (batch) {
+            stats.batchExecutions.increment();
+            stats.batchItems.add(batchSize);
+            stats.maxBatchSize.accumulate(batchSize);
+        }
+        totalStatements.increment();
+        if (!success) {
+            stats.failures.increment();
+            totalFailures.increment();
+        }
+
+        RequestScope scope = requestScope.get();
+        if (scope != null) {
+            scope.statements++;
+            if (!batch && normalized.startsWith("select")) {
+                scope.selectCounts.merge(normalized, 1, Integer::sum);
+            }
+        }
+
+        if (elapsedMs >= slowQueryThresholdMs) {
+            String loggedSql = sql == null ? "" : sql;
+            if (loggedSql.length() > MAX_LOGGED_SQL_LENGTH) {
+                loggedSql = loggedSql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+            }
+            String path = scope != null ? scope.path : null;
+            log.warn("Slow SQL ({} ms) on {}{}: {}", elapsedMs, dataSourceName,
+                    path != null ? " during " + path : "", loggedSql);
+            synchronized (slowQueries) {
+                slowQueries.addFirst(new SqlSlowQueryEntry(Instant.now().toString(), dataSourceName,
+                        elapsedMs, batch ? batchSize : 0, path, loggedSql));
+                while (slowQueries.size() > slowQueryLogSize) {
+                    slowQueries.removeLast();
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens a per-request scope on the current thread for N+1 detection.
+     * @param path request description (method and URI)
+     */
+    public void beginRequest(String path) {
+        requestScope.set(new RequestScope(path));
+    }
+
+    /**
+     * Closes the current request scope and records an N+1 incident for every identical SELECT
+     * executed at least {@code aisystems.sql-metrics.n-plus-one-threshold} times.
+     */
+    public void endRequest() {
+        RequestScope scope = requestScope.get();
+        requestScope.remove();
+        if (scope == null || scope.selectCounts.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, Integer> entry : scope.selectCounts.entrySet()) {
+            if (entry.getValue() < nPlusOneThreshold) {
+                continue;
+            }
+            log.warn("Possible N+1 query: {} executed {} times during {}", entry.getKey(), entry.getValue(), scope.path);
+            synchronized (nPlusOneIncidents) {
+                nPlusOneIncidents.addFirst(new SqlNPlusOneIncident(Instant.now().toString(), scope.path,
+                        entry.getKey(), entry.getValue(), scope.statements));
+                while (nPlusOneIncidents.size() > slowQueryLogSize) {
+                    nPlusOneIncidents.removeLast();
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the exported metrics report.
+     * @return statement, slow-query, N+1 and pool metrics
+     */
+    public SqlMetricsReport getReport() {
+        List<SqlStatementMetrics> statementMetrics = new ArrayList<>();
+        for (Map.Entry<String, StatementStats> entry : statements.entrySet()) {
+            StatementStats s = entry.getValue();
+            long batches = s.batchExecutions.sum();
+            statementMetrics.add(new SqlStatementMetrics(
+                    entry.getKey(),
+                    s.totalMs.sum(),
+                    s.failures.sum(),
+                    batches,
+                    batches == 0 ? 0.0 : s.batchItems.sum() / (double) batches,
+                    s.maxBatchSize.get(),
+                    s.latency.snapshot()));
+        }
+        statementMetrics.sort(Comparator.comparingLong(SqlStatementMetrics::getTotalTimeMs).reversed());
+
+        List<HikariPoolMetrics> poolMetrics = new ArrayList<>();
+        for (Map.Entry<String, PoolStats> entry : pools.entrySet()) {
+            PoolStats stats = entry.getValue();
+            int active = -1;
+            int idle = -1;
+            int total = -1;
+            int pending = -1;
+            int maxSize = -1;
+            if (stats.dataSource != null) {
+                maxSize = stats.dataSource.getMaximumPoolSize();
+                HikariPoolMXBean mx = stats.dataSource.getHikariPoolMXBean();
+                if (mx != null) {
+                    active = mx.getActiveConnections();
+                    idle = mx.getIdleConnections();
+                    total = mx.getTotalConnections();
+                    pending = mx.getThreadsAwaitingConnection();
+                }
+            }
+            poolMetrics.add(new HikariPoolMetrics(entry.getKey(), active, idle, total, pending, maxSize,
+                    stats.acquireFailures.sum(), stats.acquireTime.snapshot()));
+        }
+
+        List<SqlSlowQueryEntry> slow;
+        synchronized (slowQueries) {
+            slow = new ArrayList<>(slowQueries);
+        }
+        List<SqlNPlusOneIncident> incidents;
+        synchronized (nPlusOneIncidents) {
+            incidents = new ArrayList<>(nPlusOneIncidents);
+        }
+        Map<String, Long> routingCounts = new TreeMap<>();
+        routing.forEach((route, counter) -> routingCounts.put(route, counter.sum()));
+        return new SqlMetricsReport(Instant.now().toString(), totalStatements.sum(), totalFailures.sum(),
+                slowQueryThresholdMs, statementMetrics, slow, incidents, poolMetrics,
+                routingCounts, replicaLagSeconds, replicaUsable);
+    }
+
+    /**
+     * Replaces literals with {@code ?}, collapses IN/VALUES lists and whitespace and lower-cases
+     * the statement so that equivalent statements share one metrics entry.
+     */
+    String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String cached = normalizationCache.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String n = STRING_LITERAL.matcher(sql).replaceAll("?");
+        n = NUMERIC_LITERAL.matcher(n).replaceAll("?");
+        n = IN_LIST.matcher(n).replaceAll("in (?)");
+        n = VALUES_LIST.matcher(n).replaceAll("values $1");
+        n = WHITESPACE.matcher(n).replaceAll(" ").trim().toLowerCase();
+        if (normalizationCache.size() < MAX_NORMALIZATION_CACHE) {
+            normalizationCache.put(sql, n);
+        }
+        return n;
+    }
+
+    private static final class StatementStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder totalMs = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder batchExecutions = new LongAdder();
+        private final LongAdder batchItems = new LongAdder();
+        private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0L);
+    }
+
+    private static final class PoolStats {
+        private volatile HikariDataSource dataSource;
+        private final LatencyHistogram acquireTime = new LatencyHistogram();
+        private final LongAdder acquireFailures = new LongAdder();
+    }
+
+    private static final class RequestScope {
+        private final String path;
+        private final Map<String, Integer> selectCounts = new HashMap<>();
+        private int statements;
+
+        private RequestScope(String path) {
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.TranscriptCompressionReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic transcript preprocessing applied before the extraction prompt is built.
+ * <p>
+ * Levels are cumulative:
+ * <ul>
+ *     <li>{@code LIGHT} drops filler sentences ("Awesome.", "Talk soon!") and turns left empty.</li>
+ *     <li>{@code STANDARD} also drops greetings/thank-you closings and sentences a speaker already said, folds
+ *     short speaker labels into the full name ("Jennifer" and "Jennifer Martinez") and replaces
+ *     speaker labels with initials declared once in a {@code Speakers:} legend.</li>
+ *     <li>{@code AGGRESSIVE} also drops recap sentences whose content words were already said.</li>
+ * </ul>
+ * Header lines ({@code Meeting Date:}, {@code Participants:}) are always kept.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 12:30 PM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class TranscriptCompressor {
+
+    /**
+     * Compression aggressiveness.
+     */
+    public enum Level {
+        OFF, LIGHT, STANDARD, AGGRESSIVE;
+
+        public static Level parse(String value, Level fallback) {
+            if (value == null || value.isBlank()) {
+                return fallback;
+            }
+            try {
+                return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                return fallback;
+            }
+        }
+    }
+
+    private static final Pattern HEADER_LINE = Pattern.compile(
+            "^(Meeting Date|Date|Participants|Attendees|Title)\\s*:.*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TURN_LINE = Pattern.compile("^([\\p{L}][\\p{L}'.\\- ]{0,40}?)(\\s*\\([^)]{0,60}\\))?\\s*:\\s*(.*)$");
+    private static final Pattern SENTENCE_SPLIT = Pattern.compile("(?<=[.!?])\\s+(?=[\\p{Lu}\"'])");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}' ]+");
+    private static final Pattern GREETING = Pattern.compile("^(hi|hello|hey|good (morning|afternoon|evening))\\b.*");
+    private static final Pattern APPRECIATION = Pattern.compile(
+            "^(thanks|thank you|i really appreciate|i appreciate|really appreciate)\\b.*");
+    private static final Pattern RECAP = Pattern.compile("\\b(recap|to summarize|in summary|to sum up|summing up)\\b");
+
+    private static final Set<String> FILLER = Set.of(
+            "awesome", "great", "perfect", "cool", "nice", "ok", "okay", "sure", "yes", "yeah", "yep", "yup",
+            "absolutely", "got it", "sounds good", "sounds great", "sounds perfect", "of course", "anytime",
+            "talk soon", "talk to you soon", "bye", "goodbye", "bye bye", "see you", "thanks", "thank you",
+            "thanks so much", "thank you so much", "totally understandable", "understood", "makes sense",
+            "that makes sense", "right", "exactly", "alright", "all right", "wonderful", "excellent",
+            "that's what we're here for", "no problem", "my pleasure", "will do", "definitely");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "that", "this", "with", "have", "will", "your", "from", "they", "them", "what", "when", "then",
+            "just", "like", "make", "sure", "need", "want", "also", "were", "been", "into", "does", "sound",
+            "next", "all", "and", "the", "for", "you", "our", "can");
+
+    private static final int MAX_SHORT_SENTENCE_WORDS = 12;
+
+    @Autowired
+    private BpeTokenizer tokenizer;
+
+    @Value("${aisystems.openai.compression.level:STANDARD}")
+    private String defaultLevel;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder originalTokensTotal = new LongAdder();
+    private final LongAdder compressedTokensTotal = new LongAdder();
+
+    public Level getDefaultLevel() {
+        return Level.parse(defaultLevel, Level.STANDARD);
+    }
+
+    /**
+     * Compresses a transcript with the configured default level and records the savings.
+     * @param transcript transcript text
+     * @return compression report including the compressed text
+     */
+    public TranscriptCompressionReport compress(String transcript) {
+        TranscriptCompressionReport report = compress(transcript, getDefaultLevel());
+        requests.increment();
+        originalTokensTotal.add(report.getOriginalTokens());
+        compressedTokensTotal.add(report.getCompressedTokens());
+        return report;
+    }
+
+    /**
+     * Compresses a transcript with an explicit level (no cumulative accounting).
+     * @param transcript transcript text
+     * @param level      aggressiveness
+     * @return compression report including the compressed text
+     */
+    public TranscriptCompressionReport compress(String transcript, Level level) {
+        String source = transcript == null ? "" : transcript;
+        int[] droppedSentences = new int[1];
+        String compressed = level == Level.OFF ? source : compressText(source, level, droppedSentences);
+        int originalTokens = tokenizer.countTokens(source);
+        int compressedTokens = level == Level.OFF ? originalTokens : tokenizer.countTokens(compressed);
+        return new TranscriptCompressionReport(level.name(), source.length(), compressed.length(),
+                originalTokens, compressedTokens, originalTokens - compressedTokens, droppedSentences[0], compressed);
+    }
+
+    /**
+     * Cumulative savings of {@link #compress(String)} since startup.
+     * @return requests, original/compressed tokens and tokens saved
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long original = originalTokensTotal.sum();
+        long compressed = compressedTokensTotal.sum();
+        stats.put("level", getDefaultLevel().name());
+        stats.put("requests", requests.sum());
+        stats.put("originalTokens", original);
+        stats.put("compressedTokens", compressed);
+        stats.put("tokensSaved", original - compressed);
+        stats.put("savedRatio", original == 0 ? 0.0 : (original - compressed) / (double) original);
+        return stats;
+    }
+
+    private static String compressText(String transcript, Level level, int[] droppedSentences) {
+        List<String> headers = new ArrayList<>();
+        List<String[]> turns = new ArrayList<>();
+        for (String rawLine : transcript.split("\\R")) {
+            String line = rawLine.strip().replaceAll("\\s{2,}", " ");
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (HEADER_LINE.matcher(line).matches()) {
+                headers.add(line);
+                continue;
+            }
+            Matcher turn = TURN_LINE.matcher(line);
+            if (turn.matches()) {
+                turns.add(new String[]{turn.group(1).strip(), turn.group(3)});
+            } else if (!turns.isEmpty()) {
+                String[] last = turns.get(turns.size() - 1);
+                last[1] = last[1] + " " + line;
+            } else {
+                headers.add(line);
+            }
+        }
+
+        boolean standard = level.compareTo(Level.STANDARD) >= 0;
+        Map<String, String> canonical = standard ? canonicalSpeakers(turns) : new HashMap<>();
+        Set<String> firstNames = new HashSet<>();
+        for (String[] turn : turns) {
+            firstNames.add(turn[0].split(" ")[0].toLowerCase(Locale.ROOT));
+        }
+
+        Set<String> seenSentences = new HashSet<>();
+        Set<String> seenContentWords = new HashSet<>();
+        List<String[]> kept = new ArrayList<>();
+        for (String[] turn : turns) {
+            String speaker = canonical.getOrDefault(turn[0], turn[0]);
+            StringBuilder text = new StringBuilder();
+            for (String sentence : SENTENCE_SPLIT.split(turn[1].strip())) {
+                String normalized = normalize(sentence, firstNames);
+                if (normalized.isEmpty() || FILLER.contains(normalized)) {
+                    droppedSentences[0]++;
+                    continue;
+                }
+                int words = normalized.split(" ").length;
+                if (standard) {
+                    boolean shortCourtesy = words <= MAX_SHORT_SENTENCE_WORDS
+                            && (GREETING.matcher(normalized).matches() || APPRECIATION.matcher(normalized).matches());
+                    // Keyed by speaker: a second speaker repeating a commitment takes it on as well.
+                    if (shortCourtesy || !seenSentences.add(speaker + '\n' + normalized)) {
+                        droppedSentences[0]++;
+                        continue;
+                    }
+                }
+                Set<String> content = contentWords(normalized);
+                if (level == Level.AGGRESSIVE && RECAP.matcher(normalized).find() && coverage(content, seenContentWords) >= 0.6) {
+                    droppedSentences[0]++;
+                    continue;
+                }
+                seenContentWords.addAll(content);
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                text.append(sentence.strip());
+            }
+            if (text.length() == 0) {
+                continue;
+            }
+            String[] previous = kept.isEmpty() ? null : kept.get(kept.size() - 1);
+            if (previous != null && previous[0].equals(speaker)) {
+                previous[1] = previous[1] + " " + text;
+            } else {
+                kept.add(new String[]{speaker, text.toString()});
+            }
+        }
+
+        Map<String, String> abbreviations = standard ? abbreviate(kept) : new LinkedHashMap<>();
+        StringBuilder out = new StringBuilder();
+        for (String header : headers) {
+            out.append(header).append('\n');
+        }
+        if (!abbreviations.isEmpty()) {
+            out.append("Speakers: ");
+            int i = 0;
+            for (Map.Entry<String, String> entry : abbreviations.entrySet()) {
+                out.append(i++ == 0 ? "" : ", ").append(entry.getValue()).append('=').append(entry.getKey());
+            }
+            out.append('\n');
+        }
+        for (String[] turn : kept) {
+            out.append(abbreviations.getOrDefault(turn[0], turn[0])).append(": ").append(turn[1]).append('\n');
+        }
+        return out.toString().strip();
+    }
+
+    /**
+     * Maps a one-word label to the unique longer label that starts with it ("Jennifer" to
+     * "Jennifer Martinez").
+     */
+    private static Map<String, String> canonicalSpeakers(List<String[]> turns) {
+        Set<String> names = new HashSet<>();
+        for (String[] turn : turns) {
+            names.add(turn[0]);
+        }
+        Map<String, String> canonical = new HashMap<>();
+        for (String name : names) {
+            if (name.contains(" ")) {
+                continue;
+            }
+            String match = null;
+            int matches = 0;
+            for (String candidate : names) {
+                if (candidate.startsWith(name + " ")) {
+                    match = candidate;
+                    matches++;
+                }
+            }
+            if (matches == 1) {
+                canonical.put(name, match);
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * Assigns initials to speakers whose label is repeated often enough for the legend to pay off.
+     */
+    private static Map<String, String> abbreviate(List<String[]> turns) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String[] turn : turns) {
+            counts.merge(turn[0], 1, Integer::sum);
+        }
+        Map<String, String> abbreviations = new LinkedHashMap<>();
+        Set<String> used = new HashSet<>();
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            String name = entry.getKey();
+            StringBuilder initials = new StringBuilder();
+            for (String part : name.split("[ \\-]+")) {
+                if (!part.isEmpty()) {
+                    initials.append(Character.toUpperCase(part.charAt(0)));
+                }
+            }
+            String abbreviation = initials.toString();
+            for (int suffix = 2; used.contains(abbreviation); suffix++) {
+                abbreviation = initials.toString() + suffix;
+            }
+            int legendCost = name.length() + abbreviation.length() + 3;
+            int savings = (name.length() - abbreviation.length()) * entry.getValue();
+            if (savings > legendCost) {
+                used.add(abbreviation);
+                abbreviations.put(name, abbreviation);
+            }
+        }
+        return abbreviations;
+    }
+
+    private static String normalize(String sentence, Set<String> firstNames) {
+        String normalized = NON_WORD.matcher(sentence.toLowerCase(Locale.ROOT)).replaceAll(" ").strip().replaceAll("\\s+", " ");
+        int lastSpace = normalized.lastIndexOf(' ');
+        if (lastSpace > 0 && firstNames.contains(normalized.substring(lastSpace + 1))) {
+            normalized = normalized.substring(0, lastSpace);
+        }
+        return normalized;
+    }
+
+    private static Set<String> contentWords(String normalized) {
+        Set<String> words = new HashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.length() >= 4 && !STOPWORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static double coverage(Set<String> words, Set<String> seen) {
+        if (words.isEmpty()) {
+            return 1.0;
+        }
+        int covered = 0;
+        for (String word : words) {
+            if (seen.contains(word)) {
+                covered++;
+            }
+        }
+        return covered / (double) words.size();
+    }
+}
@@ -0,0 +1,142 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.HubSpotTaskCreationReport;
+import com.aisystems.firefliescrmautomation.dto.TranscriptIngestionReport;
+import com.aisystems.firefliescrmautomation.service.TranscriptSpoolService.SpooledTranscript;
+import com.aisystems.firefliescrmautomation.service.TranscriptTextNormalizer.NormalizedTranscript;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ingests uploaded transcript documents: spools the upload to a temp file, extracts and
+ * normalises the text and runs action item extraction on it. Plain-text bodies are spooled by
+ * {@link TranscriptSpoolService} and processed one bounded segment at a time.
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 11:55 AM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class TranscriptIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TranscriptIngestionService.class);
+
+    @Autowired
+    private PdfTranscriptExtractor pdfTranscriptExtractor;
+
+    @Autowired
+    private OpenAIService openAIService;
+
+    @Autowired
+    private TranscriptSpoolService transcriptSpoolService;
+
+    @Value("${aisystems.transcripts.pdf.max-bytes:52428800}")
+    private long maxPdfBytes;
+
+    /**
+     * Extracts the normalised transcript text of an uploaded PDF.
+     * @param file uploaded PDF
+     * @return normalised transcript
+     * @throws IOException when the upload cannot be spooled or parsed
+     */
+    public NormalizedTranscript normalizePdf(MultipartFile file) throws IOException {
+        Path spooled = spoolPdf(file);
+        try {
+            return TranscriptTextNormalizer.normalizePages(pdfTranscriptExtractor.extractPages(spooled));
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    /**
+     * Extracts, normalises and runs action item extraction on an uploaded PDF.
+     * @param file uploaded PDF
+     * @return ingestion report with the extracted action items
+     * @throws IOException when the upload cannot be spooled or parsed
+     */
+    public TranscriptIngestionReport ingestPdf(MultipartFile file) throws IOException {
+        Path spooled = spoolPdf(file);
+        List<String> pages;
+        long extractionStart = System.nanoTime();
+        try {
+            pages = pdfTranscriptExtractor.extractPages(spooled);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+        NormalizedTranscript transcript = TranscriptTextNormalizer.normalizePages(pages);
+        long extractionMs = (System.nanoTime() - extractionStart) / 1_000_000L;
+
+        long llmStart = System.nanoTime();
+        List<Map<String, Object>> actionItems = transcript.getText().isBlank()
+                ? new ArrayList<>()
+                : openAIService.extractActionItemsFromTranscript(transcript.getText());
+        long llmMs = (System.nanoTime() - llmStart) / 1_000_000L;
+
+        log.info("Ingested PDF transcript {}: {} pages, {} turns, text extraction {} ms, action items {} ms",
+                file.getOriginalFilename(), pages.size(), transcript.getTurnCount(), extractionMs, llmMs);
+        return new TranscriptIngestionReport(file.getOriginalFilename(), file.getSize(), pages.size(),
+                transcript.getText().length(), transcript.getTurnCount(), new ArrayList<>(transcript.getSpeakers()),
+                extractionMs, llmMs, actionItems);
+    }
+
+    /**
+     * Extracts action items from a plain-text transcript body without holding it in memory.
+     * Segments are extracted one at a time; the items of all segments are then deduplicated and
+     * recorded once, under the meeting key of the whole transcript.
+     * @param body request body
+     * @return action items of all segments, in transcript order
+     * @throws IOException when the body cannot be spooled
+     */
+    public List<Map<String, Object>> extractActionItems(InputStream body) throws IOException {
+        List<Map<String, Object>> actionItems = new ArrayList<>();
+        try (SpooledTranscript transcript = transcriptSpoolService.spool(body)) {
+            int segments = transcript.forEachSegment(
+                    segment -> actionItems.addAll(openAIService.extractActionItemsFromSegment(segment)));
+            if (!actionItems.isEmpty()) {
+                openAIService.recordExtraction(transcript.getMeetingKey(), transcript.getHeader(), actionItems);
+            }
+            log.debug("Extracted {} action items from {} bytes in {} segments",
+                    actionItems.size(), transcript.getSizeBytes(), segments);
+        }
+        return actionItems;
+    }
+
+    /**
+     * Extracts action items from a plain-text transcript body and creates the HubSpot deals for
+     * the deduplicated items of all segments.
+     * @param body request body
+     * @return creation report of the whole transcript
+     * @throws IOException when the body cannot be spooled
+     */
+    public HubSpotTaskCreationReport createTasks(InputStream body) throws IOException {
+        return openAIService.createTasksFromActionItems(extractActionItems(body));
+    }
+
+    private Path spoolPdf(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("A non-empty PDF file is required");
+        }
+        if (file.getSize() > maxPdfBytes) {
+            throw new IllegalArgumentException("PDF is " + file.getSize() + " bytes; the limit is " + maxPdfBytes);
+        }
+        Path spooled = Files.createTempFile("transcript-", ".pdf");
+        try {
+            file.transferTo(spooled);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+        return spooled;
+    }
+}
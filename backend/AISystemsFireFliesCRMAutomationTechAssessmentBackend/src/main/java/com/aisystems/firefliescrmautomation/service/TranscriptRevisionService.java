@@ -0,0 +1,479 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.TranscriptRevisionReport;
+import com.aisystems.firefliescrmautomation.service.FirefliesSyncStateRepository.RevisionDeal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Re-processes corrected transcripts without re-extracting what did not change.
+ * <p>
+ * Every revision of a transcript, the first one included, is cut into coarse segments at
+ * content-defined boundaries: a segment ends after a line whose hash has its low bits zero (or
+ * at the maximum length), so an edit only moves the boundaries around it and the other segments
+ * keep their hash. Each segment, with the header lines prepended, is extracted once per provider
+ * and cached by SHA-256; a resubmitted transcript only sends its changed segments to the LLM.
+ * </p>
+ * <p>
+ * The merged items are compared with the previous revision of the same transcript id: items
+ * with the same normalized description (or, failing that, the most similar one) are matched.
+ * New items get a HubSpot deal, matched items whose wording, priority, deadline or assignee
+ * changed update their deal, and items no longer present have their deal archived. Each deal
+ * is recorded in {@link FirefliesSyncStateRepository} as soon as HubSpot returns its id, so the
+ * transcript-to-deal mapping survives restarts, cache eviction and a failure halfway through a
+ * revision. Segment results and loaded revisions are cached in memory (bounded, least recently
+ * used first).
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 3:40 PM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class TranscriptRevisionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TranscriptRevisionService.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern HEADER_LINE = Pattern.compile("^(Meeting Date|Participants|Speakers)\\s*:.*$", Pattern.CASE_INSENSITIVE);
+    private static final List<String> SYNCED_FIELDS = List.of("description", "priority", "deadline", "assignee");
+    private static final double MATCH_THRESHOLD = 0.5;
+
+    @Autowired
+    private TranscriptCompressor transcriptCompressor;
+
+    @Autowired
+    private OpenAIService openAIService;
+
+    @Autowired
+    private ModelRouter modelRouter;
+
+    @Autowired
+    private DeadlineResolver deadlineResolver;
+
+    @Autowired
+    private ActionItemDeduplicator deduplicator;
+
+    @Autowired
+    private HubSpotTaskService hubSpotTaskService;
+
+    @Autowired
+    private FirefliesSyncStateRepository syncStateRepository;
+
+    @Value("${aisystems.revisions.segment-min-lines:16}")
+    private int segmentMinLines;
+
+    @Value("${aisystems.revisions.segment-average-lines:64}")
+    private int segmentAverageLines;
+
+    @Value("${aisystems.revisions.segment-max-lines:192}")
+    private int segmentMaxLines;
+
+    @Value("${aisystems.revisions.segment-cache-size:10000}")
+    private int segmentCacheSize;
+
+    @Value("${aisystems.revisions.max-transcripts:5000}")
+    private int maxTranscripts;
+
+    private final Map<String, List<Map<String, Object>>> segmentCache = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, TranscriptState> transcripts = new LinkedHashMap<>(256, 0.75f, true);
+
+    /**
+     * Extracts a transcript revision segment by segment and applies the difference with the
+     * previous revision to HubSpot.
+     * @param transcriptId   stable id of the transcript (e.g. the Fireflies id)
+     * @param transcript     full transcript text of this revision
+     * @param applyToHubSpot false to compute the diff only; the revision is then not recorded
+     * @return segments reused, the diff and the merged action items
+     */
+    public TranscriptRevisionReport syncRevision(String transcriptId, String transcript, boolean applyToHubSpot) {
+        TranscriptState state = state(transcriptId);
+        synchronized (state) {
+            if (!state.loaded) {
+                load(transcriptId, state);
+            }
+            List<String> errors = new ArrayList<>();
+            String compact = transcriptCompressor.compress(transcript).getCompressedTranscript();
+            // The first revision is extracted per segment too, so its results seed the cache for the next one.
+            List<String> segments = segment(compact);
+            String providerName = modelRouter.provider().getName();
+
+            int reused = 0;
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (String segment : segments) {
+                String key = sha256(providerName + "\n" + segment);
+                List<Map<String, Object>> cached = cachedSegment(key);
+                if (cached != null) {
+                    reused++;
+                    items.addAll(cached);
+                    continue;
+                }
+                try {
+                    List<Map<String, Object>> extracted = openAIService.extractFromCompressedText(segment);
+                    items.addAll(extracted);
+                    cacheSegment(key, extracted);
+                } catch (RuntimeException ex) {
+                    errors.add("Failed to extract segment: " + ex.getMessage());
+                }
+            }
+            items.removeIf(item -> {
+                if (item.containsKey("error") || item.containsKey("raw_output") || item.get("description") == null) {
+                    errors.add(item.containsKey("error") ? String.valueOf(item.get("error")) : "Unparseable extraction output");
+                    return true;
+                }
+                return false;
+            });
+            deadlineResolver.annotate(items, transcript);
+            // The closing recap sits in a different segment than the requests it repeats.
+            items = deduplicator.mergeDuplicates(items);
+
+            Diff diff = diff(state.items, items, !errors.isEmpty());
+            List<TrackedItem> next = new ArrayList<>(diff.kept);
+            if (applyToHubSpot) {
+                apply(transcriptId, state.revision + 1, diff, next, errors);
+                state.items = next;
+                state.revision++;
+            }
+            List<Map<String, Object>> archived = new ArrayList<>();
+            for (TrackedItem removed : diff.removed) {
+                Map<String, Object> entry = new HashMap<>(removed.item);
+                entry.put("hubspotTaskId", removed.dealId);
+                archived.add(entry);
+            }
+            log.debug("Transcript {} revision {}: {}/{} segments reused, {} created, {} updated, {} archived",
+                    transcriptId, state.revision, reused, segments.size(), diff.created.size(), diff.updated.size(), archived.size());
+            return new TranscriptRevisionReport(transcriptId, state.revision, applyToHubSpot, segments.size(), reused,
+                    segments.size() - reused, views(diff.created), views(diff.updated), archived, diff.unchanged, items, errors);
+        }
+    }
+
+    /**
+     * Cuts compressed transcript text into segments at content-defined boundaries; every
+     * segment starts with the header lines.
+     * @param compact compressed transcript
+     * @return segment texts
+     */
+    List<String> segment(String compact) {
+        StringBuilder header = new StringBuilder();
+        List<String> body = new ArrayList<>();
+        for (String line : compact.split("\\R")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (HEADER_LINE.matcher(line).matches()) {
+                header.append(line.strip()).append('\n');
+            } else {
+                body.add(line.strip());
+            }
+        }
+        int mask = Integer.highestOneBit(Math.max(1, segmentAverageLines)) - 1;
+        List<String> segments = new ArrayList<>();
+        StringBuilder current = new StringBuilder(header);
+        int lines = 0;
+        for (String line : body) {
+            current.append(line).append('\n');
+            lines++;
+            boolean boundary = lines >= segmentMinLines && (fnv(line) & mask) == 0;
+            if (boundary || lines >= segmentMaxLines) {
+                segments.add(current.toString().strip());
+                current = new StringBuilder(header);
+                lines = 0;
+            }
+        }
+        if (lines > 0 || segments.isEmpty()) {
+            segments.add(current.toString().strip());
+        }
+        return segments;
+    }
+
+    /**
+     * Matches the new items against the previous revision.
+     * @param partial true when some segment failed; unmatched old items are then kept rather than archived
+     */
+    private Diff diff(List<TrackedItem> previous, List<Map<String, Object>> items, boolean partial) {
+        Diff diff = new Diff();
+        boolean[] matched = new boolean[previous.size()];
+        List<Map<String, Object>> unmatched = new ArrayList<>();
+        for (Map<String, Object> item : items) {
+            String key = ActionItemDeduplicator.normalize(item.get("description").toString());
+            int found = -1;
+            for (int i = 0; i < previous.size() && found < 0; i++) {
+                if (!matched[i] && previous.get(i).key.equals(key)) {
+                    found = i;
+                }
+            }
+            if (found < 0) {
+                unmatched.add(item);
+            } else {
+                matched[found] = true;
+                match(diff, previous.get(found), item, key);
+            }
+        }
+        for (Map<String, Object> item : unmatched) {
+            String key = ActionItemDeduplicator.normalize(item.get("description").toString());
+            Set<String> words = words(key);
+            int best = -1;
+            double bestScore = MATCH_THRESHOLD;
+            for (int i = 0; i < previous.size(); i++) {
+                double score = matched[i] ? 0 : jaccard(words, words(previous.get(i).key));
+                if (score >= bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                diff.created.add(new TrackedItem(key, item, null));
+            } else {
+                matched[best] = true;
+                match(diff, previous.get(best), item, key);
+            }
+        }
+        for (int i = 0; i < previous.size(); i++) {
+            if (!matched[i]) {
+                if (partial) {
+                    diff.kept.add(previous.get(i));
+                } else if (previous.get(i).dealId != null) {
+                    diff.removed.add(previous.get(i));
+                }
+            }
+        }
+        return diff;
+    }
+
+    private void match(Diff diff, TrackedItem old, Map<String, Object> item, String key) {
+        TrackedItem current = new TrackedItem(key, item, old.dealId);
+        if (old.dealId == null) {
+            // The deal was never created (HubSpot failed last time): create it now.
+            diff.created.add(current);
+        } else if (changed(old.item, item)) {
+            diff.updated.add(current);
+        } else {
+            diff.unchanged++;
+            diff.kept.add(current);
+        }
+    }
+
+    private void apply(String transcriptId, int revision, Diff diff, List<TrackedItem> next, List<String> errors) {
+        // One deal at a time, each recorded before the next: a failure halfway keeps the ids already created.
+        for (TrackedItem tracked : diff.created) {
+            try {
+                List<String> responses = hubSpotTaskService.createTasksFromActionItems(List.of(tracked.item));
+                tracked.dealId = responses.isEmpty() ? null : dealId(responses.get(0));
+            } catch (RuntimeException ex) {
+                errors.add("Failed to create deal: " + ex.getMessage());
+            }
+            if (tracked.dealId != null) {
+                deduplicator.recordDeal(tracked.item, tracked.dealId);
+                record(transcriptId, revision, tracked, errors);
+            }
+            next.add(tracked);
+        }
+        if (!diff.updated.isEmpty()) {
+            Map<String, Map<String, Object>> byDeal = new LinkedHashMap<>();
+            for (TrackedItem tracked : diff.updated) {
+                byDeal.put(tracked.dealId, tracked.item);
+            }
+            try {
+                hubSpotTaskService.updateTasksFromActionItems(byDeal);
+                for (TrackedItem tracked : diff.updated) {
+                    record(transcriptId, revision, tracked, errors);
+                }
+            } catch (RuntimeException ex) {
+                errors.add("Failed to update deals: " + ex.getMessage());
+            }
+            next.addAll(diff.updated);
+        }
+        if (!diff.removed.isEmpty()) {
+            List<String> dealIds = new ArrayList<>();
+            for (TrackedItem tracked : diff.removed) {
+                dealIds.add(tracked.dealId);
+            }
+            try {
+                hubSpotTaskService.archiveTasks(dealIds);
+                syncStateRepository.deleteRevisionDeals(transcriptId, dealIds);
+            } catch (RuntimeException ex) {
+                // Keep them so the next revision retries the archive.
+                errors.add("Failed to archive deals: " + ex.getMessage());
+                next.addAll(diff.removed);
+            }
+        }
+    }
+
+    /**
+     * Reads the deals of earlier revisions when the transcript is not cached (first use, restart or eviction).
+     */
+    @SuppressWarnings("unchecked")
+    private void load(String transcriptId, TranscriptState state) {
+        for (RevisionDeal deal : syncStateRepository.loadRevisionDeals(transcriptId)) {
+            Map<String, Object> item;
+            try {
+                item = MAPPER.readValue(deal.getItemJson(), Map.class);
+            } catch (Exception ex) {
+                log.warn("Transcript {}: unreadable item of deal {}: {}", transcriptId, deal.getDealId(), ex.getMessage());
+                item = new HashMap<>(Map.of("description", deal.getItemKey()));
+            }
+            state.items.add(new TrackedItem(deal.getItemKey(), item, deal.getDealId()));
+            state.revision = Math.max(state.revision, deal.getRevision());
+        }
+        state.loaded = true;
+    }
+
+    private void record(String transcriptId, int revision, TrackedItem tracked, List<String> errors) {
+        try {
+            syncStateRepository.saveRevisionDeal(transcriptId,
+                    new RevisionDeal(tracked.dealId, tracked.key, MAPPER.writeValueAsString(tracked.item), revision));
+        } catch (Exception ex) {
+            errors.add("Deal " + tracked.dealId + " was created but not recorded: " + ex.getMessage());
+        }
+    }
+
+    private static boolean changed(Map<String, Object> before, Map<String, Object> after) {
+        for (String field : SYNCED_FIELDS) {
+            if (!Objects.equals(text(before.get(field)), text(after.get(field)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String text(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static List<Map<String, Object>> views(List<TrackedItem> tracked) {
+        List<Map<String, Object>> views = new ArrayList<>(tracked.size());
+        for (TrackedItem item : tracked) {
+            Map<String, Object> view = new HashMap<>(item.item);
+            if (item.dealId != null) {
+                view.put("hubspotTaskId", item.dealId);
+            }
+            views.add(view);
+        }
+        return views;
+    }
+
+    private static String dealId(String response) {
+        try {
+            Object id = MAPPER.readValue(response, Map.class).get("id");
+            return id != null ? id.toString() : null;
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    /** Normalized descriptions may repeat a word ("send the contract ... the contract"). */
+    private static Set<String> words(String key) {
+        return new HashSet<>(Arrays.asList(key.split(" ")));
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        int common = 0;
+        for (String word : a) {
+            if (b.contains(word)) {
+                common++;
+            }
+        }
+        int union = a.size() + b.size() - common;
+        return union == 0 ? 1.0 : (double) common / union;
+    }
+
+    private TranscriptState state(String transcriptId) {
+        synchronized (transcripts) {
+            TranscriptState state = transcripts.computeIfAbsent(transcriptId, id -> new TranscriptState());
+            if (transcripts.size() > maxTranscripts) {
+                transcripts.keySet().iterator().remove();
+            }
+            return state;
+        }
+    }
+
+    private List<Map<String, Object>> cachedSegment(String key) {
+        synchronized (segmentCache) {
+            List<Map<String, Object>> cached = segmentCache.get(key);
+            return cached != null ? copy(cached) : null;
+        }
+    }
+
+    private void cacheSegment(String key, List<Map<String, Object>> items) {
+        synchronized (segmentCache) {
+            segmentCache.put(key, copy(items));
+            if (segmentCache.size() > segmentCacheSize) {
+                segmentCache.keySet().iterator().remove();
+            }
+        }
+    }
+
+    /**
+     * Later stages (deadline resolution, merging) modify the maps, so cached results are copied in and out.
+     */
+    private static List<Map<String, Object>> copy(List<Map<String, Object>> items) {
+        List<Map<String, Object>> copy = new ArrayList<>(items.size());
+        for (Map<String, Object> item : items) {
+            copy.add(new HashMap<>(item));
+        }
+        return copy;
+    }
+
+    private static int fnv(String line) {
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < line.length(); i++) {
+            hash = (hash ^ line.charAt(i)) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final class TranscriptState {
+        private List<TrackedItem> items = new ArrayList<>();
+        private int revision;
+        private boolean loaded;
+    }
+
+    private static final class TrackedItem {
+        private final String key;
+        private final Map<String, Object> item;
+        private String dealId;
+
+        TrackedItem(String key, Map<String, Object> item, String dealId) {
+            this.key = key;
+            this.item = item;
+            this.dealId = dealId;
+        }
+    }
+
+    private static final class Diff {
+        private final List<TrackedItem> created = new ArrayList<>();
+        private final List<TrackedItem> updated = new ArrayList<>();
+        private final List<TrackedItem> removed = new ArrayList<>();
+        private final List<TrackedItem> kept = new ArrayList<>();
+        private int unchanged;
+    }
+}
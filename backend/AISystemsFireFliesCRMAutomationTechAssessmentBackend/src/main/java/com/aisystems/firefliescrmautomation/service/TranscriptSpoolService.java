@@ -0,0 +1,220 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Spools large transcript request bodies to disk and hands them back as bounded text segments.
+ * <p>
+ * The body is copied through a fixed 64 KB buffer into a temp file, so the request never lives
+ * on the heap as one {@code String}; bodies above {@code aisystems.transcripts.spool.max-bytes}
+ * are rejected while streaming. The spooled file is then memory-mapped and decoded into segments
+ * of at most {@code aisystems.transcripts.spool.segment-chars} characters, cut at line
+ * boundaries. The {@code Meeting Date:} / {@code Participants:} header of the first segment is
+ * repeated on the following ones so deadlines and assignees still resolve.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 12:15 PM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class TranscriptSpoolService {
+
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+    private static final Pattern HEADER_LINE = Pattern.compile(
+            "^(Meeting Date|Participants)\\s*:.*$", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+
+    @Value("${aisystems.transcripts.spool.max-bytes:52428800}")
+    private long maxBytes;
+
+    @Value("${aisystems.transcripts.spool.segment-chars:48000}")
+    private int segmentChars;
+
+    /**
+     * Thrown when a request body exceeds the configured spool cap.
+     */
+    public static class TranscriptTooLargeException extends IllegalArgumentException {
+        public TranscriptTooLargeException(long maxBytes) {
+            super("Transcript exceeds the maximum size of " + maxBytes + " bytes");
+        }
+    }
+
+    /**
+     * Copies the stream to a temp file.
+     * @param body request body
+     * @return the spooled transcript; close it to delete the file
+     * @throws IOException when the body cannot be read or written
+     * @throws TranscriptTooLargeException when the body is larger than the cap
+     */
+    public SpooledTranscript spool(InputStream body) throws IOException {
+        return spool(body, maxBytes);
+    }
+
+    /**
+     * Copies the stream to a temp file with a cap other than the single-transcript one.
+     * @param body     request body
+     * @param maxBytes largest accepted body
+     * @return the spooled body; close it to delete the file
+     * @throws IOException when the body cannot be read or written
+     * @throws TranscriptTooLargeException when the body is larger than {@code maxBytes}
+     */
+    public SpooledTranscript spool(InputStream body, long maxBytes) throws IOException {
+        Path file = Files.createTempFile("transcript-", ".txt");
+        long written = 0;
+        try (ReadableByteChannel in = Channels.newChannel(body);
+             FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_BYTES);
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                written += buffer.remaining();
+                if (written > maxBytes) {
+                    throw new TranscriptTooLargeException(maxBytes);
+                }
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new SpooledTranscript(file, written, Math.max(1_000, segmentChars));
+    }
+
+    /**
+     * A transcript spooled to a temp file.
+     */
+    public static final class SpooledTranscript implements Closeable {
+
+        private final Path file;
+        private final long sizeBytes;
+        private final int segmentChars;
+        private String header = "";
+        private String meetingKey;
+
+        SpooledTranscript(Path file, long sizeBytes, int segmentChars) {
+            this.file = file;
+            this.sizeBytes = sizeBytes;
+            this.segmentChars = segmentChars;
+        }
+
+        public long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        Path getFile() {
+            return file;
+        }
+
+        /**
+         * @return the {@code Meeting Date:} / {@code Participants:} header lines, once
+         * {@link #forEachSegment(Consumer)} has run
+         */
+        public String getHeader() {
+            return header;
+        }
+
+        /**
+         * @return the {@link ActionItemAnalyticsStore#meetingKey(String) meeting key} of the whole
+         * transcript, once {@link #forEachSegment(Consumer)} has run
+         */
+        public String getMeetingKey() {
+            return meetingKey;
+        }
+
+        /**
+         * Decodes the file segment by segment; only one segment is materialised at a time.
+         * @param consumer receives each segment in order
+         * @return number of segments produced
+         * @throws IOException when the file cannot be mapped
+         */
+        public int forEachSegment(Consumer<String> consumer) throws IOException {
+            if (sizeBytes == 0) {
+                return 0;
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, sizeBytes);
+                CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+                CharBuffer chars = CharBuffer.allocate(segmentChars);
+                String header = null;
+                ActionItemAnalyticsStore.MeetingKeyBuilder key = new ActionItemAnalyticsStore.MeetingKeyBuilder();
+                int segments = 0;
+                boolean endOfInput = false;
+                while (!endOfInput || chars.position() > 0) {
+                    if (!endOfInput) {
+                        CoderResult result = decoder.decode(mapped, chars, true);
+                        if (result.isUnderflow()) {
+                            decoder.flush(chars);
+                            endOfInput = true;
+                        }
+                    }
+                    chars.flip();
+                    int cut = endOfInput ? chars.limit() : lastLineBreak(chars);
+                    String segment = chars.subSequence(0, cut).toString();
+                    chars.position(cut);
+                    chars.compact();
+                    key.append(segment);
+
+                    if (header == null) {
+                        header = headerOf(segment);
+                    } else if (!header.isEmpty() && !segment.isBlank()) {
+                        segment = header + segment;
+                    }
+                    if (!segment.isBlank()) {
+                        consumer.accept(segment);
+                        segments++;
+                    }
+                }
+                this.header = header != null ? header : "";
+                this.meetingKey = key.build();
+                return segments;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            Files.deleteIfExists(file);
+        }
+
+        private static int lastLineBreak(CharBuffer chars) {
+            for (int i = chars.limit() - 1; i > chars.limit() / 2; i--) {
+                if (chars.get(i) == '\n') {
+                    return i + 1;
+                }
+            }
+            return chars.limit();
+        }
+
+        private static String headerOf(String firstSegment) {
+            StringBuilder header = new StringBuilder();
+            Matcher matcher = HEADER_LINE.matcher(firstSegment);
+            while (matcher.find()) {
+                header.append(matcher.group().strip()).append('\n');
+            }
+            return header.toString();
+        }
+    }
+}
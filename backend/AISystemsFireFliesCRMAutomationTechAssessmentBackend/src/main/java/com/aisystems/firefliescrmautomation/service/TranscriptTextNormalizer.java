@@ -0,0 +1,211 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns raw text extracted from transcript exports (PDF pages, uploaded files) into the
+ * {@code Speaker: text} line format the extraction prompt expects.
+ * <p>
+ * Repeated page headers/footers and page numbers are dropped, wrapped lines are joined back
+ * into their turn, and consecutive turns of the same speaker are merged. Both the inline
+ * ({@code Lisa: text}) and the Fireflies export layout ({@code Lisa  00:01:23} followed by the
+ * text) are recognised. Header lines such as {@code Meeting Date:} and {@code Participants:}
+ * are kept at the top.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 11:35 AM GMT -5 Bogotá DC Colombia
+ */
+public final class TranscriptTextNormalizer {
+
+    private static final String NAME = "([\\p{Lu}][\\p{L}'.\\-]*(?:\\s+[\\p{Lu}][\\p{L}'.\\-]*){0,3})";
+    private static final String TIMESTAMP = "\\[?\\d{1,2}:\\d{2}(?::\\d{2})?\\]?";
+
+    private static final Pattern HEADER_LINE = Pattern.compile(
+            "^(Meeting Date|Date|Participants|Attendees|Title|Meeting Title)\\s*:.*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern PAGE_NUMBER = Pattern.compile(
+            "^(page\\s+)?\\d{1,4}(\\s*(of|/)\\s*\\d{1,4})?$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern INLINE_TURN = Pattern.compile(
+            "^(?:" + TIMESTAMP + "\\s+)?" + NAME + "(?:\\s*\\([^)]{0,60}\\))?(?:\\s+" + TIMESTAMP + ")?\\s*:\\s*(.*)$");
+    private static final Pattern SPEAKER_HEADER = Pattern.compile(
+            "^" + NAME + "(?:\\s*\\([^)]{0,60}\\))?\\s*[-–]?\\s*" + TIMESTAMP + "$");
+    private static final Pattern LEADING_TIMESTAMP = Pattern.compile("^" + TIMESTAMP + "\\s*");
+
+    private TranscriptTextNormalizer() {
+    }
+
+    /**
+     * Result of a normalisation pass.
+     */
+    public static final class NormalizedTranscript {
+        private final String text;
+        private final int turnCount;
+        private final Set<String> speakers;
+
+        NormalizedTranscript(String text, int turnCount, Set<String> speakers) {
+            this.text = text;
+            this.turnCount = turnCount;
+            this.speakers = speakers;
+        }
+
+        public String getText() { return text; }
+        public int getTurnCount() { return turnCount; }
+        public Set<String> getSpeakers() { return speakers; }
+    }
+
+    /**
+     * Normalises text that was extracted page by page.
+     * @param pages page texts in document order
+     * @return normalised transcript
+     */
+    public static NormalizedTranscript normalizePages(List<String> pages) {
+        Set<String> boilerplate = findRepeatedHeadersAndFooters(pages);
+        List<String> lines = new ArrayList<>();
+        for (String page : pages) {
+            for (String line : page.split("\\R")) {
+                String trimmed = line.strip();
+                if (!trimmed.isEmpty() && !boilerplate.contains(trimmed)) {
+                    lines.add(trimmed);
+                }
+            }
+        }
+        return normalizeLines(lines);
+    }
+
+    /**
+     * Normalises free text (a single document).
+     * @param text raw transcript text
+     * @return normalised transcript
+     */
+    public static NormalizedTranscript normalize(String text) {
+        List<String> lines = new ArrayList<>();
+        for (String line : text.split("\\R")) {
+            String trimmed = line.strip();
+            if (!trimmed.isEmpty()) {
+                lines.add(trimmed);
+            }
+        }
+        return normalizeLines(lines);
+    }
+
+    private static NormalizedTranscript normalizeLines(List<String> lines) {
+        StringBuilder out = new StringBuilder();
+        Set<String> speakers = new LinkedHashSet<>();
+        String currentSpeaker = null;
+        StringBuilder currentText = new StringBuilder();
+        int turns = 0;
+
+        for (String line : lines) {
+            if (PAGE_NUMBER.matcher(line).matches()) {
+                continue;
+            }
+            if (currentSpeaker == null && HEADER_LINE.matcher(line).matches()) {
+                out.append(line).append('\n');
+                continue;
+            }
+            String speaker = null;
+            String text = null;
+            Matcher header = SPEAKER_HEADER.matcher(line);
+            if (header.matches()) {
+                speaker = header.group(1);
+                text = "";
+            } else {
+                Matcher inline = INLINE_TURN.matcher(line);
+                if (inline.matches() && !HEADER_LINE.matcher(line).matches()
+                        && (speakers.contains(inline.group(1)) || endsSentence(currentText))) {
+                    speaker = inline.group(1);
+                    text = inline.group(2);
+                }
+            }
+
+            if (speaker != null) {
+                if (!speaker.equals(currentSpeaker)) {
+                    turns += flushTurn(out, currentSpeaker, currentText);
+                    currentSpeaker = speaker;
+                    speakers.add(speaker);
+                }
+                appendFragment(currentText, text);
+            } else if (currentSpeaker != null) {
+                appendFragment(currentText, LEADING_TIMESTAMP.matcher(line).replaceFirst(""));
+            } else {
+                out.append(line).append('\n');
+            }
+        }
+        turns += flushTurn(out, currentSpeaker, currentText);
+        return new NormalizedTranscript(out.toString().strip(), turns, speakers);
+    }
+
+    private static int flushTurn(StringBuilder out, String speaker, StringBuilder text) {
+        if (speaker == null || text.length() == 0) {
+            text.setLength(0);
+            return 0;
+        }
+        out.append(speaker).append(": ").append(text).append('\n');
+        text.setLength(0);
+        return 1;
+    }
+
+    /** A wrapped line continues mid-sentence; a new inline speaker only follows a finished one. */
+    private static boolean endsSentence(StringBuilder turn) {
+        if (turn.length() == 0) {
+            return true;
+        }
+        char last = turn.charAt(turn.length() - 1);
+        return last == '.' || last == '?' || last == '!' || last == '"' || last == '\u201D';
+    }
+
+    private static void appendFragment(StringBuilder turn, String fragment) {
+        if (fragment == null || fragment.isBlank()) {
+            return;
+        }
+        int len = turn.length();
+        if (len > 0) {
+            boolean hyphenWrap = turn.charAt(len - 1) == '-' && len > 1 && Character.isLetter(turn.charAt(len - 2))
+                    && Character.isLowerCase(fragment.charAt(0));
+            if (hyphenWrap) {
+                turn.setLength(len - 1);
+            } else {
+                turn.append(' ');
+            }
+        }
+        turn.append(fragment.strip());
+    }
+
+    /**
+     * Lines that open or close at least half of the pages (and three or more of them) are
+     * treated as running headers/footers.
+     */
+    private static Set<String> findRepeatedHeadersAndFooters(List<String> pages) {
+        Set<String> boilerplate = new LinkedHashSet<>();
+        if (pages.size() < 3) {
+            return boilerplate;
+        }
+        Map<String, Integer> edgeCounts = new HashMap<>();
+        for (String page : pages) {
+            String[] lines = page.strip().split("\\R");
+            if (lines.length == 0) {
+                continue;
+            }
+            String first = lines[0].strip();
+            String last = lines[lines.length - 1].strip();
+            edgeCounts.merge(first, 1, Integer::sum);
+            if (!last.equals(first)) {
+                edgeCounts.merge(last, 1, Integer::sum);
+            }
+        }
+        int threshold = Math.max(3, pages.size() / 2);
+        edgeCounts.forEach((line, count) -> {
+            if (count >= threshold && !line.isEmpty() && !INLINE_TURN.matcher(line).matches()) {
+                boilerplate.add(line);
+            }
+        });
+        return boilerplate;
+    }
+}
@@ -0,0 +1,359 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.ActionItem;
+import com.aisystems.firefliescrmautomation.dto.TranscriptTriageResult;
+import com.aisystems.firefliescrmautomation.dto.TriageMetricsReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Heuristic pre-extractor that keeps trivial transcripts away from the LLM.
+ * <p>
+ * Each transcript is classified as {@link Complexity#NONE} (nothing said beyond greetings and
+ * small talk),
+ * {@link Complexity#SIMPLE} (a few plain "I'll X by Friday" / "can you X" items between at most
+ * a handful of speakers, all attributed by {@link RuleBasedActionItemExtractor}) or
+ * {@link Complexity#COMPLEX}. Only complex transcripts go to the LLM; a transcript with
+ * substance but no recognised commitment phrase is complex, since the cues cannot prove a
+ * negative. Agreement with the LLM
+ * is tracked on every complex transcript and on a sample of fast-path answers re-run on the
+ * LLM in the background ({@code aisystems.openai.triage.shadow-sample-rate}).
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 2:35 PM GMT -5 Bogotá DC Colombia
+ */
+@Service
+public class TranscriptTriageService implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TranscriptTriageService.class);
+
+    /**
+     * Triage class of a transcript.
+     */
+    public enum Complexity { NONE, SIMPLE, COMPLEX }
+
+    private static final Pattern TURN_LINE = Pattern.compile("^([^:]{1,60}?)\\s*:\\s*(.+)$", Pattern.MULTILINE);
+    private static final Pattern HEADER_LABEL = Pattern.compile("(?i)meeting date|participants|speakers");
+    private static final Pattern SENTENCE_SPLIT = Pattern.compile("(?<=[.!?])\\s+|\\R");
+    private static final Pattern COMMITMENT_CUE = Pattern.compile(
+            "\\b(I'll|I will|I'm going to|we'll|we will|need you to|can you|could you|would you|please|let's|" +
+            "follow up|action item|to-?do|by (?:monday|tuesday|wednesday|thursday|friday|saturday|sunday|tomorrow|tonight|end of|next))\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern HEDGE = Pattern.compile(
+            "\\b(maybe|might|perhaps|unless|if (?:we|you|they|it)|depending|not sure|probably|tentative|or else|either)\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern WORD = Pattern.compile("[a-z0-9']{3,}");
+    /** Words of greetings, courtesies and small talk; a sentence made only of these (and names) carries no item. */
+    private static final Set<String> SMALL_TALK_WORDS = Set.of("hi", "hello", "hey", "good", "morning", "afternoon",
+            "evening", "thanks", "thank", "you", "so", "much", "bye", "goodbye", "see", "talk", "soon", "later", "great",
+            "awesome", "perfect", "cool", "nice", "ok", "okay", "sure", "yes", "yeah", "yep", "no", "nope", "how", "are",
+            "is", "it", "it's", "going", "doing", "fine", "well", "everyone", "all", "glad", "here", "i'm", "me", "too",
+            "again", "have", "a", "day", "weekend", "welcome", "cheers", "and", "the", "to", "of", "for", "sounds",
+            "take", "care", "there", "everybody", "folks", "guys", "can", "hear", "i", "we", "right", "got", "makes",
+            "sense", "anytime", "problem", "pleasure", "absolutely", "definitely", "exactly", "wonderful", "excellent");
+    private static final Pattern SMALL_TALK_TOKEN = Pattern.compile("[\\p{L}\\p{N}']+");
+    private static final Set<String> STOP_WORDS = Set.of("the", "and", "for", "you", "your", "with", "that", "this",
+            "will", "from", "have", "get", "can", "all", "any", "our", "their", "them", "they", "its");
+
+    @Autowired
+    private RuleBasedActionItemExtractor extractor;
+
+    @Autowired
+    private BpeTokenizer tokenizer;
+
+    @Value("${aisystems.openai.triage.enabled:true}")
+    private boolean enabled;
+
+    @Value("${aisystems.openai.triage.max-simple-items:5}")
+    private int maxSimpleItems;
+
+    @Value("${aisystems.openai.triage.max-simple-speakers:3}")
+    private int maxSimpleSpeakers;
+
+    @Value("${aisystems.openai.triage.max-simple-tokens:1500}")
+    private int maxSimpleTokens;
+
+    @Value("${aisystems.openai.triage.shadow-sample-rate:0.05}")
+    private double shadowSampleRate;
+
+    private ThreadPoolExecutor shadowPool;
+    private final LatencyHistogram classificationTime = new LatencyHistogram();
+    private final Map<Complexity, LongAdder> classified = new EnumMap<>(Complexity.class);
+    private final Map<Complexity, AgreementStats> agreement = new EnumMap<>(Complexity.class);
+    private final LongAdder shadowDropped = new LongAdder();
+
+    @Override
+    public void afterPropertiesSet() {
+        for (Complexity complexity : Complexity.values()) {
+            classified.put(complexity, new LongAdder());
+            agreement.put(complexity, new AgreementStats());
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        shadowPool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), runnable -> {
+            Thread thread = new Thread(runnable, "triage-shadow-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, (runnable, executor) -> shadowDropped.increment());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Classifies a transcript and, for none/simple ones, extracts its items.
+     * @param transcript transcript text (compressed or not)
+     * @return the triage outcome; items are empty for complex transcripts
+     */
+    public TranscriptTriageResult classify(String transcript) {
+        long start = System.nanoTime();
+        Set<String> speakers = new HashSet<>();
+        List<String> spoken = new ArrayList<>();
+        for (String line : transcript.split("\\R")) {
+            Matcher turn = TURN_LINE.matcher(line);
+            if (turn.matches()) {
+                if (HEADER_LABEL.matcher(turn.group(1)).matches()) {
+                    continue;
+                }
+                speakers.add(turn.group(1).strip());
+                spoken.add(turn.group(2));
+            } else if (!line.isBlank()) {
+                // Unlabelled text is still something said.
+                spoken.add(line);
+            }
+        }
+        Set<String> names = new HashSet<>();
+        for (String speaker : speakers) {
+            names.addAll(List.of(speaker.toLowerCase(Locale.ROOT).split("[\\s.]+")));
+        }
+
+        int cues = 0;
+        boolean hedged = false;
+        boolean substantive = false;
+        for (String text : spoken) {
+            for (String sentence : SENTENCE_SPLIT.split(text)) {
+                if (COMMITMENT_CUE.matcher(sentence).find()) {
+                    cues++;
+                }
+                hedged |= HEDGE.matcher(sentence).find();
+                substantive |= !isSmallTalk(sentence, names);
+            }
+        }
+
+        Complexity complexity;
+        String reason;
+        List<Map<String, Object>> items = new ArrayList<>();
+        if (cues == 0 && !substantive) {
+            complexity = Complexity.NONE;
+            reason = spoken.isEmpty() ? "nothing said" : "only greetings and small talk";
+        } else if (cues == 0) {
+            // The cue list cannot prove there is no commitment: let the model decide.
+            complexity = Complexity.COMPLEX;
+            reason = "no commitment phrases the rules recognise";
+        } else if (speakers.size() > maxSimpleSpeakers) {
+            complexity = Complexity.COMPLEX;
+            reason = speakers.size() + " speakers";
+        } else if (hedged) {
+            complexity = Complexity.COMPLEX;
+            reason = "conditional or tentative commitments";
+        } else if (tokenizer.countTokens(transcript) > maxSimpleTokens) {
+            complexity = Complexity.COMPLEX;
+            reason = "longer than " + maxSimpleTokens + " tokens";
+        } else {
+            List<ActionItem> extracted = extractor.extract(transcript);
+            boolean attributed = extracted.stream().allMatch(item -> item.getAssignee() != null);
+            if (extracted.isEmpty() || extracted.size() > maxSimpleItems || !attributed || cues > 2 * extracted.size()) {
+                complexity = Complexity.COMPLEX;
+                reason = extracted.isEmpty() ? "commitment phrases without extractable items"
+                        : extracted.size() > maxSimpleItems ? extracted.size() + " items"
+                        : !attributed ? "unattributed items" : "commitment phrases the rules could not place";
+            } else {
+                complexity = Complexity.SIMPLE;
+                reason = extracted.size() + " plain commitment(s)";
+                for (ActionItem item : extracted) {
+                    items.add(item.toMap());
+                }
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        classificationTime.record(nanos);
+        classified.get(complexity).increment();
+        return new TranscriptTriageResult(complexity.name(), reason, cues, speakers.size(), items, nanos);
+    }
+
+    private static boolean isSmallTalk(String sentence, Set<String> names) {
+        Matcher token = SMALL_TALK_TOKEN.matcher(sentence.toLowerCase(Locale.ROOT));
+        while (token.find()) {
+            if (!SMALL_TALK_WORDS.contains(token.group()) && !names.contains(token.group())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares what the rules would have extracted from a complex transcript with what the LLM returned.
+     * @param transcript transcript sent to the LLM
+     * @param llm        items from the LLM path
+     */
+    public void recordComplexAgreement(String transcript, List<Map<String, Object>> llm) {
+        List<Map<String, Object>> heuristic = new ArrayList<>();
+        for (ActionItem item : extractor.extract(transcript)) {
+            heuristic.add(item.toMap());
+        }
+        agreement.get(Complexity.COMPLEX).record(heuristic, llm);
+    }
+
+    /**
+     * Re-runs a sample of fast-path answers on the LLM in the background, in the bulk lane, and
+     * records agreement. Nothing is queued when the pool is busy.
+     * @param triage  fast-path outcome
+     * @param llmPath the LLM extraction to compare against
+     */
+    public void maybeShadow(TranscriptTriageResult triage, Supplier<List<Map<String, Object>>> llmPath) {
+        if (shadowSampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= shadowSampleRate) {
+            return;
+        }
+        Complexity complexity = Complexity.valueOf(triage.getComplexity());
+        String tenant = LlmCallScheduler.currentTenant();
+        shadowPool.execute(() -> {
+            try {
+                // Shadow calls only feed the metrics, so they never compete with real work for slots.
+                List<Map<String, Object>> llm = LlmCallScheduler.inLane(LlmCallScheduler.Lane.BULK, tenant, llmPath);
+                agreement.get(complexity).record(triage.getActionItems(), llm);
+            } catch (RuntimeException ex) {
+                log.debug("Shadow extraction failed: {}", ex.getMessage());
+            }
+        });
+    }
+
+    public TriageMetricsReport getReport() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        Map<String, Long> comparisons = new LinkedHashMap<>();
+        Map<String, Double> meanF1 = new LinkedHashMap<>();
+        Map<String, Double> countAgreement = new LinkedHashMap<>();
+        for (Complexity complexity : Complexity.values()) {
+            String key = complexity.name().toLowerCase(Locale.ROOT);
+            AgreementStats stats = agreement.get(complexity);
+            long compared = stats.comparisons.sum();
+            counts.put(key, classified.get(complexity).sum());
+            comparisons.put(key, compared);
+            meanF1.put(key, compared == 0 ? null : stats.f1Sum.sum() / compared);
+            countAgreement.put(key, compared == 0 ? null : (double) stats.sameCount.sum() / compared);
+        }
+        return new TriageMetricsReport(enabled, shadowSampleRate, counts, comparisons, meanF1, countAgreement,
+                shadowDropped.sum(), classificationTime.snapshot());
+    }
+
+    /**
+     * F1 of greedy one-to-one matching on description words (Jaccard of at least 0.4).
+     */
+    static double f1(List<Map<String, Object>> heuristic, List<Map<String, Object>> llm) {
+        List<Set<String>> left = descriptions(heuristic);
+        List<Set<String>> right = descriptions(llm);
+        if (left.isEmpty() && right.isEmpty()) {
+            return 1.0;
+        }
+        if (left.isEmpty() || right.isEmpty()) {
+            return 0.0;
+        }
+        boolean[] used = new boolean[right.size()];
+        int matched = 0;
+        for (Set<String> words : left) {
+            int best = -1;
+            double bestScore = 0.4;
+            for (int j = 0; j < right.size(); j++) {
+                double score = used[j] ? 0 : jaccard(words, right.get(j));
+                if (score >= bestScore) {
+                    bestScore = score;
+                    best = j;
+                }
+            }
+            if (best >= 0) {
+                used[best] = true;
+                matched++;
+            }
+        }
+        double precision = (double) matched / left.size();
+        double recall = (double) matched / right.size();
+        return matched == 0 ? 0.0 : 2 * precision * recall / (precision + recall);
+    }
+
+    private static List<Set<String>> descriptions(List<Map<String, Object>> items) {
+        List<Set<String>> result = new ArrayList<>();
+        for (Map<String, Object> item : items) {
+            Object description = item.get("description");
+            if (description == null) {
+                continue;
+            }
+            Set<String> words = new HashSet<>();
+            Matcher word = WORD.matcher(description.toString().toLowerCase(Locale.ROOT));
+            while (word.find()) {
+                if (!STOP_WORDS.contains(word.group())) {
+                    words.add(word.group());
+                }
+            }
+            result.add(words);
+        }
+        return result;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() && b.isEmpty()) {
+            return 1.0;
+        }
+        int common = 0;
+        for (String word : a) {
+            if (b.contains(word)) {
+                common++;
+            }
+        }
+        return (double) common / (a.size() + b.size() - common);
+    }
+
+    @Override
+    public void destroy() {
+        if (shadowPool != null) {
+            shadowPool.shutdownNow();
+        }
+    }
+
+    private static final class AgreementStats {
+        private final LongAdder comparisons = new LongAdder();
+        private final LongAdder sameCount = new LongAdder();
+        private final DoubleAdder f1Sum = new DoubleAdder();
+
+        void record(List<Map<String, Object>> heuristic, List<Map<String, Object>> llm) {
+            comparisons.increment();
+            f1Sum.add(f1(heuristic, llm));
+            if (descriptions(heuristic).size() == descriptions(llm).size()) {
+                sameCount.increment();
+            }
+        }
+    }
+}
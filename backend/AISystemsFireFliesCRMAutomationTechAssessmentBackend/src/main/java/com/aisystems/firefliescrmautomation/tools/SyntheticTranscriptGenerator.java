@@ -0,0 +1,543 @@
+package com.aisystems.firefliescrmautomation.tools;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Generates realistic meeting transcripts with ground-truth action item labels, without a model.
+ * <p>
+ * Transcripts follow the Fireflies format used across the pipeline ({@code Meeting Date:} and
+ * {@code Participants:} headers, then {@code Speaker: text} turns). Small talk and status turns
+ * are drawn from phrase tables; action items are embedded as requests ("Can you send the
+ * inspection report by Friday?", acknowledged by the next speaker) or commitments ("I'll
+ * configure the calendar sync by tomorrow."), optionally followed by a recap that repeats them.
+ * Every embedded item is returned as a label with the description, assignee, deadline,
+ * priority and category the extractor is expected to produce.
+ * </p>
+ * <p>
+ * Transcript {@code i} only depends on the seed and {@code i}, so any slice of a large corpus can
+ * be regenerated, in any order and on any number of threads, byte for byte. Phrase tables are
+ * ASCII so the NDJSON encoder can copy characters straight into bytes.
+ * </p>
+ *
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 4:25 PM GMT -5 Bogotá DC Colombia
+ */
+public final class SyntheticTranscriptGenerator {
+
+    /** Action item types; the name is the category the rule-based extractor assigns. */
+    public enum ItemType {
+        FOLLOW_UP("follow-up", new String[]{
+                "send the signed purchase agreement", "email the pricing proposal to the broker",
+                "call the title company about the closing date", "send over the inspection report",
+                "email the buyers a market update", "call the lender to confirm the pre-approval",
+                "send the comparable sales to the sellers", "follow up with the appraiser"}),
+        DOCUMENTATION("documentation", new String[]{
+                "review the drip campaign templates", "update the open house sign-in list",
+                "review the seller disclosure document", "clean up the contact notes",
+                "review the listing description draft", "update the referral partner list"}),
+        SETUP("setup", new String[]{
+                "set up the lead routing rules", "configure the calendar sync",
+                "integrate the website forms with the pipeline", "install the mobile app for the team",
+                "set up shared inbox access for the assistant", "configure the showing notifications"}),
+        TRAINING("training", new String[]{
+                "schedule a training session for the assistant", "run a walkthrough of the new dashboard",
+                "book a coaching session with the new agent", "train the team on the showing workflow"});
+
+        private final String category;
+        private final String[] tasks;
+
+        ItemType(String category, String[] tasks) {
+            this.category = category;
+            this.tasks = tasks;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+    }
+
+    private static final String[] FIRST_NAMES = {
+            "Lisa", "Jennifer", "Marcus", "Priya", "Daniel", "Sofia", "Kevin", "Aisha", "Tom", "Elena",
+            "Carlos", "Hannah", "Wei", "Olivia", "Andre", "Grace", "Ravi", "Nina", "Jorge", "Emily",
+            "Samuel", "Chloe", "Victor", "Mia", "Omar", "Rachel", "Lucas", "Zoe", "Ethan", "Laura",
+            "Diego", "Kate"};
+    private static final String[] LAST_NAMES = {
+            "Martinez", "Nguyen", "Johnson", "Patel", "Kim", "Garcia", "Brown", "Rossi", "Cohen", "Silva",
+            "Walker", "Okafor", "Chen", "Murphy", "Lopez", "Schmidt"};
+    private static final String[] ROLES = {
+            "Real Estate Agent", "Broker", "Transaction Coordinator", "Assistant", "Loan Officer",
+            "Marketing Lead", "Team Lead", "Client Success"};
+    private static final String[] MONTHS = {
+            "January", "February", "March", "April", "May", "June", "July", "August", "September",
+            "October", "November", "December"};
+    private static final String[] GREETINGS = {
+            "Hi everyone, thanks for hopping on this call.", "Good morning, thanks for making the time today.",
+            "Hey, thanks for joining. Let's walk through where we are.", "Hi all, let's get started."};
+    private static final String[] CLOSINGS = {
+            "Sounds great. Thanks, everyone!", "Perfect, talk soon.", "Great call, thanks all.",
+            "Thanks, that covers it for today."};
+    private static final String[] OPENERS = {
+            "So,", "Honestly,", "Right now", "From what I see,", "Quick update:", "On our side,",
+            "As of this week,", "Overall,", "For what it's worth,", "Looking at the numbers,"};
+    private static final String[] STATUS = {
+            "the pipeline looks healthier than last quarter", "we had a few more leads come in from open houses",
+            "the new listing got a lot of traffic over the weekend", "response times on web leads are down to an hour",
+            "the buyers are still deciding between the two properties", "the appraisal came in right at the offer price",
+            "referrals are still our best converting source", "the drip emails are getting decent open rates",
+            "the team has been juggling a lot of showings", "the inspection only turned up minor issues",
+            "inventory in that neighborhood is really tight", "the sellers are happy with the feedback so far"};
+    private static final String[] REACTIONS = {
+            "Got it.", "Makes sense.", "That's good to hear.", "Okay, noted.", "Right, agreed.",
+            "Interesting, thanks for flagging that.", "Yeah, I saw that too.", "Perfect."};
+    private static final String[] QUESTION_LEADS = {"Can you", "Could you", "Would you"};
+    private static final String[] REQUEST_LEADS = {"I'll need you to", "Please", "Make sure you"};
+    private static final String[] COMMITMENT_LEADS = {"I'll", "I will", "I'm going to"};
+    private static final String[] ACKNOWLEDGEMENTS = {
+            "Sure, I'll take care of that.", "Yes, I'll get that done.", "Absolutely, I'll do that.",
+            "Yep, I'll handle it.", "Will do, I'll send you a note when it's done."};
+    private static final String[] DEADLINES = {
+            "Friday", "end of week", "Wednesday morning", "next week", "Monday", "tomorrow",
+            "next Tuesday", "end of the month", "Thursday", "today"};
+    private static final Set<String> IMMINENT = Set.of("today", "tomorrow");
+
+    private final Config config;
+    private final double[] typeThresholds;
+
+    public SyntheticTranscriptGenerator(Config config) {
+        this.config = config;
+        double total = 0;
+        for (double weight : config.typeWeights) {
+            total += Math.max(0, weight);
+        }
+        typeThresholds = new double[config.typeWeights.length];
+        double running = 0;
+        for (int i = 0; i < typeThresholds.length; i++) {
+            running += Math.max(0, config.typeWeights[i]) / (total > 0 ? total : 1);
+            typeThresholds[i] = running;
+        }
+    }
+
+    public Config getConfig() {
+        return config;
+    }
+
+    /**
+     * Generates transcript {@code index} of the corpus.
+     * @param index position in the corpus, from 0
+     * @return the transcript with its labels
+     */
+    public SyntheticTranscript generate(long index) {
+        SplittableRandom random = new SplittableRandom(mix(config.seed * 0x9E3779B97F4A7C15L + index));
+
+        int year = 2024 + random.nextInt(3);
+        int month = random.nextInt(12);
+        int day = 1 + random.nextInt(28);
+        String meetingDate = MONTHS[month] + " " + day + ", " + year;
+
+        int participantCount = config.minParticipants
+                + random.nextInt(Math.max(1, config.maxParticipants - config.minParticipants + 1));
+        String[] speakers = pickDistinct(random, FIRST_NAMES, participantCount);
+        String[] participants = new String[participantCount];
+        StringBuilder text = new StringBuilder(64 * config.medianLines);
+        text.append("Meeting Date: ").append(meetingDate).append('\n').append("Participants: ");
+        for (int i = 0; i < participantCount; i++) {
+            participants[i] = speakers[i] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(participants[i]);
+            if (random.nextInt(3) == 0) {
+                text.append(" (").append(ROLES[random.nextInt(ROLES.length)]).append(')');
+            }
+        }
+        text.append('\n');
+        int line = 2;
+
+        int bodyLines = (int) Math.round(Math.exp(Math.log(config.medianLines) + config.lengthSigma * random.nextGaussian()));
+        bodyLines = Math.max(config.minLines, Math.min(config.maxLines, bodyLines));
+        int itemCount = Math.min(Math.min(poisson(random, config.meanActionItems), config.maxActionItems), bodyLines / 3);
+
+        List<Label> labels = new ArrayList<>(itemCount);
+        int previous = 0;
+        line = appendTurn(text, line, speakers[0], GREETINGS[random.nextInt(GREETINGS.length)]);
+        int remainingLines = bodyLines - 2;
+        int remainingItems = itemCount;
+        while (remainingLines > 0) {
+            int speaker = nextSpeaker(random, speakers.length, previous);
+            if (remainingItems > 0 && random.nextInt(remainingLines) < remainingItems) {
+                remainingItems--;
+                boolean request = random.nextDouble() < config.requestShare;
+                int assignee = request ? nextSpeaker(random, speakers.length, speaker) : speaker;
+                Label label = item(random, speakers[assignee], line + 1, labels);
+                String clause = label.description.substring(0, 1).toLowerCase(Locale.ROOT) + label.description.substring(1);
+                if (request) {
+                    boolean question = random.nextBoolean();
+                    String[] leads = question ? QUESTION_LEADS : REQUEST_LEADS;
+                    line = appendTurn(text, line, speakers[speaker], leads[random.nextInt(leads.length)] + " " + clause
+                            + (question ? "?" : "."));
+                    line = appendTurn(text, line, speakers[assignee], ACKNOWLEDGEMENTS[random.nextInt(ACKNOWLEDGEMENTS.length)]);
+                    previous = assignee;
+                    remainingLines -= 2;
+                } else {
+                    String lead = COMMITMENT_LEADS[random.nextInt(COMMITMENT_LEADS.length)];
+                    line = appendTurn(text, line, speakers[speaker], lead + " " + clause + ".");
+                    previous = speaker;
+                    remainingLines--;
+                }
+                labels.add(label);
+                continue;
+            }
+            if (random.nextInt(3) == 0) {
+                line = appendTurn(text, line, speakers[speaker], REACTIONS[random.nextInt(REACTIONS.length)]);
+            } else {
+                line = appendTurn(text, line, speakers[speaker], OPENERS[random.nextInt(OPENERS.length)] + " "
+                        + STATUS[random.nextInt(STATUS.length)] + ".");
+            }
+            previous = speaker;
+            remainingLines--;
+        }
+
+        boolean recap = !labels.isEmpty() && random.nextDouble() < config.recapProbability;
+        if (recap) {
+            StringBuilder summary = new StringBuilder("So just to recap: ");
+            for (int i = 0; i < labels.size(); i++) {
+                Label label = labels.get(i);
+                summary.append(i == 0 ? "" : i == labels.size() - 1 ? ", and " : ", ").append(label.task);
+                if (label.deadline != null) {
+                    summary.append(" by ").append(label.deadline);
+                }
+            }
+            line = appendTurn(text, line, speakers[0], summary.append('.').toString());
+        }
+        line = appendTurn(text, line, speakers[speakers.length > 1 ? 1 : 0], CLOSINGS[random.nextInt(CLOSINGS.length)]);
+        text.setLength(text.length() - 1);
+
+        String id = "syn-" + config.seed + "-" + index;
+        String isoDate = year + "-" + (month < 9 ? "0" : "") + (month + 1) + "-" + (day < 10 ? "0" : "") + day;
+        return new SyntheticTranscript(id, index, isoDate, participants, line, recap, text.toString(), labels);
+    }
+
+    /**
+     * Appends transcript {@code index} as one NDJSON line.
+     * @param transcript generated transcript
+     * @param out        destination
+     */
+    public static void writeNdjson(SyntheticTranscript transcript, ByteSink out) {
+        out.ascii("{\"id\":").string(transcript.id)
+                .ascii(",\"index\":").number(transcript.index)
+                .ascii(",\"meetingDate\":").string(transcript.meetingDate)
+                .ascii(",\"participants\":[");
+        for (int i = 0; i < transcript.participants.length; i++) {
+            if (i > 0) {
+                out.ascii(",");
+            }
+            out.string(transcript.participants[i]);
+        }
+        out.ascii("],\"lines\":").number(transcript.lines)
+                .ascii(",\"recap\":").ascii(transcript.recap ? "true" : "false")
+                .ascii(",\"transcript\":").string(transcript.transcript)
+                .ascii(",\"actionItems\":[");
+        for (int i = 0; i < transcript.actionItems.size(); i++) {
+            Label label = transcript.actionItems.get(i);
+            out.ascii(i > 0 ? ",{\"description\":" : "{\"description\":").string(label.description)
+                    .ascii(",\"assignee\":").string(label.assignee)
+                    .ascii(",\"deadline\":");
+            if (label.deadline == null) {
+                out.ascii("null");
+            } else {
+                out.string(label.deadline);
+            }
+            out.ascii(",\"priority\":").string(label.priority)
+                    .ascii(",\"category\":").string(label.type.category)
+                    .ascii(",\"line\":").number(label.line)
+                    .ascii("}");
+        }
+        out.ascii("]}\n");
+    }
+
+    /**
+     * Draws an item whose task is not already in the transcript (the extractor keeps one item per
+     * description). Urgent items say "right away" instead of a deadline.
+     */
+    private Label item(SplittableRandom random, String assignee, int line, List<Label> previous) {
+        ItemType type = pickType(random.nextDouble());
+        String task = type.tasks[random.nextInt(type.tasks.length)];
+        for (int attempt = 0; attempt < 8 && containsTask(previous, task); attempt++) {
+            type = pickType(random.nextDouble());
+            task = type.tasks[random.nextInt(type.tasks.length)];
+        }
+        boolean urgent = random.nextDouble() < config.urgentProbability;
+        String deadline = !urgent && random.nextDouble() < config.deadlineProbability
+                ? DEADLINES[random.nextInt(DEADLINES.length)] : null;
+        String priority = urgent || (deadline != null && IMMINENT.contains(deadline)) ? "HIGH"
+                : deadline != null ? "MEDIUM" : "LOW";
+        String description = Character.toUpperCase(task.charAt(0)) + task.substring(1)
+                + (deadline != null ? " by " + deadline : urgent ? " right away" : "");
+        return new Label(type, task, description, assignee, deadline, priority, line);
+    }
+
+    private static boolean containsTask(List<Label> labels, String task) {
+        for (Label label : labels) {
+            if (label.task.equals(task)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ItemType pickType(double draw) {
+        ItemType[] types = ItemType.values();
+        for (int i = 0; i < typeThresholds.length && i < types.length; i++) {
+            if (draw < typeThresholds[i]) {
+                return types[i];
+            }
+        }
+        return types[0];
+    }
+
+    private static int appendTurn(StringBuilder text, int line, String speaker, String sentence) {
+        text.append(speaker).append(": ").append(sentence).append('\n');
+        return line + 1;
+    }
+
+    /** The first participant hosts and takes about a third of the turns; nobody answers themselves. */
+    private static int nextSpeaker(SplittableRandom random, int speakers, int previous) {
+        if (speakers == 1) {
+            return 0;
+        }
+        if (previous != 0 && random.nextInt(3) == 0) {
+            return 0;
+        }
+        int next = random.nextInt(speakers - 1);
+        return next >= previous ? next + 1 : next;
+    }
+
+    private static String[] pickDistinct(SplittableRandom random, String[] pool, int count) {
+        String[] copy = pool.clone();
+        int n = Math.min(count, copy.length);
+        for (int i = 0; i < n; i++) {
+            int j = i + random.nextInt(copy.length - i);
+            String swap = copy[i];
+            copy[i] = copy[j];
+            copy[j] = swap;
+        }
+        return Arrays.copyOf(copy, n);
+    }
+
+    private static int poisson(SplittableRandom random, double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    /** SplitMix64 finalizer: neighbouring indexes get unrelated streams. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Generator settings. Defaults give two to four participants, about 30 lines (log-normal)
+     * and four action items per transcript.
+     */
+    public static final class Config {
+        private long seed = 42;
+        private int minParticipants = 2;
+        private int maxParticipants = 4;
+        private int medianLines = 30;
+        private double lengthSigma = 0.45;
+        private int minLines = 6;
+        private int maxLines = 400;
+        private double meanActionItems = 4;
+        private int maxActionItems = 12;
+        private double[] typeWeights = {4, 3, 2, 1};
+        private double requestShare = 0.6;
+        private double deadlineProbability = 0.8;
+        private double urgentProbability = 0.1;
+        private double recapProbability = 0.35;
+
+        public Config seed(long seed) { this.seed = seed; return this; }
+        public Config participants(int min, int max) {
+            this.minParticipants = Math.max(1, Math.min(min, FIRST_NAMES.length));
+            this.maxParticipants = Math.max(this.minParticipants, Math.min(max, FIRST_NAMES.length));
+            return this;
+        }
+        public Config lines(int median, double sigma, int min, int max) {
+            this.minLines = Math.max(4, min);
+            this.maxLines = Math.max(this.minLines, max);
+            this.medianLines = Math.max(this.minLines, Math.min(this.maxLines, median));
+            this.lengthSigma = Math.max(0, sigma);
+            return this;
+        }
+        public Config actionItems(double mean, int max) {
+            this.meanActionItems = Math.max(0, mean);
+            this.maxActionItems = Math.max(0, max);
+            return this;
+        }
+        /** Relative weights in {@link ItemType} order. */
+        public Config typeWeights(double... weights) { this.typeWeights = weights.clone(); return this; }
+        public Config requestShare(double share) { this.requestShare = share; return this; }
+        public Config deadlineProbability(double probability) { this.deadlineProbability = probability; return this; }
+        public Config urgentProbability(double probability) { this.urgentProbability = probability; return this; }
+        public Config recapProbability(double probability) { this.recapProbability = probability; return this; }
+
+        public long getSeed() { return seed; }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "seed=%d participants=%d-%d lines=median %d sigma %.2f [%d,%d] items=mean %.1f max %d "
+                            + "types=%s requests=%.2f deadlines=%.2f urgent=%.2f recap=%.2f",
+                    seed, minParticipants, maxParticipants, medianLines, lengthSigma, minLines, maxLines, meanActionItems,
+                    maxActionItems, Arrays.toString(typeWeights), requestShare, deadlineProbability, urgentProbability,
+                    recapProbability);
+        }
+    }
+
+    /** A generated transcript and its ground truth. */
+    public static final class SyntheticTranscript {
+        private final String id;
+        private final long index;
+        private final String meetingDate;
+        private final String[] participants;
+        private final int lines;
+        private final boolean recap;
+        private final String transcript;
+        private final List<Label> actionItems;
+
+        SyntheticTranscript(String id, long index, String meetingDate, String[] participants, int lines, boolean recap,
+                            String transcript, List<Label> actionItems) {
+            this.id = id;
+            this.index = index;
+            this.meetingDate = meetingDate;
+            this.participants = participants;
+            this.lines = lines;
+            this.recap = recap;
+            this.transcript = transcript;
+            this.actionItems = actionItems;
+        }
+
+        public String getId() { return id; }
+        public long getIndex() { return index; }
+        public String getMeetingDate() { return meetingDate; }
+        public List<String> getParticipants() { return List.of(participants); }
+        public int getLines() { return lines; }
+        public boolean isRecap() { return recap; }
+        public String getTranscript() { return transcript; }
+        public List<Label> getActionItems() { return actionItems; }
+    }
+
+    /** Ground truth for one embedded action item; {@code line} is 1-based in the transcript. */
+    public static final class Label {
+        private final ItemType type;
+        private final String task;
+        private final String description;
+        private final String assignee;
+        private final String deadline;
+        private final String priority;
+        private final int line;
+
+        Label(ItemType type, String task, String description, String assignee, String deadline, String priority, int line) {
+            this.type = type;
+            this.task = task;
+            this.description = description;
+            this.assignee = assignee;
+            this.deadline = deadline;
+            this.priority = priority;
+            this.line = line;
+        }
+
+        public String getCategory() { return type.category; }
+        public String getDescription() { return description; }
+        public String getAssignee() { return assignee; }
+        public String getDeadline() { return deadline; }
+        public String getPriority() { return priority; }
+        public int getLine() { return line; }
+    }
+
+    /**
+     * Growable byte buffer with a JSON string encoder. ASCII is copied char by char; anything
+     * else goes through UTF-8 encoding.
+     */
+    public static final class ByteSink {
+        private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+        private byte[] bytes;
+        private int size;
+
+        public ByteSink(int initialCapacity) {
+            bytes = new byte[Math.max(16, initialCapacity)];
+        }
+
+        public byte[] array() { return bytes; }
+        public int size() { return size; }
+        public void reset() { size = 0; }
+
+        ByteSink ascii(String text) {
+            ensure(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                bytes[size++] = (byte) text.charAt(i);
+            }
+            return this;
+        }
+
+        ByteSink number(long value) {
+            return ascii(Long.toString(value));
+        }
+
+        ByteSink string(String text) {
+            ensure(text.length() + 2);
+            bytes[size++] = '"';
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c >= 0x80) {
+                    byte[] encoded = String.valueOf(c).getBytes(StandardCharsets.UTF_8);
+                    if (Character.isHighSurrogate(c) && i + 1 < text.length()) {
+                        encoded = text.substring(i, i + 2).getBytes(StandardCharsets.UTF_8);
+                        i++;
+                    }
+                    ensure(encoded.length + text.length() - i + 1);
+                    System.arraycopy(encoded, 0, bytes, size, encoded.length);
+                    size += encoded.length;
+                } else if (c == '"' || c == '\\') {
+                    ensure(text.length() - i + 2);
+                    bytes[size++] = '\\';
+                    bytes[size++] = (byte) c;
+                } else if (c == '\n') {
+                    ensure(text.length() - i + 2);
+                    bytes[size++] = '\\';
+                    bytes[size++] = 'n';
+                } else if (c < 0x20) {
+                    ensure(text.length() - i + 6);
+                    bytes[size++] = '\\';
+                    bytes[size++] = 'u';
+                    bytes[size++] = '0';
+                    bytes[size++] = '0';
+                    bytes[size++] = HEX[c >> 4];
+                    bytes[size++] = HEX[c & 0xF];
+                } else {
+                    bytes[size++] = (byte) c;
+                }
+            }
+            bytes[size++] = '"';
+            return this;
+        }
+
+        /** Room for {@code extra} more bytes (plus the closing quote of a string). */
+        private void ensure(int extra) {
+            if (size + extra + 1 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.aisystems.firefliescrmautomation.tools;
+
+import com.aisystems.firefliescrmautomation.tools.SyntheticTranscriptGenerator.ByteSink;
+import com.aisystems.firefliescrmautomation.tools.SyntheticTranscriptGenerator.Config;
+import com.aisystems.firefliescrmautomation.tools.SyntheticTranscriptGenerator.ItemType;
+import com.aisystems.firefliescrmautomation.tools.SyntheticTranscriptGenerator.SyntheticTranscript;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Standalone runner that writes a synthetic transcript corpus as NDJSON for load and scale tests.
+ * <p>
+ * One JSON object per line: {@code id}, {@code index}, {@code meetingDate}, {@code participants},
+ * {@code lines}, {@code recap}, {@code transcript} and the ground-truth {@code actionItems}.
+ * Blocks of transcripts are generated on all cores and written in index order, so the output
+ * only depends on the seed and the generator options, not on the thread count.
+ * </p>
+ * Usage (all options optional):
+ * <pre>
+ *     java -cp app.jar com.aisystems.firefliescrmautomation.tools.SyntheticTranscriptGeneratorMain \
+ *         --count=1000000 --seed=42 --out=build/synthetic/transcripts --per-file=250000 \
+ *         --participants=2-5 --median-lines=30 --length-sigma=0.45 --min-lines=6 --max-lines=400 \
+ *         --mean-items=4 --max-items=12 --types=follow-up:4,documentation:3,setup:2,training:1 \
+ *         --requests=0.6 --deadlines=0.8 --urgent=0.1 --recap=0.35 --threads=8 --start=0
+ * </pre>
+ * With {@code --per-file} the corpus is split into {@code <out>-00000.ndjson}, ...; otherwise it
+ * goes to {@code <out>.ndjson}. {@code --start} offsets the first index so several machines can
+ * write disjoint slices of the same corpus.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 4:25 PM GMT -5 Bogotá DC Colombia
+ */
+public class SyntheticTranscriptGeneratorMain {
+
+    private static final int BLOCK_SIZE = 512;
+    private static final int OUTPUT_BUFFER_BYTES = 1 << 20;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        long count = Long.parseLong(options.getOrDefault("count", "1000"));
+        long start = Long.parseLong(options.getOrDefault("start", "0"));
+        long perFile = Long.parseLong(options.getOrDefault("per-file", "0"));
+        String out = options.getOrDefault("out", "synthetic-transcripts");
+        int threads = Integer.parseInt(options.getOrDefault("threads", Integer.toString(Runtime.getRuntime().availableProcessors())));
+        SyntheticTranscriptGenerator generator = new SyntheticTranscriptGenerator(config(options));
+
+        System.out.printf("Generating %d transcripts from index %d (%s)%n", count, start, generator.getConfig());
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "synthetic-transcripts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long began = System.nanoTime();
+        long bytes = 0;
+        long items = 0;
+        try {
+            ArrayDeque<Future<Block>> pending = new ArrayDeque<>();
+            OutputStream stream = null;
+            int fileIndex = 0;
+            long next = start;
+            long end = start + count;
+            long written = 0;
+            long fileEnd = perFile > 0 ? Math.min(end, start + perFile) : end;
+            while (next < end || !pending.isEmpty()) {
+                // Keep two blocks per worker in flight; blocks never cross a file boundary.
+                while (next < end && pending.size() < 2 * Math.max(1, threads)) {
+                    long from = next;
+                    int size = (int) Math.min(BLOCK_SIZE, fileEnd - from);
+                    pending.add(workers.submit(() -> generate(generator, from, size)));
+                    next += size;
+                    if (next == fileEnd) {
+                        fileEnd = Math.min(end, fileEnd + (perFile > 0 ? perFile : count));
+                    }
+                }
+                Block block = pending.poll().get();
+                if (stream == null) {
+                    stream = open(out, perFile > 0 ? fileIndex++ : -1);
+                }
+                stream.write(block.bytes.array(), 0, block.bytes.size());
+                bytes += block.bytes.size();
+                items += block.actionItems;
+                written += block.count;
+                if (perFile > 0 && written % perFile == 0) {
+                    stream.close();
+                    stream = null;
+                }
+            }
+            if (stream != null) {
+                stream.close();
+            }
+        } catch (ExecutionException e) {
+            System.err.println("Generation failed: " + e.getCause());
+            System.exit(1);
+        } finally {
+            workers.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - began) / 1e9;
+        System.out.printf(Locale.ROOT, "Wrote %d transcripts, %d action items, %.1f MB in %.2f s: %.0f transcripts/s, %.1f MB/s%n",
+                count, items, bytes / 1e6, seconds, count / seconds, bytes / 1e6 / seconds);
+    }
+
+    private static Block generate(SyntheticTranscriptGenerator generator, long from, int size) {
+        ByteSink sink = new ByteSink(size * 4096);
+        int items = 0;
+        for (long index = from; index < from + size; index++) {
+            SyntheticTranscript transcript = generator.generate(index);
+            items += transcript.getActionItems().size();
+            SyntheticTranscriptGenerator.writeNdjson(transcript, sink);
+        }
+        return new Block(sink, size, items);
+    }
+
+    private static OutputStream open(String out, int fileIndex) throws IOException {
+        Path path = Path.of(fileIndex < 0 ? out + ".ndjson" : String.format(Locale.ROOT, "%s-%05d.ndjson", out, fileIndex));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        System.out.println("Writing " + path);
+        return new BufferedOutputStream(Files.newOutputStream(path), OUTPUT_BUFFER_BYTES);
+    }
+
+    private static Config config(Map<String, String> options) {
+        Config config = new Config().seed(Long.parseLong(options.getOrDefault("seed", "42")));
+        String[] participants = options.getOrDefault("participants", "2-4").split("-", 2);
+        config.participants(Integer.parseInt(participants[0]),
+                Integer.parseInt(participants.length > 1 ? participants[1] : participants[0]));
+        config.lines(Integer.parseInt(options.getOrDefault("median-lines", "30")),
+                Double.parseDouble(options.getOrDefault("length-sigma", "0.45")),
+                Integer.parseInt(options.getOrDefault("min-lines", "6")),
+                Integer.parseInt(options.getOrDefault("max-lines", "400")));
+        config.actionItems(Double.parseDouble(options.getOrDefault("mean-items", "4")),
+                Integer.parseInt(options.getOrDefault("max-items", "12")));
+        double[] weights = new double[ItemType.values().length];
+        for (String entry : options.getOrDefault("types", "follow-up:4,documentation:3,setup:2,training:1").split(",")) {
+            String[] pair = entry.split(":", 2);
+            for (ItemType type : ItemType.values()) {
+                if (type.getCategory().equalsIgnoreCase(pair[0].strip())) {
+                    weights[type.ordinal()] = pair.length > 1 ? Double.parseDouble(pair[1]) : 1;
+                }
+            }
+        }
+        return config.typeWeights(weights)
+                .requestShare(Double.parseDouble(options.getOrDefault("requests", "0.6")))
+                .deadlineProbability(Double.parseDouble(options.getOrDefault("deadlines", "0.8")))
+                .urgentProbability(Double.parseDouble(options.getOrDefault("urgent", "0.1")))
+                .recapProbability(Double.parseDouble(options.getOrDefault("recap", "0.35")));
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+            String[] pair = arg.substring(2).split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        return options;
+    }
+
+    private static final class Block {
+        final ByteSink bytes;
+        final int count;
+        final int actionItems;
+
+        Block(ByteSink bytes, int count, int actionItems) {
+            this.bytes = bytes;
+            this.count = count;
+            this.actionItems = actionItems;
+        }
+    }
+}
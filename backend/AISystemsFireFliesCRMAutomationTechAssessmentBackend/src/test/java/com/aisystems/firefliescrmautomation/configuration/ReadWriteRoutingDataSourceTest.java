@@ -0,0 +1,225 @@
+package com.aisystems.firefliescrmautomation.configuration;
+
+import com.aisystems.firefliescrmautomation.service.SqlMetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing decisions of {@link ReadWriteRoutingDataSource} and health checks of
+ * {@link ReplicaLagMonitor}, against in-memory JDBC fakes.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 6:00 PM GMT -5 Bogotá DC Colombia
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private SqlMetricsService sqlMetricsService;
+    private FakeDataSource primary;
+    private FakeDataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        sqlMetricsService = new SqlMetricsService();
+        primary = new FakeDataSource("primary");
+        replica = new FakeDataSource("replica");
+    }
+
+    @Test
+    void writesGoToThePrimary() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(lagMonitor(3L));
+
+        assertEquals("primary", nameOf(routing.getConnection()));
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        assertEquals(1L, sqlMetricsService.getReport().getRouting().get("write-primary"));
+    }
+
+    @Test
+    void readOnlyWorkGoesToAFreshReplica() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(lagMonitor(3L));
+
+        String name = ReadWriteRoutingDataSource.readOnly(() -> {
+            assertEquals(ReadWriteRoutingDataSource.REPLICA, routing.determineCurrentLookupKey());
+            return nameOf(connect(routing));
+        });
+
+        assertEquals("replica", name);
+        assertEquals(1L, sqlMetricsService.getReport().getRouting().get("read-replica"));
+        // The hint does not outlive the read-only scope.
+        assertEquals("primary", nameOf(routing.getConnection()));
+    }
+
+    @Test
+    void nestedReadOnlyScopesRestoreTheOuterHint() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(lagMonitor(0L));
+
+        String name = ReadWriteRoutingDataSource.readOnly(() -> {
+            ReadWriteRoutingDataSource.readOnly(() -> null);
+            return nameOf(connect(routing));
+        });
+
+        assertEquals("replica", name);
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaLags() {
+        ReadWriteRoutingDataSource routing = routing(lagMonitor(30L));
+
+        String name = ReadWriteRoutingDataSource.readOnly(() -> nameOf(connect(routing)));
+
+        assertEquals("primary", name);
+        assertEquals(1L, sqlMetricsService.getReport().getRouting().get("read-fallback-primary"));
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaIsUnreachable() {
+        ReplicaLagMonitor monitor = lagMonitor(0L);
+        replica.failing = true;
+        ReadWriteRoutingDataSource routing = routing(monitor);
+
+        String name = ReadWriteRoutingDataSource.readOnly(() -> nameOf(connect(routing)));
+
+        assertEquals("primary", name);
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void emptyReplicaStatusMeansNotReplicating() {
+        replica.lag = null;
+        replica.emptyStatus = true;
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, null, 5L, sqlMetricsService);
+
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(Boolean.FALSE, sqlMetricsService.getReport().getReplicaUsable());
+    }
+
+    @Test
+    void nullLagMeansReplicationStopped() {
+        replica.lag = null;
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, null, 5L, sqlMetricsService);
+
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void replicaIsUsableAgainOnceItCatchesUp() {
+        ReplicaLagMonitor monitor = lagMonitor(30L);
+        assertFalse(monitor.isReplicaUsable());
+
+        replica.lag = 2L;
+        monitor.check();
+
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals(2L, sqlMetricsService.getReport().getReplicaLagSeconds());
+    }
+
+    private ReplicaLagMonitor lagMonitor(Long lagSeconds) {
+        replica.lag = lagSeconds;
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, null, 5L, sqlMetricsService);
+        monitor.check();
+        return monitor;
+    }
+
+    private ReadWriteRoutingDataSource routing(ReplicaLagMonitor monitor) {
+        return new ReadWriteRoutingDataSource(primary, replica, monitor, sqlMetricsService);
+    }
+
+    private static Connection connect(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String nameOf(Connection connection) {
+        return connection.toString();
+    }
+
+    /**
+     * DataSource whose connections report their pool name from {@code toString()} and answer
+     * the lag query with the configured {@code Seconds_Behind_Source}.
+     */
+    private static final class FakeDataSource implements DataSource {
+        private final String name;
+        private volatile Long lag;
+        private volatile boolean emptyStatus;
+        private volatile boolean failing;
+
+        FakeDataSource(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (failing) {
+                throw new SQLException(name + " is down");
+            }
+            return proxy(Connection.class, Map.of(
+                    "toString", name,
+                    "createStatement", proxy(Statement.class, Map.of("executeQuery", statusResult()))));
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+
+        private ResultSet statusResult() {
+            boolean[] consumed = {emptyStatus};
+            Long value = lag;
+            ResultSetMetaData meta = proxy(ResultSetMetaData.class, Map.of(
+                    "getColumnCount", 2,
+                    "getColumnLabel", "Seconds_Behind_Source"));
+            return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (p, method, args) -> switch (method.getName()) {
+                        case "next" -> {
+                            boolean hasRow = !consumed[0];
+                            consumed[0] = true;
+                            yield hasRow;
+                        }
+                        case "getMetaData" -> meta;
+                        case "getLong" -> value == null ? 0L : value;
+                        case "wasNull" -> value == null;
+                        default -> null;
+                    });
+        }
+
+        @Override public java.io.PrintWriter getLogWriter() { return null; }
+        @Override public void setLogWriter(java.io.PrintWriter out) { }
+        @Override public void setLoginTimeout(int seconds) { }
+        @Override public int getLoginTimeout() { return 0; }
+        @Override public java.util.logging.Logger getParentLogger() { return null; }
+        @Override public <T> T unwrap(Class<T> iface) { return null; }
+        @Override public boolean isWrapperFor(Class<?> iface) { return false; }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Map<String, Object> answers) {
+        return (T) Proxy.newProxyInstance(ReadWriteRoutingDataSourceTest.class.getClassLoader(), new Class<?>[]{type},
+                (p, method, args) -> {
+                    Object answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer;
+                    }
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == boolean.class) {
+                        return false;
+                    }
+                    return returnType.isPrimitive() && returnType != void.class ? 0 : null;
+                });
+    }
+}
@@ -0,0 +1,109 @@
+package com.aisystems.firefliescrmautomation.controller;
+
+import com.aisystems.firefliescrmautomation.dto.FirefliesWebhookAck;
+import com.aisystems.firefliescrmautomation.dto.HubSpotTaskCreationReport;
+import com.aisystems.firefliescrmautomation.service.FirefliesTranscriptProcessor;
+import com.aisystems.firefliescrmautomation.service.FirefliesWebhookQueueService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Status codes of the Fireflies webhook: 202 when queued or already queued, 429 with
+ * Retry-After when the queue is full, 400 for unusable payloads.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 7:20 PM GMT -5 Bogotá DC Colombia
+ */
+class FirefliesWebhookControllerTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private FirefliesWebhookQueueService queue;
+    private FirefliesWebhookController controller;
+
+    @BeforeEach
+    void setUp() {
+        // One worker that holds the first meeting until the test ends, and room for one more.
+        FirefliesTranscriptProcessor processor = new FirefliesTranscriptProcessor() {
+            @Override
+            public HubSpotTaskCreationReport process(String transcriptId) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new HubSpotTaskCreationReport(0, 0, 0, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            }
+        };
+        queue = new FirefliesWebhookQueueService();
+        ReflectionTestUtils.setField(queue, "firefliesTranscriptProcessor", processor);
+        ReflectionTestUtils.setField(queue, "queueCapacity", 1);
+        ReflectionTestUtils.setField(queue, "workers", 1);
+        queue.afterPropertiesSet();
+        controller = new FirefliesWebhookController();
+        ReflectionTestUtils.setField(controller, "queueService", queue);
+        ReflectionTestUtils.setField(controller, "webhookSecret", "");
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        queue.destroy();
+    }
+
+    private ResponseEntity<FirefliesWebhookAck> deliver(String meetingId) {
+        return controller.receiveWebhook("{\"meetingId\":\"" + meetingId + "\",\"eventType\":\"Transcription completed\"}", null);
+    }
+
+    @Test
+    void queuesDeduplicatesAndThrottles() throws InterruptedException {
+        assertEquals(HttpStatus.ACCEPTED, deliver("m-1").getStatusCode());
+        for (int i = 0; i < 400 && queue.getQueueDepth() > 0; i++) {
+            Thread.sleep(5);
+        }
+        assertEquals(HttpStatus.ACCEPTED, deliver("m-2").getStatusCode());
+
+        ResponseEntity<FirefliesWebhookAck> duplicate = deliver("m-2");
+        assertEquals(HttpStatus.ACCEPTED, duplicate.getStatusCode());
+        assertEquals("Already queued", duplicate.getBody().getMessage());
+
+        ResponseEntity<FirefliesWebhookAck> full = deliver("m-3");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, full.getStatusCode());
+        assertFalse(full.getBody().isAccepted());
+        assertNotNull(full.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void ignoresFieldsTheEventDoesNotDeclare() {
+        ResponseEntity<FirefliesWebhookAck> response = controller.receiveWebhook(
+                "{\"meetingId\":\"m-1\",\"eventType\":\"Transcription completed\",\"clientReferenceId\":\"ref\",\"workspaceId\":\"w-9\"}", null);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("m-1", response.getBody().getMeetingId());
+    }
+
+    @Test
+    void rejectsPayloadsWithoutAMeetingId() {
+        assertEquals(HttpStatus.BAD_REQUEST, controller.receiveWebhook("{\"eventType\":\"Transcription completed\"}", null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.receiveWebhook("not json", null).getStatusCode());
+    }
+
+    @Test
+    void acknowledgesOtherEventTypesWithoutQueueing() {
+        ResponseEntity<FirefliesWebhookAck> response = controller.receiveWebhook(
+                "{\"meetingId\":\"m-1\",\"eventType\":\"Meeting started\"}", null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(response.getBody().isAccepted());
+        assertEquals(0, queue.getStatus().getAccepted());
+    }
+}
@@ -0,0 +1,58 @@
+package com.aisystems.firefliescrmautomation.controller;
+
+import com.aisystems.firefliescrmautomation.dto.ChatCompletionResult;
+import com.aisystems.firefliescrmautomation.service.LlmCallScheduler;
+import com.aisystems.firefliescrmautomation.service.LlmCallScheduler.Lane;
+import com.aisystems.firefliescrmautomation.service.OpenAIService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streaming completions keep the tenant of the request that started them.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 7:35 PM GMT -5 Bogotá DC Colombia
+ */
+class OpenAITestControllerTest {
+
+    @Test
+    void streamedBodyRunsAsTheRequestTenant() throws Exception {
+        AtomicReference<String> tenant = new AtomicReference<>();
+        OpenAIService openAIService = new OpenAIService() {
+            @Override
+            public ChatCompletionResult streamCompletion(String prompt, Consumer<String> onDelta) {
+                tenant.set(LlmCallScheduler.currentTenant());
+                onDelta.accept("Hello");
+                return null;
+            }
+        };
+        OpenAITestController controller = new OpenAITestController();
+        ReflectionTestUtils.setField(controller, "openAIService", openAIService);
+
+        StreamingResponseBody body = LlmCallScheduler.inLane(Lane.INTERACTIVE, "acme",
+                () -> controller.streamCompletion("Hi"));
+        // Written on another thread, as the MVC async executor does.
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                body.writeTo(out);
+            } catch (Exception e) {
+                failure.set(e);
+            }
+        });
+        writer.start();
+        writer.join(5_000);
+
+        assertNull(failure.get());
+        assertEquals("acme", tenant.get());
+        assertEquals("Hello", out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.ActionItemAnalyticsReport;
+import com.aisystems.firefliescrmautomation.service.ActionItemAnalyticsStore.Dimension;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Aggregates, top-N selection and eviction of {@link ActionItemAnalyticsStore}.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 6:05 PM GMT -5 Bogotá DC Colombia
+ */
+class ActionItemAnalyticsStoreTest {
+
+    private static ActionItemAnalyticsStore store(int maxRows) {
+        ActionItemAnalyticsStore store = new ActionItemAnalyticsStore();
+        ReflectionTestUtils.setField(store, "maxRows", maxRows);
+        return store;
+    }
+
+    private static Map<String, Object> item(String assignee, String priority) {
+        return Map.of("description", "Task for " + assignee, "assignee", assignee, "priority", priority);
+    }
+
+    @Test
+    void groupsAndFiltersByDimension() {
+        ActionItemAnalyticsStore store = store(1_000);
+        store.recordActionItems("m1", List.of(item("Lisa", "high"), item("Mark", "HIGH"), item("Lisa", "low")));
+
+        ActionItemAnalyticsReport byAssignee = store.aggregate(Dimension.ASSIGNEE, null, 0);
+        assertEquals(Map.of("Lisa", 2L, "Mark", 1L), byAssignee.getBuckets());
+        assertEquals("Lisa", byAssignee.getBuckets().keySet().iterator().next());
+
+        ActionItemAnalyticsReport highByAssignee = store.aggregate(Dimension.ASSIGNEE, Map.of(Dimension.PRIORITY, "high"), 0);
+        assertEquals(2L, highByAssignee.getMatchedRows());
+        assertEquals(Map.of("Lisa", 1L, "Mark", 1L), highByAssignee.getBuckets());
+    }
+
+    @Test
+    void limitKeepsTheLargestBucketsInOrder() {
+        ActionItemAnalyticsStore store = store(10_000);
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int person = 0; person < 100; person++) {
+            for (int n = 0; n <= person; n++) {
+                items.add(item("person-" + person, "medium"));
+            }
+        }
+        store.recordActionItems("m1", items);
+
+        ActionItemAnalyticsReport top = store.aggregate(Dimension.ASSIGNEE, null, 3);
+
+        assertEquals(100, top.getDistinctBuckets());
+        assertEquals(List.of("person-99", "person-98", "person-97"), new ArrayList<>(top.getBuckets().keySet()));
+        assertEquals(100L, top.getBuckets().get("person-99"));
+    }
+
+    @Test
+    void evictionForgetsValuesNoRowUses() {
+        ActionItemAnalyticsStore store = store(100);
+        for (int meeting = 0; meeting < 50; meeting++) {
+            store.recordActionItems("meeting-" + meeting, List.of(item("a" + meeting, "low"), item("b" + meeting, "low"),
+                    item("c" + meeting, "low"), item("d" + meeting, "low")));
+        }
+
+        ActionItemAnalyticsReport meetings = store.aggregate(Dimension.MEETING, null, 0);
+        ActionItemAnalyticsReport assignees = store.aggregate(Dimension.ASSIGNEE, null, 0);
+
+        assertTrue(store.getRowCount() <= 100);
+        assertEquals(store.getRowCount(), meetings.getBuckets().values().stream().mapToLong(Long::longValue).sum());
+        assertFalse(meetings.getBuckets().containsKey("meeting-0"));
+        assertTrue(meetings.getBuckets().containsKey("meeting-49"));
+        // Only values still present in some row remain in the dictionaries.
+        assertEquals(meetings.getBuckets().size(), meetings.getDistinctBuckets());
+        assertEquals(store.getRowCount(), assignees.getDistinctBuckets());
+        assertEquals(1L, store.aggregate(Dimension.ASSIGNEE, Map.of(Dimension.MEETING, "meeting-49"), 0).getBuckets().get("d49"));
+    }
+
+    @Test
+    void meetingKeysDifferForDifferentTranscripts() {
+        String a = "Meeting Date: November 15, 2024\nLisa: I'll send the deck.";
+        String b = "Meeting Date: November 15, 2024\nMark: I'll send the deck.";
+
+        assertNotEquals(ActionItemAnalyticsStore.meetingKey(a), ActionItemAnalyticsStore.meetingKey(b));
+        assertEquals(ActionItemAnalyticsStore.meetingKey(a), ActionItemAnalyticsStore.meetingKey(a));
+        assertTrue(ActionItemAnalyticsStore.meetingKey(a).matches("November 15, 2024#[0-9a-f]{16}"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Merging within a transcript and linking across meetings by {@link ActionItemDeduplicator}.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 6:35 PM GMT -5 Bogotá DC Colombia
+ */
+class ActionItemDeduplicatorTest {
+
+    private static ActionItemDeduplicator deduplicator() {
+        ActionItemDeduplicator deduplicator = new ActionItemDeduplicator();
+        ReflectionTestUtils.setField(deduplicator, "enabled", true);
+        ReflectionTestUtils.setField(deduplicator, "threshold", 0.6);
+        ReflectionTestUtils.setField(deduplicator, "bands", 16);
+        ReflectionTestUtils.setField(deduplicator, "rows", 4);
+        ReflectionTestUtils.setField(deduplicator, "maxItems", 1_000);
+        ReflectionTestUtils.setField(deduplicator, "retentionDays", 90);
+        deduplicator.afterPropertiesSet();
+        return deduplicator;
+    }
+
+    private static Map<String, Object> item(String description, String assignee, String priority) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("description", description);
+        item.put("assignee", assignee);
+        item.put("priority", priority);
+        return item;
+    }
+
+    @Test
+    void mergesARecapIntoTheOriginalItem() {
+        List<Map<String, Object>> kept = deduplicator().mergeDuplicates(List.of(
+                item("Send the lead source list by Friday", "Jennifer", "MEDIUM"),
+                item("Send me the lead sources list by Friday", null, "HIGH")));
+
+        assertEquals(1, kept.size());
+        assertEquals("Jennifer", kept.get(0).get("assignee"));
+        assertEquals("HIGH", kept.get(0).get("priority"));
+        assertEquals(1, kept.get(0).get("mergedDuplicates"));
+    }
+
+    @Test
+    void keepsTheSameTaskForDifferentAssignees() {
+        List<Map<String, Object>> kept = deduplicator().mergeDuplicates(List.of(
+                item("Send the lead source list by Friday", "Jennifer", "MEDIUM"),
+                item("Send the lead source list by Friday", "Sarah", "MEDIUM")));
+
+        assertEquals(2, kept.size());
+        assertEquals("Sarah", kept.get(1).get("assignee"));
+    }
+
+    @Test
+    void linksARepeatInALaterMeetingToItsDeal() {
+        ActionItemDeduplicator deduplicator = deduplicator();
+        Map<String, Object> first = item("Review the email templates", "Jennifer", "MEDIUM");
+        deduplicator.deduplicate("m1", List.of(first));
+        deduplicator.recordDeal(first, "deal-1");
+
+        Map<String, Object> repeat = item("Review the email templates", "Jennifer", "MEDIUM");
+        deduplicator.deduplicate("m2", List.of(repeat));
+
+        Map<?, ?> duplicateOf = (Map<?, ?>) repeat.get("duplicateOf");
+        assertNotNull(duplicateOf);
+        assertEquals("m1", duplicateOf.get("meeting"));
+        assertEquals("deal-1", duplicateOf.get("hubspotDealId"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Matching HubSpot batch create results back to their items in {@link ActionItemExtractorService}.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 6:50 PM GMT -5 Bogotá DC Colombia
+ */
+class ActionItemExtractorServiceTest {
+
+    private static List<Map<String, Object>> batch(int size) {
+        List<Map<String, Object>> batch = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("description", "Send the report");
+            item.put("assignee", "Lisa");
+            batch.add(item);
+        }
+        return batch;
+    }
+
+    @Test
+    void matchesShuffledResultsByTraceId() throws Exception {
+        List<Map<String, Object>> batch = batch(3);
+        String raw = "{\"status\":\"COMPLETE\",\"results\":["
+                + "{\"id\":\"30\",\"objectWriteTraceId\":\"2\",\"properties\":{\"ai_systems_description\":\"Send the report\"}},"
+                + "{\"id\":\"10\",\"objectWriteTraceId\":\"0\",\"properties\":{\"ai_systems_description\":\"Send the report\"}},"
+                + "{\"id\":\"20\",\"objectWriteTraceId\":\"1\",\"properties\":{\"ai_systems_description\":\"Send the report\"}}]}";
+
+        assertNull(ActionItemExtractorService.assignDealIds(batch, raw));
+
+        assertEquals("10", batch.get(0).get("hubspotTaskId"));
+        assertEquals("20", batch.get(1).get("hubspotTaskId"));
+        assertEquals("30", batch.get(2).get("hubspotTaskId"));
+    }
+
+    @Test
+    void leavesItemsWithoutAResultUnassigned() throws Exception {
+        List<Map<String, Object>> batch = batch(3);
+        String raw = "{\"results\":[{\"id\":\"20\",\"objectWriteTraceId\":\"1\"}],"
+                + "\"errors\":[{\"message\":\"Property values were not valid\"}]}";
+
+        assertEquals("Property values were not valid", ActionItemExtractorService.assignDealIds(batch, raw));
+
+        assertNull(batch.get(0).get("hubspotTaskId"));
+        assertEquals("20", batch.get(1).get("hubspotTaskId"));
+        assertNull(batch.get(2).get("hubspotTaskId"));
+    }
+
+    @Test
+    void fallsBackToPositionOnlyWhenEveryItemHasAResult() throws Exception {
+        List<Map<String, Object>> complete = batch(2);
+        ActionItemExtractorService.assignDealIds(complete, "{\"results\":[{\"id\":\"10\"},{\"id\":\"20\"}]}");
+        assertEquals("10", complete.get(0).get("hubspotTaskId"));
+        assertEquals("20", complete.get(1).get("hubspotTaskId"));
+
+        List<Map<String, Object>> partial = batch(2);
+        ActionItemExtractorService.assignDealIds(partial, "{\"results\":[{\"id\":\"20\"}]}");
+        assertNull(partial.get(0).get("hubspotTaskId"));
+        assertNull(partial.get(1).get("hubspotTaskId"));
+    }
+}
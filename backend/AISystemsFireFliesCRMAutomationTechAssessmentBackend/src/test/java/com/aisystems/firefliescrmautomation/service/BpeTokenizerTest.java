@@ -0,0 +1,73 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Byte-pair merging and the length estimate of {@link BpeTokenizer}.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 6:15 PM GMT -5 Bogotá DC Colombia
+ */
+class BpeTokenizerTest {
+
+    private static BpeTokenizer tokenizer(String vocabLocation) {
+        BpeTokenizer tokenizer = new BpeTokenizer();
+        ReflectionTestUtils.setField(tokenizer, "vocabLocation", vocabLocation);
+        tokenizer.afterPropertiesSet();
+        return tokenizer;
+    }
+
+    @Test
+    void mergesTheLowestRankedPairsOfTheVocabulary() throws IOException {
+        Path vocab = Files.createTempFile("ranks-", ".tiktoken");
+        try {
+            StringBuilder ranks = new StringBuilder();
+            String[] tokens = {"a", "b", "c", " ", "ab"};
+            for (int rank = 0; rank < tokens.length; rank++) {
+                ranks.append(Base64.getEncoder().encodeToString(tokens[rank].getBytes(StandardCharsets.UTF_8)))
+                        .append(' ').append(rank).append('\n');
+            }
+            Files.writeString(vocab, ranks.toString());
+
+            BpeTokenizer tokenizer = tokenizer(vocab.toString());
+
+            assertTrue(tokenizer.isExact());
+            assertEquals(1, tokenizer.countTokens("ab"));
+            assertEquals(2, tokenizer.countTokens("abc"));
+            // "ab" + " ab": the space is not merged with "a", so the second piece is " " and "ab".
+            assertEquals(3, tokenizer.countTokens("ab ab"));
+        } finally {
+            Files.deleteIfExists(vocab);
+        }
+    }
+
+    @Test
+    void estimatesWithoutAVocabulary() {
+        BpeTokenizer tokenizer = tokenizer("file:/nonexistent/o200k_base.tiktoken");
+
+        assertFalse(tokenizer.isExact());
+        assertEquals(0, tokenizer.countTokens(null));
+        assertEquals(0, tokenizer.countTokens(""));
+        assertEquals(2, tokenizer.countTokens("hello world"));
+        assertEquals(3, tokenizer.countTokens("extraordinarily"));
+        // Numbers are split into groups of at most three digits.
+        assertEquals(3, tokenizer.countTokens("12345"));
+    }
+
+    @Test
+    void chatPromptAddsMessageFraming() {
+        BpeTokenizer tokenizer = tokenizer("file:/nonexistent/o200k_base.tiktoken");
+
+        int content = tokenizer.countTokens("Send the proposal");
+        int framing = BpeTokenizer.TOKENS_PER_MESSAGE + tokenizer.countTokens("user") + BpeTokenizer.REPLY_PRIMING_TOKENS;
+        assertEquals(content + framing, tokenizer.countChatPromptTokens("Send the proposal"));
+    }
+}
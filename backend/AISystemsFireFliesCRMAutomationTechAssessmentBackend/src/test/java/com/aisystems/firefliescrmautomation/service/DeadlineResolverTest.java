@@ -0,0 +1,107 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Relative and absolute deadlines of {@link DeadlineResolver}, anchored to a Friday meeting.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 6:25 PM GMT -5 Bogotá DC Colombia
+ */
+class DeadlineResolverTest {
+
+    /** Friday. */
+    private static final LocalDate MEETING = LocalDate.of(2024, 11, 15);
+
+    private static DeadlineResolver resolver() {
+        DeadlineResolver resolver = new DeadlineResolver();
+        ReflectionTestUtils.setField(resolver, "zone", "America/Bogota");
+        ReflectionTestUtils.setField(resolver, "dueHour", 17);
+        return resolver;
+    }
+
+    private static void assertResolves(String expected, String deadline) {
+        LocalDate date = resolver().resolveDate(deadline, MEETING);
+        assertEquals(expected == null ? null : LocalDate.parse(expected), date, deadline);
+    }
+
+    @Test
+    void timeOfDayQualifiesTheDayInsteadOfReplacingIt() {
+        assertResolves("2024-11-16", "tomorrow EOD");
+        assertResolves("2024-11-16", "end of day tomorrow");
+        assertResolves("2024-11-20", "Wednesday morning");
+        assertResolves("2024-11-22", "Friday EOD");
+        assertResolves("2024-11-15", "EOD");
+        assertResolves("2024-11-15", "tonight");
+        assertResolves("2024-11-15", "by end of the day");
+    }
+
+    @Test
+    void weekdaysHonourTheNextWeekModifier() {
+        assertResolves("2024-11-20", "Wednesday");
+        assertResolves("2024-11-19", "next Tuesday");
+        assertResolves("2024-11-19", "Tuesday next week");
+        assertResolves("2024-11-22", "next week");
+        assertResolves("2024-11-15", "end of week");
+
+        LocalDate monday = LocalDate.of(2024, 11, 11);
+        assertEquals(LocalDate.of(2024, 11, 12), resolver().resolveDate("Tuesday", monday));
+        assertEquals(LocalDate.of(2024, 11, 19), resolver().resolveDate("Tuesday next week", monday));
+    }
+
+    @Test
+    void abbreviationsOnlyMatchWholeWords() {
+        assertResolves(null, "Review the geodata export");
+        assertResolves(null, "Price the preowned inventory");
+        assertResolves(null, "Summarize the contract");
+        assertResolves("2024-11-15", "EOW");
+    }
+
+    @Test
+    void resolvesAbsoluteAndPeriodDeadlines() {
+        assertResolves("2024-12-20", "2024-12-20");
+        assertResolves("2024-12-01", "December 1st");
+        assertResolves("2025-01-10", "Jan 10");
+        assertResolves("2024-11-18", "in 3 days");
+        assertResolves("2024-11-29", "in 2 weeks");
+        assertResolves("2024-11-30", "end of month");
+        assertResolves("2024-12-31", "next month");
+        assertResolves(null, "whenever possible");
+    }
+
+    @Test
+    void resolvesTheDueTimeInTheConfiguredZone() {
+        ZoneId bogota = ZoneId.of("America/Bogota");
+        DeadlineResolver resolver = resolver();
+
+        assertEquals(LocalDate.of(2024, 11, 20).atTime(12, 0).atZone(bogota).toInstant().toEpochMilli(),
+                resolver.resolve("Wednesday morning", MEETING));
+        assertEquals(LocalDate.of(2024, 11, 16).atTime(17, 0).atZone(bogota).toInstant().toEpochMilli(),
+                resolver.resolve("tomorrow EOD", MEETING));
+        assertEquals(DeadlineResolver.UNRESOLVED, resolver.resolve("someday", MEETING));
+    }
+
+    @Test
+    void annotatesItemsAgainstTheMeetingDateHeader() {
+        String transcript = "Meeting Date: November 15, 2024\nLisa: Send the list by Friday.";
+        List<Map<String, Object>> items = new ArrayList<>();
+        items.add(new HashMap<>(Map.of("description", "Send the list", "deadline", "Friday")));
+        items.add(new HashMap<>(Map.of("description", "Call back")));
+
+        DeadlineResolver resolver = resolver();
+        assertEquals(MEETING, resolver.meetingDate(transcript));
+        resolver.annotate(items, transcript);
+
+        assertEquals("2024-11-22", items.get(0).get("deadlineDate"));
+        assertFalse(items.get(1).containsKey("deadlineDate"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.FirefliesSyncReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Watermark and backlog handling of {@link FirefliesSyncPoller} over a stub Fireflies client,
+ * the real processor with stub extraction, and the in-memory sync-state tables.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 7:25 PM GMT -5 Bogotá DC Colombia
+ */
+class FirefliesSyncPollerTest {
+
+    private static final String CURSOR = "fireflies-transcripts";
+    private static final String OK = "Lisa: I'll send the contract tomorrow.";
+    private static final String FAILING = "Lisa: " + FirefliesTranscriptProcessorTest.FAILING;
+
+    private InMemorySyncStateJdbcTemplate jdbc;
+    private StubFirefliesTranscriptClient client;
+    private AtomicInteger deals;
+    private FirefliesSyncPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new InMemorySyncStateJdbcTemplate();
+        client = new StubFirefliesTranscriptClient();
+        deals = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (poller != null) {
+            poller.destroy();
+        }
+    }
+
+    private FirefliesSyncPoller poller(int pageSize, int maxPages) {
+        FirefliesSyncStateRepository repository = InMemorySyncStateJdbcTemplate.repository(jdbc, 1_800_000L);
+        poller = new FirefliesSyncPoller();
+        ReflectionTestUtils.setField(poller, "firefliesTranscriptClient", client);
+        ReflectionTestUtils.setField(poller, "firefliesTranscriptProcessor",
+                FirefliesTranscriptProcessorTest.processor(client, repository, deals));
+        ReflectionTestUtils.setField(poller, "syncStateRepository", repository);
+        ReflectionTestUtils.setField(poller, "pageSize", pageSize);
+        ReflectionTestUtils.setField(poller, "maxPages", maxPages);
+        ReflectionTestUtils.setField(poller, "batchSize", 2);
+        ReflectionTestUtils.setField(poller, "parallelism", 2);
+        poller.afterPropertiesSet();
+        return poller;
+    }
+
+    @Test
+    void advancesTheWatermarkToTheNewestMeetingAndSkipsProcessedOnes() {
+        client.add("m-1", 1_000L, OK).add("m-2", 2_000L, OK).add("m-3", 3_000L, OK);
+        FirefliesSyncPoller poller = poller(10, 2);
+
+        FirefliesSyncReport first = poller.syncNow();
+        assertEquals(3, first.getProcessed());
+        assertEquals(3_000L, first.getWatermarkAfter());
+        assertEquals(3_000L, jdbc.watermarks.get(CURSOR));
+
+        // The watermark is inclusive: the newest meeting is listed again but not reprocessed.
+        FirefliesSyncReport second = poller.syncNow();
+        assertEquals(1, second.getListed());
+        assertEquals(1, second.getAlreadyProcessed());
+        assertEquals(0, second.getProcessed());
+        assertEquals(3, deals.get());
+    }
+
+    @Test
+    void holdsTheWatermarkAtTheOldestFailureUntilItIsRetriedSuccessfully() {
+        client.add("m-1", 1_000L, OK).add("m-2", 2_000L, FAILING).add("m-3", 3_000L, OK);
+        FirefliesSyncPoller poller = poller(10, 2);
+
+        FirefliesSyncReport first = poller.syncNow();
+        assertEquals(2, first.getProcessed());
+        assertEquals(1, first.getFailed());
+        assertEquals(2_000L, first.getWatermarkAfter());
+        assertFalse(jdbc.processed.contains("m-2"));
+
+        FirefliesSyncReport second = poller.syncNow();
+        assertEquals(1, second.getFailed(), "the failure is retried next cycle");
+        assertEquals(2_000L, second.getWatermarkAfter());
+
+        client.update("m-2", OK);
+        FirefliesSyncReport third = poller.syncNow();
+        assertEquals(1, third.getProcessed());
+        assertEquals(0, third.getFailed());
+        assertEquals(3_000L, third.getWatermarkAfter());
+        assertTrue(jdbc.processed.containsAll(List.of("m-1", "m-2", "m-3")));
+    }
+
+    @Test
+    void worksThroughABacklogLargerThanOneCycleBeforeMovingTheWatermark() {
+        for (int i = 1; i <= 5; i++) {
+            client.add("m-" + i, i * 1_000L, OK);
+        }
+        FirefliesSyncPoller poller = poller(2, 1);
+
+        FirefliesSyncReport first = poller.syncNow();
+        assertTrue(first.isTruncated());
+        assertEquals(0, first.getListOffset());
+        assertEquals(0L, first.getWatermarkAfter(), "older meetings were not listed yet");
+
+        FirefliesSyncReport second = poller.syncNow();
+        assertTrue(second.isTruncated());
+        assertEquals(2, second.getListOffset());
+        assertEquals(0L, second.getWatermarkAfter());
+
+        FirefliesSyncReport third = poller.syncNow();
+        assertFalse(third.isTruncated());
+        assertEquals(4, third.getListOffset());
+        assertEquals(5_000L, third.getWatermarkAfter());
+
+        assertEquals(List.of(0, 2, 4), client.listedSkips);
+        assertEquals(5, jdbc.processed.size());
+        // The pass is over: the next cycle lists from the newest meeting again.
+        assertEquals(0, poller.syncNow().getListOffset());
+    }
+
+    @Test
+    void failureInAnEarlierCycleOfTheBacklogHoldsTheWatermark() {
+        for (int i = 1; i <= 5; i++) {
+            client.add("m-" + i, i * 1_000L, i == 4 ? FAILING : OK);
+        }
+        FirefliesSyncPoller poller = poller(2, 1);
+
+        poller.syncNow();
+        poller.syncNow();
+        FirefliesSyncReport last = poller.syncNow();
+
+        assertFalse(last.isTruncated());
+        assertEquals(4_000L, last.getWatermarkAfter(), "the pass stops at the meeting that failed");
+        assertFalse(jdbc.processed.contains("m-4"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.service.FirefliesSyncStateRepository.ClaimResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Claims, processed ids and the watermark of {@link FirefliesSyncStateRepository}, against the
+ * in-memory stand-in for its tables.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 7:15 PM GMT -5 Bogotá DC Colombia
+ */
+class FirefliesSyncStateRepositoryTest {
+
+    private static final long CLAIM_TIMEOUT_MS = 60_000L;
+
+    private InMemorySyncStateJdbcTemplate jdbc;
+    private FirefliesSyncStateRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new InMemorySyncStateJdbcTemplate();
+        repository = InMemorySyncStateJdbcTemplate.repository(jdbc, CLAIM_TIMEOUT_MS);
+    }
+
+    @Test
+    void onlyOneWorkerClaimsATranscript() {
+        assertEquals(ClaimResult.CLAIMED, repository.claim("m-1", "webhook"));
+        assertEquals(ClaimResult.IN_PROGRESS, repository.claim("m-1", "poller"));
+
+        repository.releaseClaim("m-1");
+
+        assertEquals(ClaimResult.CLAIMED, repository.claim("m-1", "poller"));
+    }
+
+    @Test
+    void processedTranscriptIsNotClaimedAgain() {
+        assertEquals(ClaimResult.CLAIMED, repository.claim("m-1", "webhook"));
+        repository.markProcessed("m-1", 1_000L, "webhook");
+
+        // The holder has not deleted its claim yet.
+        assertEquals(ClaimResult.PROCESSED, repository.claim("m-1", "poller"));
+
+        repository.releaseClaim("m-1");
+        assertEquals(ClaimResult.PROCESSED, repository.claim("m-1", "poller"));
+        assertTrue(jdbc.claims.isEmpty());
+    }
+
+    @Test
+    void staleClaimIsTakenOver() {
+        jdbc.claims.put("m-1", System.currentTimeMillis() - CLAIM_TIMEOUT_MS - 5_000L);
+
+        assertEquals(ClaimResult.CLAIMED, repository.claim("m-1", "poller"));
+        assertEquals(ClaimResult.IN_PROGRESS, repository.claim("m-1", "webhook"), "the takeover refreshed the claim");
+    }
+
+    @Test
+    void staleClaimOfAProcessedTranscriptIsDropped() {
+        jdbc.claims.put("m-1", System.currentTimeMillis() - CLAIM_TIMEOUT_MS - 5_000L);
+        jdbc.processed.add("m-1");
+
+        assertEquals(ClaimResult.PROCESSED, repository.claim("m-1", "poller"));
+        assertTrue(jdbc.claims.isEmpty());
+    }
+
+    @Test
+    void findsProcessedIdsAmongCandidates() {
+        repository.markProcessed("m-1", null, "webhook");
+        repository.markProcessed("m-3", 3_000L, "poller");
+
+        assertEquals(Set.of("m-1", "m-3"), repository.findProcessed(List.of("m-1", "m-2", "m-3")));
+        assertTrue(repository.findProcessed(List.of()).isEmpty());
+    }
+
+    @Test
+    void watermarkNeverMovesBackwards() {
+        assertEquals(0L, repository.loadWatermark("cursor"));
+
+        repository.saveWatermark("cursor", 5_000L);
+        repository.saveWatermark("cursor", 3_000L);
+
+        assertEquals(5_000L, repository.loadWatermark("cursor"));
+    }
+}
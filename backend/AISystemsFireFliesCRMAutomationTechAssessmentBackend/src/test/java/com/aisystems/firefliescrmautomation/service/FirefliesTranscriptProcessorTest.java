@@ -0,0 +1,136 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.HubSpotTaskCreationReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Claiming and marking of {@link FirefliesTranscriptProcessor} with a stub Fireflies client, stub
+ * LLM and HubSpot calls and the in-memory sync-state tables.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 7:05 PM GMT -5 Bogotá DC Colombia
+ */
+class FirefliesTranscriptProcessorTest {
+
+    /** Transcripts containing this text fail extraction with an error item. */
+    static final String FAILING = "EXTRACTION FAILS";
+    /** Transcripts containing this text are rejected as too long. */
+    static final String TOO_LONG = "TOO LONG";
+
+    private InMemorySyncStateJdbcTemplate jdbc;
+    private StubFirefliesTranscriptClient client;
+    private FirefliesTranscriptProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new InMemorySyncStateJdbcTemplate();
+        client = new StubFirefliesTranscriptClient();
+        processor = processor(client, InMemorySyncStateJdbcTemplate.repository(jdbc, 1_800_000L), new AtomicInteger());
+    }
+
+    /**
+     * A processor whose extraction returns one item per transcript (or fails, see {@link #FAILING}
+     * and {@link #TOO_LONG}) and whose HubSpot writes always succeed.
+     * @param deals counts the deals created
+     */
+    static FirefliesTranscriptProcessor processor(FirefliesTranscriptClient client, FirefliesSyncStateRepository repository,
+                                                  AtomicInteger deals) {
+        OpenAIService openAIService = new OpenAIService() {
+            @Override
+            public List<Map<String, Object>> extractActionItemsFromTranscript(String transcript) {
+                if (transcript.contains(TOO_LONG)) {
+                    throw new PromptBudgetPlanner.PromptTooLargeException("Transcript is too long");
+                }
+                List<Map<String, Object>> items = new ArrayList<>();
+                Map<String, Object> item = new HashMap<>();
+                if (transcript.contains(FAILING)) {
+                    item.put("error", "Failed to extract action items: upstream timed out");
+                } else {
+                    item.put("description", "Send the contract");
+                    item.put("assignee", "Lisa");
+                    item.put("priority", "HIGH");
+                }
+                items.add(item);
+                return items;
+            }
+        };
+        ReflectionTestUtils.setField(openAIService, "hubSpotTaskService", new HubSpotTaskService() {
+            @Override
+            public List<String> createTasksFromActionItems(List<Map<String, Object>> actionItems) {
+                List<String> responses = new ArrayList<>();
+                for (int i = 0; i < actionItems.size(); i++) {
+                    responses.add("{\"id\":\"deal-" + deals.incrementAndGet() + "\"}");
+                }
+                return responses;
+            }
+        });
+        FirefliesTranscriptProcessor processor = new FirefliesTranscriptProcessor();
+        ReflectionTestUtils.setField(processor, "firefliesTranscriptClient", client);
+        ReflectionTestUtils.setField(processor, "openAIService", openAIService);
+        ReflectionTestUtils.setField(processor, "syncStateRepository", repository);
+        return processor;
+    }
+
+    @Test
+    void marksASuccessfulTranscriptProcessed() {
+        client.add("m-1", 1_000L, "Lisa: I'll send the contract tomorrow.");
+
+        HubSpotTaskCreationReport report = processor.process("m-1", 1_000L, "webhook");
+
+        assertEquals(0, report.getTotalFailed());
+        assertTrue(jdbc.processed.contains("m-1"));
+        assertTrue(jdbc.claims.isEmpty());
+        assertNull(processor.process("m-1", 1_000L, "poller"), "a processed transcript is skipped");
+    }
+
+    @Test
+    void failedExtractionIsNotMarkedProcessedAndCanBeRetried() {
+        client.add("m-2", 1_000L, "Lisa: " + FAILING);
+
+        assertThrows(FirefliesTranscriptProcessor.TranscriptProcessingException.class,
+                () -> processor.process("m-2", 1_000L, "webhook"));
+
+        assertFalse(jdbc.processed.contains("m-2"));
+        assertTrue(jdbc.claims.isEmpty(), "the claim is released for the retry");
+        assertThrows(FirefliesTranscriptProcessor.TranscriptProcessingException.class,
+                () -> processor.process("m-2", 1_000L, "poller"));
+    }
+
+    @Test
+    void transcriptOverTheTokenLimitIsNotMarkedProcessed() {
+        client.add("m-3", 1_000L, "Lisa: " + TOO_LONG);
+
+        FirefliesTranscriptProcessor.TranscriptProcessingException ex = assertThrows(
+                FirefliesTranscriptProcessor.TranscriptProcessingException.class, () -> processor.process("m-3"));
+
+        assertTrue(ex.getMessage().contains("too long"), ex.getMessage());
+        assertFalse(jdbc.processed.contains("m-3"));
+        assertTrue(jdbc.claims.isEmpty());
+    }
+
+    @Test
+    void unfetchableTranscriptReleasesItsClaim() {
+        assertThrows(IllegalStateException.class, () -> processor.process("missing"));
+
+        assertFalse(jdbc.processed.contains("missing"));
+        assertTrue(jdbc.claims.isEmpty());
+    }
+
+    @Test
+    void transcriptClaimedElsewhereIsInProgress() {
+        client.add("m-4", 1_000L, "Lisa: I'll send the contract tomorrow.");
+        jdbc.claims.put("m-4", System.currentTimeMillis());
+
+        assertThrows(FirefliesTranscriptProcessor.TranscriptInProgressException.class, () -> processor.process("m-4"));
+        assertFalse(jdbc.processed.contains("m-4"));
+    }
+}
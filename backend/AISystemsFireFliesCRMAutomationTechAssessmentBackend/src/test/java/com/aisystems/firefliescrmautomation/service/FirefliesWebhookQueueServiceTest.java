@@ -0,0 +1,126 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.FirefliesIngestionStatus;
+import com.aisystems.firefliescrmautomation.dto.HubSpotTaskCreationReport;
+import com.aisystems.firefliescrmautomation.service.FirefliesWebhookQueueService.EnqueueResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Admission (accepted, duplicate, queue full) and worker outcomes of
+ * {@link FirefliesWebhookQueueService}, with a stub processor.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 7:10 PM GMT -5 Bogotá DC Colombia
+ */
+class FirefliesWebhookQueueServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private FirefliesWebhookQueueService queue;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (queue != null) {
+            queue.destroy();
+        }
+    }
+
+    /** A queue with one worker whose processor answers with {@code outcome}. */
+    static FirefliesWebhookQueueService queue(int capacity, Function<String, HubSpotTaskCreationReport> outcome) {
+        FirefliesTranscriptProcessor processor = new FirefliesTranscriptProcessor() {
+            @Override
+            public HubSpotTaskCreationReport process(String transcriptId) {
+                return outcome.apply(transcriptId);
+            }
+        };
+        FirefliesWebhookQueueService queue = new FirefliesWebhookQueueService();
+        ReflectionTestUtils.setField(queue, "firefliesTranscriptProcessor", processor);
+        ReflectionTestUtils.setField(queue, "queueCapacity", capacity);
+        ReflectionTestUtils.setField(queue, "workers", 1);
+        queue.afterPropertiesSet();
+        return queue;
+    }
+
+    private static HubSpotTaskCreationReport report() {
+        return new HubSpotTaskCreationReport(1, 1, 0, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+    }
+
+    private HubSpotTaskCreationReport blockUntilReleased() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return report();
+    }
+
+    private static void awaitStatus(FirefliesWebhookQueueService queue, Function<FirefliesIngestionStatus, Boolean> done)
+            throws InterruptedException {
+        for (int i = 0; i < 400 && !done.apply(queue.getStatus()); i++) {
+            Thread.sleep(5);
+        }
+        assertTrue(done.apply(queue.getStatus()));
+    }
+
+    @Test
+    void rejectsWhenTheQueueIsFullAndDeduplicatesPendingIds() throws Exception {
+        List<String> started = new ArrayList<>();
+        queue = queue(1, id -> {
+            synchronized (started) {
+                started.add(id);
+            }
+            return blockUntilReleased();
+        });
+
+        assertEquals(EnqueueResult.ACCEPTED, queue.enqueue("m-1"));
+        // Wait until the only worker holds m-1, so the queue itself is empty again.
+        for (int i = 0; i < 400 && queue.getQueueDepth() > 0; i++) {
+            Thread.sleep(5);
+        }
+        assertEquals(EnqueueResult.DUPLICATE, queue.enqueue("m-1"), "a running delivery is a duplicate");
+        assertEquals(EnqueueResult.ACCEPTED, queue.enqueue("m-2"));
+        assertEquals(EnqueueResult.DUPLICATE, queue.enqueue("m-2"), "a queued delivery is a duplicate");
+        assertEquals(EnqueueResult.QUEUE_FULL, queue.enqueue("m-3"));
+        assertTrue(queue.retryAfterSeconds() >= 1);
+
+        release.countDown();
+        awaitStatus(queue, status -> status.getProcessed() == 2);
+        FirefliesIngestionStatus status = queue.getStatus();
+        assertEquals(2, status.getAccepted());
+        assertEquals(1, status.getRejected());
+        assertEquals(2, status.getDuplicates());
+        // A rejected id was not left pending, so its retry is accepted.
+        assertEquals(EnqueueResult.ACCEPTED, queue.enqueue("m-3"));
+    }
+
+    @Test
+    void countsFailuresAndAlreadyProcessedTranscripts() throws Exception {
+        queue = queue(10, id -> switch (id) {
+            case "failing" -> throw new FirefliesTranscriptProcessor.TranscriptProcessingException(id, List.of("timed out"));
+            case "busy" -> throw new FirefliesTranscriptProcessor.TranscriptInProgressException(id);
+            case "done" -> null;
+            default -> report();
+        });
+
+        for (String id : List.of("ok", "failing", "busy", "done")) {
+            assertEquals(EnqueueResult.ACCEPTED, queue.enqueue(id));
+        }
+
+        awaitStatus(queue, status -> status.getProcessed() + status.getFailed() + status.getDuplicates() == 4);
+        FirefliesIngestionStatus status = queue.getStatus();
+        assertEquals(1, status.getProcessed());
+        assertEquals(1, status.getFailed());
+        assertEquals(2, status.getDuplicates());
+        // Finished ids may be delivered again; the processor decides whether they are done.
+        assertEquals(EnqueueResult.ACCEPTED, queue.enqueue("failing"));
+    }
+}
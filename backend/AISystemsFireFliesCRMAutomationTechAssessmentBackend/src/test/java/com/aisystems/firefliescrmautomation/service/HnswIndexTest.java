@@ -0,0 +1,135 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exact hits, recall against brute force and determinism of {@link HnswIndex}.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 6:40 PM GMT -5 Bogotá DC Colombia
+ */
+class HnswIndexTest {
+
+    private static final int DIMENSIONS = 32;
+
+    private static List<float[]> randomVectors(int count, long seed) {
+        Random random = new Random(seed);
+        List<float[]> vectors = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            float[] vector = new float[DIMENSIONS];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vector[d] = (float) random.nextGaussian();
+            }
+            vectors.add(vector);
+        }
+        return vectors;
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int d = 0; d < a.length; d++) {
+            dot += a[d] * b[d];
+            normA += a[d] * a[d];
+            normB += b[d] * b[d];
+        }
+        return dot / Math.sqrt(normA * normB);
+    }
+
+    private static HnswIndex index(List<float[]> vectors) {
+        HnswIndex index = new HnswIndex(DIMENSIONS, 16, 200, 42L);
+        for (float[] vector : vectors) {
+            index.add(vector);
+        }
+        return index;
+    }
+
+    @Test
+    void findsEveryStoredVectorAsItsOwnNearestNeighbour() {
+        List<float[]> vectors = randomVectors(500, 1L);
+        HnswIndex index = index(vectors);
+
+        assertEquals(500, index.size());
+        int hits = 0;
+        for (int id = 0; id < vectors.size(); id++) {
+            List<HnswIndex.Neighbor> result = index.search(vectors.get(id), 1, 50);
+            if (!result.isEmpty() && result.get(0).getId() == id) {
+                hits++;
+            }
+        }
+        assertTrue(hits >= 495, hits + " of 500");
+    }
+
+    @Test
+    void recallAtTenIsCloseToBruteForce() {
+        List<float[]> vectors = randomVectors(1_000, 2L);
+        HnswIndex index = index(vectors);
+        List<float[]> queries = randomVectors(50, 3L);
+
+        int found = 0;
+        for (float[] query : queries) {
+            List<Integer> exact = new ArrayList<>();
+            for (int id = 0; id < vectors.size(); id++) {
+                exact.add(id);
+            }
+            exact.sort((a, b) -> Double.compare(cosine(query, vectors.get(b)), cosine(query, vectors.get(a))));
+            Set<Integer> truth = new HashSet<>(exact.subList(0, 10));
+
+            List<HnswIndex.Neighbor> result = index.search(query, 10, 100);
+            assertEquals(10, result.size());
+            for (int i = 1; i < result.size(); i++) {
+                assertTrue(result.get(i - 1).getScore() >= result.get(i).getScore());
+            }
+            for (HnswIndex.Neighbor neighbor : result) {
+                if (truth.contains(neighbor.getId())) {
+                    found++;
+                }
+            }
+        }
+        double recall = found / 500.0;
+        assertTrue(recall >= 0.9, "recall@10 = " + recall);
+    }
+
+    @Test
+    void storesNormalizedVectorsAndScoresByCosine() {
+        HnswIndex index = new HnswIndex(2, 4, 16, 7L);
+        index.add(new float[]{3, 4});
+        index.add(new float[]{0, 2});
+
+        assertArrayEquals(new float[]{0.6f, 0.8f}, index.vector(0), 1e-6f);
+        List<HnswIndex.Neighbor> result = index.search(new float[]{0, 5}, 2, 10);
+        assertEquals(1, result.get(0).getId());
+        assertEquals(1.0f, result.get(0).getScore(), 1e-6f);
+        assertEquals(0.8f, result.get(1).getScore(), 1e-6f);
+    }
+
+    @Test
+    void theSameSeedBuildsTheSameGraph() {
+        List<float[]> vectors = randomVectors(300, 4L);
+        float[] query = randomVectors(1, 5L).get(0);
+
+        List<HnswIndex.Neighbor> first = index(vectors).search(query, 5, 40);
+        List<HnswIndex.Neighbor> second = index(vectors).search(query, 5, 40);
+
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getId(), second.get(i).getId());
+        }
+    }
+
+    @Test
+    void rejectsVectorsOfTheWrongSize() {
+        HnswIndex index = new HnswIndex(DIMENSIONS, 16, 200, 42L);
+
+        assertTrue(index.search(new float[DIMENSIONS], 3, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.add(new float[3]));
+        assertThrows(IllegalArgumentException.class, () -> index.search(new float[3], 1, 10));
+    }
+}
@@ -0,0 +1,102 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory stand-in for the MySQL tables of {@link FirefliesSyncStateRepository}: answers the
+ * cursor, processed-transcript and claim statements the repository issues and fails on any
+ * other, so a test notices when the repository starts issuing SQL this fake does not model.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 7:00 PM GMT -5 Bogotá DC Colombia
+ */
+class InMemorySyncStateJdbcTemplate extends JdbcTemplate {
+
+    final Map<String, Long> watermarks = new ConcurrentHashMap<>();
+    final Set<String> processed = ConcurrentHashMap.newKeySet();
+    /** Claimed transcript id to claim time in epoch millis. */
+    final Map<String, Long> claims = new ConcurrentHashMap<>();
+
+    /**
+     * @param claimTimeoutMs {@code aisystems.fireflies.claim-timeout-ms}
+     * @return a repository backed by a new fake
+     */
+    static FirefliesSyncStateRepository repository(InMemorySyncStateJdbcTemplate jdbc, long claimTimeoutMs) {
+        FirefliesSyncStateRepository repository = new FirefliesSyncStateRepository();
+        ReflectionTestUtils.setField(repository, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(repository, "claimTimeoutMs", claimTimeoutMs);
+        return repository;
+    }
+
+    @Override
+    public void execute(String sql) {
+        if (!sql.startsWith("CREATE TABLE IF NOT EXISTS")) {
+            throw new UnsupportedOperationException(sql);
+        }
+    }
+
+    @Override
+    public synchronized int update(String sql, Object... args) {
+        if (sql.startsWith("INSERT IGNORE INTO fireflies_transcript_claim")) {
+            return claims.putIfAbsent((String) args[0], System.currentTimeMillis()) == null ? 1 : 0;
+        }
+        if (sql.startsWith("UPDATE fireflies_transcript_claim")) {
+            String id = (String) args[1];
+            long timeoutMs = ((Number) args[2]).longValue() * 1_000L;
+            Long claimedAt = claims.get(id);
+            if (claimedAt == null || claimedAt >= System.currentTimeMillis() - timeoutMs) {
+                return 0;
+            }
+            claims.put(id, System.currentTimeMillis());
+            return 1;
+        }
+        if (sql.startsWith("DELETE FROM fireflies_transcript_claim")) {
+            return claims.remove((String) args[0]) != null ? 1 : 0;
+        }
+        if (sql.startsWith("INSERT IGNORE INTO fireflies_processed_transcript")) {
+            return processed.add((String) args[0]) ? 1 : 0;
+        }
+        if (sql.startsWith("INSERT INTO fireflies_sync_cursor")) {
+            watermarks.merge((String) args[0], ((Number) args[1]).longValue(), Math::max);
+            return 1;
+        }
+        throw new UnsupportedOperationException(sql);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized <T> List<T> queryForList(String sql, Class<T> type, Object... args) {
+        List<T> rows = new ArrayList<>();
+        if (sql.startsWith("SELECT watermark_ms FROM fireflies_sync_cursor")) {
+            Long watermark = watermarks.get((String) args[0]);
+            if (watermark != null) {
+                rows.add((T) watermark);
+            }
+            return rows;
+        }
+        if (sql.startsWith("SELECT transcript_id FROM fireflies_processed_transcript WHERE transcript_id IN")) {
+            for (Object id : args) {
+                if (processed.contains((String) id)) {
+                    rows.add((T) id);
+                }
+            }
+            return rows;
+        }
+        throw new UnsupportedOperationException(sql);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T queryForObject(String sql, Class<T> type, Object... args) {
+        if (sql.startsWith("SELECT COUNT(*) FROM fireflies_processed_transcript")) {
+            return (T) Integer.valueOf(processed.contains((String) args[0]) ? 1 : 0);
+        }
+        throw new UnsupportedOperationException(sql);
+    }
+}
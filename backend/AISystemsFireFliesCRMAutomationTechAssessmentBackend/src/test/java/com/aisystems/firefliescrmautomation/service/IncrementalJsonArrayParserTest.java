@@ -0,0 +1,78 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fences, truncation, nesting and streamed input of {@link IncrementalJsonArrayParser}.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 6:20 PM GMT -5 Bogotá DC Colombia
+ */
+class IncrementalJsonArrayParserTest {
+
+    @Test
+    void skipsProseAndFencesAroundTheArray() {
+        IncrementalJsonArrayParser parser = IncrementalJsonArrayParser.parse(
+                "Here are the items:\n```json\n[{\"description\": \"Send list\"}, {\"description\": \"Book call\"}]\n```");
+
+        assertTrue(parser.isComplete());
+        assertFalse(parser.isTruncated());
+        assertEquals(List.of("{\"description\": \"Send list\"}", "{\"description\": \"Book call\"}"),
+                parser.getCompletedObjects());
+    }
+
+    @Test
+    void keepsTheCompleteObjectsOfATruncatedArray() {
+        IncrementalJsonArrayParser parser = IncrementalJsonArrayParser.parse(
+                "[{\"description\": \"Send list\"}, {\"description\": \"Book");
+
+        assertFalse(parser.isComplete());
+        assertTrue(parser.isTruncated());
+        assertEquals(List.of("{\"description\": \"Send list\"}"), parser.getCompletedObjects());
+    }
+
+    @Test
+    void ignoresBracketsAndBracesInsideStringsAndNestedValues() {
+        String first = "{\"description\": \"Fix the } and ] keys \\\" now\", \"tags\": [\"a\", {\"b\": 1}]}";
+        IncrementalJsonArrayParser parser = IncrementalJsonArrayParser.parse("[" + first + "]");
+
+        assertTrue(parser.isComplete());
+        assertEquals(List.of(first), parser.getCompletedObjects());
+    }
+
+    @Test
+    void acceptsInputSplitAtAnyCharacter() {
+        String text = "[{\"description\": \"Send \\\"list\\\"\"}, {\"description\": \"Book call\"}]";
+        IncrementalJsonArrayParser parser = new IncrementalJsonArrayParser();
+        for (int i = 0; i < text.length(); i++) {
+            parser.feed(text.substring(i, i + 1));
+        }
+
+        assertTrue(parser.isComplete());
+        assertEquals(IncrementalJsonArrayParser.parse(text).getCompletedObjects(), parser.getCompletedObjects());
+    }
+
+    @Test
+    void parseObjectsSkipsMalformedElements() {
+        IncrementalJsonArrayParser parser = IncrementalJsonArrayParser.parse(
+                "[{\"description\": \"Send list\"}, {\"description\": }, {\"description\": \"Book call\"}]");
+
+        List<Map<String, Object>> objects = parser.parseObjects();
+
+        assertEquals(3, parser.getCompletedObjects().size());
+        assertEquals(List.of(Map.of("description", "Send list"), Map.of("description", "Book call")), objects);
+    }
+
+    @Test
+    void textWithoutAnArrayIsNeitherCompleteNorTruncated() {
+        IncrementalJsonArrayParser parser = IncrementalJsonArrayParser.parse("No action items were found.");
+
+        assertFalse(parser.isComplete());
+        assertFalse(parser.isTruncated());
+        assertTrue(parser.parseObjects().isEmpty());
+    }
+}
@@ -0,0 +1,140 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.service.LlmCallScheduler.CallRejectedException;
+import com.aisystems.firefliescrmautomation.service.LlmCallScheduler.Lane;
+import com.aisystems.firefliescrmautomation.service.LlmCallScheduler.Permit;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Queue accounting of {@link LlmCallScheduler} when calls wait past their deadline, and the
+ * slots kept free for interactive calls.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 6:55 PM GMT -5 Bogotá DC Colombia
+ */
+class LlmCallSchedulerTest {
+
+    private static final long BULK_DEADLINE_MS = 100;
+
+    private static LlmCallScheduler scheduler() {
+        return scheduler(BULK_DEADLINE_MS);
+    }
+
+    private static LlmCallScheduler scheduler(long bulkDeadlineMs) {
+        LlmCallScheduler scheduler = new LlmCallScheduler();
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "maxConcurrent", 2);
+        ReflectionTestUtils.setField(scheduler, "maxQueued", 10);
+        ReflectionTestUtils.setField(scheduler, "webhookMaxShare", 0.5);
+        ReflectionTestUtils.setField(scheduler, "bulkMaxShare", 0.5);
+        ReflectionTestUtils.setField(scheduler, "interactiveReserved", 1);
+        ReflectionTestUtils.setField(scheduler, "interactiveDeadlineMs", 15_000L);
+        ReflectionTestUtils.setField(scheduler, "webhookDeadlineMs", 15_000L);
+        ReflectionTestUtils.setField(scheduler, "bulkDeadlineMs", bulkDeadlineMs);
+        ReflectionTestUtils.setField(scheduler, "preemptBackoffMs", 10L);
+        ReflectionTestUtils.setField(scheduler, "tenantWeightsSpec", "");
+        scheduler.afterPropertiesSet();
+        return scheduler;
+    }
+
+    /** Starts a bulk call that queues behind the saturated bulk lane; its outcome lands in the reference. */
+    private static Thread queueBulkCall(LlmCallScheduler scheduler, AtomicReference<Object> outcome) {
+        Thread thread = new Thread(() -> {
+            try (Permit permit = scheduler.acquire(Lane.BULK, "tenant-b", 10)) {
+                outcome.set(permit);
+            } catch (CallRejectedException e) {
+                outcome.set(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitQueued(LlmCallScheduler scheduler, int queued) throws InterruptedException {
+        for (int i = 0; i < 200 && scheduler.getReport().getQueued() != queued; i++) {
+            Thread.sleep(5);
+        }
+        assertEquals(queued, scheduler.getReport().getQueued());
+    }
+
+    @Test
+    void expiryWhileTheLaneStaysSaturatedEmptiesTheQueue() throws Exception {
+        LlmCallScheduler scheduler = scheduler();
+        Permit running = scheduler.acquire(Lane.BULK, "tenant-a", 10);
+        AtomicReference<Object> outcome = new AtomicReference<>();
+
+        Thread waiter = queueBulkCall(scheduler, outcome);
+        waiter.join(5_000);
+
+        assertInstanceOf(CallRejectedException.class, outcome.get());
+        assertEquals(0, scheduler.getReport().getQueued());
+        running.close();
+        assertEquals(0, scheduler.getReport().getInFlight());
+    }
+
+    @Test
+    void expiryFoundByDispatchEmptiesTheQueue() throws Exception {
+        LlmCallScheduler scheduler = scheduler();
+        Permit running = scheduler.acquire(Lane.BULK, "tenant-a", 10);
+        AtomicReference<Object> outcome = new AtomicReference<>();
+        Thread waiter = queueBulkCall(scheduler, outcome);
+        awaitQueued(scheduler, 1);
+
+        // Holding the scheduler lock keeps the waiter from noticing its own deadline, so the
+        // slot freed after the deadline makes dispatch find the expired ticket first.
+        ReentrantLock lock = (ReentrantLock) ReflectionTestUtils.getField(scheduler, "lock");
+        lock.lock();
+        try {
+            Thread.sleep(BULK_DEADLINE_MS * 2);
+            running.close();
+        } finally {
+            lock.unlock();
+        }
+        waiter.join(5_000);
+
+        assertInstanceOf(CallRejectedException.class, outcome.get());
+        assertEquals(0, scheduler.getReport().getQueued());
+        assertEquals(0, scheduler.getReport().getInFlight());
+        try (Permit next = scheduler.acquire(Lane.BULK, "tenant-a", 10)) {
+            assertEquals(1, scheduler.getReport().getInFlight());
+        }
+    }
+
+    @Test
+    void interactiveCallsKeepTheSlotsBulkCannotTake() {
+        LlmCallScheduler scheduler = scheduler();
+        try (Permit bulk = scheduler.acquire(Lane.BULK, "tenant-a", 10);
+             Permit interactive = scheduler.acquire(Lane.INTERACTIVE, "tenant-a", 10)) {
+            assertEquals(2, scheduler.getReport().getInFlight());
+            assertEquals(0, scheduler.getReport().getQueued());
+        }
+        assertEquals(0, scheduler.getReport().getInFlight());
+    }
+
+    @Test
+    void webhookAndBulkTogetherLeaveTheReservedSlotFree() throws Exception {
+        // Each lane may hold one of the two slots on its own, but not both at once.
+        LlmCallScheduler scheduler = scheduler(15_000L);
+        Permit webhook = scheduler.acquire(Lane.WEBHOOK, "tenant-a", 10);
+        AtomicReference<Object> outcome = new AtomicReference<>();
+        Thread waiter = queueBulkCall(scheduler, outcome);
+        awaitQueued(scheduler, 1);
+        assertEquals(1, scheduler.getReport().getInFlight());
+
+        try (Permit interactive = scheduler.acquire(Lane.INTERACTIVE, "tenant-b", 10)) {
+            assertEquals(2, scheduler.getReport().getInFlight());
+            assertEquals(1, scheduler.getReport().getQueued(), "bulk still waits for the webhook call");
+        }
+
+        webhook.close();
+        waiter.join(5_000);
+        assertInstanceOf(Permit.class, outcome.get());
+        assertEquals(0, scheduler.getReport().getQueued());
+        assertEquals(0, scheduler.getReport().getInFlight());
+    }
+}
@@ -0,0 +1,72 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Similarity lookups, references and eviction of {@link MinHashLshIndex}.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 6:30 PM GMT -5 Bogotá DC Colombia
+ */
+class MinHashLshIndexTest {
+
+    private static final double THRESHOLD = 0.6;
+
+    @Test
+    void findsNearDuplicatesAndIgnoresUnrelatedText() {
+        MinHashLshIndex index = new MinHashLshIndex(16, 4, 1_000);
+        index.add(index.signature("send lead source list friday"), "m1", "Send the lead source list by Friday", 1_000L, 0L);
+        index.add(index.signature("book training session sarah"), "m1", "Book a training session for Sarah", 1_000L, 0L);
+
+        MinHashLshIndex.Match same = index.findBest(index.signature("send lead source list friday"), THRESHOLD, 0L);
+        assertNotNull(same);
+        assertEquals("m1", same.getMeeting());
+        assertEquals("Send the lead source list by Friday", same.getDescription());
+        assertTrue(same.getSimilarity() > 0.95, String.valueOf(same.getSimilarity()));
+
+        MinHashLshIndex.Match near = index.findBest(index.signature("send lead source lists friday"), THRESHOLD, 0L);
+        assertNotNull(near);
+        assertEquals(same.getId(), near.getId());
+
+        assertNull(index.findBest(index.signature("review email template wednesday"), THRESHOLD, 0L));
+    }
+
+    @Test
+    void ignoresItemsOlderThanTheMinimumTimestamp() {
+        MinHashLshIndex index = new MinHashLshIndex(16, 4, 1_000);
+        index.add(index.signature("send showingtime credential"), "m1", "Send ShowingTime credentials", 1_000L, 0L);
+
+        assertNotNull(index.findBest(index.signature("send showingtime credential"), THRESHOLD, 1_000L));
+        assertNull(index.findBest(index.signature("send showingtime credential"), THRESHOLD, 1_001L));
+    }
+
+    @Test
+    void findBestAndTouchKeepsTheFirstReferenceAndRefreshesTheTimestamp() {
+        MinHashLshIndex index = new MinHashLshIndex(16, 4, 1_000);
+        int[] signature = index.signature("review email template");
+        index.add(signature, "m1", "Review the email templates", 1_000L, 0L);
+
+        MinHashLshIndex.Match first = index.findBestAndTouch(signature, THRESHOLD, 0L, "deal-1", 5_000L);
+        assertNull(first.getReference());
+        MinHashLshIndex.Match second = index.findBestAndTouch(signature, THRESHOLD, 0L, "deal-2", 5_000L);
+        assertEquals("deal-1", second.getReference());
+
+        // The refreshed timestamp keeps the item inside a later retention window.
+        assertNotNull(index.findBest(signature, THRESHOLD, 4_000L));
+    }
+
+    @Test
+    void evictsTheOldestItemsWhenFull() {
+        MinHashLshIndex index = new MinHashLshIndex(16, 4, 16);
+        for (int i = 0; i < 40; i++) {
+            index.add(index.signature("follow up with client number " + i), "m" + i, "Follow up " + i, i, 0L);
+        }
+
+        assertTrue(index.size() <= 16, String.valueOf(index.size()));
+        assertEquals(40 - index.size(), index.getEvicted());
+        MinHashLshIndex.Match newest = index.findBest(index.signature("follow up with client number 39"), 0.95, 0L);
+        assertNotNull(newest);
+        assertEquals("m39", newest.getMeeting());
+    }
+}
@@ -0,0 +1,60 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.FirefliesTranscriptSummary;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link FirefliesTranscriptClient} over an in-memory list of meetings, paginated newest first
+ * like the Fireflies API.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 7:00 PM GMT -5 Bogotá DC Colombia
+ */
+class StubFirefliesTranscriptClient implements FirefliesTranscriptClient {
+
+    private final List<FirefliesTranscriptSummary> meetings = new CopyOnWriteArrayList<>();
+    private final Map<String, String> transcripts = new ConcurrentHashMap<>();
+    /** {@code skip} of every listing call, in call order. */
+    final List<Integer> listedSkips = new CopyOnWriteArrayList<>();
+
+    StubFirefliesTranscriptClient add(String id, long dateMillis, String transcript) {
+        meetings.add(new FirefliesTranscriptSummary(id, id, dateMillis));
+        transcripts.put(id, transcript);
+        return this;
+    }
+
+    /** Changes what {@link #fetchTranscript} returns for a meeting already added. */
+    void update(String id, String transcript) {
+        transcripts.put(id, transcript);
+    }
+
+    @Override
+    public String fetchTranscript(String transcriptId) {
+        String transcript = transcripts.get(transcriptId);
+        if (transcript == null) {
+            throw new IllegalStateException("Unknown Fireflies transcript " + transcriptId);
+        }
+        return transcript;
+    }
+
+    @Override
+    public List<FirefliesTranscriptSummary> listTranscriptsSince(long sinceEpochMillis, int limit, int skip) {
+        listedSkips.add(skip);
+        List<FirefliesTranscriptSummary> newestFirst = new ArrayList<>();
+        for (FirefliesTranscriptSummary meeting : meetings) {
+            if (meeting.getDateMillis() >= sinceEpochMillis) {
+                newestFirst.add(meeting);
+            }
+        }
+        newestFirst.sort(Comparator.comparingLong(FirefliesTranscriptSummary::getDateMillis).reversed());
+        List<FirefliesTranscriptSummary> page = new ArrayList<>(
+                newestFirst.subList(Math.min(skip, newestFirst.size()), Math.min(skip + limit, newestFirst.size())));
+        page.sort(Comparator.comparingLong(FirefliesTranscriptSummary::getDateMillis));
+        return page;
+    }
+}
@@ -0,0 +1,67 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.TranscriptCompressionReport;
+import com.aisystems.firefliescrmautomation.service.TranscriptCompressor.Level;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sentence dropping and speaker handling of {@link TranscriptCompressor}.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 6:10 PM GMT -5 Bogotá DC Colombia
+ */
+class TranscriptCompressorTest {
+
+    private static TranscriptCompressor compressor() {
+        TranscriptCompressor compressor = new TranscriptCompressor();
+        ReflectionTestUtils.setField(compressor, "tokenizer", new BpeTokenizer());
+        ReflectionTestUtils.setField(compressor, "defaultLevel", "STANDARD");
+        return compressor;
+    }
+
+    @Test
+    void keepsACommitmentRepeatedByAnotherSpeaker() {
+        String transcript = "Lisa Chen: I will send the proposal by Friday.\n"
+                + "Mark Diaz: I will send the proposal by Friday.\n";
+
+        String compressed = compressor().compress(transcript, Level.STANDARD).getCompressedTranscript();
+
+        assertTrue(compressed.contains("Lisa Chen: I will send the proposal by Friday."), compressed);
+        assertTrue(compressed.contains("Mark Diaz: I will send the proposal by Friday."), compressed);
+    }
+
+    @Test
+    void dropsASentenceTheSameSpeakerRepeats() {
+        String transcript = "Lisa Chen: I will send the proposal by Friday.\n"
+                + "Mark Diaz: Please copy legal on it.\n"
+                + "Lisa Chen: I will send the proposal by Friday.\n";
+
+        TranscriptCompressionReport report = compressor().compress(transcript, Level.STANDARD);
+
+        assertEquals(1, report.getDroppedSentences());
+        assertEquals(1, report.getCompressedTranscript().split("send the proposal", -1).length - 1);
+    }
+
+    @Test
+    void lightDropsFillerAndKeepsHeaders() {
+        String transcript = "Meeting Date: November 15, 2024\n"
+                + "Lisa Chen: Awesome. I will book the venue.\n"
+                + "Mark Diaz: Sounds good!\n";
+
+        String compressed = compressor().compress(transcript, Level.LIGHT).getCompressedTranscript();
+
+        assertEquals("Meeting Date: November 15, 2024\nLisa Chen: I will book the venue.", compressed);
+    }
+
+    @Test
+    void offReturnsTheTranscriptUnchanged() {
+        String transcript = "Lisa Chen: Thanks! Thanks!\n";
+
+        TranscriptCompressionReport report = compressor().compress(transcript, Level.OFF);
+
+        assertEquals(transcript, report.getCompressedTranscript());
+        assertEquals(0, report.getTokensSaved());
+    }
+}
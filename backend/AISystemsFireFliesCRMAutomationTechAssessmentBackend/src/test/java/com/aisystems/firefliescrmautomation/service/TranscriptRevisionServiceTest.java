@@ -0,0 +1,146 @@
+package com.aisystems.firefliescrmautomation.service;
+
+import com.aisystems.firefliescrmautomation.dto.TranscriptRevisionReport;
+import com.aisystems.firefliescrmautomation.service.FirefliesSyncStateRepository.RevisionDeal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Revision diffing of {@link TranscriptRevisionService} with a stub extraction (one item per
+ * speaker line) and in-memory HubSpot deals.
+ * @author Manuela Cortés Granados (manuelacortesgranados@gmail.com)
+ * @since 19 October 2026 7:30 PM GMT -5 Bogotá DC Colombia
+ */
+class TranscriptRevisionServiceTest {
+
+    private final List<String> extractedSegments = new ArrayList<>();
+    private final List<RevisionDeal> deals = new ArrayList<>();
+    private final Map<String, Map<String, Object>> updated = new HashMap<>();
+    private TranscriptRevisionService service;
+
+    @BeforeEach
+    void setUp() {
+        OpenAIService openAIService = new OpenAIService() {
+            @Override
+            public List<Map<String, Object>> extractFromCompressedText(String compact) {
+                extractedSegments.add(compact);
+                List<Map<String, Object>> items = new ArrayList<>();
+                for (String line : compact.split("\n")) {
+                    int colon = line.indexOf(": ");
+                    if (colon > 0 && !line.startsWith("Meeting Date")) {
+                        items.add(new HashMap<>(Map.of("assignee", line.substring(0, colon), "description", line.substring(colon + 2))));
+                    }
+                }
+                return items;
+            }
+        };
+        ModelRouter modelRouter = new ModelRouter() {
+            @Override
+            public LlmProvider provider() {
+                return new LocalLlmProvider();
+            }
+        };
+        HubSpotTaskService hubSpotTaskService = new HubSpotTaskService() {
+            @Override
+            public List<String> createTasksFromActionItems(List<Map<String, Object>> actionItems) {
+                return List.of("{\"id\":\"deal-" + (deals.size() + 1) + "\"}");
+            }
+
+            @Override
+            public List<String> updateTasksFromActionItems(Map<String, Map<String, Object>> itemsByDealId) {
+                updated.putAll(itemsByDealId);
+                return List.of();
+            }
+
+            @Override
+            public List<String> archiveTasks(List<String> dealIds) {
+                return List.of();
+            }
+        };
+        FirefliesSyncStateRepository repository = new FirefliesSyncStateRepository() {
+            @Override
+            public List<RevisionDeal> loadRevisionDeals(String transcriptId) {
+                return new ArrayList<>(deals);
+            }
+
+            @Override
+            public void saveRevisionDeal(String transcriptId, RevisionDeal deal) {
+                deals.removeIf(existing -> existing.getDealId().equals(deal.getDealId()));
+                deals.add(deal);
+            }
+
+            @Override
+            public void deleteRevisionDeals(String transcriptId, Collection<String> dealIds) {
+                deals.removeIf(existing -> dealIds.contains(existing.getDealId()));
+            }
+        };
+        TranscriptCompressor compressor = new TranscriptCompressor();
+        ReflectionTestUtils.setField(compressor, "tokenizer", new BpeTokenizer());
+        ReflectionTestUtils.setField(compressor, "defaultLevel", "OFF");
+        DeadlineResolver deadlineResolver = new DeadlineResolver();
+        ReflectionTestUtils.setField(deadlineResolver, "zone", "America/Bogota");
+        ReflectionTestUtils.setField(deadlineResolver, "dueHour", 17);
+
+        service = new TranscriptRevisionService();
+        ReflectionTestUtils.setField(service, "transcriptCompressor", compressor);
+        ReflectionTestUtils.setField(service, "openAIService", openAIService);
+        ReflectionTestUtils.setField(service, "modelRouter", modelRouter);
+        ReflectionTestUtils.setField(service, "deadlineResolver", deadlineResolver);
+        ReflectionTestUtils.setField(service, "deduplicator", new ActionItemDeduplicator());
+        ReflectionTestUtils.setField(service, "hubSpotTaskService", hubSpotTaskService);
+        ReflectionTestUtils.setField(service, "syncStateRepository", repository);
+        ReflectionTestUtils.setField(service, "segmentMinLines", 2);
+        ReflectionTestUtils.setField(service, "segmentAverageLines", 4);
+        ReflectionTestUtils.setField(service, "segmentMaxLines", 4);
+        ReflectionTestUtils.setField(service, "segmentCacheSize", 100);
+        ReflectionTestUtils.setField(service, "maxTranscripts", 10);
+    }
+
+    @Test
+    void rewordedItemWithRepeatedWordsUpdatesItsDeal() {
+        service.syncRevision("t-1", "Lisa: Review the contract draft and send the contract to legal", true);
+
+        TranscriptRevisionReport report = service.syncRevision("t-1",
+                "Lisa: Review the contract draft and send the contract to legal today", true);
+
+        assertTrue(report.getErrors().isEmpty(), report.getErrors().toString());
+        assertEquals(0, report.getCreated().size());
+        assertEquals(1, report.getUpdated().size());
+        assertEquals(List.of("deal-1"), new ArrayList<>(updated.keySet()));
+    }
+
+    @Test
+    void editToTheFirstRevisionReExtractsOnlyTheEditedSegment() {
+        // Fixed four-line segments, so the edit cannot move a boundary.
+        ReflectionTestUtils.setField(service, "segmentMinLines", 4);
+        StringBuilder first = new StringBuilder("Meeting Date: November 15, 2024\n");
+        for (int i = 1; i <= 12; i++) {
+            first.append("Lisa: Prepare deliverable number ").append(i).append(" for the client\n");
+        }
+        TranscriptRevisionReport initial = service.syncRevision("t-2", first.toString(), true);
+        assertEquals(3, initial.getSegments());
+        assertEquals(3, extractedSegments.size());
+        assertEquals(12, deals.size());
+
+        String edited = first.toString().replace("deliverable number 6 for", "deliverable number 6 and its appendix for");
+        TranscriptRevisionReport report = service.syncRevision("t-2", edited, true);
+
+        assertEquals(2, report.getSegmentsReused());
+        assertEquals(1, report.getSegmentsExtracted());
+        assertEquals(4, extractedSegments.size());
+        assertTrue(extractedSegments.get(3).contains("its appendix"));
+        assertTrue(extractedSegments.get(3).startsWith("Meeting Date"), "segments keep the header");
+        assertEquals(1, report.getUpdated().size());
+        assertEquals(11, report.getUnchanged());
+        assertEquals(12, deals.size());
+    }
+}